@@ -50,7 +50,7 @@ public class CardController implements Initializable {
     /**
      * List of cards owned by the player
      */
-    private ArrayList<Card> playerOwnedCards;
+    private List<Card> playerOwnedCards;
 
     /**
      * checkbox array
@@ -118,7 +118,7 @@ public class CardController implements Initializable {
      */
     public void performCardExchange() {
         playerOwnedCards = player.getCardList();
-        List<Card> cards = card.generateValidCardCombination(playerOwnedCards);
+        List<Card> cards = card.generateValidCardCombination(player);
         if (cards != null && cards.size() >= 3) {
             card.cardsToBeExchanged(cards);
         }
@@ -1,5 +1,7 @@
 package com.risk.controller;
 
+import com.risk.model.AttackPolicy;
+import com.risk.model.BattleOdds;
 import com.risk.model.Country;
 import com.risk.model.Dice;
 import com.risk.strategy.Human;
@@ -68,6 +70,12 @@ public class DiceController extends Observable implements Initializable {
     @FXML
     private Label winnerName;
 
+    /**
+     * Label variable for the odds of the attack
+     */
+    @FXML
+    private Label attackOdds;
+
     /**
      * CheckBox variable for dice 1 attacker
      */
@@ -198,6 +206,12 @@ public class DiceController extends Observable implements Initializable {
      * Method to automate dice roll
      */
     public void automateDiceRoll() {
+        dice.setAttackPolicy(playerBehaviour.getAttackPolicy());
+        if (!(playerBehaviour instanceof Human) && countObservers() == 0) {
+            // No view is attached, so skip the controls and the messages.
+            dice.rollUntilDecided();
+            return;
+        }
         automaticInitialization();
         loadAttackScreen();
         diceView();
@@ -214,7 +228,9 @@ public class DiceController extends Observable implements Initializable {
         WindowUtil.selectVisibleDice(dice1_Attacker, dice2_Attacker, dice3_Attacker, dice1_Defender, dice2_Defender);
 
         startRoll(null);
-        if (!continueRoll.isDisabled() && !cancelThrow.isDisabled()) {
+        if (!continueRoll.isDisabled() && !cancelThrow.isDisabled() && !dice.shouldContinueAttack()) {
+            dice.cancelDiceThrow();
+        } else if (!continueRoll.isDisabled() && !cancelThrow.isDisabled()) {
             continueDiceRoll(null);
         } else if (continueRoll.isDisabled() && !cancelThrow.isDisabled()) {
             dice.cancelDiceThrow();
@@ -239,6 +255,13 @@ public class DiceController extends Observable implements Initializable {
         defendingCountry.setText(countryDefending.getName());
         defendingArmies.setText("Armies: " + countryDefending.getNoOfArmies());
 
+        BattleOdds battleOdds = BattleOdds.getSharedOdds();
+        attackOdds.setText(String.format("Win chance: %.1f%%, expected armies left: %.1f vs %.1f",
+                100 * battleOdds.getWinProbability(countryAttacking.getNoOfArmies(), countryDefending.getNoOfArmies()),
+                battleOdds.getExpectedAttackerArmies(countryAttacking.getNoOfArmies(), countryDefending.getNoOfArmies()),
+                battleOdds.getExpectedDefenderArmies(countryAttacking.getNoOfArmies(), countryDefending.getNoOfArmies()))
+                + getAttackRecommendation(countryAttacking.getNoOfArmies(), countryDefending.getNoOfArmies()));
+
         winnerName.setVisible(false);
         winnerName.setText("");
 
@@ -248,6 +271,28 @@ public class DiceController extends Observable implements Initializable {
         WindowUtil.disablePane(afterAttackView);
     }
 
+    /**
+     * Method to get the advice of the attack policy for the dice window.
+     * Players without their own policy get the recommended policy.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return recommendation to show, empty if the battle is over
+     */
+    private String getAttackRecommendation(int attackerArmies, int defenderArmies) {
+        if (attackerArmies <= 1 || defenderArmies <= 0) {
+            return "";
+        }
+        AttackPolicy attackPolicy = playerBehaviour == null ? null : playerBehaviour.getAttackPolicy();
+        if (attackPolicy == null) {
+            attackPolicy = AttackPolicy.getRecommendedPolicy();
+        }
+        int threshold = attackPolicy.getThreshold(defenderArmies);
+        String advice = attackPolicy.shouldContinue(attackerArmies, defenderArmies) ? "continue" : "stop";
+        return threshold == Integer.MAX_VALUE ? "\nRecommended: " + advice
+                : "\nRecommended: " + advice + " (attack with at least " + threshold + " armies)";
+    }
+
     /**
      * Method for dice view
      */
@@ -583,6 +628,8 @@ public class DiceController extends Observable implements Initializable {
 
         winnerName = new Label();
 
+        attackOdds = new Label();
+
         dice1_Attacker = new CheckBox();
 
         dice2_Attacker = new CheckBox();
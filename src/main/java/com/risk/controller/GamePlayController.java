@@ -38,10 +38,10 @@ import java.util.Map.Entry;
 public class GamePlayController implements Initializable, Observer, Externalizable {
 
 	/** HashSet to storing adjacent countries */
-    private static HashSet<Country> allAdjacentCountries = new HashSet<>();
+    private HashSet<Country> allAdjacentCountries = new HashSet<>();
 
     /** HashMap to store visited country */
-    private static HashMap<Country, Boolean> visited = new HashMap<>();
+    private HashMap<Country, Boolean> visited = new HashMap<>();
 
     /** HashMap to store player names and types */
     private HashMap<String, String> playerNamesAndTypes;
@@ -229,26 +229,40 @@ public class GamePlayController implements Initializable, Observer, Externalizab
     private Player playerPlaying;
 
     /**
-     * Getter for Stack Card
-     * @return cardStack Stack of cards
+     * Context of the game, shared by its players
      */
-    public Stack<Card> getCardStack() {
+    private GameContext context = new GameContext();
+
+    /**
+     * Getter for the context of the game
+     *
+     * @return context shared by the players
+     */
+    public GameContext getContext() {
+        return context;
+    }
+
+    /**
+     * Getter for the card deck
+     * @return cardStack Deck of cards
+     */
+    public CardDeck getCardStack() {
         return cardStack;
     }
 
     /**
-     * Setter for Card Stack
+     * Setter for the card deck
      *
-     * @param cardStack Card Stack to be set
+     * @param cardStack Card deck to be set
      */
-    public void setCardStack(Stack<Card> cardStack) {
+    public void setCardStack(CardDeck cardStack) {
         this.cardStack = cardStack;
     }
 
     /**
-     * Stack to store and retrieve the cards
+     * Deck to draw and return the cards
      */
-    private Stack<Card> cardStack;
+    private CardDeck cardStack;
 
     /**
      * Number of card sets exchanged
@@ -264,7 +278,7 @@ public class GamePlayController implements Initializable, Observer, Externalizab
      * GamePlayController Default Constructor
      */
     public GamePlayController() {
-
+        context.setEventSink(this);
     }
 
     /**
@@ -275,6 +289,7 @@ public class GamePlayController implements Initializable, Observer, Externalizab
 
     public GamePlayController(MapIO map, HashMap<String, String> hm) {
         this.map = map;
+        context.setEventSink(this);
         this.startUpPhase = new StartUpPhase(this);
         this.card = new Card();
         this.playerNamesAndTypes = hm;
@@ -295,7 +310,8 @@ public class GamePlayController implements Initializable, Observer, Externalizab
         updateTerminalWindow("Set up phase started\n");
         gamePlayerList = new Player().generatePlayer(this.playerNamesAndTypes, this);
         for (Player player : gamePlayerList) {
-            player.addObserver(this);
+            player.setContext(context);
+            context.attach(player);
         }
         System.out.println("All players generated");
         updateTerminalWindow("All players generated\n");
@@ -391,19 +407,19 @@ public class GamePlayController implements Initializable, Observer, Externalizab
      */
     private void moveToAdjacentCountryFortification(Country country) {
         this.adjacentCountryList.getItems().clear();
-        GamePlayController.allAdjacentCountries.clear();
+        allAdjacentCountries.clear();
         for (Country country1 : this.map.getMapGraph().getCountrySet().values()) {
-            GamePlayController.visited.put(country1, false);
+            visited.put(country1, false);
         }
         this.findAdjacentCountriesFortification(country);
         this.findAdjacentCountriesOtherPlayers(country);
-        this.adjacentCountryList.getItems().addAll(GamePlayController.allAdjacentCountries);
+        this.adjacentCountryList.getItems().addAll(allAdjacentCountries);
     }
 
     private void findAdjacentCountriesOtherPlayers(Country country) {
         for (Country country1 : country.getAdjacentCountries()) {
             if (!playerPlaying.getPlayerCountries().contains(country1)) {
-                GamePlayController.allAdjacentCountries.add(country1);
+                allAdjacentCountries.add(country1);
             }
         }
     }
@@ -424,11 +440,11 @@ public class GamePlayController implements Initializable, Observer, Externalizab
 
     private void findAdjacentCountriesFortification(Country country) {
         if (country != null) {
-            GamePlayController.visited.put(country, true);
+            visited.put(country, true);
             for (Country adjCountry : country.getAdjacentCountries()) {
-                if (!GamePlayController.visited.get(adjCountry) && !GamePlayController.allAdjacentCountries.contains(adjCountry)
+                if (!visited.get(adjCountry) && !allAdjacentCountries.contains(adjCountry)
                         && playerPlaying.getPlayerCountries().contains(adjCountry)) {
-                    GamePlayController.allAdjacentCountries.add(adjCountry);
+                    allAdjacentCountries.add(adjCountry);
                     findAdjacentCountriesFortification(adjCountry);
                 }
             }
@@ -467,9 +483,9 @@ public class GamePlayController implements Initializable, Observer, Externalizab
      */
     public void allocateCardToPlayer() {
         if (!cardStack.isEmpty()) {
-            Card cardToBeAdded = cardStack.pop();
+            Card cardToBeAdded = cardStack.draw();
             cardToBeAdded.setCurrentPlayer(playerPlaying);
-            playerPlaying.getCardList().add(cardToBeAdded);
+            playerPlaying.addCard(cardToBeAdded);
             playerPlaying.setCountryWon(0);
             System.out.println(cardToBeAdded.getCardType() + " card is assigned to " +
                     playerPlaying.getName() + " and won country " + cardToBeAdded.getCountry().getName() + "\n");
@@ -583,9 +599,9 @@ public class GamePlayController implements Initializable, Observer, Externalizab
             playerPlaying.setCountryWon(0);
         }
         playerPlaying = newPlayer;
-        Player.setPlayerPlaying(playerPlaying);
+        context.setCurrentPlayer(playerPlaying);
         playerPlaying.setCountryWon(0);
-        playerPlaying.addObserver(this);
+        context.attach(playerPlaying);
         System.out.println(playerPlaying.getName() + "'s turn started.\n");
         updateTerminalWindow(playerPlaying.getName() + "'s turn started.\n");
 
@@ -741,6 +757,11 @@ public class GamePlayController implements Initializable, Observer, Externalizab
             selectedCountryList.refresh();
             adjacentCountryList.refresh();
             loadMapData();
+        } else {
+            String suggestion = ((Human) playerPlaying.getPlayerBehaviour()).suggestFortification(playerPlaying);
+            if (suggestion != null) {
+                updateTerminalWindow(suggestion);
+            }
         }
 
     }
@@ -913,11 +934,10 @@ public class GamePlayController implements Initializable, Observer, Externalizab
         List<Card> tradedCards = exch.getCardsToExchange();
         setNumberOfCardSetExchanged(getNumberOfCardSetExchanged() + 1);
         playerPlaying.exchangeCards(tradedCards, getNumberOfCardSetExchanged());
-        playerPlaying.getCardList().removeAll(tradedCards);
-        cardStack.addAll(tradedCards);
-        Collections.shuffle(cardStack);
+        playerPlaying.removeCards(tradedCards);
+        cardStack.returnCards(tradedCards);
 
-        if(!TournamentModel.isTournament){
+        if(!context.isTournament()){
             selectedCountryList.refresh();
             adjacentCountryList.refresh();
             loadMapData();
@@ -1097,7 +1117,7 @@ public class GamePlayController implements Initializable, Observer, Externalizab
 
         data.writeObject(map);
         data.writeObject(startUpPhase);
-        data.writeObject(Player.currentPlayer);
+        data.writeObject(context.getCurrentPlayer());
         data.writeObject(playerPlaying);
         data.writeObject(card);
         data.writeObject(cardStack);
@@ -1127,17 +1147,20 @@ public class GamePlayController implements Initializable, Observer, Externalizab
         isGameSaved = true;
         map = (MapIO) data.readObject();
         startUpPhase = (StartUpPhase) data.readObject();
-        Player.currentPlayer=(Player)data.readObject();
+        context.setCurrentPlayer((Player) data.readObject());
         playerPlaying = (Player) data.readObject();
         card = (Card) data.readObject();
-        cardStack = (Stack<Card>) data.readObject();
+        cardStack = (CardDeck) data.readObject();
         gamePlayerList = (ArrayList<Player>) data.readObject();
         gameDataString = (String) data.readObject();
         phaseViewString = (String) data.readObject();
         worldDomination = (PlayerWorldDomination) data.readObject();
         numberOfCardSetExchanged = (int) data.readObject();
         playerData = (String) data.readObject();
-        playerPlaying.addObserver(this);
+        for (Player player : gamePlayerList) {
+            player.setContext(context);
+        }
+        context.attach(playerPlaying);
         card.addObserver(this);
         worldDomination.addObserver(this);
         this.bufferedWriter = clearContentsOfFile();
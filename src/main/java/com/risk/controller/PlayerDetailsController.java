@@ -153,7 +153,9 @@ public class PlayerDetailsController implements Initializable {
      */
     public HBox getPlayerTypesBox(){
         String playerTypes[] = {IPlayerType.HUMAN, IPlayerType.AGGRESSIVE, IPlayerType.BENEVOLENT, IPlayerType.RANDOM,
-                                IPlayerType.CHEATER};
+                                IPlayerType.CHEATER, IPlayerType.MCTS,
+                                IPlayerType.EXPECTIMINIMAX, IPlayerType.HIERARCHICAL,
+                                IPlayerType.NEURAL};
         ChoiceBox<String> playerType = new ChoiceBox<>();
         playerType.getItems().addAll(playerTypes);
         playerType.getSelectionModel().selectFirst();
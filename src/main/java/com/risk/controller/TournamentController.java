@@ -5,10 +5,12 @@ import com.risk.model.Player;
 import com.risk.model.TournamentModel;
 import com.risk.services.MapIO;
 import com.risk.services.Util.WindowUtil;
+import com.risk.strategy.LatencyHistogram;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 
 import java.io.File;
 import java.net.URL;
@@ -339,6 +341,32 @@ public class TournamentController extends Observable implements Initializable {
 
     }
 
+    /**
+     * Method for choosing a map file, checking if the map is valid or not,
+     * then uploading it to play the tournament
+     *
+     * @return Map File, null if no valid map was chosen
+     */
+    private File checkAndLoadMap() {
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select a Map File");
+        fileChooser.getExtensionFilters()
+                .add(new FileChooser.ExtensionFilter("Map File Extensions (*.map or *.MAP)", "*.map", "*.MAP"));
+        File selectedFile = fileChooser.showOpenDialog(null);
+
+        if (selectedFile != null) {
+            MapIO readMap = tournamentModel.loadMap(selectedFile.getAbsolutePath());
+            if (readMap != null) {
+                mapList.add(readMap);
+                return selectedFile;
+            }
+            WindowUtil.popUpWindow("Invalid Map", "Problem with map file", "Please selecte another file");
+        }
+
+        return null;
+    }
+
     /**
      * Method to upload map1
      *
@@ -346,7 +374,7 @@ public class TournamentController extends Observable implements Initializable {
      */
     @FXML
     private void map1(ActionEvent event) {
-        File selectedFile = tournamentModel.checkAndLoadMap(mapList);
+        File selectedFile = checkAndLoadMap();
         if (selectedFile == null) {
             map1.setText("Invalidmap selected");
             errorMessage.setText("Invalidmap selected");
@@ -363,7 +391,7 @@ public class TournamentController extends Observable implements Initializable {
      */
     @FXML
     private void map2(ActionEvent event) {
-        File selectedFile = tournamentModel.checkAndLoadMap(mapList);
+        File selectedFile = checkAndLoadMap();
         if (selectedFile == null) {
             map2.setText("Invalidmap selected");
             errorMessage.setText("Invalidmap selected");
@@ -380,7 +408,7 @@ public class TournamentController extends Observable implements Initializable {
      */
     @FXML
     private void map3(ActionEvent event) {
-        File selectedFile = tournamentModel.checkAndLoadMap(mapList);
+        File selectedFile = checkAndLoadMap();
         if (selectedFile == null) {
             map3.setText("Invalidmap selected");
             errorMessage.setText("Invalidmap selected");
@@ -397,7 +425,7 @@ public class TournamentController extends Observable implements Initializable {
      */
     @FXML
     private void map4(ActionEvent event) {
-        File selectedFile = tournamentModel.checkAndLoadMap(mapList);
+        File selectedFile = checkAndLoadMap();
         if (selectedFile == null) {
             map4.setText("Invalidmap selected");
             errorMessage.setText("Invalidmap selected");
@@ -414,7 +442,7 @@ public class TournamentController extends Observable implements Initializable {
      */
     @FXML
     private void map5(ActionEvent event) {
-        File selectedFile = tournamentModel.checkAndLoadMap(mapList);
+        File selectedFile = checkAndLoadMap();
         if (selectedFile == null) {
             map5.setText("Invalidmap selected");
             errorMessage.setText("Invalidmap selected");
@@ -428,7 +456,8 @@ public class TournamentController extends Observable implements Initializable {
      * Method to display checkbox for players
      */
     public void populatePlayerCheckBox() {
-        String playerTypes[] = {IPlayerType.AGGRESSIVE, IPlayerType.BENEVOLENT, IPlayerType.RANDOM, IPlayerType.CHEATER};
+        String playerTypes[] = {IPlayerType.AGGRESSIVE, IPlayerType.BENEVOLENT, IPlayerType.RANDOM, IPlayerType.CHEATER,
+                IPlayerType.MCTS, IPlayerType.EXPECTIMINIMAX, IPlayerType.HIERARCHICAL, IPlayerType.NEURAL};
         player1.getItems().addAll(playerTypes);
         player2.getItems().addAll(playerTypes);
         player3.getItems().addAll(playerTypes);
@@ -446,6 +475,7 @@ public class TournamentController extends Observable implements Initializable {
 
         HashMap<String, ArrayList<HashMap<Player, Integer>>> result = new HashMap<>();
         System.out.println("In start");
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
 
         playerList.clear();
         for (int i = 0; i < numberOfPlayersPlaying; i++) {
@@ -464,7 +494,8 @@ public class TournamentController extends Observable implements Initializable {
                 for (int i = 0; i < numberOfPlayersPlaying; i++) {
                     playerList.add(new Player("Player " + (i + 1), (String) playerDropDownList.get(i).getValue()));
                 }
-                result.get(mapIO.getFileName()).add(tournamentModel.playGame(playerList, numberOfTurnsToPlay, gameCount, mapIO, textArea));
+                result.get(mapIO.getFileName()).add(tournamentModel.playGame(playerList, numberOfTurnsToPlay, gameCount, mapIO));
+                LatencyHistogram.merge(latencies, tournamentModel.getLatencies());
                 System.out.println(gameCount);
             }
             System.out.println(result.toString());
@@ -488,6 +519,11 @@ public class TournamentController extends Observable implements Initializable {
                     text = text + "\n\n";
                 }
             }
+            text = text + "Decision latency ->\n";
+            for (LatencyHistogram histogram : latencies.values()) {
+                System.out.println(histogram);
+                text = text + " " + histogram + "\n";
+            }
             textArea.setText(text);
         }
     }
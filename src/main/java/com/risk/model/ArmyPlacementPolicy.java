@@ -0,0 +1,90 @@
+package com.risk.model;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Interface for the way a player distributes armies over its countries.
+ * A policy only decides how many armies go to each country, the armies
+ * are then placed in one go by {@link Player#placeAllArmies(ArmyPlacementPolicy)}.
+ */
+public interface ArmyPlacementPolicy {
+
+    /**
+     * Method to distribute armies over countries.
+     *
+     * @param countries Countries of the player, not empty
+     * @param armies    Number of armies to place
+     * @param random    Random source of the game
+     * @return number of armies to add to each country, in the order of the list
+     */
+    int[] allocate(List<Country> countries, int armies, Random random);
+
+    /**
+     * Method to distribute armies over countries with the random source of
+     * the current thread.
+     *
+     * @param countries Countries of the player, not empty
+     * @param armies    Number of armies to place
+     * @return number of armies to add to each country, in the order of the list
+     */
+    default int[] allocate(List<Country> countries, int armies) {
+        return allocate(countries, armies, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Method to get the policy which places every army on a random country.
+     *
+     * @return random placement policy
+     */
+    static ArmyPlacementPolicy random() {
+        return (countries, armies, random) -> {
+            int[] allocation = new int[countries.size()];
+            for (int army = 0; army < armies; army++) {
+                allocation[random.nextInt(allocation.length)]++;
+            }
+            return allocation;
+        };
+    }
+
+    /**
+     * Method to get the policy which places every army on a random country,
+     * each country being chosen with a probability proportional to its weight.
+     * Countries are chosen uniformly if no weight is positive.
+     *
+     * @param weight Weight of a country, negative weights count as zero
+     * @return weighted placement policy
+     */
+    static ArmyPlacementPolicy weighted(ToDoubleFunction<Country> weight) {
+        return (countries, armies, random) -> {
+            double[] cumulative = new double[countries.size()];
+            double total = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                total += Math.max(0, weight.applyAsDouble(countries.get(i)));
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                return random().allocate(countries, armies, random);
+            }
+            int[] allocation = new int[cumulative.length];
+            for (int army = 0; army < armies; army++) {
+                // First country whose cumulative weight is above the random value.
+                double value = random.nextDouble() * total;
+                int low = 0;
+                int high = cumulative.length - 1;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (cumulative[middle] > value) {
+                        high = middle;
+                    } else {
+                        low = middle + 1;
+                    }
+                }
+                allocation[low]++;
+            }
+            return allocation;
+        };
+    }
+}
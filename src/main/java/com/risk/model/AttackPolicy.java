@@ -0,0 +1,213 @@
+package com.risk.model;
+
+import java.util.Arrays;
+
+/**
+ * Class for the decision to go on with an attack or to stop it.
+ * <p>
+ * For every number of defending armies the policy keeps the smallest
+ * number of attacking armies with which another dice round is worth
+ * rolling, so that a decision is a single table lookup. The table is
+ * solved once by dynamic programming over the dice round probabilities,
+ * either for a target probability of conquering the country or for the
+ * best expected value of the battle.
+ */
+public class AttackPolicy {
+
+    /**
+     * Largest number of defending armies solved exactly. Larger battles
+     * are extrapolated from the last entries of the table.
+     */
+    public static final int MAX_DEFENDER_ARMIES = 128;
+
+    /**
+     * Largest number of attacking armies considered when solving by expected value
+     */
+    private static final int MAX_ATTACKER_ARMIES = 4 * MAX_DEFENDER_ARMIES;
+
+    /**
+     * Number of entries used to extrapolate beyond the table
+     */
+    private static final int EXTRAPOLATION_SPAN = 16;
+
+    /**
+     * Threshold used when the battle cannot be won in the table bounds
+     */
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    /**
+     * Policy recommended to the human players, solved on first use
+     */
+    private static volatile AttackPolicy recommendedPolicy;
+
+    /**
+     * Smallest attacking armies worth another round, indexed by defending armies
+     */
+    private final int[] threshold;
+
+    /**
+     * Growth of the threshold per defending army beyond the table
+     */
+    private final double slope;
+
+    /**
+     * Description of the policy
+     */
+    private final String description;
+
+    /**
+     * Constructor for the policy.
+     *
+     * @param threshold   Smallest attacking armies worth another round, by defending armies
+     * @param description Description of the policy
+     */
+    private AttackPolicy(int[] threshold, String description) {
+        this.threshold = threshold;
+        this.description = description;
+        int last = threshold[MAX_DEFENDER_ARMIES];
+        int first = threshold[MAX_DEFENDER_ARMIES - EXTRAPOLATION_SPAN];
+        this.slope = last == NEVER || first == NEVER ? 0 : (double) (last - first) / EXTRAPOLATION_SPAN;
+    }
+
+    /**
+     * Method to get the policy recommended to the human players, which goes
+     * on attacking while the conquest is at least as likely as not.
+     *
+     * @return recommended attack policy
+     */
+    public static AttackPolicy getRecommendedPolicy() {
+        if (recommendedPolicy == null) {
+            recommendedPolicy = forWinProbability(0.5);
+        }
+        return recommendedPolicy;
+    }
+
+    /**
+     * Method to create a policy which never goes on after the first round,
+     * for strategies deciding every dice round on their own.
+     *
+     * @return attack policy rolling a single round per attack
+     */
+    public static AttackPolicy singleRound() {
+        int[] threshold = new int[MAX_DEFENDER_ARMIES + 1];
+        Arrays.fill(threshold, NEVER);
+        return new AttackPolicy(threshold, "single round");
+    }
+
+    /**
+     * Method to create a policy which goes on attacking as long as the
+     * probability of conquering the country is at least the target.
+     *
+     * @param targetWinProbability Smallest acceptable probability of winning, between 0 and 1
+     * @return attack policy
+     */
+    public static AttackPolicy forWinProbability(double targetWinProbability) {
+        BattleOdds battleOdds = BattleOdds.getSharedOdds();
+        int[] threshold = new int[MAX_DEFENDER_ARMIES + 1];
+        int attacker = 2;
+        for (int defender = 1; defender <= MAX_DEFENDER_ARMIES; defender++) {
+            // The win probability grows with the attacking armies and falls with the
+            // defending armies, so the threshold never decreases.
+            while (attacker <= BattleOdds.MAX_TABLE_ARMIES
+                    && battleOdds.getWinProbability(attacker, defender) < targetWinProbability) {
+                attacker++;
+            }
+            threshold[defender] = attacker <= BattleOdds.MAX_TABLE_ARMIES ? attacker : NEVER;
+        }
+        return new AttackPolicy(threshold, String.format("win probability of at least %.0f%%", 100 * targetWinProbability));
+    }
+
+    /**
+     * Method to create a policy which maximizes the expected value of the battle,
+     * counting every army left on the attacking side as one, every army left on
+     * the defending side as minus one and the conquest of the country as the
+     * given number of armies.
+     *
+     * @param conquestValue Value of conquering the country, in armies
+     * @return attack policy
+     */
+    public static AttackPolicy forExpectedValue(double conquestValue) {
+        int columns = MAX_DEFENDER_ARMIES + 1;
+        double[] value = new double[(MAX_ATTACKER_ARMIES + 1) * columns];
+        boolean[] roll = new boolean[value.length];
+        for (int attacker = 1; attacker <= MAX_ATTACKER_ARMIES; attacker++) {
+            value[attacker * columns] = attacker + conquestValue;
+            for (int defender = 1; defender <= MAX_DEFENDER_ARMIES; defender++) {
+                int index = attacker * columns + defender;
+                value[index] = attacker - defender;
+                if (attacker == 1) {
+                    continue;
+                }
+                int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+                int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+                int comparedDice = Math.min(attackerDice, defenderDice);
+                double rollValue = 0;
+                for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                    rollValue += BattleOdds.getRoundOutcomeProbability(attackerDice, defenderDice, attackerLosses)
+                            * value[(attacker - attackerLosses) * columns + defender - comparedDice + attackerLosses];
+                }
+                if (rollValue > value[index]) {
+                    value[index] = rollValue;
+                    roll[index] = true;
+                }
+            }
+        }
+        int[] threshold = new int[columns];
+        for (int defender = 1; defender <= MAX_DEFENDER_ARMIES; defender++) {
+            // Smallest attacking armies from which rolling is the better choice for every larger army.
+            int attacker = MAX_ATTACKER_ARMIES;
+            if (!roll[attacker * columns + defender]) {
+                threshold[defender] = NEVER;
+                continue;
+            }
+            while (attacker > 2 && roll[(attacker - 1) * columns + defender]) {
+                attacker--;
+            }
+            threshold[defender] = attacker;
+        }
+        return new AttackPolicy(threshold, String.format("best expected value with a conquest worth %.1f armies", conquestValue));
+    }
+
+    /**
+     * Method to get the smallest number of attacking armies with which
+     * another dice round is worth rolling.
+     *
+     * @param defenderArmies Armies on the defending country
+     * @return smallest attacking armies, Integer.MAX_VALUE if attacking is never worth it
+     */
+    public int getThreshold(int defenderArmies) {
+        if (defenderArmies <= 0) {
+            return 2;
+        }
+        if (defenderArmies <= MAX_DEFENDER_ARMIES) {
+            return threshold[defenderArmies];
+        }
+        int last = threshold[MAX_DEFENDER_ARMIES];
+        if (last == NEVER) {
+            return NEVER;
+        }
+        return (int) Math.min(NEVER, Math.ceil(last + slope * (defenderArmies - MAX_DEFENDER_ARMIES)));
+    }
+
+    /**
+     * Method to check if another dice round is worth rolling.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return true
+     * If the attack should go on; other wise false.
+     */
+    public boolean shouldContinue(int attackerArmies, int defenderArmies) {
+        return attackerArmies > 1 && defenderArmies > 0 && attackerArmies >= getThreshold(defenderArmies);
+    }
+
+    /**
+     * Method to get the description of the policy.
+     *
+     * @return description of the policy
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,395 @@
+package com.risk.model;
+
+/**
+ * Class for the odds of a battle between two countries. A battle is the
+ * sequence of dice rounds which goes on until the defender has lost all
+ * its armies or the attacker is left with a single army.
+ * <p>
+ * The odds are computed by dynamic programming over the exact probabilities
+ * of one dice round and memoized in a table which grows on demand, so that
+ * a lookup is O(1) once the table covers the requested army counts.
+ */
+public class BattleOdds {
+
+    /**
+     * Largest army count per side kept in the memoized table. Larger battles
+     * are scaled down to this size, keeping the ratio of the armies.
+     */
+    public static final int MAX_TABLE_ARMIES = 1024;
+
+    /**
+     * Initial army count per side of the memoized table
+     */
+    private static final int INITIAL_TABLE_ARMIES = 32;
+
+    /**
+     * Probability of each round outcome, indexed by attacker dice,
+     * defender dice and the number of armies lost by the attacker
+     */
+    private static final double[][][] ROUND_OUTCOME_PROBABILITY = computeRoundOutcomeProbabilities();
+
+    /**
+     * Odds shared by all the players of all the games
+     */
+    private static final BattleOdds SHARED_ODDS = new BattleOdds();
+
+    /**
+     * Memoized table, replaced as a whole whenever it grows
+     */
+    private volatile Table table;
+
+    /**
+     * Constructor for the battle odds, which computes the initial table.
+     */
+    public BattleOdds() {
+        table = new Table(null, INITIAL_TABLE_ARMIES, INITIAL_TABLE_ARMIES);
+    }
+
+    /**
+     * Getter for the odds shared by all the players.
+     *
+     * @return shared battle odds
+     */
+    public static BattleOdds getSharedOdds() {
+        return SHARED_ODDS;
+    }
+
+    /**
+     * Method to get the probability of one dice round outcome.
+     *
+     * @param attackerDice   Number of dice rolled by the attacker, 1 to 3
+     * @param defenderDice   Number of dice rolled by the defender, 1 to 2
+     * @param attackerLosses Number of armies lost by the attacker; the defender
+     *                       loses the remaining compared dice
+     * @return probability of the outcome
+     */
+    public static double getRoundOutcomeProbability(int attackerDice, int defenderDice, int attackerLosses) {
+        if (attackerLosses < 0 || attackerLosses > Math.min(attackerDice, defenderDice)) {
+            return 0;
+        }
+        return ROUND_OUTCOME_PROBABILITY[attackerDice][defenderDice][attackerLosses];
+    }
+
+    /**
+     * Method to get the probability that the attacker conquers the defending country.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return probability of winning the battle
+     */
+    public double getWinProbability(int attackerArmies, int defenderArmies) {
+        if (defenderArmies <= 0) {
+            return 1;
+        }
+        if (attackerArmies <= 1) {
+            return 0;
+        }
+        int scale = getScale(attackerArmies, defenderArmies);
+        Table current = getTable(scaleDown(attackerArmies, scale, 2), scaleDown(defenderArmies, scale, 1));
+        return current.winProbability[current.index(scaleDown(attackerArmies, scale, 2), scaleDown(defenderArmies, scale, 1))];
+    }
+
+    /**
+     * Method to get the expected number of armies left on the attacking
+     * country when the battle is over.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return expected armies of the attacker
+     */
+    public double getExpectedAttackerArmies(int attackerArmies, int defenderArmies) {
+        if (defenderArmies <= 0 || attackerArmies <= 1) {
+            return Math.max(attackerArmies, 0);
+        }
+        int scale = getScale(attackerArmies, defenderArmies);
+        int attacker = scaleDown(attackerArmies, scale, 2);
+        int defender = scaleDown(defenderArmies, scale, 1);
+        Table current = getTable(attacker, defender);
+        return (double) current.expectedAttackerArmies[current.index(attacker, defender)] * attackerArmies / attacker;
+    }
+
+    /**
+     * Method to get the expected number of armies left on the defending
+     * country when the battle is over.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return expected armies of the defender
+     */
+    public double getExpectedDefenderArmies(int attackerArmies, int defenderArmies) {
+        if (defenderArmies <= 0 || attackerArmies <= 1) {
+            return Math.max(defenderArmies, 0);
+        }
+        int scale = getScale(attackerArmies, defenderArmies);
+        int attacker = scaleDown(attackerArmies, scale, 2);
+        int defender = scaleDown(defenderArmies, scale, 1);
+        Table current = getTable(attacker, defender);
+        return (double) current.expectedDefenderArmies[current.index(attacker, defender)] * defenderArmies / defender;
+    }
+
+    /**
+     * Method to get the full distribution of the outcomes of a battle.
+     * The entry [a][d] is the probability that the battle ends with a
+     * armies on the attacking country and d armies on the defending one,
+     * so only the entries with a equal to 1 or d equal to 0 are non zero.
+     * It costs O(attackerArmies * defenderArmies) and is not memoized.
+     * <p>
+     * Battles larger than {@link #MAX_TABLE_ARMIES} are scaled down like
+     * the win probability, and the outcomes of the scaled battle are
+     * scaled back up to the requested army counts. The rows of such a
+     * distribution other than [1] then only hold their entry for d equal
+     * to 0, so that its size stays linear in the army counts.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return probabilities of the final army counts
+     */
+    public double[][] getOutcomeDistribution(int attackerArmies, int defenderArmies) {
+        if (attackerArmies < 1 || defenderArmies < 0) {
+            throw new IllegalArgumentException("Army counts must be positive");
+        }
+        int scale = getScale(attackerArmies, defenderArmies);
+        if (scale == 1) {
+            return computeOutcomeDistribution(attackerArmies, defenderArmies);
+        }
+        int attacker = scaleDown(attackerArmies, scale, 2);
+        int defender = scaleDown(defenderArmies, scale, 1);
+        double[][] scaled = computeOutcomeDistribution(attacker, defender);
+        double[][] distribution = new double[attackerArmies + 1][];
+        for (int armies = 0; armies <= attackerArmies; armies++) {
+            distribution[armies] = new double[armies == 1 ? defenderArmies + 1 : 1];
+        }
+        for (int armies = 2; armies <= attacker; armies++) {
+            distribution[scaleUp(armies, attacker, attackerArmies, 2)][0] += scaled[armies][0];
+        }
+        for (int armies = 0; armies <= defender; armies++) {
+            distribution[1][armies == 0 ? 0 : scaleUp(armies, defender, defenderArmies, 1)] += scaled[1][armies];
+        }
+        return distribution;
+    }
+
+    /**
+     * Method to compute the full distribution of the outcomes of a battle
+     * which fits in the table, by dynamic programming over the dice rounds.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return probabilities of the final army counts
+     */
+    private static double[][] computeOutcomeDistribution(int attackerArmies, int defenderArmies) {
+        double[][] distribution = new double[attackerArmies + 1][defenderArmies + 1];
+        distribution[attackerArmies][defenderArmies] = 1;
+        for (int attacker = attackerArmies; attacker > 1; attacker--) {
+            for (int defender = defenderArmies; defender > 0; defender--) {
+                double probability = distribution[attacker][defender];
+                if (probability == 0) {
+                    continue;
+                }
+                distribution[attacker][defender] = 0;
+                int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+                int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+                int comparedDice = Math.min(attackerDice, defenderDice);
+                for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                    distribution[attacker - attackerLosses][defender - comparedDice + attackerLosses] +=
+                            probability * ROUND_OUTCOME_PROBABILITY[attackerDice][defenderDice][attackerLosses];
+                }
+            }
+        }
+        return distribution;
+    }
+
+    /**
+     * Method to get a table which covers the given army counts,
+     * growing the memoized table if required.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return table covering the army counts
+     */
+    private Table getTable(int attackerArmies, int defenderArmies) {
+        Table current = table;
+        if (attackerArmies <= current.maxAttackerArmies && defenderArmies <= current.maxDefenderArmies) {
+            return current;
+        }
+        synchronized (this) {
+            current = table;
+            if (attackerArmies > current.maxAttackerArmies || defenderArmies > current.maxDefenderArmies) {
+                int maxAttackerArmies = Math.max(current.maxAttackerArmies, Math.min(MAX_TABLE_ARMIES,
+                        Math.max(attackerArmies, current.maxAttackerArmies * 2)));
+                int maxDefenderArmies = Math.max(current.maxDefenderArmies, Math.min(MAX_TABLE_ARMIES,
+                        Math.max(defenderArmies, current.maxDefenderArmies * 2)));
+                current = new Table(current, maxAttackerArmies, maxDefenderArmies);
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Method to get the factor by which a battle is scaled down to fit in the table.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @return scale factor, 1 if the battle fits in the table
+     */
+    private static int getScale(int attackerArmies, int defenderArmies) {
+        int largest = Math.max(attackerArmies, defenderArmies);
+        return largest <= MAX_TABLE_ARMIES ? 1 : (largest + MAX_TABLE_ARMIES - 1) / MAX_TABLE_ARMIES;
+    }
+
+    /**
+     * Method to scale down an army count.
+     *
+     * @param armies  Army count
+     * @param scale   Scale factor
+     * @param minimum Smallest army count to return
+     * @return scaled army count
+     */
+    private static int scaleDown(int armies, int scale, int minimum) {
+        return scale == 1 ? armies : Math.max(minimum, Math.round((float) armies / scale));
+    }
+
+    /**
+     * Method to scale an army count of a scaled down battle back up.
+     *
+     * @param armies       Army count of the scaled battle
+     * @param scaledArmies Initial army count of the scaled battle
+     * @param totalArmies  Initial army count of the real battle
+     * @param minimum      Smallest army count to return
+     * @return army count of the real battle, between the minimum and the initial count
+     */
+    private static int scaleUp(int armies, int scaledArmies, int totalArmies, int minimum) {
+        long scaled = Math.round((double) armies * totalArmies / scaledArmies);
+        return (int) Math.max(minimum, Math.min(totalArmies, scaled));
+    }
+
+    /**
+     * Method to compute the probabilities of all the round outcomes by
+     * enumerating every combination of dice values.
+     *
+     * @return probabilities indexed by attacker dice, defender dice and attacker losses
+     */
+    private static double[][][] computeRoundOutcomeProbabilities() {
+        double[][][] probabilities = new double[Dice.MAX_ATTACKER_DICE + 1][Dice.MAX_DEFENDER_DICE + 1][];
+        int[] values = new int[Dice.MAX_ATTACKER_DICE + Dice.MAX_DEFENDER_DICE];
+        for (int attackerDice = 1; attackerDice <= Dice.MAX_ATTACKER_DICE; attackerDice++) {
+            for (int defenderDice = 1; defenderDice <= Dice.MAX_DEFENDER_DICE; defenderDice++) {
+                int diceCount = attackerDice + defenderDice;
+                int combinations = (int) Math.pow(6, diceCount);
+                long[] counts = new long[Math.min(attackerDice, defenderDice) + 1];
+                for (int combination = 0; combination < combinations; combination++) {
+                    int remaining = combination;
+                    java.util.Arrays.fill(values, 0);
+                    for (int dice = 0; dice < attackerDice; dice++) {
+                        values[dice] = remaining % 6 + 1;
+                        remaining /= 6;
+                    }
+                    for (int dice = 0; dice < defenderDice; dice++) {
+                        values[Dice.MAX_ATTACKER_DICE + dice] = remaining % 6 + 1;
+                        remaining /= 6;
+                    }
+                    counts[Dice.attackerLosses(Dice.resolveRound(values[0], values[1], values[2], values[3], values[4]))]++;
+                }
+                probabilities[attackerDice][defenderDice] = new double[counts.length];
+                for (int losses = 0; losses < counts.length; losses++) {
+                    probabilities[attackerDice][defenderDice][losses] = (double) counts[losses] / combinations;
+                }
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * Memoized odds for every battle up to a number of armies per side.
+     * A table is never modified once it has been published.
+     */
+    private static class Table {
+
+        /** Largest attacker army count covered by the table */
+        private final int maxAttackerArmies;
+
+        /** Largest defender army count covered by the table */
+        private final int maxDefenderArmies;
+
+        /** Probability of the attacker winning */
+        private final float[] winProbability;
+
+        /** Expected armies left on the attacking country */
+        private final float[] expectedAttackerArmies;
+
+        /** Expected armies left on the defending country */
+        private final float[] expectedDefenderArmies;
+
+        /**
+         * Constructor which fills the table by dynamic programming,
+         * reusing the values of a smaller table.
+         *
+         * @param previous          Smaller table to reuse, or null
+         * @param maxAttackerArmies Largest attacker army count to cover
+         * @param maxDefenderArmies Largest defender army count to cover
+         */
+        private Table(Table previous, int maxAttackerArmies, int maxDefenderArmies) {
+            this.maxAttackerArmies = maxAttackerArmies;
+            this.maxDefenderArmies = maxDefenderArmies;
+            int size = (maxAttackerArmies + 1) * (maxDefenderArmies + 1);
+            winProbability = new float[size];
+            expectedAttackerArmies = new float[size];
+            expectedDefenderArmies = new float[size];
+
+            for (int attacker = 1; attacker <= maxAttackerArmies; attacker++) {
+                for (int defender = 0; defender <= maxDefenderArmies; defender++) {
+                    int index = index(attacker, defender);
+                    if (previous != null && attacker <= previous.maxAttackerArmies && defender <= previous.maxDefenderArmies) {
+                        int previousIndex = previous.index(attacker, defender);
+                        winProbability[index] = previous.winProbability[previousIndex];
+                        expectedAttackerArmies[index] = previous.expectedAttackerArmies[previousIndex];
+                        expectedDefenderArmies[index] = previous.expectedDefenderArmies[previousIndex];
+                    } else if (defender == 0 || attacker == 1) {
+                        winProbability[index] = defender == 0 ? 1 : 0;
+                        expectedAttackerArmies[index] = attacker;
+                        expectedDefenderArmies[index] = defender;
+                    } else {
+                        fill(attacker, defender, index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Method to compute one entry from the entries it can reach in one round.
+         *
+         * @param attacker Armies on the attacking country
+         * @param defender Armies on the defending country
+         * @param index    Index of the entry
+         */
+        private void fill(int attacker, int defender, int index) {
+            int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+            int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+            int comparedDice = Math.min(attackerDice, defenderDice);
+            double win = 0;
+            double attackerArmies = 0;
+            double defenderArmies = 0;
+            for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                double probability = ROUND_OUTCOME_PROBABILITY[attackerDice][defenderDice][attackerLosses];
+                int next = index(attacker - attackerLosses, defender - comparedDice + attackerLosses);
+                win += probability * winProbability[next];
+                attackerArmies += probability * expectedAttackerArmies[next];
+                defenderArmies += probability * expectedDefenderArmies[next];
+            }
+            winProbability[index] = (float) win;
+            expectedAttackerArmies[index] = (float) attackerArmies;
+            expectedDefenderArmies[index] = (float) defenderArmies;
+        }
+
+        /**
+         * Method to get the position of a battle in the table.
+         *
+         * @param attacker Armies on the attacking country
+         * @param defender Armies on the defending country
+         * @return index in the table arrays
+         */
+        private int index(int attacker, int defender) {
+            return attacker * (maxDefenderArmies + 1) + defender;
+        }
+    }
+}
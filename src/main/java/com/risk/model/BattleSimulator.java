@@ -0,0 +1,280 @@
+package com.risk.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class for the Monte Carlo simulation of many independent battles.
+ * A battle goes on until the defender has lost all its armies or the
+ * attacker is left with a single army, exactly like {@link Dice#rollUntilDecided()}.
+ * <p>
+ * Battles are resolved in ranges shared across the cores with a fork-join
+ * pool. When the <code>jdk.incubator.vector</code> module is present (run with
+ * <code>--add-modules jdk.incubator.vector</code>) a range is resolved in
+ * lockstep by {@link VectorBattleKernel}, one battle per SIMD lane; otherwise,
+ * and for the battles left after the last full block of lanes, the battles are
+ * resolved one after the other. Every battle draws its dice from its own
+ * random stream derived from the seed and its index, so the results depend
+ * neither on the number of threads nor on the path.
+ */
+public class BattleSimulator {
+
+    /**
+     * Smallest number of battles worth handing to another thread
+     */
+    private static final int SHARD_SIZE = 4096;
+
+    /**
+     * Increment of the random streams, the golden ratio constant
+     */
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Whether the Vector API can be used in this virtual machine
+     */
+    public static final boolean VECTOR_API_PRESENT =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Seed of the random streams
+     */
+    private final long seed;
+
+    /**
+     * Pool in which the ranges of battles are resolved
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Whether the ranges are resolved in lockstep with the Vector API
+     */
+    private final boolean vectorized;
+
+    /**
+     * Constructor for a simulator using the common pool.
+     *
+     * @param seed Seed of the random streams
+     */
+    public BattleSimulator(long seed) {
+        this(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for a simulator using the Vector API when it is present.
+     *
+     * @param seed Seed of the random streams
+     * @param pool Pool in which the ranges of battles are resolved
+     */
+    public BattleSimulator(long seed, ForkJoinPool pool) {
+        this(seed, pool, VECTOR_API_PRESENT);
+    }
+
+    /**
+     * Constructor for the simulator.
+     *
+     * @param seed       Seed of the random streams
+     * @param pool       Pool in which the ranges of battles are resolved
+     * @param vectorized Whether to use the Vector API, ignored when it is not present
+     */
+    public BattleSimulator(long seed, ForkJoinPool pool, boolean vectorized) {
+        this.seed = seed;
+        this.pool = pool;
+        this.vectorized = vectorized && VECTOR_API_PRESENT;
+    }
+
+    /**
+     * Method to know whether the battles are resolved with the Vector API.
+     *
+     * @return true if the lockstep path is used
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Method to simulate a batch of battles. Entry i of the result arrays
+     * receives the armies left on both countries after battle i.
+     *
+     * @param attackerArmies Armies on the attacking countries
+     * @param defenderArmies Armies on the defending countries
+     * @param attackerResult Armies left on the attacking countries
+     * @param defenderResult Armies left on the defending countries
+     */
+    public void simulate(int[] attackerArmies, int[] defenderArmies, int[] attackerResult, int[] defenderResult) {
+        int count = attackerArmies.length;
+        if (defenderArmies.length != count || attackerResult.length < count || defenderResult.length < count) {
+            throw new IllegalArgumentException("Army arrays must have the same length");
+        }
+        if (count <= SHARD_SIZE) {
+            simulateRange(attackerArmies, defenderArmies, attackerResult, defenderResult, 0, count);
+        } else {
+            pool.invoke(new Shard(attackerArmies, defenderArmies, attackerResult, defenderResult, 0, count));
+        }
+    }
+
+    /**
+     * Method to estimate the probability that the attacker conquers the defending country.
+     *
+     * @param attackerArmies Armies on the attacking country
+     * @param defenderArmies Armies on the defending country
+     * @param trials         Number of battles to simulate
+     * @return fraction of the battles won by the attacker
+     */
+    public double estimateWinProbability(int attackerArmies, int defenderArmies, int trials) {
+        int[] attackers = new int[trials];
+        int[] defenders = new int[trials];
+        Arrays.fill(attackers, attackerArmies);
+        Arrays.fill(defenders, defenderArmies);
+        simulate(attackers, defenders, attackers, defenders);
+        int won = 0;
+        for (int defender : defenders) {
+            if (defender == 0) {
+                won++;
+            }
+        }
+        return (double) won / trials;
+    }
+
+    /**
+     * Method to simulate the battles of a range, in lockstep blocks when
+     * vectorized and one after the other for the rest.
+     *
+     * @param attackerArmies Armies on the attacking countries
+     * @param defenderArmies Armies on the defending countries
+     * @param attackerResult Armies left on the attacking countries
+     * @param defenderResult Armies left on the defending countries
+     * @param from           First battle of the range
+     * @param to             Battle after the last one of the range
+     */
+    private void simulateRange(int[] attackerArmies, int[] defenderArmies, int[] attackerResult, int[] defenderResult,
+                               int from, int to) {
+        int first = from;
+        if (vectorized) {
+            first = VectorBattleKernel.resolve(seed, attackerArmies, defenderArmies, attackerResult, defenderResult,
+                    from, to);
+        }
+        for (int battle = first; battle < to; battle++) {
+            long stream = streamSeed(battle);
+            int attacker = attackerArmies[battle];
+            int defender = defenderArmies[battle];
+            while (attacker > 1 && defender > 0) {
+                int result = resolveRound(attacker, defender, stream);
+                stream += 5 * GOLDEN_GAMMA;
+                attacker -= Dice.attackerLosses(result);
+                defender -= Dice.defenderLosses(result);
+            }
+            attackerResult[battle] = attacker;
+            defenderResult[battle] = defender;
+        }
+    }
+
+    /**
+     * Method to roll the dice of one round and resolve it. Five dice are
+     * always drawn from the stream, the ones which are not rolled are ignored.
+     *
+     * @param attacker Armies on the attacking country
+     * @param defender Armies on the defending country
+     * @param stream   Position in the random stream
+     * @return round result packed as by {@link Dice#resolveRound(int, int, int, int, int)}
+     */
+    private static int resolveRound(int attacker, int defender, long stream) {
+        int attacker1 = rollDice(stream + GOLDEN_GAMMA);
+        int attacker2 = attacker > 2 ? rollDice(stream + 2 * GOLDEN_GAMMA) : 0;
+        int attacker3 = attacker > 3 ? rollDice(stream + 3 * GOLDEN_GAMMA) : 0;
+        int defender1 = rollDice(stream + 4 * GOLDEN_GAMMA);
+        int defender2 = defender > 1 ? rollDice(stream + 5 * GOLDEN_GAMMA) : 0;
+        return Dice.resolveRound(attacker1, attacker2, attacker3, defender1, defender2);
+    }
+
+    /**
+     * Method to get a dice value from a position of a random stream.
+     * It is package private for the statistical checks of the dice.
+     *
+     * @param position Position in the random stream
+     * @return dice value between 1 and 6
+     */
+    static int rollDice(long position) {
+        return 1 + (int) (((mix(position) >>> 32) * 6) >>> 32);
+    }
+
+    /**
+     * Method to get the first position of the random stream of a battle.
+     *
+     * @param battle Index of the battle
+     * @return start of the stream
+     */
+    private long streamSeed(int battle) {
+        return mix(seed + battle * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Method to scramble a position of a random stream, the finalizer of SplitMix64.
+     *
+     * @param z Position in the stream
+     * @return scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Task which splits a range of battles until it is small enough to be resolved by one thread.
+     */
+    private class Shard extends RecursiveAction {
+
+        /** Armies on the attacking countries */
+        private final int[] attackerArmies;
+
+        /** Armies on the defending countries */
+        private final int[] defenderArmies;
+
+        /** Armies left on the attacking countries */
+        private final int[] attackerResult;
+
+        /** Armies left on the defending countries */
+        private final int[] defenderResult;
+
+        /** First battle of the range */
+        private final int from;
+
+        /** Battle after the last one of the range */
+        private final int to;
+
+        /**
+         * Constructor for a shard.
+         *
+         * @param attackerArmies Armies on the attacking countries
+         * @param defenderArmies Armies on the defending countries
+         * @param attackerResult Armies left on the attacking countries
+         * @param defenderResult Armies left on the defending countries
+         * @param from           First battle of the range
+         * @param to             Battle after the last one of the range
+         */
+        private Shard(int[] attackerArmies, int[] defenderArmies, int[] attackerResult, int[] defenderResult,
+                      int from, int to) {
+            this.attackerArmies = attackerArmies;
+            this.defenderArmies = defenderArmies;
+            this.attackerResult = attackerResult;
+            this.defenderResult = defenderResult;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Method to resolve the range, or split it in two halves.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= SHARD_SIZE) {
+                simulateRange(attackerArmies, defenderArmies, attackerResult, defenderResult, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Shard(attackerArmies, defenderArmies, attackerResult, defenderResult, from, middle),
+                    new Shard(attackerArmies, defenderArmies, attackerResult, defenderResult, middle, to));
+        }
+    }
+}
@@ -5,8 +5,6 @@ import com.risk.controller.GamePlayController;
 import javafx.scene.control.CheckBox;
 
 
-import java.util.*;
-import java.util.stream.Collectors;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +41,11 @@ public class Card extends Observable implements Serializable {
      */
     private List<Card> cardsToExchange;
 
+    /**
+     * Position of the card in its deck, -1 if it belongs to no deck
+     */
+    private int deckIndex = -1;
+
     /**
      * Cards constructor
      */
@@ -107,6 +110,24 @@ public class Card extends Observable implements Serializable {
         this.country = country;
     }
 
+    /**
+     * Get the position of the card in its deck
+     *
+     * @return deck index, -1 if the card belongs to no deck
+     */
+    int getDeckIndex() {
+        return deckIndex;
+    }
+
+    /**
+     * Set the position of the card in its deck
+     *
+     * @param deckIndex deck index
+     */
+    void setDeckIndex(int deckIndex) {
+        this.deckIndex = deckIndex;
+    }
+
     /**
      * Getter for list of cards for exchange.
      *
@@ -162,23 +183,7 @@ public class Card extends Observable implements Serializable {
      * @return true if the exchange is possible; otherwise false
      */
     public boolean isExchangePossible(List<Card> selectedCards) {
-        boolean isPossible = false;
-        if (selectedCards.size() == 3) {
-            int infantry = 0, cavalry = 0, artillery = 0;
-            for (Card card : selectedCards) {
-                if (card.getCardType().equals(ICardType.INFANTRY)) {
-                    infantry++;
-                } else if (card.getCardType().equals(ICardType.CAVALRY)) {
-                    cavalry++;
-                } else if (card.getCardType().equals(ICardType.ARTILLERY)) {
-                    artillery++;
-                }
-            }
-            if ((infantry == 1 && cavalry == 1 && artillery == 1) || infantry == 3 || cavalry == 3 || artillery == 3) {
-                isPossible = true;
-            }
-        }
-        return isPossible;
+        return CardHand.isValidSet(selectedCards);
     }
 
     /**
@@ -201,21 +206,31 @@ public class Card extends Observable implements Serializable {
      * @return List of valid combination of cards
      */
     public List<Card> generateValidCardCombination(List<Card> selectedCards) {
-        HashMap<String, Integer> cardCountMap = new HashMap<>();
-        for (Card card : selectedCards) {
-            if (cardCountMap.containsKey(card.getCardType())) {
-                cardCountMap.put(card.getCardType(), cardCountMap.get(card.getCardType()) + 1);
-            } else {
-                cardCountMap.put(card.getCardType(), 1);
-            }
+        return generateValidCardCombination(selectedCards, null);
+    }
 
-        }
-        for (Map.Entry<String, Integer> entry : cardCountMap.entrySet()) {
-            if (entry.getValue() >= 3) {
-                return selectedCards.stream().filter(t -> t.getCardType().equals(entry.getKey()))
-                        .collect(Collectors.toList());
-            }
-        }
-        return null;
+    /**
+     * Method to generate the best valid combination of cards for a player,
+     * preferring cards whose country is owned by the player.
+     *
+     * @param selectedCards List of selected cards
+     * @param player Player exchanging the cards, null if country bonuses do not matter
+     * @return List of three cards forming a valid set, null if there is none
+     */
+    public List<Card> generateValidCardCombination(List<Card> selectedCards, Player player) {
+        CardHand hand = new CardHand(selectedCards);
+        return hand.hasValidSet() ? hand.chooseBestSet(player) : null;
+    }
+
+    /**
+     * Method to generate the best valid combination of the cards of a player,
+     * read from the hand the player keeps grouped by type.
+     *
+     * @param player Player exchanging the cards
+     * @return List of three cards forming a valid set, null if there is none
+     */
+    public List<Card> generateValidCardCombination(Player player) {
+        CardHand hand = player.getCardHand();
+        return hand.hasValidSet() ? hand.chooseBestSet(player) : null;
     }
 }
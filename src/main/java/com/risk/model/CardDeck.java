@@ -0,0 +1,230 @@
+package com.risk.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class for the deck of cards of a game. The deck keeps the positions of
+ * its cards in an int array with a draw pointer: a card is drawn from the
+ * top and a returned card is inserted at a random position with one step
+ * of the inside-out Fisher-Yates shuffle, so the deck stays uniformly
+ * shuffled without ever shuffling it as a whole. Both operations are O(1).
+ * <p>
+ * The type of the card of every country only depends on the names of the
+ * countries of the map, so every game on a map gets the same card types.
+ * The types are computed once per loaded map, see
+ * {@link com.risk.services.MapIO#getCardDefinitions()}, and the decks of
+ * its games look their cards up in them.
+ */
+public class CardDeck implements Serializable {
+
+    /**
+     * Card types in the order in which they are given to the countries
+     */
+    private static final String[] CARD_TYPES = {ICardType.ARTILLERY, ICardType.CAVALRY, ICardType.INFANTRY};
+
+    /**
+     * All the cards of the game, the index of a card is its deck index
+     */
+    private final Card[] cards;
+
+    /**
+     * Deck indexes of the cards, the cards in the deck are in [0, size)
+     */
+    private final int[] order;
+
+    /**
+     * Number of cards in the deck, the top card is at size - 1
+     */
+    private int size;
+
+    /**
+     * Random source of the game, null for the random source of the current thread
+     */
+    private transient Random random;
+
+    /**
+     * Constructor for a shuffled deck of the given cards.
+     *
+     * @param cards All the cards of the game
+     */
+    public CardDeck(List<Card> cards) {
+        this(cards, null);
+    }
+
+    /**
+     * Constructor for a deck of the given cards shuffled with the random source of a game.
+     *
+     * @param cards  All the cards of the game
+     * @param random Random source of the game, null for the random source of the current thread
+     */
+    public CardDeck(List<Card> cards, Random random) {
+        this.random = random;
+        this.cards = cards.toArray(new Card[0]);
+        this.order = new int[this.cards.length];
+        for (int i = 0; i < this.cards.length; i++) {
+            this.cards[i].setDeckIndex(i);
+            insert(i);
+        }
+    }
+
+    /**
+     * Method to create the deck of a map, with one card per country.
+     *
+     * @param countries Countries of the map
+     * @return shuffled deck
+     */
+    public static CardDeck forCountries(Collection<Country> countries) {
+        return forCountries(countries, null);
+    }
+
+    /**
+     * Method to create the deck of a map, with one card per country,
+     * shuffled with the random source of a game.
+     *
+     * @param countries Countries of the map
+     * @param random    Random source of the game, null for the random source of the current thread
+     * @return shuffled deck
+     */
+    public static CardDeck forCountries(Collection<Country> countries, Random random) {
+        return forCountries(countries, getCardDefinitions(countries), random);
+    }
+
+    /**
+     * Method to create the deck of a map, with one card per country of the
+     * type given by the card definitions of the map.
+     *
+     * @param countries   Countries of the map
+     * @param definitions Card type of every country, see {@link #getCardDefinitions(Collection)}
+     * @param random      Random source of the game, null for the random source of the current thread
+     * @return shuffled deck
+     */
+    public static CardDeck forCountries(Collection<Country> countries, Map<String, String> definitions,
+                                        Random random) {
+        List<Card> cards = new ArrayList<>(countries.size());
+        for (Country country : countries) {
+            Card card = new Card(definitions.get(country.getName()));
+            card.setCountry(country);
+            cards.add(card);
+        }
+        return new CardDeck(cards, random);
+    }
+
+    /**
+     * Method to get the card type of every country of a map. The types are
+     * dealt in turn to the countries taken in a random order, so that every
+     * type has the same number of cards. The order only depends on the names
+     * of the countries, so that every game on the map, in every run, gets
+     * the same cards.
+     *
+     * @param countries Countries of the map
+     * @return read only map from country name to card type
+     */
+    public static Map<String, String> getCardDefinitions(Collection<Country> countries) {
+        List<String> names = new ArrayList<>(countries.size());
+        for (Country country : countries) {
+            names.add(country.getName());
+        }
+        Collections.sort(names);
+        Collections.shuffle(names, new Random(names.hashCode()));
+        Map<String, String> definitions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            definitions.put(names.get(i), CARD_TYPES[i % CARD_TYPES.length]);
+        }
+        return Collections.unmodifiableMap(definitions);
+    }
+
+    /**
+     * Method to draw the top card of the deck.
+     *
+     * @return card drawn, null if the deck is empty
+     */
+    public Card draw() {
+        if (size == 0) {
+            return null;
+        }
+        return cards[order[--size]];
+    }
+
+    /**
+     * Method to put a card back in the deck at a random position.
+     *
+     * @param card Card of this deck which is not in the deck
+     */
+    public void returnCard(Card card) {
+        int index = card.getDeckIndex();
+        if (index < 0 || index >= cards.length || cards[index] != card) {
+            throw new IllegalArgumentException("Card " + card.getCardType() + " does not belong to this deck");
+        }
+        if (size == order.length) {
+            throw new IllegalStateException("All the cards are already in the deck");
+        }
+        card.setCurrentPlayer(null);
+        insert(index);
+    }
+
+    /**
+     * Method to put cards back in the deck at random positions.
+     *
+     * @param returnedCards Cards of this deck which are not in the deck
+     */
+    public void returnCards(Collection<Card> returnedCards) {
+        for (Card card : returnedCards) {
+            returnCard(card);
+        }
+    }
+
+    /**
+     * Method to get the number of cards in the deck.
+     *
+     * @return number of cards left to draw
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check if the deck is empty.
+     *
+     * @return true if there is no card to draw; otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to insert a card with one step of the inside-out Fisher-Yates shuffle.
+     *
+     * @param index Deck index of the card
+     */
+    private void insert(int index) {
+        int position = (random != null ? random : ThreadLocalRandom.current()).nextInt(size + 1);
+        order[size++] = order[position];
+        order[position] = index;
+    }
+
+    /**
+     * Method to get the cards in the deck, from the bottom to the top.
+     *
+     * @return description of the deck
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            Card card = cards[order[i]];
+            builder.append(card.getCardType()).append(" -> ").append(card.getCountry() == null ? "" : card.getCountry().getName());
+        }
+        return builder.append("]").toString();
+    }
+}
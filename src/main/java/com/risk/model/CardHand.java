@@ -0,0 +1,238 @@
+package com.risk.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class for the cards held by a player, grouped by type. The hand keeps
+ * one counter and one list per card type, so that checking for a valid
+ * set of three cards, either three of a kind or one of each type, is
+ * done in constant time.
+ */
+public class CardHand {
+
+    /**
+     * Card types in the order of the counters
+     */
+    private static final String[] CARD_TYPES = {ICardType.INFANTRY, ICardType.CAVALRY, ICardType.ARTILLERY};
+
+    /**
+     * Number of cards in a set
+     */
+    public static final int SET_SIZE = 3;
+
+    /**
+     * Number of cards of each type
+     */
+    private final int[] counts = new int[CARD_TYPES.length];
+
+    /**
+     * Cards of each type
+     */
+    private final List<List<Card>> cardsByType = new ArrayList<>(CARD_TYPES.length);
+
+    /**
+     * Constructor for the hand, which groups the cards by type.
+     *
+     * @param cards Cards held by the player
+     */
+    public CardHand(List<Card> cards) {
+        for (int type = 0; type < CARD_TYPES.length; type++) {
+            cardsByType.add(new ArrayList<>());
+        }
+        if (cards != null) {
+            for (Card card : cards) {
+                add(card);
+            }
+        }
+    }
+
+    /**
+     * Method to get the position of a card type in the counters.
+     *
+     * @param cardType Type of card
+     * @return position of the type, -1 if the type is unknown
+     */
+    public static int getTypeIndex(String cardType) {
+        if (ICardType.INFANTRY.equals(cardType)) {
+            return 0;
+        } else if (ICardType.CAVALRY.equals(cardType)) {
+            return 1;
+        } else if (ICardType.ARTILLERY.equals(cardType)) {
+            return 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Method to check if three cards form a valid set.
+     *
+     * @param cards Cards to check
+     * @return true if the cards are three of a kind or one of each type; otherwise false
+     */
+    public static boolean isValidSet(List<Card> cards) {
+        if (cards == null || cards.size() != SET_SIZE) {
+            return false;
+        }
+        CardHand hand = new CardHand(cards);
+        return hand.size() == SET_SIZE && hand.hasValidSet();
+    }
+
+    /**
+     * Method to add a card to the hand.
+     *
+     * @param card Card to add
+     */
+    public void add(Card card) {
+        int type = getTypeIndex(card.getCardType());
+        if (type >= 0) {
+            counts[type]++;
+            cardsByType.get(type).add(card);
+        }
+    }
+
+    /**
+     * Method to remove a card from the hand.
+     *
+     * @param card Card to remove
+     * @return true if the card was in the hand; otherwise false
+     */
+    public boolean remove(Card card) {
+        int type = getTypeIndex(card.getCardType());
+        if (type >= 0 && cardsByType.get(type).remove(card)) {
+            counts[type]--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the number of cards of a type.
+     *
+     * @param cardType Type of card
+     * @return number of cards of the type
+     */
+    public int getCount(String cardType) {
+        int type = getTypeIndex(cardType);
+        return type >= 0 ? counts[type] : 0;
+    }
+
+    /**
+     * Method to get the number of cards of the known types in the hand.
+     *
+     * @return number of cards
+     */
+    public int size() {
+        return counts[0] + counts[1] + counts[2];
+    }
+
+    /**
+     * Method to check if the hand holds three of a kind.
+     *
+     * @return true if the hand holds three cards of the same type; otherwise false
+     */
+    public boolean hasThreeOfAKind() {
+        return counts[0] >= SET_SIZE || counts[1] >= SET_SIZE || counts[2] >= SET_SIZE;
+    }
+
+    /**
+     * Method to check if the hand holds one card of each type.
+     *
+     * @return true if the hand holds a mixed set; otherwise false
+     */
+    public boolean hasMixedSet() {
+        return counts[0] > 0 && counts[1] > 0 && counts[2] > 0;
+    }
+
+    /**
+     * Method to check if the hand holds any valid set.
+     *
+     * @return true if cards can be exchanged; otherwise false
+     */
+    public boolean hasValidSet() {
+        return hasThreeOfAKind() || hasMixedSet();
+    }
+
+    /**
+     * Method to choose the set to exchange. Sets with a card whose country
+     * is owned by the player come first, since the player then gets two
+     * extra armies on that country. Three of a kind of the most common type
+     * comes next, which keeps one card of each type for later, and the
+     * mixed set is the last choice.
+     *
+     * @param player Player exchanging the cards, null if country bonuses do not matter
+     * @return three cards to exchange, null if the hand holds no valid set
+     */
+    public List<Card> chooseBestSet(Player player) {
+        int bestType = -1;
+        boolean bestHasBonus = false;
+        for (int type = 0; type < CARD_TYPES.length; type++) {
+            if (counts[type] < SET_SIZE) {
+                continue;
+            }
+            boolean hasBonus = findOwnedCard(type, player) != null;
+            if (bestType < 0 || (hasBonus && !bestHasBonus)
+                    || (hasBonus == bestHasBonus && counts[type] > counts[bestType])) {
+                bestType = type;
+                bestHasBonus = hasBonus;
+            }
+        }
+        if (hasMixedSet() && !bestHasBonus) {
+            boolean mixedHasBonus = findOwnedCard(0, player) != null || findOwnedCard(1, player) != null
+                    || findOwnedCard(2, player) != null;
+            if (bestType < 0 || mixedHasBonus) {
+                List<Card> set = new ArrayList<>(SET_SIZE);
+                for (int type = 0; type < CARD_TYPES.length; type++) {
+                    Card owned = findOwnedCard(type, player);
+                    set.add(owned != null ? owned : cardsByType.get(type).get(0));
+                }
+                return set;
+            }
+        }
+        if (bestType < 0) {
+            return null;
+        }
+        List<Card> cards = cardsByType.get(bestType);
+        Card owned = findOwnedCard(bestType, player);
+        List<Card> set = new ArrayList<>(SET_SIZE);
+        if (owned != null) {
+            set.add(owned);
+        }
+        for (int i = 0; set.size() < SET_SIZE; i++) {
+            if (cards.get(i) != owned) {
+                set.add(cards.get(i));
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Method to find a card of a type whose country is owned by the player.
+     *
+     * @param type   Position of the card type
+     * @param player Player exchanging the cards
+     * @return card on an owned country, null if there is none
+     */
+    private Card findOwnedCard(int type, Player player) {
+        if (player == null) {
+            return null;
+        }
+        for (Card card : cardsByType.get(type)) {
+            if (card.getCountry() != null && card.getCountry().getPlayer() == player) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to get the counters of the hand.
+     *
+     * @return number of infantry, cavalry and artillery cards
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(counts);
+    }
+}
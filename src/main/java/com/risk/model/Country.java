@@ -36,6 +36,21 @@ public class Country implements Serializable {
 	/** Part of Continent */
 	private Continent partOfContinent;
 
+	/** Army ranking of the countries of the player, null if the country has no player */
+	private CountryArmyIndex armyIndex;
+
+	/** Position in the max heap of the army ranking */
+	private int strongestPosition = -1;
+
+	/** Position in the min heap of the army ranking */
+	private int weakestPosition = -1;
+
+	/** Threat map holding the country, null if there is none */
+	private ThreatMap threatMap;
+
+	/** Position in the threat map */
+	private int threatIndex = -1;
+
 	/**
 	 * Country constructor.
 	 * 
@@ -82,7 +97,23 @@ public class Country implements Serializable {
 	 *            name of the player.
 	 */
 	public void setPlayer(Player player) {
+		if (armyIndex != null) {
+			armyIndex.remove(this);
+		}
+		if (this.player != null && partOfContinent != null) {
+			this.player.updateContinentCount(partOfContinent, -1);
+		}
+		Player previous = this.player;
 		this.player = player;
+		if (player != null) {
+			player.getArmyIndex().add(this);
+			if (partOfContinent != null) {
+				player.updateContinentCount(partOfContinent, 1);
+			}
+		}
+		if (threatMap != null && previous != player) {
+			threatMap.ownerChanged(this, previous);
+		}
 	}
 
 	/**
@@ -158,7 +189,99 @@ public class Country implements Serializable {
 	 *            Integer value of number of armies
 	 */
 	public void setNoOfArmies(int noOfArmies) {
-		this.noOfArmies = noOfArmies;
+		if (this.noOfArmies != noOfArmies) {
+			int change = noOfArmies - this.noOfArmies;
+			this.noOfArmies = noOfArmies;
+			if (armyIndex != null) {
+				armyIndex.update(this);
+			}
+			if (threatMap != null) {
+				threatMap.armiesChanged(this, change);
+			}
+		}
+	}
+
+	/**
+	 * Getter for the army ranking holding the country.
+	 *
+	 * @return army ranking of the player, null if the country has no player
+	 */
+	CountryArmyIndex getArmyIndex() {
+		return armyIndex;
+	}
+
+	/**
+	 * Setter for the army ranking holding the country.
+	 *
+	 * @param armyIndex army ranking of the player
+	 */
+	void setArmyIndex(CountryArmyIndex armyIndex) {
+		this.armyIndex = armyIndex;
+	}
+
+	/**
+	 * Getter for the position in the max heap of the army ranking.
+	 *
+	 * @return position in the max heap
+	 */
+	int getStrongestPosition() {
+		return strongestPosition;
+	}
+
+	/**
+	 * Setter for the position in the max heap of the army ranking.
+	 *
+	 * @param strongestPosition position in the max heap
+	 */
+	void setStrongestPosition(int strongestPosition) {
+		this.strongestPosition = strongestPosition;
+	}
+
+	/**
+	 * Getter for the position in the min heap of the army ranking.
+	 *
+	 * @return position in the min heap
+	 */
+	int getWeakestPosition() {
+		return weakestPosition;
+	}
+
+	/**
+	 * Setter for the position in the min heap of the army ranking.
+	 *
+	 * @param weakestPosition position in the min heap
+	 */
+	void setWeakestPosition(int weakestPosition) {
+		this.weakestPosition = weakestPosition;
+	}
+
+	/**
+	 * Getter for the threat map holding the country.
+	 *
+	 * @return threat map, null if the country is in none
+	 */
+	public ThreatMap getThreatMap() {
+		return threatMap;
+	}
+
+	/**
+	 * Setter for the threat map holding the country.
+	 *
+	 * @param threatMap   threat map
+	 * @param threatIndex position in the threat map
+	 */
+	void setThreatMap(ThreatMap threatMap, int threatIndex) {
+		this.threatMap = threatMap;
+		this.threatIndex = threatIndex;
+	}
+
+	/**
+	 * Getter for the position in the threat map.
+	 *
+	 * @return position in the threat map
+	 */
+	int getThreatIndex() {
+		return threatIndex;
 	}
 
 	/**
@@ -196,7 +319,13 @@ public class Country implements Serializable {
 	 *            Continent name
 	 */
 	public void setPartOfContinent(Continent partOfContinent) {
+		if (player != null && this.partOfContinent != null) {
+			player.updateContinentCount(this.partOfContinent, -1);
+		}
 		this.partOfContinent = partOfContinent;
+		if (player != null && partOfContinent != null) {
+			player.updateContinentCount(partOfContinent, 1);
+		}
 	}
 	
 	/**
@@ -0,0 +1,344 @@
+package com.risk.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Class for the countries of a player ranked by their number of armies.
+ * It keeps an indexed max heap and an indexed min heap of the countries,
+ * each country remembering its position in both, so that a change of
+ * armies or of owner is applied in O(log n) and the strongest or weakest
+ * country is found without sorting the country list.
+ * <p>
+ * Countries keep the index up to date themselves from
+ * {@link Country#setNoOfArmies(int)} and {@link Country#setPlayer(Player)}.
+ */
+public class CountryArmyIndex implements Serializable {
+
+    /**
+     * Countries in max heap order
+     */
+    private Country[] strongest = new Country[16];
+
+    /**
+     * Countries in min heap order
+     */
+    private Country[] weakest = new Country[16];
+
+    /**
+     * Number of countries in the index
+     */
+    private int size;
+
+    /**
+     * Heap positions left to visit by the searches, itself a heap in the
+     * order of the searched heap, reused from one search to the next
+     */
+    private transient int[] frontier;
+
+    /**
+     * Number of positions in the frontier
+     */
+    private transient int frontierSize;
+
+    /**
+     * Method to get the number of countries in the index.
+     *
+     * @return number of countries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check if a country is in the index.
+     *
+     * @param country Country to look for
+     * @return true if the country is in the index; otherwise false
+     */
+    public boolean contains(Country country) {
+        return country.getArmyIndex() == this;
+    }
+
+    /**
+     * Method to get the country with the most armies.
+     *
+     * @return strongest country, null if the index is empty
+     */
+    public Country getStrongest() {
+        return size == 0 ? null : strongest[0];
+    }
+
+    /**
+     * Method to get the country with the fewest armies.
+     *
+     * @return weakest country, null if the index is empty
+     */
+    public Country getWeakest() {
+        return size == 0 ? null : weakest[0];
+    }
+
+    /**
+     * Method to find the country with the most armies among the ones
+     * matching a condition. Only the heap entries stronger than the answer
+     * and their children are visited.
+     *
+     * @param condition Condition on the country
+     * @return strongest matching country, null if there is none
+     */
+    public Country findStrongest(Predicate<Country> condition) {
+        return find(strongest, true, condition);
+    }
+
+    /**
+     * Method to find the country with the fewest armies among the ones
+     * matching a condition. Only the heap entries weaker than the answer
+     * and their children are visited.
+     *
+     * @param condition Condition on the country
+     * @return weakest matching country, null if there is none
+     */
+    public Country findWeakest(Predicate<Country> condition) {
+        return find(weakest, false, condition);
+    }
+
+    /**
+     * Method to get a copy of the countries sorted by number of armies.
+     *
+     * @param descending true for the strongest country first, false for the weakest first
+     * @return sorted list of the countries
+     */
+    public List<Country> getSortedCountries(boolean descending) {
+        Country[] sorted = Arrays.copyOf(strongest, size);
+        Comparator<Country> comparator = Comparator.comparingInt(Country::getNoOfArmies);
+        Arrays.sort(sorted, descending ? comparator.reversed() : comparator);
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    /**
+     * Method to add a country to the index.
+     *
+     * @param country Country which is not in any index
+     */
+    void add(Country country) {
+        if (size == strongest.length) {
+            strongest = Arrays.copyOf(strongest, size * 2);
+            weakest = Arrays.copyOf(weakest, size * 2);
+        }
+        country.setArmyIndex(this);
+        strongest[size] = country;
+        weakest[size] = country;
+        country.setStrongestPosition(size);
+        country.setWeakestPosition(size);
+        size++;
+        siftUp(strongest, true, size - 1);
+        siftUp(weakest, false, size - 1);
+    }
+
+    /**
+     * Method to remove a country from the index.
+     *
+     * @param country Country of this index
+     */
+    void remove(Country country) {
+        size--;
+        removeAt(strongest, true, country.getStrongestPosition());
+        removeAt(weakest, false, country.getWeakestPosition());
+        country.setArmyIndex(null);
+        country.setStrongestPosition(-1);
+        country.setWeakestPosition(-1);
+    }
+
+    /**
+     * Method to move a country in both heaps after its armies changed.
+     *
+     * @param country Country of this index
+     */
+    void update(Country country) {
+        int position = country.getStrongestPosition();
+        siftDown(strongest, true, siftUp(strongest, true, position));
+        position = country.getWeakestPosition();
+        siftDown(weakest, false, siftUp(weakest, false, position));
+    }
+
+    /**
+     * Method to remove the entry at a position of a heap, the size being already decreased.
+     *
+     * @param heap     Heap array
+     * @param max      true for the max heap
+     * @param position Position of the removed entry
+     */
+    private void removeAt(Country[] heap, boolean max, int position) {
+        Country last = heap[size];
+        heap[size] = null;
+        if (position == size) {
+            return;
+        }
+        place(heap, max, last, position);
+        siftDown(heap, max, siftUp(heap, max, position));
+    }
+
+    /**
+     * Method to move an entry up while it ranks before its parent.
+     *
+     * @param heap     Heap array
+     * @param max      true for the max heap
+     * @param position Position of the entry
+     * @return final position of the entry
+     */
+    private int siftUp(Country[] heap, boolean max, int position) {
+        Country country = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(max, country, heap[parent])) {
+                break;
+            }
+            place(heap, max, heap[parent], position);
+            position = parent;
+        }
+        place(heap, max, country, position);
+        return position;
+    }
+
+    /**
+     * Method to move an entry down while a child ranks before it.
+     *
+     * @param heap     Heap array
+     * @param max      true for the max heap
+     * @param position Position of the entry
+     */
+    private void siftDown(Country[] heap, boolean max, int position) {
+        Country country = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(max, heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(max, heap[child], country)) {
+                break;
+            }
+            place(heap, max, heap[child], position);
+            position = child;
+        }
+        place(heap, max, country, position);
+    }
+
+    /**
+     * Method to put an entry at a position of a heap and record the position in the country.
+     *
+     * @param heap     Heap array
+     * @param max      true for the max heap
+     * @param country  Country to place
+     * @param position Position in the heap
+     */
+    private static void place(Country[] heap, boolean max, Country country, int position) {
+        heap[position] = country;
+        if (max) {
+            country.setStrongestPosition(position);
+        } else {
+            country.setWeakestPosition(position);
+        }
+    }
+
+    /**
+     * Method to compare two countries in the order of a heap.
+     *
+     * @param max    true for the max heap
+     * @param first  First country
+     * @param second Second country
+     * @return true if the first country ranks strictly before the second
+     */
+    private static boolean before(boolean max, Country first, Country second) {
+        return max ? first.getNoOfArmies() > second.getNoOfArmies() : first.getNoOfArmies() < second.getNoOfArmies();
+    }
+
+    /**
+     * Method to find the first matching country of a heap in heap order,
+     * visiting the heap best first from the root. The positions to visit
+     * are kept in the reused frontier, so a search allocates nothing.
+     *
+     * @param heap      Heap array
+     * @param max       true for the max heap
+     * @param condition Condition on the country
+     * @return first matching country, null if there is none
+     */
+    private Country find(Country[] heap, boolean max, Predicate<Country> condition) {
+        if (size == 0) {
+            return null;
+        }
+        if (condition.test(heap[0])) {
+            return heap[0];
+        }
+        if (frontier == null || frontier.length < size) {
+            frontier = new int[strongest.length];
+        }
+        frontierSize = 0;
+        pushFrontier(heap, max, 0);
+        while (frontierSize > 0) {
+            int position = popFrontier(heap, max);
+            if (position > 0 && condition.test(heap[position])) {
+                return heap[position];
+            }
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                pushFrontier(heap, max, child);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to add a heap position to the frontier of a search.
+     *
+     * @param heap     Searched heap array
+     * @param max      true for the max heap
+     * @param position Position to visit
+     */
+    private void pushFrontier(Country[] heap, boolean max, int position) {
+        int slot = frontierSize++;
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!before(max, heap[position], heap[frontier[parent]])) {
+                break;
+            }
+            frontier[slot] = frontier[parent];
+            slot = parent;
+        }
+        frontier[slot] = position;
+    }
+
+    /**
+     * Method to take the best ranked heap position out of the frontier of a search.
+     *
+     * @param heap Searched heap array
+     * @param max  true for the max heap
+     * @return position to visit next
+     */
+    private int popFrontier(Country[] heap, boolean max) {
+        int result = frontier[0];
+        int last = frontier[--frontierSize];
+        int slot = 0;
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= frontierSize) {
+                break;
+            }
+            if (child + 1 < frontierSize && before(max, heap[frontier[child + 1]], heap[frontier[child]])) {
+                child++;
+            }
+            if (!before(max, heap[frontier[child]], heap[last])) {
+                break;
+            }
+            frontier[slot] = frontier[child];
+            slot = child;
+        }
+        frontier[slot] = last;
+        return result;
+    }
+}
@@ -5,9 +5,9 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Observable;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 /**
@@ -20,6 +20,27 @@ import java.util.Random;
  */
 public class Dice extends Observable {
 
+    /**
+     * Maximum number of dice the attacker can roll in one round
+     */
+    public static final int MAX_ATTACKER_DICE = 3;
+
+    /**
+     * Maximum number of dice the defender can roll in one round
+     */
+    public static final int MAX_DEFENDER_DICE = 2;
+
+    /**
+     * Number of bits by which the defender losses are shifted
+     * in a packed round result
+     */
+    public static final int DEFENDER_LOSS_SHIFT = 8;
+
+    /**
+     * Mask for reading the losses of one side from a packed round result
+     */
+    public static final int LOSS_MASK = (1 << DEFENDER_LOSS_SHIFT) - 1;
+
     /**
      * Country which is attacking the defending country,
      * adjacent to it.
@@ -46,6 +67,16 @@ public class Dice extends Observable {
      */
     private int countriesWonCount;
 
+    /**
+     * Policy deciding when the automatic rolls stop, null to roll until the battle is decided
+     */
+    private AttackPolicy attackPolicy;
+
+    /**
+     * Random source of the rolls, null for the random source of the current thread
+     */
+    private Random random;
+
     /**
      * Constructor for the dice class. It initializes the
      * value of the attacking and defending countries.
@@ -160,19 +191,185 @@ public class Dice extends Observable {
      */
     public ArrayList<String> getDicePlayResult(){
         ArrayList<String> diceThrowResult = new ArrayList<>();
-        Collections.sort(attackerDiceList,Collections.reverseOrder());
-        Collections.sort(defenderDiceList,Collections.reverseOrder());
+        int roundResult = applyRoundResult(resolveRound(getDiceValue(attackerDiceList, 0), getDiceValue(attackerDiceList, 1),
+                getDiceValue(attackerDiceList, 2), getDiceValue(defenderDiceList, 0), getDiceValue(defenderDiceList, 1)));
+
+        for (int loss = 0; loss < defenderLosses(roundResult); loss++) {
+            diceThrowResult.add("Defender has lost one army.");
+        }
+        for (int loss = 0; loss < attackerLosses(roundResult); loss++) {
+            diceThrowResult.add("Attacker has lost one army.");
+        }
+        return diceThrowResult;
+    }
+
+    /**
+     * Method to read a dice value from a list of rolled dice.
+     *
+     * @param diceList List of dice values
+     * @param index Position of the dice
+     * @return value of the dice, or 0 if that dice was not rolled
+     */
+    private static int getDiceValue(ArrayList<Integer> diceList, int index) {
+        return index < diceList.size() ? diceList.get(index) : 0;
+    }
 
-        for(Integer defenderValue : defenderDiceList ){
-            for(Integer attackerValue : attackerDiceList){
-                updateArmiesAfterAttack(defenderValue, attackerValue, diceThrowResult);
-                break;
+    /**
+     * Method for resolving one round of dice without any allocation.
+     * The dice are ordered with a fixed sorting network and the highest
+     * attacker dice are compared with the highest defender dice, ties
+     * going to the defender. A value of 0 means the dice was not rolled.
+     *
+     * @param attacker1 Value of the first attacker dice
+     * @param attacker2 Value of the second attacker dice, or 0
+     * @param attacker3 Value of the third attacker dice, or 0
+     * @param defender1 Value of the first defender dice
+     * @param defender2 Value of the second defender dice, or 0
+     * @return attacker and defender losses packed in a single int
+     */
+    public static int resolveRound(int attacker1, int attacker2, int attacker3, int defender1, int defender2) {
+        int high = Math.max(attacker1, attacker2);
+        int low = Math.min(attacker1, attacker2);
+        int attackerHighest = Math.max(high, attacker3);
+        int attackerSecond = Math.min(high, Math.max(low, attacker3));
+        int defenderHighest = Math.max(defender1, defender2);
+        int defenderSecond = Math.min(defender1, defender2);
+
+        int attackerLosses = 0;
+        int defenderLosses = 0;
+        if (attackerHighest > 0 && defenderHighest > 0) {
+            if (attackerHighest > defenderHighest) {
+                defenderLosses++;
+            } else {
+                attackerLosses++;
             }
-            if(attackerDiceList.size() >= 1){
-                attackerDiceList.remove(0);
+            if (attackerSecond > 0 && defenderSecond > 0) {
+                if (attackerSecond > defenderSecond) {
+                    defenderLosses++;
+                } else {
+                    attackerLosses++;
+                }
             }
         }
-        return diceThrowResult;
+        return attackerLosses | (defenderLosses << DEFENDER_LOSS_SHIFT);
+    }
+
+    /**
+     * Getter for the armies lost by the attacker in a packed round result.
+     *
+     * @param roundResult Packed round result
+     * @return Number of armies lost by the attacker
+     */
+    public static int attackerLosses(int roundResult) {
+        return roundResult & LOSS_MASK;
+    }
+
+    /**
+     * Getter for the armies lost by the defender in a packed round result.
+     *
+     * @param roundResult Packed round result
+     * @return Number of armies lost by the defender
+     */
+    public static int defenderLosses(int roundResult) {
+        return (roundResult >>> DEFENDER_LOSS_SHIFT) & LOSS_MASK;
+    }
+
+    /**
+     * Method to apply a packed round result to the attacking and defending
+     * countries. The attacker always keeps at least one army.
+     *
+     * @param roundResult Packed round result
+     * @return The same packed round result
+     */
+    public int applyRoundResult(int roundResult) {
+        int defendingArmies = defendingCountry.getNoOfArmies() - defenderLosses(roundResult);
+        defendingCountry.setNoOfArmies(defendingArmies > 0 ? defendingArmies : 0);
+        int attackingArmies = attackingCountry.getNoOfArmies() - attackerLosses(roundResult);
+        attackingCountry.setNoOfArmies(attackingArmies > 1 ? attackingArmies : 1);
+        return roundResult;
+    }
+
+    /**
+     * Method to roll one round with the maximum number of dice allowed
+     * for both countries and apply the result. No dice lists and no messages
+     * are created, which makes it the path used by the computer players.
+     *
+     * @return Packed round result
+     */
+    public int rollRound() {
+        int attackerDice = Math.min(MAX_ATTACKER_DICE, attackingCountry.getNoOfArmies() - 1);
+        int defenderDice = Math.min(MAX_DEFENDER_DICE, defendingCountry.getNoOfArmies());
+        return applyRoundResult(resolveRound(
+                attackerDice > 0 ? generateRandomNumber() : 0,
+                attackerDice > 1 ? generateRandomNumber() : 0,
+                attackerDice > 2 ? generateRandomNumber() : 0,
+                defenderDice > 0 ? generateRandomNumber() : 0,
+                defenderDice > 1 ? generateRandomNumber() : 0));
+    }
+
+    /**
+     * Method to keep rolling until either the defender has lost all its
+     * armies or the attacker cannot attack anymore. If an attack policy is
+     * set, the rolls also stop, after the first one, as soon as the policy
+     * advises against another round. If the attacker wins, all the armies
+     * are moved to the conquered country.
+     */
+    public void rollUntilDecided() {
+        if (checkDiceThrowPossible()) {
+            rollRound();
+        }
+        while (checkDiceThrowPossible() && shouldContinueAttack()) {
+            rollRound();
+        }
+        if (defendingCountry.getNoOfArmies() <= 0) {
+            setCountriesWonCount(getCountriesWonCount() + 1);
+            moveAllArmies();
+        } else {
+            cancelDiceThrow();
+        }
+    }
+
+    /**
+     * Method to check if the attack policy advises to roll another round.
+     *
+     * @return true
+     * If there is no policy or the policy advises to go on; other wise false.
+     */
+    public boolean shouldContinueAttack() {
+        return attackPolicy == null
+                || attackPolicy.shouldContinue(attackingCountry.getNoOfArmies(), defendingCountry.getNoOfArmies());
+    }
+
+    /**
+     * Getter for the policy deciding when the automatic rolls stop.
+     *
+     * @return attack policy, null to roll until the battle is decided
+     */
+    public AttackPolicy getAttackPolicy() {
+        return attackPolicy;
+    }
+
+    /**
+     * Setter for the policy deciding when the automatic rolls stop.
+     *
+     * @param attackPolicy attack policy, null to roll until the battle is decided
+     */
+    public void setAttackPolicy(AttackPolicy attackPolicy) {
+        this.attackPolicy = attackPolicy;
+    }
+
+    /**
+     * Method to show a message of the battle through the context of the
+     * game of the attacker.
+     *
+     * @param message Message of the battle
+     */
+    private void println(String message) {
+        if (attackingCountry.getPlayer() != null) {
+            attackingCountry.getPlayer().getContext().println(message);
+        } else {
+            System.out.println(message);
+        }
     }
 
     /**
@@ -186,13 +383,13 @@ public class Dice extends Observable {
      */
     public void updateArmiesAfterAttack(Integer defenderValue, Integer attackerValue, ArrayList<String> playResult) {
         if (attackerValue - defenderValue > 0) {
-            System.out.println("Defender has lost one army.");
+            println("Defender has lost one army.");
             playResult.add("Defender has lost one army.");
             if (defendingCountry.getNoOfArmies() > 0) {
                 defendingCountry.setNoOfArmies(defendingCountry.getNoOfArmies() - 1);
             }
         } else {
-            System.out.println("Attacker has lost one army.");
+            println("Attacker has lost one army.");
             playResult.add("Attacker has lost one army.");
             if (attackingCountry.getNoOfArmies() > 1) {
                 attackingCountry.setNoOfArmies(attackingCountry.getNoOfArmies() - 1);
@@ -277,7 +474,20 @@ public class Dice extends Observable {
      * @return A random integer between 1 to 6.
      */
     public int generateRandomNumber() {
-        return new Random().nextInt(6) + 1;
+        if (random == null) {
+            return ThreadLocalRandom.current().nextInt(1, 7);
+        }
+        return random.nextInt(6) + 1;
+    }
+
+    /**
+     * Setter for the random source of the rolls, which is the one of the
+     * game so that a seeded game rolls the same dice.
+     *
+     * @param random Random source, null for the random source of the current thread
+     */
+    public void setRandom(Random random) {
+        this.random = random;
     }
 
     /**
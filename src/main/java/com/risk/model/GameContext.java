@@ -0,0 +1,183 @@
+package com.risk.model;
+
+import com.risk.strategy.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * State of one game shared by its players: the player whose turn it is,
+ * whether the game is played without any window, the random source of its
+ * dice and random moves, the observer receiving its messages and the
+ * latencies of the decisions of its strategies. Every
+ * game has its own context, so that several games can be played at the
+ * same time, each one in its own thread.
+ */
+public class GameContext {
+
+    /**
+     * Player currently playing, null before the first turn
+     */
+    private Player currentPlayer;
+
+    /**
+     * true if the game is played without any window, as in a tournament
+     */
+    private boolean tournament;
+
+    /**
+     * Random source of the game
+     */
+    private Random random;
+
+    /**
+     * Observer receiving the messages of the game, null if nobody shows them
+     */
+    private Observer eventSink;
+
+    /**
+     * Latencies of the phases played by every strategy, by strategy name
+     */
+    private final Map<String, LatencyHistogram> latencies = new TreeMap<>();
+
+    /**
+     * Constructor of the context of a game played on the game screen,
+     * with an unseeded random source.
+     */
+    public GameContext() {
+        this(false, new Random());
+    }
+
+    /**
+     * Constructor of the context of a game.
+     *
+     * @param tournament true if the game is played without any window
+     * @param random     Random source of the game, only used by the thread playing it
+     */
+    public GameContext(boolean tournament, Random random) {
+        this.tournament = tournament;
+        this.random = random;
+    }
+
+    /**
+     * Getter for the player currently playing.
+     *
+     * @return current player, null before the first turn
+     */
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Setter for the player currently playing.
+     *
+     * @param currentPlayer current player
+     */
+    public void setCurrentPlayer(Player currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    /**
+     * Method to check if the game is played without any window.
+     *
+     * @return true for a tournament game; otherwise false
+     */
+    public boolean isTournament() {
+        return tournament;
+    }
+
+    /**
+     * Setter for the tournament flag.
+     *
+     * @param tournament true if the game is played without any window
+     */
+    public void setTournament(boolean tournament) {
+        this.tournament = tournament;
+    }
+
+    /**
+     * Getter for the random source of the game.
+     *
+     * @return random source
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Setter for the random source of the game.
+     *
+     * @param random Random source, only used by the thread playing the game
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Getter for the observer receiving the messages of the game.
+     *
+     * @return observer, null if nobody shows the messages
+     */
+    public Observer getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Setter for the observer receiving the messages of the game.
+     *
+     * @param eventSink observer, null if nobody shows the messages
+     */
+    public void setEventSink(Observer eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Method to show a message of the game. A game played on the game
+     * screen prints it on the standard output, as it always did; a game
+     * played without any window sends it to the observer of its messages,
+     * and drops it if there is none.
+     *
+     * @param message Message of the game
+     */
+    public void println(Object message) {
+        if (!tournament) {
+            System.out.println(message);
+        } else if (eventSink != null) {
+            eventSink.update(null, String.valueOf(message));
+        }
+    }
+
+    /**
+     * Method to send the messages of an object of the game to its observer.
+     *
+     * @param observable Object of the game, such as a player or a card
+     */
+    public void attach(Observable observable) {
+        if (eventSink != null) {
+            observable.addObserver(eventSink);
+        }
+    }
+
+    /**
+     * Method to get the latency histogram of a strategy in this game, created on first use.
+     *
+     * @param strategy Name of the strategy
+     * @return histogram, only recorded by the thread playing the game
+     */
+    public LatencyHistogram getLatency(String strategy) {
+        return latencies.computeIfAbsent(strategy, LatencyHistogram::new);
+    }
+
+    /**
+     * Getter for the latency histograms of the strategies of this game.
+     *
+     * @return histograms by strategy name, in name order
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+}
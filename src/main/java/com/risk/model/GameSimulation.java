@@ -0,0 +1,205 @@
+package com.risk.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Class for the simulated play on a {@link GameState}: the default moves
+ * of the simulated phases, used by the strategies without a simulation of
+ * their own, the default moves of the timed decisions and the measures of
+ * the enemy armies around a country which the simulations rank countries
+ * with.
+ */
+public final class GameSimulation {
+
+    /**
+     * Constructor, the class only has static methods.
+     */
+    private GameSimulation() {
+    }
+
+    /**
+     * Method for the simulated reinforcement phase, which places all the
+     * armies on a random country.
+     *
+     * @param state  Game state to play on
+     * @param player Number of the player in the state
+     * @param armies Number of armies to place
+     * @param random Random source of the moves
+     */
+    public static void simulateRandomReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        int[] countries = state.getCountries(player);
+        if (countries.length > 0) {
+            state.placeArmies(countries[random.nextInt(countries.length)], armies);
+        }
+    }
+
+    /**
+     * Method for the simulated attack phase, which attacks random
+     * neighbours, following the attack policy, until no attack is left.
+     * Every round costs at least one army, so the phase always ends.
+     *
+     * @param state  Game state to play on
+     * @param player Number of the player in the state
+     * @param policy Policy deciding when the attacks stop, null to attack until the battles are decided
+     * @param random Random source of the moves and dice
+     */
+    public static void simulateRandomAttacks(GameState state, int player, AttackPolicy policy,
+                                             SplittableRandom random) {
+        int[] attacks = new int[16];
+        while (true) {
+            int count = 0;
+            for (int from : state.getCountries(player)) {
+                if (state.getArmies(from) < 2) {
+                    continue;
+                }
+                for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                    int to = state.getNeighbour(from, i);
+                    if (state.getOwner(to) != player
+                            && (policy == null || policy.shouldContinue(state.getArmies(from), state.getArmies(to)))) {
+                        if (count + 2 > attacks.length) {
+                            attacks = Arrays.copyOf(attacks, attacks.length * 2);
+                        }
+                        attacks[count++] = from;
+                        attacks[count++] = to;
+                    }
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            int choice = random.nextInt(count / 2) * 2;
+            state.attack(attacks[choice], attacks[choice + 1], policy, random);
+        }
+    }
+
+    /**
+     * Method for the simulated fortification phase, which moves a random
+     * number of armies between two random adjacent countries.
+     *
+     * @param state  Game state to play on
+     * @param player Number of the player in the state
+     * @param random Random source of the moves
+     */
+    public static void simulateRandomFortification(GameState state, int player, SplittableRandom random) {
+        int[] moves = new int[16];
+        int count = 0;
+        for (int from : state.getCountries(player)) {
+            if (state.getArmies(from) < 2) {
+                continue;
+            }
+            for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                int to = state.getNeighbour(from, i);
+                if (state.getOwner(to) == player) {
+                    if (count + 2 > moves.length) {
+                        moves = Arrays.copyOf(moves, moves.length * 2);
+                    }
+                    moves[count++] = from;
+                    moves[count++] = to;
+                }
+            }
+        }
+        if (count > 0) {
+            int choice = random.nextInt(count / 2) * 2;
+            int from = moves[choice];
+            state.moveArmies(from, moves[choice + 1], random.nextInt(state.getArmies(from) - 1) + 1);
+        }
+    }
+
+    /**
+     * Method to find the default reinforcement: the border country of the
+     * player with the most armies.
+     *
+     * @param state  Game state
+     * @param player Number of the player in the state
+     * @return number of the country, -1 if the player has none
+     */
+    public static int findDefaultReinforcement(GameState state, int player) {
+        int best = -1;
+        for (int country : state.getCountries(player)) {
+            if (best < 0 || (state.isBorder(country) && (!state.isBorder(best)
+                    || state.getArmies(country) > state.getArmies(best)))) {
+                best = country;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to find the default attack: of the attacks the policy allows,
+     * the one most likely to conquer.
+     *
+     * @param state  Game state
+     * @param player Number of the player in the state
+     * @param policy Policy choosing the attacks, null for any attack on fewer armies
+     * @return numbers of the attacking and defending countries, null for no attack
+     */
+    public static int[] findDefaultAttack(GameState state, int player, AttackPolicy policy) {
+        BattleOdds odds = BattleOdds.getSharedOdds();
+        int[] best = null;
+        double bestProbability = -1;
+        for (int from : state.getCountries(player)) {
+            int armies = state.getArmies(from);
+            for (int i = 0; armies > 1 && i < state.getNeighbourCount(from); i++) {
+                int to = state.getNeighbour(from, i);
+                int defenders = state.getArmies(to);
+                if (state.getOwner(to) == player
+                        || !(policy == null ? armies > defenders : policy.shouldContinue(armies, defenders))) {
+                    continue;
+                }
+                double probability = odds.getWinProbability(armies, defenders);
+                if (probability > bestProbability) {
+                    bestProbability = probability;
+                    best = new int[] { from, to };
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to get the armies of the enemy neighbours of a country.
+     *
+     * @param state   Game state
+     * @param country Number of the country
+     * @return armies on the adjacent countries of the other players
+     */
+    public static int getEnemyArmies(GameState state, int country) {
+        int armies = 0;
+        for (int i = 0; i < state.getNeighbourCount(country); i++) {
+            int neighbour = state.getNeighbour(country, i);
+            if (state.getOwner(neighbour) != state.getOwner(country)) {
+                armies += state.getArmies(neighbour);
+            }
+        }
+        return armies;
+    }
+
+    /**
+     * Method to get the armies able to attack a country within two hops:
+     * the armies of its enemy neighbours and of the countries of the same
+     * owners backing them, as {@link ThreatMap#getTwoHopThreat(Country)}
+     * counts them on the real board.
+     *
+     * @param state   Game state
+     * @param country Number of the country
+     * @return armies of the enemy neighbours and of the countries backing them
+     */
+    public static int getTwoHopEnemyArmies(GameState state, int country) {
+        int armies = 0;
+        for (int i = 0; i < state.getNeighbourCount(country); i++) {
+            int neighbour = state.getNeighbour(country, i);
+            if (state.getOwner(neighbour) == state.getOwner(country)) {
+                continue;
+            }
+            armies += state.getArmies(neighbour);
+            for (int j = 0; j < state.getNeighbourCount(neighbour); j++) {
+                int backing = state.getNeighbour(neighbour, j);
+                if (state.getOwner(backing) == state.getOwner(neighbour)) {
+                    armies += state.getArmies(backing);
+                }
+            }
+        }
+        return armies;
+    }
+}
@@ -0,0 +1,557 @@
+package com.risk.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Class for a compact copy of the board, used to simulate games without
+ * touching the countries and players of the real game. Countries and
+ * players are numbered, the adjacency is kept in compressed sparse rows
+ * and only the owners and the armies, which are plain int arrays, change
+ * during a simulation. The map part is shared between copies, so a copy
+ * only clones the arrays that change.
+ * <p>
+ * Cards are not simulated.
+ */
+public class GameState {
+
+    /**
+     * Countries of the real game, by number
+     */
+    private final Country[] countries;
+
+    /**
+     * Players of the real game, by number
+     */
+    private final Player[] players;
+
+    /**
+     * Number of every country of the real game
+     */
+    private final Map<Country, Integer> countryNumbers;
+
+    /**
+     * Position in adjacency of the first neighbour of every country, with one more entry for the end
+     */
+    private final int[] adjacencyStart;
+
+    /**
+     * Neighbours of all the countries, country after country
+     */
+    private final int[] adjacency;
+
+    /**
+     * Continent of every country, -1 if the country has none
+     */
+    private final int[] continentOf;
+
+    /**
+     * Number of countries of every continent
+     */
+    private final int[] continentSize;
+
+    /**
+     * Control value of every continent
+     */
+    private final int[] continentBonus;
+
+    /**
+     * Owner of every country, -1 if the country has none
+     */
+    private final int[] owner;
+
+    /**
+     * Armies on every country
+     */
+    private final int[] armies;
+
+    /**
+     * Number of countries of every player
+     */
+    private final int[] countryCounts;
+
+    /**
+     * Constructor for the state of a set of countries, usually the whole map.
+     * The players are numbered in the order in which they are met.
+     *
+     * @param mapCountries Countries of the game
+     */
+    public GameState(List<Country> mapCountries) {
+        int size = mapCountries.size();
+        countries = mapCountries.toArray(new Country[0]);
+        countryNumbers = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            countryNumbers.put(countries[i], i);
+        }
+        LinkedHashSet<Player> playerSet = new LinkedHashSet<>();
+        Map<Continent, Integer> continentNumbers = new HashMap<>();
+        List<Continent> continents = new ArrayList<>();
+        adjacencyStart = new int[size + 1];
+        List<Integer> neighbours = new ArrayList<>();
+        continentOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            Country country = countries[i];
+            if (country.getPlayer() != null) {
+                playerSet.add(country.getPlayer());
+            }
+            Continent continent = country.getPartOfContinent();
+            if (continent == null) {
+                continentOf[i] = -1;
+            } else {
+                Integer number = continentNumbers.get(continent);
+                if (number == null) {
+                    number = continents.size();
+                    continentNumbers.put(continent, number);
+                    continents.add(continent);
+                }
+                continentOf[i] = number;
+            }
+            adjacencyStart[i] = neighbours.size();
+            for (Country neighbour : country.getAdjacentCountries()) {
+                Integer number = countryNumbers.get(neighbour);
+                if (number != null) {
+                    neighbours.add(number);
+                }
+            }
+        }
+        adjacencyStart[size] = neighbours.size();
+        adjacency = new int[neighbours.size()];
+        for (int i = 0; i < adjacency.length; i++) {
+            adjacency[i] = neighbours.get(i);
+        }
+        continentSize = new int[continents.size()];
+        continentBonus = new int[continents.size()];
+        for (int i = 0; i < size; i++) {
+            if (continentOf[i] >= 0) {
+                continentSize[continentOf[i]]++;
+            }
+        }
+        for (int i = 0; i < continentBonus.length; i++) {
+            continentBonus[i] = continents.get(i).getControlValue();
+        }
+        players = playerSet.toArray(new Player[0]);
+        Map<Player, Integer> playerNumbers = new HashMap<>();
+        for (int i = 0; i < players.length; i++) {
+            playerNumbers.put(players[i], i);
+        }
+        owner = new int[size];
+        armies = new int[size];
+        countryCounts = new int[players.length];
+        for (int i = 0; i < size; i++) {
+            Integer number = countries[i].getPlayer() == null ? null : playerNumbers.get(countries[i].getPlayer());
+            owner[i] = number == null ? -1 : number;
+            armies[i] = countries[i].getNoOfArmies();
+            if (owner[i] >= 0) {
+                countryCounts[owner[i]]++;
+            }
+        }
+    }
+
+    /**
+     * Constructor for a copy sharing the map of another state.
+     *
+     * @param other State to copy
+     */
+    private GameState(GameState other) {
+        countries = other.countries;
+        players = other.players;
+        countryNumbers = other.countryNumbers;
+        adjacencyStart = other.adjacencyStart;
+        adjacency = other.adjacency;
+        continentOf = other.continentOf;
+        continentSize = other.continentSize;
+        continentBonus = other.continentBonus;
+        owner = other.owner.clone();
+        armies = other.armies.clone();
+        countryCounts = other.countryCounts.clone();
+    }
+
+    /**
+     * Method to create the state of the map a player plays on, found by
+     * going through the neighbours of the player's countries.
+     *
+     * @param player Player whose map is copied
+     * @return state of the map
+     */
+    public static GameState of(Player player) {
+        LinkedHashSet<Country> found = new LinkedHashSet<>(player.getPlayerCountries());
+        Deque<Country> queue = new ArrayDeque<>(found);
+        while (!queue.isEmpty()) {
+            for (Country neighbour : queue.poll().getAdjacentCountries()) {
+                if (found.add(neighbour)) {
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return new GameState(new ArrayList<>(found));
+    }
+
+    /**
+     * Method to copy the state. The copy can be changed independently.
+     *
+     * @return copy of the state
+     */
+    public GameState copy() {
+        return new GameState(this);
+    }
+
+    /**
+     * Method to get the number of countries.
+     *
+     * @return number of countries
+     */
+    public int getCountryCount() {
+        return countries.length;
+    }
+
+    /**
+     * Method to get the number of players.
+     *
+     * @return number of players
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Method to get a country of the real game.
+     *
+     * @param country Number of the country
+     * @return country
+     */
+    public Country getCountry(int country) {
+        return countries[country];
+    }
+
+    /**
+     * Method to get a player of the real game.
+     *
+     * @param player Number of the player
+     * @return player
+     */
+    public Player getPlayer(int player) {
+        return players[player];
+    }
+
+    /**
+     * Method to get the number of a country of the real game.
+     *
+     * @param country Country
+     * @return number of the country, -1 if it is not in the state
+     */
+    public int indexOf(Country country) {
+        Integer number = countryNumbers.get(country);
+        return number == null ? -1 : number;
+    }
+
+    /**
+     * Method to get the number of a player of the real game.
+     *
+     * @param player Player
+     * @return number of the player, -1 if the player owns no country of the state
+     */
+    public int indexOf(Player player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method to get the owner of a country.
+     *
+     * @param country Number of the country
+     * @return number of the owner, -1 if there is none
+     */
+    public int getOwner(int country) {
+        return owner[country];
+    }
+
+    /**
+     * Method to get the armies on a country.
+     *
+     * @param country Number of the country
+     * @return number of armies
+     */
+    public int getArmies(int country) {
+        return armies[country];
+    }
+
+    /**
+     * Method to get the number of neighbours of a country.
+     *
+     * @param country Number of the country
+     * @return number of neighbours
+     */
+    public int getNeighbourCount(int country) {
+        return adjacencyStart[country + 1] - adjacencyStart[country];
+    }
+
+    /**
+     * Method to get a neighbour of a country.
+     *
+     * @param country Number of the country
+     * @param i       Position of the neighbour, from 0 to the number of neighbours
+     * @return number of the neighbour
+     */
+    public int getNeighbour(int country, int i) {
+        return adjacency[adjacencyStart[country] + i];
+    }
+
+    /**
+     * Method to check if a country has a neighbour owned by another player.
+     *
+     * @param country Number of the country
+     * @return true if the country is on a border; otherwise false
+     */
+    public boolean isBorder(int country) {
+        for (int i = adjacencyStart[country]; i < adjacencyStart[country + 1]; i++) {
+            if (owner[adjacency[i]] != owner[country]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the number of continents.
+     *
+     * @return number of continents
+     */
+    public int getContinentCount() {
+        return continentSize.length;
+    }
+
+    /**
+     * Method to get the continent of a country.
+     *
+     * @param country Number of the country
+     * @return number of the continent, -1 if the country has none
+     */
+    public int getContinent(int country) {
+        return continentOf[country];
+    }
+
+    /**
+     * Method to get the number of countries of a continent.
+     *
+     * @param continent Number of the continent
+     * @return number of countries
+     */
+    public int getContinentSize(int continent) {
+        return continentSize[continent];
+    }
+
+    /**
+     * Method to get the control value of a continent.
+     *
+     * @param continent Number of the continent
+     * @return armies given every turn to the owner of the whole continent
+     */
+    public int getContinentBonus(int continent) {
+        return continentBonus[continent];
+    }
+
+    /**
+     * Method to get the number of countries of a player.
+     *
+     * @param player Number of the player
+     * @return number of countries
+     */
+    public int getCountryCount(int player) {
+        return countryCounts[player];
+    }
+
+    /**
+     * Method to get the countries of a player.
+     *
+     * @param player Number of the player
+     * @return numbers of the countries
+     */
+    public int[] getCountries(int player) {
+        int[] playerCountries = new int[countryCounts[player]];
+        int count = 0;
+        for (int i = 0; i < owner.length && count < playerCountries.length; i++) {
+            if (owner[i] == player) {
+                playerCountries[count++] = i;
+            }
+        }
+        return playerCountries;
+    }
+
+    /**
+     * Method to get the reinforcement armies of a player, computed like
+     * {@link Player#findNoOfArmies(Player)}.
+     *
+     * @param player Number of the player
+     * @return number of reinforcement armies
+     */
+    public int getReinforcementArmies(int player) {
+        int reinforcement = countryCounts[player] / 3;
+        int[] owned = new int[continentSize.length];
+        for (int i = 0; i < owner.length; i++) {
+            if (owner[i] == player && continentOf[i] >= 0) {
+                owned[continentOf[i]]++;
+            }
+        }
+        for (int continent = 0; continent < owned.length; continent++) {
+            if (owned[continent] == continentSize[continent]) {
+                reinforcement += continentBonus[continent];
+            }
+        }
+        return Math.max(3, reinforcement);
+    }
+
+    /**
+     * Method to get the winner of the game.
+     *
+     * @return number of the player owning every country, -1 if there is none
+     */
+    public int getWinner() {
+        for (int player = 0; player < countryCounts.length; player++) {
+            if (countryCounts[player] == owner.length) {
+                return player;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method to add armies to a country.
+     *
+     * @param country Number of the country
+     * @param count   Number of armies
+     */
+    public void placeArmies(int country, int count) {
+        armies[country] += count;
+    }
+
+    /**
+     * Method to move armies between two countries.
+     *
+     * @param from  Number of the country the armies leave
+     * @param to    Number of the country the armies reach
+     * @param count Number of armies
+     */
+    public void moveArmies(int from, int to, int count) {
+        armies[from] -= count;
+        armies[to] += count;
+    }
+
+    /**
+     * Method to simulate an attack, exactly like {@link Dice#rollUntilDecided()}:
+     * at least one round is rolled, then rounds go on while both sides can
+     * fight and the policy allows it. After a conquest all the attacking
+     * armies but one move to the conquered country.
+     *
+     * @param from   Number of the attacking country
+     * @param to     Number of the defending country
+     * @param policy Policy deciding when the attack stops, null to fight until the battle is decided
+     * @param random Random source of the dice
+     * @return true if the defending country was conquered; otherwise false
+     */
+    public boolean attack(int from, int to, AttackPolicy policy, SplittableRandom random) {
+        int attacker = armies[from];
+        int defender = armies[to];
+        do {
+            int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+            int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+            int result = Dice.resolveRound(roll(random), attackerDice > 1 ? roll(random) : 0,
+                    attackerDice > 2 ? roll(random) : 0, roll(random), defenderDice > 1 ? roll(random) : 0);
+            attacker -= Dice.attackerLosses(result);
+            defender -= Dice.defenderLosses(result);
+        } while (attacker > 1 && defender > 0 && (policy == null || policy.shouldContinue(attacker, defender)));
+        if (defender > 0) {
+            armies[from] = attacker;
+            armies[to] = defender;
+            return false;
+        }
+        countryCounts[owner[to]]--;
+        owner[to] = owner[from];
+        countryCounts[owner[from]]++;
+        armies[from] = 1;
+        armies[to] = attacker - 1;
+        return true;
+    }
+
+    /**
+     * Method to give a country to a player, used by strategies which do not fight.
+     *
+     * @param country Number of the country
+     * @param player  Number of the new owner
+     * @param count   Armies left on the country
+     */
+    public void setOwner(int country, int player, int count) {
+        if (owner[country] >= 0) {
+            countryCounts[owner[country]]--;
+        }
+        owner[country] = player;
+        countryCounts[player]++;
+        armies[country] = count;
+    }
+
+    /**
+     * Method to set the armies on a country.
+     *
+     * @param country Number of the country
+     * @param count   Number of armies
+     */
+    public void setArmies(int country, int count) {
+        armies[country] = count;
+    }
+
+    /**
+     * Method to evaluate the state for a player, weighting its share of
+     * the countries three times as much as its share of the armies.
+     *
+     * @param player Number of the player
+     * @return 1 if the player won, 0 if the player lost, in between otherwise
+     */
+    public double evaluate(int player) {
+        if (countryCounts[player] == owner.length) {
+            return 1;
+        }
+        if (countryCounts[player] == 0) {
+            return 0;
+        }
+        long playerArmies = 0;
+        long totalArmies = 0;
+        for (int i = 0; i < owner.length; i++) {
+            totalArmies += armies[i];
+            if (owner[i] == player) {
+                playerArmies += armies[i];
+            }
+        }
+        double armyShare = totalArmies == 0 ? 0 : (double) playerArmies / totalArmies;
+        return 0.75 * countryCounts[player] / owner.length + 0.25 * armyShare;
+    }
+
+    /**
+     * Method to roll one die.
+     *
+     * @param random Random source
+     * @return value from 1 to 6
+     */
+    private static int roll(SplittableRandom random) {
+        return random.nextInt(6) + 1;
+    }
+
+    /**
+     * Method to get the owners and armies of the countries.
+     *
+     * @return description of the state
+     */
+    @Override
+    public String toString() {
+        return "owners " + Arrays.toString(owner) + ", armies " + Arrays.toString(armies);
+    }
+}
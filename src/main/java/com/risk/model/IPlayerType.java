@@ -12,4 +12,8 @@ public interface IPlayerType {
     String BENEVOLENT = "Benevolent";
     String RANDOM = "Random";
     String CHEATER = "Cheater";
+    String MCTS = "MCTS";
+    String EXPECTIMINIMAX = "Expectiminimax";
+    String HIERARCHICAL = "Hierarchical";
+    String NEURAL = "Neural";
 }
@@ -20,10 +20,9 @@ import java.util.*;
 public class Player extends Observable implements Observer, Serializable {
 
     /**
-     * Player currently playing.
+     * Context of the game played by the player, shared by all the players of the game
      */
-
-    public static Player currentPlayer;
+    private transient GameContext context;
 
     /**
      * Name of the player
@@ -45,6 +44,11 @@ public class Player extends Observable implements Observer, Serializable {
      */
     private ArrayList<Card> cardList;
 
+    /**
+     * Player's cards grouped by type, kept in step with the card list
+     */
+    private transient CardHand cardHand;
+
     /**
      * PlayerType
      */
@@ -60,6 +64,16 @@ public class Player extends Observable implements Observer, Serializable {
      */
     private int CountryWon;
 
+    /**
+     * Countries of the player ranked by number of armies
+     */
+    private CountryArmyIndex armyIndex;
+
+    /**
+     * Number of countries of the player in each continent
+     */
+    private HashMap<Continent, Integer> continentCountryCounts = new HashMap<>();
+
     /**
      * Player constructor, initializes initial army count
      */
@@ -100,6 +114,15 @@ public class Player extends Observable implements Observer, Serializable {
             this.playerBehaviour = new Human(gamePlayController);
         else if (playerType.equals(IPlayerType.RANDOM))
             this.playerBehaviour = new Random(gamePlayController);
+        else if (playerType.equals(IPlayerType.MCTS))
+            this.playerBehaviour = new MCTS(gamePlayController);
+        else if (playerType.equals(IPlayerType.EXPECTIMINIMAX))
+            this.playerBehaviour = new Expectiminimax(gamePlayController);
+        else if (playerType.equals(IPlayerType.HIERARCHICAL))
+            this.playerBehaviour = new Hierarchical(gamePlayController);
+        else if (playerType.equals(IPlayerType.NEURAL))
+            this.playerBehaviour = new NeuralPolicy(gamePlayController);
+        applyConfiguredWeights();
         this.addObserver(gamePlayController);
     }
 
@@ -123,6 +146,25 @@ public class Player extends Observable implements Observer, Serializable {
             this.playerBehaviour = new Cheater();
         else if (playerType.equals(IPlayerType.RANDOM))
             this.playerBehaviour = new Random();
+        else if (playerType.equals(IPlayerType.MCTS))
+            this.playerBehaviour = new MCTS();
+        else if (playerType.equals(IPlayerType.EXPECTIMINIMAX))
+            this.playerBehaviour = new Expectiminimax();
+        else if (playerType.equals(IPlayerType.HIERARCHICAL))
+            this.playerBehaviour = new Hierarchical();
+        else if (playerType.equals(IPlayerType.NEURAL))
+            this.playerBehaviour = new NeuralPolicy();
+        applyConfiguredWeights();
+    }
+
+    /**
+     * Method to give the strategy of the player the weights configured
+     * for its type, if it is a parameterized strategy.
+     */
+    private void applyConfiguredWeights() {
+        if (playerBehaviour != null && playerBehaviour.getWeights() != null) {
+            playerBehaviour.setWeights(playerBehaviour.getWeights().withProperties(WeightsConfig.getDefault(), playerType));
+        }
     }
 
     /**
@@ -189,21 +231,181 @@ public class Player extends Observable implements Observer, Serializable {
     }
 
     /**
-     * Method for getting the player's list of card
+     * Getter for the countries of the player ranked by number of armies.
+     * The ranking follows the owner and the armies of every country.
+     *
+     * @return army ranking of the player's countries
+     */
+    public CountryArmyIndex getArmyIndex() {
+        if (armyIndex == null) {
+            armyIndex = new CountryArmyIndex();
+        }
+        return armyIndex;
+    }
+
+    /**
+     * Method to get the number of countries of the player in a continent.
+     * The counters are kept up to date by {@link Country#setPlayer(Player)}.
+     *
+     * @param continent Continent
+     * @return number of countries owned in the continent
+     */
+    public int getContinentCountryCount(Continent continent) {
+        Integer count = continentCountryCounts == null ? null : continentCountryCounts.get(continent);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Method to get the continents the player has countries in, without
+     * copying the counters.
+     *
+     * @return number of countries owned by continent, without the continents where it is 0
+     */
+    public Map<Continent, Integer> getContinentCountryCounts() {
+        return continentCountryCounts == null ? Collections.emptyMap()
+                : Collections.unmodifiableMap(continentCountryCounts);
+    }
+
+    /**
+     * Method to check if the player owns all the countries of a continent.
+     *
+     * @param continent Continent
+     * @return true if the player owns the continent; otherwise false
+     */
+    public boolean ownsContinent(Continent continent) {
+        return continent.getListOfCountries() != null
+                && getContinentCountryCount(continent) == continent.getListOfCountries().size();
+    }
+
+    /**
+     * Method to change the number of countries of the player in a continent.
+     *
+     * @param continent Continent of the country
+     * @param change    +1 for a country won, -1 for a country lost
+     */
+    void updateContinentCount(Continent continent, int change) {
+        if (continentCountryCounts == null) {
+            continentCountryCounts = new HashMap<>();
+        }
+        // A count dropping to 0 removes the continent, so that only the continents owned in are kept.
+        continentCountryCounts.merge(continent, change, (count, added) -> count + added == 0 ? null : count + added);
+    }
+
+    /**
+     * Method to give a whole set of countries to the player in one go.
+     * The countries are removed from the lists of their previous owners
+     * with one pass per owner, their ownership, army rankings and continent
+     * counters are updated, and a single summary event is sent.
      *
-     * @return cardList of player
+     * @param countries Countries won by the player
+     * @return continents owned by the player thanks to the countries won
      */
-    public ArrayList<Card> getCardList() {
-        return cardList;
+    public List<Continent> conquerCountries(Collection<Country> countries) {
+        Map<Player, Set<Country>> lostCountries = new HashMap<>();
+        Set<Country> wonCountries = new LinkedHashSet<>();
+        Set<Continent> touchedContinents = new LinkedHashSet<>();
+        for (Country country : countries) {
+            Player owner = country.getPlayer();
+            if (owner == this || !wonCountries.add(country)) {
+                continue;
+            }
+            if (owner != null) {
+                lostCountries.computeIfAbsent(owner, key -> new HashSet<>()).add(country);
+            }
+            if (country.getPartOfContinent() != null) {
+                touchedContinents.add(country.getPartOfContinent());
+            }
+        }
+        for (Map.Entry<Player, Set<Country>> entry : lostCountries.entrySet()) {
+            if (entry.getKey().getPlayerCountries() != null) {
+                entry.getKey().getPlayerCountries().removeIf(entry.getValue()::contains);
+            }
+        }
+        if (playerCountries == null) {
+            playerCountries = new ArrayList<>();
+        }
+        for (Country country : wonCountries) {
+            country.setPlayer(this);
+        }
+        playerCountries.addAll(wonCountries);
+
+        List<Continent> ownedContinents = new ArrayList<>();
+        for (Continent continent : touchedContinents) {
+            if (ownsContinent(continent)) {
+                ownedContinents.add(continent);
+            }
+        }
+        if (!wonCountries.isEmpty()) {
+            String message = "Player " + getName() + " has won " + wonCountries.size() + " countries " + wonCountries
+                    + (ownedContinents.isEmpty() ? "" : " and owns the continents " + ownedContinents) + ".\n";
+            getContext().println(message);
+            setChanged();
+            notifyObservers(message);
+        }
+        return ownedContinents;
+    }
+
+    /**
+     * Method for getting the player's list of card. The list is read only,
+     * the cards are given and taken with addCard and removeCards so that
+     * the hand of the player follows them.
+     *
+     * @return cardList of player, null for a player created without cards
+     */
+    public List<Card> getCardList() {
+        return cardList == null ? null : Collections.unmodifiableList(cardList);
     }
 
     /**
      * Method for returning the player's list of card
      *
-     * @param cardList of player
+     * @param cardList of player, copied
+     */
+    public void setCardList(List<Card> cardList) {
+        this.cardList = cardList == null ? null : new ArrayList<>(cardList);
+        this.cardHand = null;
+    }
+
+    /**
+     * Method for getting the player's cards grouped by type. The hand is
+     * built once and then updated by addCard and removeCards, the only
+     * methods changing the cards of the player along with setCardList.
+     *
+     * @return hand of the player
      */
-    public void setCardList(ArrayList<Card> cardList) {
-        this.cardList = cardList;
+    public CardHand getCardHand() {
+        if (cardList == null) {
+            return new CardHand(null);
+        }
+        if (cardHand == null) {
+            cardHand = new CardHand(cardList);
+        }
+        return cardHand;
+    }
+
+    /**
+     * Method to give a card to the player.
+     *
+     * @param card Card drawn or captured by the player
+     */
+    public void addCard(Card card) {
+        CardHand hand = getCardHand();
+        cardList.add(card);
+        hand.add(card);
+    }
+
+    /**
+     * Method to take cards from the player, after an exchange.
+     *
+     * @param cards Cards traded by the player
+     */
+    public void removeCards(List<Card> cards) {
+        CardHand hand = getCardHand();
+        for (Card card : cards) {
+            if (cardList.remove(card)) {
+                hand.remove(card);
+            }
+        }
     }
 
     /**
@@ -222,6 +424,9 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public void setPlayerBehaviour(PlayerBehaviour playerBehaviour) {
         this.playerBehaviour = playerBehaviour;
+        if (playerBehaviour != null && context != null) {
+            playerBehaviour.setContext(context);
+        }
     }
 
     /**
@@ -242,24 +447,54 @@ public class Player extends Observable implements Observer, Serializable {
     public void addArmiesToCountry(Country country, int numberOfArmies) {
         if (this.getArmyCount() > 0 && this.getArmyCount() >= numberOfArmies) {
             if (!this.getPlayerCountries().contains(country)) {
-                System.out.println("This country is not under your Ownership.");
+                getContext().println("This country is not under your Ownership.");
             } else {
                 country.setNoOfArmies(country.getNoOfArmies() + numberOfArmies);
                 this.setArmyCount(this.getArmyCount() - numberOfArmies);
             }
         } else {
-            System.out.println("Sufficient number of armies not available.");
+            getContext().println("Sufficient number of armies not available.");
         }
     }
 
     /**
-     * Getter for current PLayer
+     * Getter for current PLayer of the game of the player
      *
-     * @return current Player
+     * @return current Player, this player if no turn was started
+     * @throws IllegalStateException if the player was not added to a game
      */
 
-    public static Player getPlayerPlaying() {
-        return Player.currentPlayer;
+    public Player getPlayerPlaying() {
+        if (context == null) {
+            throw new IllegalStateException("Player " + name + " is not in a game");
+        }
+        Player currentPlayer = context.getCurrentPlayer();
+        return currentPlayer != null ? currentPlayer : this;
+    }
+
+    /**
+     * Getter for the context of the game of the player. A player which
+     * was not added to a game plays in a context of its own.
+     *
+     * @return context of the game
+     */
+    public GameContext getContext() {
+        if (context == null) {
+            context = new GameContext();
+        }
+        return context;
+    }
+
+    /**
+     * Setter for the context of the game of the player
+     *
+     * @param context context shared by all the players of the game
+     */
+    public void setContext(GameContext context) {
+        this.context = context;
+        if (playerBehaviour != null) {
+            playerBehaviour.setContext(context);
+        }
     }
 
     /**
@@ -285,7 +520,7 @@ public class Player extends Observable implements Observer, Serializable {
 
         for (int playerNumber = 0; playerNumber < players.size(); playerNumber++) {
             players.get(playerNumber).setArmyCount(armiesPerPlayer);
-            System.out.println(armiesPerPlayer + " armies assigned to " + players.get(playerNumber).getName() + ".\n");
+            getContext().println(armiesPerPlayer + " armies assigned to " + players.get(playerNumber).getName() + ".\n");
             setChanged();
             notifyObservers(armiesPerPlayer + " armies assigned to " + players.get(playerNumber).getName() + ".\n");
             isSuccessfulAssignment = true;
@@ -306,7 +541,7 @@ public class Player extends Observable implements Observer, Serializable {
         ArrayList<Player> listPlayer = new ArrayList<>();
         for (Map.Entry<String, String> playerEntry : hm.entrySet()) {
             listPlayer.add(new Player(playerEntry.getKey().trim(), playerEntry.getValue(), gamePlayController));
-            System.out.println("Created player " + playerEntry.getKey().trim() + ".\n");
+            getContext().println("Created player " + playerEntry.getKey().trim() + ".\n");
             setChanged();
             notifyObservers("Created player " + playerEntry.getKey().trim() + ".\n");
         }
@@ -321,7 +556,7 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public Player noOfReinforcementArmies(Player currentPlayer) {
         currentPlayer.setArmyCount(currentPlayer.getArmyCount() + currentPlayer.findNoOfArmies(currentPlayer));
-        System.out.println("Total number of armies available to player " + currentPlayer.getName() + ": " + currentPlayer.getArmyCount() + "\n");
+        getContext().println("Total number of armies available to player " + currentPlayer.getName() + ": " + currentPlayer.getArmyCount() + "\n");
         setChanged();
         notifyObservers("Total number of armies available to player " + currentPlayer.getName() + ": " + currentPlayer.getArmyCount() + "\n");
         return currentPlayer;
@@ -361,7 +596,7 @@ public class Player extends Observable implements Observer, Serializable {
         if (numberOfArmies < 3) {
             numberOfArmies = 3;
         }
-        System.out.println("Player " + player.getName() + " has been assigned " + numberOfArmies + " armies.\n");
+        getContext().println("Player " + player.getName() + " has been assigned " + numberOfArmies + " armies.\n");
         setChanged();
         notifyObservers("Player " + player.getName() + " has been assigned " + numberOfArmies + " armies.\n");
 
@@ -376,9 +611,75 @@ public class Player extends Observable implements Observer, Serializable {
      * @param playerList list of players
      */
     public void reinforcementPhase(ObservableList<Country> countries, Country country, List<Player> playerList) {
-        currentPlayer.getPlayerBehaviour().reinforcementPhase(countries, country, currentPlayer);
-        if (currentPlayer.getArmyCount() <= 0 && playerList.size() > 1) {
-            System.out.println("Reinforcement Phase Ended\n");
+        getPlayerPlaying().getPlayerBehaviour().reinforcementPhase(countries, country, getPlayerPlaying());
+        endReinforcementPhase(playerList);
+    }
+
+    /**
+     * Method governing the reinforcement phase without the game screen.
+     *
+     * @param countries  countries of the player
+     * @param country    country to which reinforcement armies are to be assigned
+     * @param playerList list of players
+     */
+    public void playReinforcement(List<Country> countries, Country country, List<Player> playerList) {
+        Player playing = getPlayerPlaying();
+        long start = System.nanoTime();
+        playing.getPlayerBehaviour().playReinforcement(countries, country, playing);
+        recordLatency(playing, start);
+        endReinforcementPhase(playerList);
+    }
+
+    /**
+     * Method governing one attack of the attack phase without the game screen.
+     *
+     * @param attackingCountries countries of the player
+     * @param defendingCountries countries under attack, null to let the strategy choose
+     */
+    public void playAttack(List<Country> attackingCountries, List<Country> defendingCountries) {
+        Player playing = getPlayerPlaying();
+        long start = System.nanoTime();
+        playing.getPlayerBehaviour().playAttack(attackingCountries, defendingCountries, playing);
+        recordLatency(playing, start);
+    }
+
+    /**
+     * Method governing the fortification phase without the game screen.
+     *
+     * @param countries    countries of the player
+     * @param adjCountries adjacent countries, null to let the strategy choose
+     * @return true if the player fortified a country; other wise false
+     */
+    public boolean playFortification(List<Country> countries, List<Country> adjCountries) {
+        Player playing = getPlayerPlaying();
+        long start = System.nanoTime();
+        boolean fortified = playing.getPlayerBehaviour().playFortification(countries, adjCountries, playing);
+        recordLatency(playing, start);
+        return fortified;
+    }
+
+    /**
+     * Method to record the time a phase of a computer player took in the
+     * latency histogram of its strategy, with whether a decision of the
+     * phase fell back to its default move.
+     *
+     * @param playing player who played the phase
+     * @param start   start of the phase, from {@link System#nanoTime()}
+     */
+    private void recordLatency(Player playing, long start) {
+        PlayerBehaviour behaviour = playing.getPlayerBehaviour();
+        getContext().getLatency(behaviour.getClass().getSimpleName())
+                .record(System.nanoTime() - start, behaviour.takeFallback());
+    }
+
+    /**
+     * Method to announce the end of the reinforcement phase once the armies are placed.
+     *
+     * @param playerList list of players
+     */
+    private void endReinforcementPhase(List<Player> playerList) {
+        if (getPlayerPlaying().getArmyCount() <= 0 && playerList.size() > 1) {
+            getContext().println("Reinforcement Phase Ended\n");
             setChanged();
             notifyObservers("Reinforcement Phase Ended\n");
             setChanged();
@@ -395,12 +696,12 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public void attackPhase(ListView<Country> attackingCountries, ListView<Country> defendingCountries,
                             List<Player> playerList) {
-        currentPlayer.getPlayerBehaviour().attackPhase(attackingCountries, defendingCountries, currentPlayer);
-        if (!(currentPlayer.getPlayerBehaviour() instanceof Human) && playerList.size() > 1) {
-            System.out.println(currentPlayer.getName() + " player with " + currentPlayer.getPlayerType() +
+        getPlayerPlaying().getPlayerBehaviour().attackPhase(attackingCountries, defendingCountries, getPlayerPlaying());
+        if (!(getPlayerPlaying().getPlayerBehaviour() instanceof Human) && playerList.size() > 1) {
+            getContext().println(getPlayerPlaying().getName() + " player with " + getPlayerPlaying().getPlayerType() +
                     " strategy is going to call skipAttack after doing attack.\n");
             setChanged();
-            notifyObservers(currentPlayer.getName() + " player with " + currentPlayer.getPlayerType() +
+            notifyObservers(getPlayerPlaying().getName() + " player with " + getPlayerPlaying().getPlayerType() +
                     " strategy is going to call skipAttack after doing attack.\n");
             setChanged();
             notifyObservers("skipAttack");
@@ -416,9 +717,9 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public void fortificationPhase(ListView<Country> selectedCountries, ListView<Country> adjCountries,
                                    List<Player> playerList) {
-        boolean success = currentPlayer.getPlayerBehaviour().fortificationPhase(selectedCountries, adjCountries, currentPlayer);
+        boolean success = getPlayerPlaying().getPlayerBehaviour().fortificationPhase(selectedCountries, adjCountries, getPlayerPlaying());
         if (success && playerList.size() > 1) {
-            System.out.println("Fortification phase ended. \n");
+            getContext().println("Fortification phase ended. \n");
             setChanged();
             notifyObservers("Fortification phase ended. \n");
             setChanged();
@@ -453,7 +754,7 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public void placeArmyOnCountry(ListView<Country> selectedCountryList, List<Player> gamePlayerList) {
         if (this.getPlayerBehaviour() instanceof Human) {
-            int playerArmies = currentPlayer.getArmyCount();
+            int playerArmies = getPlayerPlaying().getArmyCount();
             if (playerArmies > 0) {
                 Country Country = selectedCountryList.getSelectionModel().getSelectedItem();
                 if (Country == null) {
@@ -463,12 +764,12 @@ public class Player extends Observable implements Observer, Serializable {
                 this.setArmyCount(playerArmies - 1);
             }
         } else {
-            automaticAssignPlayerArmiesToCountry(this);
+            automaticAssignAllPlayerArmies();
         }
 
         boolean armiesExhausted = isPlayerArmyLeft(gamePlayerList);
         if (armiesExhausted) {
-            System.out.println("StartUp Phase Completed.\n");
+            getContext().println("StartUp Phase Completed.\n");
             setChanged();
             notifyObservers("StartUp Phase Completed.\n");
             setChanged();
@@ -487,15 +788,54 @@ public class Player extends Observable implements Observer, Serializable {
     public void automaticAssignPlayerArmiesToCountry(Player currentPlayer) {
         if (currentPlayer.getArmyCount() > 0) {
             Country country = currentPlayer.getPlayerCountries()
-                    .get(new java.util.Random().nextInt(currentPlayer.getPlayerCountries().size()));
+                    .get(getContext().getRandom().nextInt(currentPlayer.getPlayerCountries().size()));
             country.setNoOfArmies(country.getNoOfArmies() + 1);
             currentPlayer.setArmyCount(currentPlayer.getArmyCount() - 1);
-            System.out.println("Player " + currentPlayer.getName() + " , Country " + country.getName() + " has been assigned one army.");
+            getContext().println("Player " + currentPlayer.getName() + " , Country " + country.getName() + " has been assigned one army.");
             setChanged();
             notifyObservers("Country " + country.getName() + " has been assigned one army.\n");
         }
     }
 
+    /**
+     * Method for placing all the armies of a computer player
+     * with the placement policy of its strategy.
+     */
+    public void automaticAssignAllPlayerArmies() {
+        placeAllArmies(getPlayerBehaviour() == null ? ArmyPlacementPolicy.random()
+                : getPlayerBehaviour().getArmyPlacementPolicy());
+    }
+
+    /**
+     * Method for placing all the armies left to the player on its
+     * countries in one go. Observers get a single summary message.
+     *
+     * @param placementPolicy Policy distributing the armies over the countries
+     */
+    public void placeAllArmies(ArmyPlacementPolicy placementPolicy) {
+        int armies = getArmyCount();
+        List<Country> countries = getPlayerCountries();
+        if (armies <= 0 || countries == null || countries.isEmpty()) {
+            return;
+        }
+        int[] allocation = placementPolicy.allocate(countries, armies, getContext().getRandom());
+        int placed = 0;
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < allocation.length && placed < armies; i++) {
+            int countryArmies = Math.min(allocation[i], armies - placed);
+            if (countryArmies > 0) {
+                Country country = countries.get(i);
+                country.setNoOfArmies(country.getNoOfArmies() + countryArmies);
+                placed += countryArmies;
+                summary.append(summary.length() > 0 ? ", " : "").append(country.getName()).append(" ").append(countryArmies);
+            }
+        }
+        setArmyCount(armies - placed);
+        getContext().println("Player " + getName() + " has placed " + placed + " armies: " + summary + ".");
+        setChanged();
+        notifyObservers("Player " + getName() + " has placed " + placed + " armies: " + summary + ".\n");
+    }
+
     /**
      * Method to check if the player has armies or not.
      *
@@ -524,7 +864,25 @@ public class Player extends Observable implements Observer, Serializable {
      * @return true if the player can attack; other wise false
      */
     public boolean playerCanAttack(ListView<Country> attackingCountries) {
-        boolean canAttack = currentPlayer.getPlayerBehaviour().playerCanAttack(attackingCountries);
+        boolean canAttack = getPlayerPlaying().getPlayerBehaviour().playerCanAttack(attackingCountries);
+        if (!canAttack) {
+            setChanged();
+            notifyObservers("checkIfFortificationPhaseValid");
+        }
+        return canAttack;
+    }
+
+    /**
+     * Method to check if the player can attack or not, without the game screen.
+     *
+     * @param attackingCountries List of all the countries of the player
+     * @return true if the player can attack; other wise false
+     */
+    public boolean canAttack(List<Country> attackingCountries) {
+        Player playing = getPlayerPlaying();
+        long start = System.nanoTime();
+        boolean canAttack = playing.getPlayerBehaviour().canAttack(attackingCountries);
+        recordLatency(playing, start);
         if (!canAttack) {
             setChanged();
             notifyObservers("checkIfFortificationPhaseValid");
@@ -564,7 +922,9 @@ public class Player extends Observable implements Observer, Serializable {
         List<Player> playersLost = new ArrayList<>();
         for (Player player : playersPlaying) {
             if (player.getPlayerCountries().isEmpty()) {
-                currentPlayer.getCardList().addAll(player.getCardList());
+                for (Card card : player.getCardList()) {
+                    getPlayerPlaying().addCard(card);
+                }
                 playersLost.add(player);
             }
         }
@@ -594,30 +954,30 @@ public class Player extends Observable implements Observer, Serializable {
      */
     public Player exchangeCards(List<Card> selectedCards, int numberOfCardSetExchanged) {
 
-        currentPlayer.setArmyCount(currentPlayer.getArmyCount() + (5 * numberOfCardSetExchanged));
-        System.out.println(currentPlayer.getName() + " successfully exchanged 3 cards for " + (5 * numberOfCardSetExchanged) + " armies.\n");
+        getPlayerPlaying().setArmyCount(getPlayerPlaying().getArmyCount() + (5 * numberOfCardSetExchanged));
+        getContext().println(getPlayerPlaying().getName() + " successfully exchanged 3 cards for " + (5 * numberOfCardSetExchanged) + " armies.\n");
         setChanged();
-        notifyObservers(currentPlayer.getName() + " successfully exchanged 3 cards for " + (5 * numberOfCardSetExchanged) + " armies.\n");
+        notifyObservers(getPlayerPlaying().getName() + " successfully exchanged 3 cards for " + (5 * numberOfCardSetExchanged) + " armies.\n");
 
         for (Card card : selectedCards) {
-            if (currentPlayer.getPlayerCountries().contains(card.getCountry())) {
+            if (getPlayerPlaying().getPlayerCountries().contains(card.getCountry())) {
                 card.getCountry().setNoOfArmies(card.getCountry().getNoOfArmies() + 2);
-                System.out.println(currentPlayer.getName() + " \" got extra 2 armies on \" " + card.getCountry().getName() + "\n");
+                getContext().println(getPlayerPlaying().getName() + " \" got extra 2 armies on \" " + card.getCountry().getName() + "\n");
                 setChanged();
-                notifyObservers(currentPlayer.getName() + " \" got extra 2 armies on \" " + card.getCountry().getName() + "\n");
+                notifyObservers(getPlayerPlaying().getName() + " \" got extra 2 armies on \" " + card.getCountry().getName() + "\n");
                 break;
             }
         }
-        return currentPlayer;
+        return getPlayerPlaying();
     }
 
     /**
-     * Setter for setting the current player
+     * Setter for setting the current player of the game of the player
      *
      * @param currentPlayer current player
      */
-    public static void setPlayerPlaying(Player currentPlayer) {
-        Player.currentPlayer = currentPlayer;
+    public void setPlayerPlaying(Player currentPlayer) {
+        getContext().setCurrentPlayer(currentPlayer);
     }
 
     /**
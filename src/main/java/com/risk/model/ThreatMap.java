@@ -0,0 +1,252 @@
+package com.risk.model;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+
+/**
+ * Class for the enemy pressure on every country of a map. It keeps for
+ * every country the armies of the neighbours owned by another player, the
+ * ones which can attack it, and the armies of the neighbours owned by the
+ * same player, the ones which can back it. The armies able to attack a
+ * country within two hops are the ones of its enemy neighbours and of the
+ * countries backing them.
+ * <p>
+ * Countries keep the map up to date themselves from
+ * {@link Country#setNoOfArmies(int)} and {@link Country#setPlayer(Player)};
+ * a change only touches the countries having the changed one as a
+ * neighbour, so it costs O(degree). The adjacency is read once, when the
+ * map is built, so a map edited afterwards needs a new threat map.
+ */
+public class ThreatMap implements Serializable {
+
+    /**
+     * Countries of the map, by position
+     */
+    private final Country[] countries;
+
+    /**
+     * Position in dependents of the first country having every country as a neighbour, with one more entry for the end
+     */
+    private final int[] dependentStart;
+
+    /**
+     * Countries having every country as a neighbour, country after country
+     */
+    private final int[] dependents;
+
+    /**
+     * Armies of the enemy neighbours of every country
+     */
+    private final int[] threat;
+
+    /**
+     * Armies of the neighbours of every country owned by the same player
+     */
+    private final int[] support;
+
+    /**
+     * Constructor for the threat map of a set of countries, usually the whole
+     * map. The countries leave any threat map they were in before; their
+     * neighbours outside the set are not counted.
+     *
+     * @param mapCountries Countries of the map
+     */
+    public ThreatMap(Collection<Country> mapCountries) {
+        countries = mapCountries.toArray(new Country[0]);
+        for (int i = 0; i < countries.length; i++) {
+            countries[i].setThreatMap(this, i);
+        }
+        dependentStart = new int[countries.length + 1];
+        for (Country country : countries) {
+            for (Country neighbour : country.getAdjacentCountries()) {
+                if (contains(neighbour)) {
+                    dependentStart[neighbour.getThreatIndex() + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < countries.length; i++) {
+            dependentStart[i + 1] += dependentStart[i];
+        }
+        dependents = new int[dependentStart[countries.length]];
+        int[] filled = new int[countries.length];
+        for (int i = 0; i < countries.length; i++) {
+            for (Country neighbour : countries[i].getAdjacentCountries()) {
+                if (contains(neighbour)) {
+                    int position = neighbour.getThreatIndex();
+                    dependents[dependentStart[position] + filled[position]++] = i;
+                }
+            }
+        }
+        threat = new int[countries.length];
+        support = new int[countries.length];
+        for (int i = 0; i < countries.length; i++) {
+            recompute(i);
+        }
+    }
+
+    /**
+     * Method to get the threat map of the map a country is on, built from
+     * the countries reachable from it the first time.
+     *
+     * @param country Country of the map
+     * @return threat map
+     */
+    public static ThreatMap of(Country country) {
+        if (country.getThreatMap() != null) {
+            return country.getThreatMap();
+        }
+        LinkedHashSet<Country> found = new LinkedHashSet<>();
+        found.add(country);
+        Deque<Country> queue = new ArrayDeque<>(found);
+        while (!queue.isEmpty()) {
+            for (Country neighbour : queue.poll().getAdjacentCountries()) {
+                if (found.add(neighbour)) {
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return new ThreatMap(new ArrayList<>(found));
+    }
+
+    /**
+     * Method to get the number of countries of the threat map.
+     *
+     * @return number of countries
+     */
+    public int getCountryCount() {
+        return countries.length;
+    }
+
+    /**
+     * Method to check if a country is in the threat map.
+     *
+     * @param country Country to look for
+     * @return true if the country is in the map; otherwise false
+     */
+    public boolean contains(Country country) {
+        return country.getThreatMap() == this;
+    }
+
+    /**
+     * Method to get the armies of the enemy neighbours of a country, the
+     * same as adding them up over its neighbours.
+     *
+     * @param country Country of the map
+     * @return armies able to attack the country
+     */
+    public int getThreat(Country country) {
+        return threat[country.getThreatIndex()];
+    }
+
+    /**
+     * Method to get the armies of the neighbours of a country owned by the same player.
+     *
+     * @param country Country of the map
+     * @return armies able to back the country
+     */
+    public int getSupport(Country country) {
+        return support[country.getThreatIndex()];
+    }
+
+    /**
+     * Method to get the armies able to attack a country within two hops:
+     * the armies of its enemy neighbours and of the countries backing them.
+     * A country backing several enemy neighbours counts once for each.
+     *
+     * @param country Country of the map
+     * @return armies threatening the country
+     */
+    public int getTwoHopThreat(Country country) {
+        int armies = threat[country.getThreatIndex()];
+        for (Country neighbour : country.getAdjacentCountries()) {
+            if (contains(neighbour) && neighbour.getPlayer() != country.getPlayer()) {
+                armies += support[neighbour.getThreatIndex()];
+            }
+        }
+        return armies;
+    }
+
+    /**
+     * Method to get the heat of a country for a map overlay: its two hop
+     * threat against the largest one of the map.
+     *
+     * @param country Country of the map
+     * @return heat from 0 to 1
+     */
+    public double getHeat(Country country) {
+        int hottest = 0;
+        for (Country other : countries) {
+            if (other.getThreatMap() == this) {
+                hottest = Math.max(hottest, getTwoHopThreat(other));
+            }
+        }
+        return hottest == 0 ? 0 : (double) getTwoHopThreat(country) / hottest;
+    }
+
+    /**
+     * Method to update the map when the armies of a country change.
+     *
+     * @param country Country whose armies changed
+     * @param change  Number of armies added, negative for armies removed
+     */
+    void armiesChanged(Country country, int change) {
+        int position = country.getThreatIndex();
+        for (int i = dependentStart[position]; i < dependentStart[position + 1]; i++) {
+            int dependent = dependents[i];
+            if (countries[dependent].getPlayer() != country.getPlayer()) {
+                threat[dependent] += change;
+            } else {
+                support[dependent] += change;
+            }
+        }
+    }
+
+    /**
+     * Method to update the map when the owner of a country changes.
+     *
+     * @param country  Country whose owner changed
+     * @param previous Owner before the change
+     */
+    void ownerChanged(Country country, Player previous) {
+        int position = country.getThreatIndex();
+        int armies = country.getNoOfArmies();
+        for (int i = dependentStart[position]; i < dependentStart[position + 1]; i++) {
+            int dependent = dependents[i];
+            Player owner = countries[dependent].getPlayer();
+            if (owner == previous) {
+                support[dependent] -= armies;
+                threat[dependent] += armies;
+            }
+            if (owner == country.getPlayer()) {
+                threat[dependent] -= armies;
+                support[dependent] += armies;
+            }
+        }
+        recompute(position);
+    }
+
+    /**
+     * Method to add up the neighbours of a country again.
+     *
+     * @param position Position of the country
+     */
+    private void recompute(int position) {
+        Country country = countries[position];
+        threat[position] = 0;
+        support[position] = 0;
+        for (Country neighbour : country.getAdjacentCountries()) {
+            if (!contains(neighbour)) {
+                continue;
+            }
+            if (neighbour.getPlayer() != country.getPlayer()) {
+                threat[position] += neighbour.getNoOfArmies();
+            } else {
+                support[position] += neighbour.getNoOfArmies();
+            }
+        }
+    }
+}
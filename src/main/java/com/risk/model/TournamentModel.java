@@ -3,66 +3,84 @@ package com.risk.model;
 import com.risk.services.MapIO;
 import com.risk.services.MapValidate;
 import com.risk.services.StartUpPhase;
-import com.risk.services.Util.WindowUtil;
-import com.risk.controller.GamePlayController;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.scene.control.ListView;
-import javafx.scene.control.TextArea;
-import javafx.stage.FileChooser;
-
-import java.io.File;
+import com.risk.strategy.LatencyHistogram;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Observer;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Model of a tournament between computer players. The games are played
+ * without any view, so that they run from the tournament window as well as
+ * from the command line, see {@link com.risk.view.TournamentCommandLine}.
+ * Every game has its own {@link GameContext}, so that several games, each
+ * one on its own map object, can be played at the same time with one model
+ * for each thread.
+ */
 public class TournamentModel {
 
-    /** Static flag to check if tournament is being played*/
-    public static boolean isTournament = false;
+    /** Number of turns played by the last game */
+    private int turnsPlayed;
+
+    /** Latencies of the strategies in the last game, by strategy name */
+    private Map<String, LatencyHistogram> latencies = Collections.emptyMap();
+
+    /** Observer receiving the messages of the games, null to drop them */
+    private Observer eventSink = (observable, message) -> System.out.println(message);
 
     /**
-     * Constrcutor for TournamentModel
+     * Setter for the observer receiving the messages of the games, which
+     * prints them on the standard output by default.
      *
+     * @param eventSink Observer of the messages, null to drop them
      */
-    public TournamentModel(){
-        isTournament = true;
+    public void setEventSink(Observer eventSink) {
+        this.eventSink = eventSink;
     }
 
     /**
      * Method for checking if the map is valid or not,
-     * then uploading it to play the tournament
+     * then loading it to play the tournament
      *
-     * @param mapList List of maps to be updated when a file is uploaded
-     * @return Map File
+     * @param fileName Map file
+     * @return Map, null if the map file is not valid
      */
-    public File checkAndLoadMap(List<MapIO> mapList) {
-
-        FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Select a Map File");
-        fileChooser.getExtensionFilters()
-                .add(new FileChooser.ExtensionFilter("Map File Extensions (*.map or *.MAP)", "*.map", "*.MAP"));
-        File selectedFile = fileChooser.showOpenDialog(null);
-
-        if (selectedFile != null) {
-
-            String fileName = selectedFile.getAbsolutePath();
-            System.out.println("File location: " + fileName);
-            MapValidate mapValidate = new MapValidate();
-
-            if (mapValidate.validateMapFile(fileName)) {
-                MapIO readMap = new MapIO(mapValidate);
-                mapList.add(readMap);
-                return selectedFile;
-            }
-            WindowUtil.popUpWindow("Invalid Map", "Problem with map file", "Please selecte another file");
-
+    public MapIO loadMap(String fileName) {
+        if (eventSink != null) {
+            eventSink.update(null, "File location: " + fileName);
+        }
+        MapValidate mapValidate = new MapValidate();
+        if (mapValidate.validateMapFile(fileName)) {
+            return new MapIO(mapValidate);
         }
-
         return null;
     }
 
+    /**
+     * Method to get the number of turns played by the last game.
+     *
+     * @return number of turns, each one turn of every player left
+     */
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * Method to get the latencies of the strategies in the last game,
+     * to be merged by the tournament, see {@link LatencyHistogram#merge(Map, Map)}.
+     *
+     * @return histograms by strategy name, in name order
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return latencies;
+    }
+
     /**
      *
      * Method for controlling the flow of each game in the tournament
@@ -71,90 +89,112 @@ public class TournamentModel {
      * @param numberOfTurnsToPlay NUmber of turns to be played in each game
      * @param gameCount Number of the game being played
      * @param mapIO Map on which the game would be played
-     * @param textArea Text Area where the game details would be printed
      * @return HashMAp with the winner name and game number.
      */
+    public HashMap<Player, Integer> playGame(List<Player> playerList, int numberOfTurnsToPlay, int gameCount, MapIO mapIO) {
+        return playGame(playerList, numberOfTurnsToPlay, gameCount, mapIO, ThreadLocalRandom.current());
+    }
 
-    public HashMap<Player, Integer> playGame(List<Player> playerList, int numberOfTurnsToPlay, int gameCount, MapIO mapIO, TextArea textArea) {
+    /**
+     *
+     * Method for controlling the flow of each game in the tournament,
+     * the countries being dealt, the dice rolled and the random moves chosen
+     * with a given random source
+     *
+     * @param playerList List of players playing
+     * @param numberOfTurnsToPlay NUmber of turns to be played in each game
+     * @param gameCount Number of the game being played
+     * @param mapIO Map on which the game would be played
+     * @param random Random source of the game, only used by the calling thread
+     * @return HashMAp with the winner name and game number.
+     */
+    public HashMap<Player, Integer> playGame(List<Player> playerList, int numberOfTurnsToPlay, int gameCount, MapIO mapIO, Random random) {
 
         Player winner;
         List<Player> currentGamePlayerList = new ArrayList<>();
-        HashMap<String, String> hashMapForGameController = new HashMap<>();
 
         for(Player p: playerList){
             currentGamePlayerList.add(p);
         }
 
-        System.out.println("Game started");
+        turnsPlayed = 0;
+
+        // Context of this game only, shared by its players
+        GameContext context = new GameContext(true, random);
+        context.setEventSink(eventSink);
+        latencies = context.getLatencies();
+        context.println("Game started");
 
         // Dummy player to call player methods
         Player player = new Player();
+        player.setContext(context);
         for(Player p: currentGamePlayerList){
-            hashMapForGameController.put(p.getName(), p.getPlayerType());
+            p.setContext(context);
+            // Endgames are solved instead of played out until the turn limit
+            if (p.getPlayerBehaviour() != null) {
+                p.getPlayerBehaviour().setEndgameSolving(true);
+            }
         }
-        GamePlayController gamePlayController = new GamePlayController(mapIO, hashMapForGameController);
-        gamePlayController.setGamePlayerList(new ArrayList<Player>());
-        gamePlayController.getGamePlayerList().clear();
 
         Card card = new Card();
+        int numberOfCardSetExchanged = 0;
 
         // Startup phase started
-        System.out.println(" Startup phase started");
+        context.println(" Startup phase started");
         StartUpPhase startUpPhase =  new StartUpPhase();
-        gamePlayController.setCardStack(startUpPhase.assignCardToCountry(mapIO));
+        CardDeck cardStack = startUpPhase.assignCardToCountry(mapIO, random);
 
         // Assign armies to player
         player.assignArmiesToPlayers(currentGamePlayerList);
         // Assign country to players
-        startUpPhase.assignCountryToPlayer(mapIO, currentGamePlayerList);
-        System.out.println("Armies assigned");
+        startUpPhase.assignCountryToPlayer(mapIO, currentGamePlayerList, false, random);
+        context.println("Armies assigned");
         for(Player p: currentGamePlayerList){
-            while(p.getArmyCount() > 0) {
-                p.automaticAssignPlayerArmiesToCountry(p);
-            }
-            gamePlayController.getGamePlayerList().add(p);
+            p.automaticAssignAllPlayerArmies();
         }
-        System.out.println("Assign armies to countries of the players, startup phase complete");
+        context.println("Assign armies to countries of the players, startup phase complete");
 
         while (numberOfTurnsToPlay > 0){
+            turnsPlayed++;
             Iterator<Player> playerListIterator = currentGamePlayerList.iterator();
             while(playerListIterator.hasNext()){
 
                 // Setting current player
-                Player.setPlayerPlaying(playerListIterator.next());
-                card.automateCardWindow(Player.currentPlayer);
-                List<Card> playerOwnedCards = Player.currentPlayer.getCardList();
-
+                Player playing = playerListIterator.next();
+                context.setCurrentPlayer(playing);
                 // Check, if cards can be exchanged or not
-                if(playerOwnedCards != null){
-                    List<Card> cards = card.generateValidCardCombination(playerOwnedCards);
+                if(playing.getCardList() != null){
+                    List<Card> cards = card.generateValidCardCombination(playing);
                     if (cards != null && cards.size() >= 3) {
                         card.cardsToBeExchanged(cards);
-                        card.setCardsToExchange(playerOwnedCards);
-                        gamePlayController.exchangeCards(card);
+                        List<Card> tradedCards = card.getCardsToExchange();
+                        numberOfCardSetExchanged++;
+                        playing.exchangeCards(tradedCards, numberOfCardSetExchanged);
+                        playing.removeCards(tradedCards);
+                        cardStack.returnCards(tradedCards);
                     }
                 }
-                ObservableList<Country> observableListReinforcementPhase = FXCollections.observableArrayList(Player.currentPlayer.getPlayerCountries());
-                player.noOfReinforcementArmies(Player.currentPlayer);
+                List<Country> reinforcementCountries = new ArrayList<>(playing.getPlayerCountries());
+                player.noOfReinforcementArmies(playing);
 
-                if(Player.currentPlayer.getArmyCount() > 0){
-                    System.out.println(" Reinforcement phase started for player " + Player.currentPlayer.getName());
-                    Player.currentPlayer.reinforcementPhase(observableListReinforcementPhase, null, gamePlayController.getGamePlayerList());
-                    System.out.println(" Reinforcement phase completed for player " + Player.currentPlayer.getName());
+                if(playing.getArmyCount() > 0){
+                    context.println(" Reinforcement phase started for player " + playing.getName());
+                    playing.playReinforcement(reinforcementCountries, null, currentGamePlayerList);
+                    context.println(" Reinforcement phase completed for player " + playing.getName());
                 }
                 // Reinforcement phase ended
 
                 // Attack phase
-                System.out.println("Attack phase started");
+                context.println("Attack phase started");
 
-                ListView<Country> listViewOfCountries = new ListView<Country>(FXCollections.observableArrayList(Player.currentPlayer.getPlayerCountries()));
-                while(Player.currentPlayer.playerCanAttack(listViewOfCountries)){
-                    Player.currentPlayer.getPlayerBehaviour().attackPhase(listViewOfCountries, null,  Player.currentPlayer);
+                // Plain copies of the country lists, so that computer players need no JavaFX objects
+                List<Country> attackingCountries = new ArrayList<>(playing.getPlayerCountries());
+                while(playing.canAttack(attackingCountries)){
+                    playing.playAttack(attackingCountries, null);
 
                     // Allocate cards to player if player won any country
-                    if(Player.currentPlayer.getCountryWon() > 0){
-                        gamePlayController.setPlayerPlaying(Player.currentPlayer);
-                        gamePlayController.allocateCardToPlayer();
+                    if(playing.getCountryWon() > 0){
+                        allocateCardToPlayer(playing, cardStack);
                     }
 
                     List<Player> lostPlayerList = player.checkPlayerLost(currentGamePlayerList);
@@ -162,7 +202,7 @@ public class TournamentModel {
                     if(!lostPlayerList.isEmpty()){
 
                         for(Player p: lostPlayerList){
-                            System.out.println(p.getName() + " lost the game");
+                            context.println(p.getName() + " lost the game");
                             currentGamePlayerList.remove(p);
                             playerListIterator = currentGamePlayerList.iterator();
                         }
@@ -172,22 +212,22 @@ public class TournamentModel {
                     if(winner != null){
                         HashMap<Player, Integer> winnerMap = new HashMap<Player, Integer>();
                         winnerMap.put(winner, gameCount);
-                        System.out.println(winner.getName() + "won the game");
+                        context.println(winner.getName() + "won the game");
                         return winnerMap;
                     }
 
                 }
-                System.out.println("Attack phase ended");
+                context.println("Attack phase ended");
 
-                System.out.println("Fortification started");
-                ListView<Country> listViewOfCountriesForFortification = new ListView<Country>(FXCollections.observableArrayList(Player.currentPlayer.getPlayerCountries()));
-                if(player.isFortificationPhaseValid(mapIO, Player.currentPlayer)){
-                    Player.currentPlayer.getPlayerBehaviour().fortificationPhase(listViewOfCountriesForFortification, null, Player.currentPlayer);
+                context.println("Fortification started");
+                List<Country> fortificationCountries = new ArrayList<>(playing.getPlayerCountries());
+                if(player.isFortificationPhaseValid(mapIO, playing)){
+                    playing.playFortification(fortificationCountries, null);
                 }
                 else {
-                    System.out.println("No fortification move possible");
+                    context.println("No fortification move possible");
                 }
-                System.out.println("Fortification move finished");
+                context.println("Fortification move finished");
 
 
             }
@@ -197,4 +237,21 @@ public class TournamentModel {
         winnerMap.put(null, gameCount);
         return winnerMap;
     }
+
+    /**
+     * Method to give a card of the deck to a player who won a country this turn.
+     *
+     * @param playerPlaying Player who won a country
+     * @param cardStack     Deck of the game
+     */
+    private void allocateCardToPlayer(Player playerPlaying, CardDeck cardStack) {
+        if (!cardStack.isEmpty()) {
+            Card cardToBeAdded = cardStack.draw();
+            cardToBeAdded.setCurrentPlayer(playerPlaying);
+            playerPlaying.addCard(cardToBeAdded);
+            playerPlaying.setCountryWon(0);
+            playerPlaying.getContext().println(cardToBeAdded.getCardType() + " card is assigned to " +
+                    playerPlaying.getName() + " and won country " + cardToBeAdded.getCountry().getName() + "\n");
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.risk.model;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Lockstep resolution of battles in the SIMD lanes of the Vector API
+ * (<code>jdk.incubator.vector</code>). Every lane holds one battle and all
+ * the lanes roll their round together, with masks instead of branches, until
+ * every battle of the block is decided. A lane draws exactly the dice the
+ * scalar loop of {@link BattleSimulator} draws for its battle, so both give
+ * the same results.
+ * <p>
+ * The class is only loaded by {@link BattleSimulator} when the module is in
+ * the boot layer, e.g. with <code>--add-modules jdk.incubator.vector</code>,
+ * which is also needed to compile it.
+ */
+final class VectorBattleKernel {
+
+    /**
+     * Widest vector of longs of the platform
+     */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructor, the kernel only has static methods.
+     */
+    private VectorBattleKernel() {
+    }
+
+    /**
+     * Method to get the number of battles resolved together.
+     *
+     * @return number of lanes
+     */
+    static int getLanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Method to resolve the battles of a range in blocks of lanes. The
+     * battles left after the last full block are left to the caller.
+     *
+     * @param seed           Seed of the random streams
+     * @param attackerArmies Armies on the attacking countries
+     * @param defenderArmies Armies on the defending countries
+     * @param attackerResult Armies left on the attacking countries
+     * @param defenderResult Armies left on the defending countries
+     * @param from           First battle of the range
+     * @param to             Battle after the last one of the range
+     * @return first battle not resolved
+     */
+    static int resolve(long seed, int[] attackerArmies, int[] defenderArmies, int[] attackerResult,
+                       int[] defenderResult, int from, int to) {
+        int lanes = SPECIES.length();
+        long[] attackers = new long[lanes];
+        long[] defenders = new long[lanes];
+        LongVector laneIndex = LongVector.zero(SPECIES).addIndex(1);
+        int start = from;
+        for (; start + lanes <= to; start += lanes) {
+            for (int lane = 0; lane < lanes; lane++) {
+                attackers[lane] = attackerArmies[start + lane];
+                defenders[lane] = defenderArmies[start + lane];
+            }
+            LongVector battle = laneIndex.add(start);
+            LongVector stream = mix(battle.mul(BattleSimulator.GOLDEN_GAMMA).add(seed));
+            LongVector attacker = LongVector.fromArray(SPECIES, attackers, 0);
+            LongVector defender = LongVector.fromArray(SPECIES, defenders, 0);
+            VectorMask<Long> active = attacker.compare(VectorOperators.GT, 1L)
+                    .and(defender.compare(VectorOperators.GT, 0L));
+            while (active.anyTrue()) {
+                LongVector attacker1 = rollDice(stream, 1);
+                LongVector attacker2 = rollDice(stream, 2).blend(0L, attacker.compare(VectorOperators.LE, 2L));
+                LongVector attacker3 = rollDice(stream, 3).blend(0L, attacker.compare(VectorOperators.LE, 3L));
+                LongVector defender1 = rollDice(stream, 4);
+                LongVector defender2 = rollDice(stream, 5).blend(0L, defender.compare(VectorOperators.LE, 1L));
+                stream = stream.add(5 * BattleSimulator.GOLDEN_GAMMA);
+
+                // Sorted like Dice.resolveRound: the two highest dice of each side.
+                LongVector high = attacker1.max(attacker2);
+                LongVector low = attacker1.min(attacker2);
+                LongVector attackerHighest = high.max(attacker3);
+                LongVector attackerSecond = high.min(low.max(attacker3));
+                LongVector defenderHighest = defender1.max(defender2);
+                LongVector defenderSecond = defender1.min(defender2);
+
+                VectorMask<Long> firstWon = attackerHighest.compare(VectorOperators.GT, defenderHighest);
+                VectorMask<Long> secondRolled = attackerSecond.compare(VectorOperators.GT, 0L)
+                        .and(defenderSecond.compare(VectorOperators.GT, 0L));
+                VectorMask<Long> secondWon = attackerSecond.compare(VectorOperators.GT, defenderSecond);
+                LongVector zero = LongVector.zero(SPECIES);
+                LongVector defenderLosses = zero.blend(1L, firstWon)
+                        .add(zero.blend(1L, secondRolled.and(secondWon)));
+                LongVector attackerLosses = zero.blend(1L, firstWon.not())
+                        .add(zero.blend(1L, secondRolled.andNot(secondWon)));
+
+                attacker = attacker.sub(attackerLosses, active);
+                defender = defender.sub(defenderLosses, active);
+                active = attacker.compare(VectorOperators.GT, 1L).and(defender.compare(VectorOperators.GT, 0L));
+            }
+            attacker.intoArray(attackers, 0);
+            defender.intoArray(defenders, 0);
+            for (int lane = 0; lane < lanes; lane++) {
+                attackerResult[start + lane] = (int) attackers[lane];
+                defenderResult[start + lane] = (int) defenders[lane];
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Method to get the dice values of one die of a round in every lane,
+     * like {@link BattleSimulator#rollDice(long)}.
+     *
+     * @param stream Position of the round in the random stream of every lane
+     * @param die    Number of the die in the round, from 1 to 5
+     * @return dice values between 1 and 6
+     */
+    private static LongVector rollDice(LongVector stream, int die) {
+        return mix(stream.add(die * BattleSimulator.GOLDEN_GAMMA))
+                .lanewise(VectorOperators.LSHR, 32).mul(6L).lanewise(VectorOperators.LSHR, 32).add(1L);
+    }
+
+    /**
+     * Method to scramble positions of random streams, the finalizer of SplitMix64.
+     *
+     * @param z Position in the stream of every lane
+     * @return scrambled values
+     */
+    private static LongVector mix(LongVector z) {
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30)).mul(0xBF58476D1CE4E5B9L);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(0x94D049BB133111EBL);
+        return z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+    }
+}
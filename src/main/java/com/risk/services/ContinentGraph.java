@@ -0,0 +1,243 @@
+package com.risk.services;
+
+import com.risk.model.Continent;
+import com.risk.model.Country;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This ContinentGraph class contains the graph of the continents of a map:
+ * two continents are adjacent when a country of one is adjacent to a
+ * country of the other. It also keeps the countries of every continent and
+ * the ones on its border, so that strategies can reason about continents
+ * without going through the whole country list. The graph is built once
+ * and is not updated when the map is edited.
+ */
+public class ContinentGraph {
+
+	/** Countries of every continent, in the order the continents are met */
+	private final Map<Continent, List<Country>> countries = new LinkedHashMap<>();
+
+	/** Countries of every continent having a neighbour in another continent */
+	private final Map<Continent, List<Country>> borderCountries = new HashMap<>();
+
+	/** Adjacent continents of every continent */
+	private final Map<Continent, Set<Continent>> adjacentContinents = new HashMap<>();
+
+	/** Continent of every country of the graph */
+	private final Map<Country, Continent> continentOf = new HashMap<>();
+
+	/** Continents of the graph, by number */
+	private final Continent[] continentList;
+
+	/** Number of every continent of the graph, by identity */
+	private final Map<Continent, Integer> continentNumbers = new IdentityHashMap<>();
+
+	/** Numbers of the adjacent continents of every continent */
+	private final int[][] adjacentNumbers;
+
+	/** Number of countries of every continent, by number */
+	private final int[] sizes;
+
+	/**
+	 * Constructor for the continent graph of a map.
+	 *
+	 * @param mapGraph
+	 *            Map of the game
+	 */
+	public ContinentGraph(MapGraph mapGraph) {
+		this(mapGraph.getCountrySet().values());
+	}
+
+	/**
+	 * Constructor for the continent graph of a set of countries, usually the
+	 * whole map. The countries of no continent are left out.
+	 *
+	 * @param mapCountries
+	 *            Countries of the map
+	 */
+	public ContinentGraph(Collection<Country> mapCountries) {
+		for (Country country : mapCountries) {
+			Continent continent = country.getPartOfContinent();
+			if (continent != null) {
+				countries.computeIfAbsent(continent, key -> new ArrayList<>()).add(country);
+				continentOf.put(country, continent);
+			}
+		}
+		for (Continent continent : countries.keySet()) {
+			Set<Continent> adjacent = new LinkedHashSet<>();
+			List<Country> border = new ArrayList<>();
+			for (Country country : countries.get(continent)) {
+				boolean onBorder = false;
+				for (Country neighbour : country.getAdjacentCountries()) {
+					Continent other = continentOf.get(neighbour);
+					if (other != null && !other.equals(continent)) {
+						adjacent.add(other);
+						onBorder = true;
+					}
+				}
+				if (onBorder) {
+					border.add(country);
+				}
+			}
+			adjacentContinents.put(continent, adjacent);
+			borderCountries.put(continent, border);
+		}
+		continentList = countries.keySet().toArray(new Continent[0]);
+		for (int i = 0; i < continentList.length; i++) {
+			continentNumbers.put(continentList[i], i);
+		}
+		adjacentNumbers = new int[continentList.length][];
+		sizes = new int[continentList.length];
+		for (int i = 0; i < continentList.length; i++) {
+			sizes[i] = countries.get(continentList[i]).size();
+			adjacentNumbers[i] = adjacentContinents.get(continentList[i]).stream().mapToInt(this::indexOf).toArray();
+		}
+	}
+
+	/**
+	 * Method to create the continent graph of the map a country is on, found
+	 * by going through the neighbours of the country.
+	 *
+	 * @param country
+	 *            Country of the map
+	 * @return continent graph
+	 */
+	public static ContinentGraph of(Country country) {
+		LinkedHashSet<Country> found = new LinkedHashSet<>();
+		found.add(country);
+		Deque<Country> queue = new ArrayDeque<>(found);
+		while (!queue.isEmpty()) {
+			for (Country neighbour : queue.poll().getAdjacentCountries()) {
+				if (found.add(neighbour)) {
+					queue.add(neighbour);
+				}
+			}
+		}
+		return new ContinentGraph(found);
+	}
+
+	/**
+	 * Method to check if a country is in the graph.
+	 *
+	 * @param country
+	 *            Country to look for
+	 * @return true if the country is in a continent of the graph; otherwise false
+	 */
+	public boolean contains(Country country) {
+		return continentOf.containsKey(country);
+	}
+
+	/**
+	 * Method to get the continents of the graph.
+	 *
+	 * @return continents
+	 */
+	public Set<Continent> getContinents() {
+		return Collections.unmodifiableSet(countries.keySet());
+	}
+
+	/**
+	 * Method to get the number of continents of the graph.
+	 *
+	 * @return number of continents
+	 */
+	public int getContinentCount() {
+		return continentList.length;
+	}
+
+	/**
+	 * Method to get a continent by number.
+	 *
+	 * @param number
+	 *            Number of the continent, from 0 to the number of continents
+	 * @return continent
+	 */
+	public Continent getContinent(int number) {
+		return continentList[number];
+	}
+
+	/**
+	 * Method to get the number of a continent. The continents of the graph
+	 * are found by identity first, as comparing the names of continents is
+	 * slower.
+	 *
+	 * @param continent
+	 *            Continent to look for
+	 * @return number of the continent, -1 for a continent not in the graph
+	 */
+	public int indexOf(Continent continent) {
+		Integer number = continentNumbers.get(continent);
+		if (number == null && countries.containsKey(continent)) {
+			// Another instance of the same continent: the one of the graph is found through its countries.
+			number = continentNumbers.get(continentOf.get(countries.get(continent).get(0)));
+		}
+		return number == null ? -1 : number;
+	}
+
+	/**
+	 * Method to get the number of countries of a continent.
+	 *
+	 * @param number
+	 *            Number of the continent
+	 * @return number of countries
+	 */
+	public int getCountryCount(int number) {
+		return sizes[number];
+	}
+
+	/**
+	 * Method to get the numbers of the continents adjacent to a continent.
+	 *
+	 * @param number
+	 *            Number of the continent
+	 * @return numbers of the adjacent continents
+	 */
+	public int[] getAdjacentContinents(int number) {
+		return adjacentNumbers[number];
+	}
+
+	/**
+	 * Method to get the countries of a continent.
+	 *
+	 * @param continent
+	 *            Continent of the graph
+	 * @return countries of the continent, empty for a continent not in the graph
+	 */
+	public List<Country> getCountries(Continent continent) {
+		return countries.getOrDefault(continent, Collections.emptyList());
+	}
+
+	/**
+	 * Method to get the countries of a continent having a neighbour in another continent.
+	 *
+	 * @param continent
+	 *            Continent of the graph
+	 * @return border countries of the continent
+	 */
+	public List<Country> getBorderCountries(Continent continent) {
+		return borderCountries.getOrDefault(continent, Collections.emptyList());
+	}
+
+	/**
+	 * Method to get the continents adjacent to a continent.
+	 *
+	 * @param continent
+	 *            Continent of the graph
+	 * @return adjacent continents
+	 */
+	public Set<Continent> getAdjacentContinents(Continent continent) {
+		return adjacentContinents.getOrDefault(continent, Collections.emptySet());
+	}
+}
@@ -1,5 +1,6 @@
 package com.risk.services;
 
+import com.risk.model.CardDeck;
 import com.risk.model.Continent;
 
 import com.risk.model.Country;
@@ -36,6 +37,9 @@ public class MapIO implements Serializable {
 	/** Object of MapGraph */
 	private MapGraph mapGraph;
 
+	/** Card type of every country, computed once for the loaded map */
+	private transient Map<String, String> cardDefinitions;
+
 	/**
 	 * Constructor to load the contents of a New Map.
 	 */
@@ -155,6 +159,19 @@ public class MapIO implements Serializable {
 		return mapGraph;
 	}
 
+	/**
+	 * Method to get the card type of every country of the map, computed on
+	 * first use and shared by the decks of all the games on the map.
+	 * 
+	 * @return read only map from country name to card type
+	 */
+	public Map<String, String> getCardDefinitions() {
+		if (cardDefinitions == null) {
+			cardDefinitions = CardDeck.getCardDefinitions(mapGraph.getCountrySet().values());
+		}
+		return cardDefinitions;
+	}
+
 	/**
 	 * Method to get the mapTagData contents
 	 * 
@@ -1,13 +1,14 @@
 package com.risk.services;
 
-import com.risk.model.Card;
+import com.risk.model.CardDeck;
+import com.risk.model.Continent;
 import com.risk.model.Country;
-import com.risk.model.ICardType;
 import com.risk.model.Player;
 import com.risk.controller.GamePlayController;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Class for governing the startup phase of the game. It sets up the game by
@@ -33,28 +34,25 @@ public class StartUpPhase extends Observable implements Serializable {
     public StartUpPhase(){}
 
     /**
-     * Method to assign countries to a player
+     * Method to assign cards to countries
      *
      * @param map      MapIO Object
-     * @return stackOfCards
+     * @return deck of cards, one per country
      */
-    public Stack<Card> assignCardToCountry(MapIO map) {
-
-        Stack<Card> stackOfCards = new Stack<>();
-
-        List<Country> allCountries = new ArrayList<>(map.getMapGraph().getCountrySet().values());
-
-        List<String> cardTypes = new ArrayList<>();
-        cardTypes.add(ICardType.ARTILLERY);
-        cardTypes.add(ICardType.CAVALRY);
-        cardTypes.add(ICardType.INFANTRY);
+    public CardDeck assignCardToCountry(MapIO map) {
+        return CardDeck.forCountries(map.getMapGraph().getCountrySet().values(), map.getCardDefinitions(), null);
+    }
 
-        for (Country country : allCountries) {
-            Card card = new Card(cardTypes.get(new Random().nextInt(cardTypes.size())));
-            card.setCountry(country);
-            stackOfCards.push(card);
-        }
-        return stackOfCards;
+    /**
+     * Method to assign cards to countries, the deck being shuffled
+     * with the random source of the game.
+     *
+     * @param map    MapIO Object
+     * @param random Random source of the game
+     * @return deck of cards, one per country
+     */
+    public CardDeck assignCardToCountry(MapIO map, Random random) {
+        return CardDeck.forCountries(map.getMapGraph().getCountrySet().values(), map.getCardDefinitions(), random);
     }
 
     /**
@@ -66,34 +64,93 @@ public class StartUpPhase extends Observable implements Serializable {
      */
 
     public List<Player> assignCountryToPlayer(MapIO map, List<Player> players) {
+        return assignCountryToPlayer(map, players, false);
+    }
 
-        ArrayList<Country> countries = new ArrayList<>(map.getMapGraph().getCountrySet().values());
-        while (countries.size() > 0) {
-            for (int i = 0; i < players.size(); ++i) {
-                if (countries.size() > 1) {
-                    int assignCountryIndex = new Random().nextInt(countries.size());
-                    players.get(i).addCountry(countries.get(assignCountryIndex));
-                    countries.get(assignCountryIndex).setPlayer(players.get(i));
-                    countries.get(assignCountryIndex).setNoOfArmies(1);
-                    setChanged();
-                    notifyObservers(countries.get(assignCountryIndex).getName() + " assigned to " +
-                            players.get(i).getName() + " ! \n");
-                    countries.remove(assignCountryIndex);
-                } else if (countries.size() == 1) {
-                    players.get(i).addCountry(countries.get(0));
-                    countries.get(0).setPlayer(players.get(i));
-                    countries.get(0).setNoOfArmies(1);
-                    System.out.println(countries.get(0).getName() + " assigned to " +
-                            players.get(i).getName() + " ! \n");
-                    countries.remove(0);
-                    break;
+    /**
+     * Method to deal the countries to the players. The countries are shuffled
+     * once and dealt in turn to the players, with one army on each of them.
+     * When the deal is balanced by continent, the countries of every continent
+     * are dealt one after the other, so that every player gets a fair share
+     * of every continent.
+     *
+     * @param map                 MapIO Object
+     * @param players             list of players
+     * @param balancedByContinent true to share every continent between the players
+     * @return players
+     */
+    public List<Player> assignCountryToPlayer(MapIO map, List<Player> players, boolean balancedByContinent) {
+        return assignCountryToPlayer(map, players, balancedByContinent, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Method to deal the countries to the players with a given random
+     * source, so that a deal can be played again from its seed.
+     *
+     * @param map                 MapIO Object
+     * @param players             list of players
+     * @param balancedByContinent true to share every continent between the players
+     * @param random              Random source of the deal
+     * @return players
+     */
+    public List<Player> assignCountryToPlayer(MapIO map, List<Player> players, boolean balancedByContinent,
+                                              Random random) {
+        Country[] countries;
+        if (balancedByContinent) {
+            List<Continent> continents = new ArrayList<>(map.getMapGraph().getContinents().values());
+            Collections.shuffle(continents, random);
+            countries = new Country[map.getMapGraph().getCountrySet().size()];
+            int count = 0;
+            for (Continent continent : continents) {
+                int start = count;
+                for (Country country : continent.getListOfCountries()) {
+                    countries[count++] = country;
                 }
+                shuffle(countries, start, count, random);
             }
+        } else {
+            countries = map.getMapGraph().getCountrySet().values().toArray(new Country[0]);
+            shuffle(countries, 0, countries.length, random);
+        }
+
+        int numberOfPlayers = players.size();
+        for (int i = 0; i < countries.length; i++) {
+            Player player = players.get(i % numberOfPlayers);
+            player.addCountry(countries[i]);
+            countries[i].setPlayer(player);
+            countries[i].setNoOfArmies(1);
         }
-        for (Player player : players) {
+
+        StringBuilder summary = new StringBuilder(countries.length + " countries assigned to " + numberOfPlayers + " players: ");
+        for (int i = 0; i < numberOfPlayers; i++) {
+            Player player = players.get(i);
             player.setArmyCount(player.getArmyCount() - player.getPlayerCountries().size());
+            summary.append(i > 0 ? ", " : "").append(player.getName()).append(" ")
+                    .append(player.getPlayerCountries().size());
         }
+        summary.append(" ! \n");
+        // Every player of a game shares its context, so the first one shows the message.
+        players.get(0).getContext().println(summary);
+        setChanged();
+        notifyObservers(summary.toString());
         return players;
     }
 
+    /**
+     * Method to shuffle a range of countries in place with the Fisher-Yates shuffle.
+     *
+     * @param countries Array of countries
+     * @param from      First position of the range
+     * @param to        Position after the last one of the range
+     * @param random    Random source
+     */
+    private static void shuffle(Country[] countries, int from, int to, Random random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            Country country = countries[i];
+            countries[i] = countries[j];
+            countries[j] = country;
+        }
+    }
+
 }
@@ -43,7 +43,7 @@ public class ReinforcementPhase {
 			countryInContinent.add(country.getPartOfContinent());
 		}
 		
-		System.out.println(countryInContinent);
+		player.getContext().println(countryInContinent);
 
 		// If a player owns all the countries in a continent, then armies count
 		// will be equal
@@ -1,13 +1,14 @@
 package com.risk.strategy;
 
+import com.risk.model.ArmyPlacementPolicy;
+import com.risk.model.AttackPolicy;
+import com.risk.model.BattleOdds;
 import com.risk.model.Country;
 import com.risk.model.Dice;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
 import com.risk.model.Player;
-import com.risk.model.TournamentModel;
-import com.risk.controller.DiceController;
 import com.risk.controller.GamePlayController;
-import javafx.collections.ObservableList;
-import javafx.scene.control.ListView;
 
 import java.util.*;
 
@@ -26,11 +27,50 @@ import java.util.*;
 
 public class Aggressive extends PlayerBehaviour {
 
+    /**
+     * Value of a conquest for the aggressive player, in armies
+     */
+    public static final double CONQUEST_VALUE = 5;
+
+    /**
+     * Policy deciding when the attacks of the aggressive player stop
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.forExpectedValue(CONQUEST_VALUE);
+
+    /**
+     * Weights of the aggressive player: the value of a conquest for the attack policy, the
+     * weight of the enemy armies around a country to reinforce, and the share of the planned
+     * armies moved by the fortification. The defaults play as the strategy always did.
+     */
+    public static final HeuristicWeights DEFAULT_WEIGHTS = new HeuristicWeights(
+            new String[] { "conquestValue", "threatWeight", "fortifyShare" },
+            new double[] { CONQUEST_VALUE, 0, 1 }, new double[] { 0, -2, 0 }, new double[] { 20, 2, 1 });
+
+    /**
+     * Weights of the player
+     */
+    private HeuristicWeights weights = DEFAULT_WEIGHTS;
+
+    /**
+     * Attack policy solved for the conquest value of the weights, null for the default one
+     */
+    private transient AttackPolicy attackPolicy;
+
     /**
      * Object of country, which is the strongest country.
      */
     private Country strongestCountry;
 
+    /**
+     * Countries of the conquest planned in the current attack phase, null if none is planned
+     */
+    private transient Country[] plannedConquest;
+
+    /**
+     * Position in the planned conquest of the country attacking in the last battle
+     */
+    private transient int plannedStep;
+
     /**
      * Aggresive Player Constructor
      */
@@ -62,31 +102,27 @@ public class Aggressive extends PlayerBehaviour {
      * @param currentPlayer Current player.
      */
     @Override
-    public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
-        System.out.println("Beginning Reinforcement phase for aggressive player " + currentPlayer.getName());
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for aggressive player " + currentPlayer.getName());
         setChanged();
         notifyObservers("Beginning Reinforcement phase for aggressive player " + currentPlayer.getName() + ".\n");
-        System.out.println("List of countries owned: " + countryList.toString() + "\n");
+        plannedConquest = null;
+        println("List of countries owned: " + countryList.toString() + "\n");
         setChanged();
         notifyObservers("List of countries owned: " + countryList.toString() + "\n");
-        List<Country> sortedList = sortCountryListByArmyCount(countryList);
-        for (Country country1 : sortedList) {
-            System.out.println(country1.getName() + ":" + country1.getNoOfArmies());
-            setChanged();
-            notifyObservers(country1.getName() + ":" + country1.getNoOfArmies());
-        }
-        if (!sortedList.isEmpty()) {
-            country = findStrongestCountryForReinforcement(sortedList);
+        if (!countryList.isEmpty()) {
+            // The army ranking of the player gives the strongest frontier country without sorting.
+            country = findStrongestCountryForReinforcement(countryList);
             if (country != null) {
                 country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
-                System.out.println(currentPlayer.getName() + " aggressive player has been assigned all the " + currentPlayer.getArmyCount()
+                println(currentPlayer.getName() + " aggressive player has been assigned all the " + currentPlayer.getArmyCount()
                         + " armies to the strongest country " + country.getName() + " , army count " + country.getNoOfArmies());
                 setChanged();
                 notifyObservers(currentPlayer.getName() + " aggressive player has been assigned all the " + currentPlayer.getArmyCount()
                         + " armies to the strongest country " + country.getName() + " , army count " + country.getNoOfArmies() + "\n");
                 currentPlayer.setArmyCount(0);
             }
-            System.out.println("Ended Reinforcement phase for aggressive player " + currentPlayer.getName());
+            println("Ended Reinforcement phase for aggressive player " + currentPlayer.getName());
             setChanged();
             notifyObservers("Ended Reinforcement phase for aggressive player " + currentPlayer.getName() + ".\n");
         }
@@ -100,11 +136,12 @@ public class Aggressive extends PlayerBehaviour {
      * If player can attack; other wise false.
      */
     @Override
-    public boolean playerCanAttack(ListView<Country> countries) {
-        strongestCountry = checkAndFindStrongestIfNoAdjacentCountryToAttack(sortCountryListByArmyCount(countries.getItems()));
+    protected boolean canStrategyAttack(List<Country> countries) {
+        strongestCountry = checkAndFindStrongestIfNoAdjacentCountryToAttack(countries);
         if (strongestCountry == null) {
-            System.out.println("Aggressive player cannot continue with attack phase, move to fortification phase.");
-            System.out.println("Attack phase ended for aggressive player.");
+            plannedConquest = null;
+            println("Aggressive player cannot continue with attack phase, move to fortification phase.");
+            println("Attack phase ended for aggressive player.");
             setChanged();
             notifyObservers("Aggressive player cannot continue with attack phase, move to fortification phase.\n");
             setChanged();
@@ -126,43 +163,23 @@ public class Aggressive extends PlayerBehaviour {
      * If the fortification successful; other wise false.
      */
     @Override
-    public boolean fortificationPhase(ListView<Country> selectedCountryList, ListView<Country> adjCountryList,
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
                                       Player currentPlayer) {
-        System.out.println("Beginning Fortification phase for aggressive player " + currentPlayer.getName());
+        println("Beginning Fortification phase for aggressive player " + currentPlayer.getName());
         setChanged();
         notifyObservers("Beginning Fortification phase for aggressive player " + currentPlayer.getName() + ".\n");
-        Country countryToFortify = null;
-        Country countryFromFortify = null;
-        int maxSum = 0;
-        int sum;
-        for (Country country : selectedCountryList.getItems()) {
-            sum = country.getNoOfArmies();
-            for (Country adjacentCountry : country.getAdjacentCountries()) {
-                if (country.getPlayer().equals(adjacentCountry.getPlayer())) {
-                    System.out.println(country.getName() + ":" + country.getNoOfArmies() + ", " + adjacentCountry.getName()
-                            + ":" + adjacentCountry.getNoOfArmies());
-                    setChanged();
-                    notifyObservers(country.getName() + ":" + country.getNoOfArmies() + ", " + adjacentCountry.getName()
-                            + ":" + adjacentCountry.getNoOfArmies());
-                    sum += adjacentCountry.getNoOfArmies() > 1 ? (adjacentCountry.getNoOfArmies() - 1) : 0;
-                    if (sum > maxSum) {
-                        maxSum = sum;
-                        countryToFortify = country;
-                        countryFromFortify = adjacentCountry;
-                        sum = country.getNoOfArmies();
-                    }
-                }
-            }
-        }
-        System.out.println("Maximum sum =" + maxSum);
-
-        if (countryToFortify != null && countryFromFortify != null) {
-            countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + countryFromFortify.getNoOfArmies() - 1);
-            countryFromFortify.setNoOfArmies(1);
-            System.out.println("Country " + countryToFortify + " has been assigned maximum armies from country " + countryFromFortify.getName());
-            System.out.println("Ended Fortification phase for aggressive player " + currentPlayer.getName());
+        GameState state = GameState.of(currentPlayer);
+        int[] move = currentPlayer.getPlayerCountries().isEmpty() ? null
+                : planFortification(state, state.indexOf(currentPlayer));
+        if (move != null) {
+            Country countryFromFortify = state.getCountry(move[0]);
+            Country countryToFortify = state.getCountry(move[1]);
+            countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + move[2]);
+            countryFromFortify.setNoOfArmies(countryFromFortify.getNoOfArmies() - move[2]);
+            println("Country " + countryToFortify + " has been assigned " + move[2] + " armies from country " + countryFromFortify.getName());
+            println("Ended Fortification phase for aggressive player " + currentPlayer.getName());
             setChanged();
-            notifyObservers("Country " + countryToFortify + " has been assigned maximum armies from country " + countryFromFortify.getName() + ".\n");
+            notifyObservers("Country " + countryToFortify + " has been assigned " + move[2] + " armies from country " + countryFromFortify.getName() + ".\n");
             setChanged();
             notifyObservers("Ended Fortification phase for aggressive player " + currentPlayer.getName() + ".\n");
             return true;
@@ -183,45 +200,280 @@ public class Aggressive extends PlayerBehaviour {
         if (player != null) {
             dice.addObserver(player);
         }
-        if (TournamentModel.isTournament) {
-            DiceController diceController = new DiceController(dice, this);
-            diceController.automateDiceRoll();
-        } else {
-            DiceController diceController = new DiceController(dice, this, this.gamePlayController);
-            diceController.automateDiceRoll();
-        }
+        rollDice(dice, gamePlayController);
     }
 
     /**
      * Method for Aggressive class for attack phase.
-     * Start and end of the attack phase.
+     * Start and end of the attack phase. The attack is the next one of
+     * the chain of conquests worth most, planned once and followed while
+     * its battles are won, see {@link ConquestPlanner}.
      *
      * @param attackingCountryList List of countries attacking.
      * @param defendingCountryList List of countries defending.
      * @param currentPlayer        Current player.
      */
     @Override
-    public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
-                            Player currentPlayer) {
-        System.out.println("Beginning attack phase for aggressive player " + currentPlayer.getName());
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for aggressive player " + currentPlayer.getName());
         setChanged();
         notifyObservers("Beginning attack phase for aggressive player " + currentPlayer.getName() + ".\n");
-        strongestCountry = checkAndFindStrongestIfNoAdjacentCountryToAttack(sortCountryListByArmyCount(attackingCountryList.getItems()));
-        List<Country> defendingCountries = getDefendingCountryList(strongestCountry);
-        Iterator<Country> defendingCountriesIterator = defendingCountries.iterator();
-        while (defendingCountriesIterator.hasNext()) {
-            if (strongestCountry.getNoOfArmies() > 1) {
-                System.out.println("Attacking with strongest country " + strongestCountry.getName());
-                System.out.println("Ended attack phase for aggressive player " + currentPlayer.getName());
-                setChanged();
-                notifyObservers("Attacking with strongest country " + strongestCountry.getName() + ".\n");
-                attack(strongestCountry, defendingCountriesIterator.next(), currentPlayer);
-                setChanged();
-                notifyObservers("Ended attack phase for aggressive player " + currentPlayer.getName() + ".\n");
-                break;
+        strongestCountry = checkAndFindStrongestIfNoAdjacentCountryToAttack(attackingCountryList);
+        if (strongestCountry == null) {
+            return;
+        }
+        Country defendingCountry;
+        if (!continuePlannedConquest(currentPlayer)) {
+            planConquest(currentPlayer);
+        }
+        if (plannedConquest != null) {
+            strongestCountry = plannedConquest[plannedStep];
+            defendingCountry = plannedConquest[plannedStep + 1];
+        } else {
+            defendingCountry = findBestCountryToAttack(strongestCountry, getDefendingCountryList(strongestCountry));
+        }
+        if (defendingCountry != null && strongestCountry.getNoOfArmies() > 1) {
+            println("Attacking with strongest country " + strongestCountry.getName());
+            println("Ended attack phase for aggressive player " + currentPlayer.getName());
+            setChanged();
+            notifyObservers("Attacking with strongest country " + strongestCountry.getName() + ".\n");
+            attack(strongestCountry, defendingCountry, currentPlayer);
+            setChanged();
+            notifyObservers("Ended attack phase for aggressive player " + currentPlayer.getName() + ".\n");
+        }
+
+    }
+
+    /**
+     * Method to move on to the next battle of the conquest planned in this attack phase.
+     * The plan goes on only if the last battle conquered its country and the next one is
+     * still held by an enemy; otherwise it is dropped.
+     *
+     * @param currentPlayer Current player.
+     * @return true
+     * If the next battle of the planned conquest can be fought; otherwise false.
+     */
+    private boolean continuePlannedConquest(Player currentPlayer) {
+        if (plannedConquest == null) {
+            return false;
+        }
+        int step = plannedStep + 1;
+        if (step + 1 < plannedConquest.length && plannedConquest[step].getPlayer() == currentPlayer
+                && plannedConquest[step].getNoOfArmies() > 1 && plannedConquest[step + 1].getPlayer() != currentPlayer) {
+            plannedStep = step;
+            return true;
+        }
+        plannedConquest = null;
+        return false;
+    }
+
+    /**
+     * Method to plan the chain of conquests worth most from the current game, see
+     * {@link ConquestPlanner}. The plan is kept for the following battles of the attack phase.
+     *
+     * @param currentPlayer Current player.
+     */
+    private void planConquest(Player currentPlayer) {
+        GameState state = GameState.of(currentPlayer);
+        int[] path = ConquestPlanner.getShared().plan(state, state.indexOf(currentPlayer), getAttackPolicy());
+        if (path == null) {
+            plannedConquest = null;
+            return;
+        }
+        plannedConquest = new Country[path.length];
+        for (int i = 0; i < path.length; i++) {
+            plannedConquest[i] = state.getCountry(path[i]);
+        }
+        plannedStep = 0;
+        String target = plannedConquest[path.length - 1].getName();
+        println("Planned conquest of " + (path.length - 1) + " countries towards " + target);
+        setChanged();
+        notifyObservers("Planned conquest of " + (path.length - 1) + " countries towards " + target + ".\n");
+    }
+
+    /**
+     * Method to get the policy placing the initial armies of the aggressive player,
+     * which puts all of them on its strongest country having an enemy neighbour.
+     *
+     * @return ArmyPlacementPolicy
+     * Placement policy of the aggressive player.
+     */
+    @Override
+    public ArmyPlacementPolicy getArmyPlacementPolicy() {
+        return (countries, armies, random) -> {
+            int[] allocation = new int[countries.size()];
+            Country strongest = findStrongestCountryForReinforcement(countries);
+            int index = strongest == null ? 0 : countries.indexOf(strongest);
+            allocation[index] = armies;
+            return allocation;
+        };
+    }
+
+    /**
+     * Method to get the policy deciding when the attacks of the aggressive player stop.
+     * It maximizes the expected value of every battle.
+     *
+     * @return AttackPolicy
+     * Attack policy of the aggressive player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        double conquestValue = weights.get("conquestValue");
+        if (conquestValue == CONQUEST_VALUE) {
+            return ATTACK_POLICY;
+        }
+        if (attackPolicy == null) {
+            attackPolicy = AttackPolicy.forExpectedValue(conquestValue);
+        }
+        return attackPolicy;
+    }
+
+    /**
+     * Method to get the weights of the aggressive player.
+     *
+     * @return HeuristicWeights
+     * Weights of the player.
+     */
+    @Override
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Method to set the weights of the aggressive player.
+     *
+     * @param weights Weights named like DEFAULT_WEIGHTS.
+     */
+    @Override
+    public void setWeights(HeuristicWeights weights) {
+        this.weights = DEFAULT_WEIGHTS.withValues(weights.toArray());
+        this.attackPolicy = null;
+    }
+
+    /**
+     * Method for the simulated reinforcement phase, which places all
+     * the armies on the strongest country having an enemy neighbour,
+     * the enemy armies around it counted with their weight.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @param random Random source, not used.
+     */
+    @Override
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        double threatWeight = weights.get("threatWeight");
+        int strongest = -1;
+        double bestScore = 0;
+        for (int country : state.getCountries(player)) {
+            if (!state.isBorder(country)) {
+                continue;
+            }
+            double score = state.getArmies(country) + (threatWeight == 0 ? 0 : threatWeight * GameSimulation.getEnemyArmies(state, country));
+            if (strongest < 0 || score > bestScore) {
+                strongest = country;
+                bestScore = score;
+            }
+        }
+        if (strongest >= 0) {
+            state.placeArmies(strongest, armies);
+        }
+    }
+
+    /**
+     * Method for the simulated attack phase, which plays the first attack of
+     * the conquest planned like in the real game, planning again after
+     * every battle, until the attack policy allows no attack.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the dice.
+     */
+    @Override
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        ConquestPlanner planner = ConquestPlanner.getShared();
+        int[] path;
+        while ((path = planner.plan(state, player, getAttackPolicy())) != null) {
+            state.attack(path[0], path[1], getAttackPolicy(), random);
+        }
+    }
+
+    /**
+     * Method for the simulated fortification phase, which plays the move
+     * planned like in the real game.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source, not used.
+     */
+    @Override
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        int[] move = planFortification(state, player);
+        if (move != null) {
+            state.moveArmies(move[0], move[1], move[2]);
+        }
+    }
+
+    /**
+     * Method to plan the fortification: every component of the countries
+     * of the player gathers its movable armies on its strongest border
+     * country, and the move is the first step of that plan worth most.
+     *
+     * @param state  Game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the countries the armies leave and reach and the number of armies, null for no move
+     */
+    public int[] planFortification(GameState state, int player) {
+        FortificationPlanner planner = FortificationPlanner.getShared();
+        int[] strongest = new int[planner.findComponents(state, player)];
+        Arrays.fill(strongest, -1);
+        for (int country : state.getCountries(player)) {
+            int component = planner.getComponent(country);
+            if (state.isBorder(country)
+                    && (strongest[component] < 0 || state.getArmies(country) > state.getArmies(strongest[component]))) {
+                strongest[component] = country;
             }
         }
+        double[] demand = new double[state.getCountryCount()];
+        for (int country : strongest) {
+            if (country >= 0) {
+                demand[country] = 1;
+            }
+        }
+        planner.plan(state, player, demand);
+        int[] move = planner.getMove();
+        if (move != null) {
+            move[2] = getFortificationArmies(move[2]);
+        }
+        return move == null || move[2] == 0 ? null : move;
+    }
 
+    /**
+     * Method to find the defending country which the attacking
+     * country has the best odds to conquer.
+     *
+     * @param attacking          Country attacking.
+     * @param defendingCountries List of countries which can be attacked.
+     * @return Country
+     * Defending country with the highest win probability among the ones the
+     * attack policy allows to attack, null if there is none.
+     */
+    public Country findBestCountryToAttack(Country attacking, List<Country> defendingCountries) {
+        BattleOdds battleOdds = BattleOdds.getSharedOdds();
+        Country bestCountry = null;
+        double bestProbability = -1;
+        for (Country defending : defendingCountries) {
+            if (!getAttackPolicy().shouldContinue(attacking.getNoOfArmies(), defending.getNoOfArmies())) {
+                continue;
+            }
+            double probability = battleOdds.getWinProbability(attacking.getNoOfArmies(), defending.getNoOfArmies());
+            if (probability > bestProbability) {
+                bestProbability = probability;
+                bestCountry = defending;
+            }
+        }
+        return bestCountry;
     }
 
     /**
@@ -233,14 +485,8 @@ public class Aggressive extends PlayerBehaviour {
      * Strongest country.
      */
     public Country checkAndFindStrongestIfNoAdjacentCountryToAttack(List<Country> list) {
-        if (!list.isEmpty()) {
-            for (Country country : list) {
-                if (country != null && country.getNoOfArmies() > 1 && getDefendingCountryList(country).size() > 0) {
-                    return country;
-                }
-            }
-        }
-        return null;
+        return findStrongestCountry(list, country -> country.getNoOfArmies() > 1
+                && findBestCountryToAttack(country, getDefendingCountryList(country)) != null);
     }
 
     /**
@@ -251,25 +497,35 @@ public class Aggressive extends PlayerBehaviour {
      * Strongest country.
      */
     public Country findStrongestCountryForReinforcement(List<Country> list) {
-        if (!list.isEmpty()) {
-            for (Country country : list) {
-                if (country != null && country.getNoOfArmies() >= 1 && getDefendingCountryList(country).size() > 0) {
-                    return country;
-                }
+        double threatWeight = weights.get("threatWeight");
+        if (threatWeight == 0) {
+            return findStrongestCountry(list, country -> country.getNoOfArmies() >= 1
+                    && getDefendingCountryList(country).size() > 0);
+        }
+        Country strongest = null;
+        double bestScore = 0;
+        for (Country country : list) {
+            if (country.getNoOfArmies() < 1 || getDefendingCountryList(country).isEmpty()) {
+                continue;
+            }
+            double score = country.getNoOfArmies() + threatWeight * getEnemyArmies(country);
+            if (strongest == null || score > bestScore) {
+                strongest = country;
+                bestScore = score;
             }
         }
-        return null;
+        return strongest;
     }
 
     /**
-     * Method to sort country list by army count.
+     * Method to get the armies moved by the fortification, the weighted share of the planned ones.
      *
-     * @param list List of countries.
-     * @return List
-     * List of countries which have been sorted.
+     * @param armies Armies the plan moves.
+     * @return int
+     * Number of armies to move, 0 for no move.
      */
-    public List<Country> sortCountryListByArmyCount(List<Country> list) {
-        Collections.sort(list, Comparator.comparing(obj -> Integer.valueOf(obj.getNoOfArmies()), Comparator.reverseOrder()));
-        return list;
+    public int getFortificationArmies(int armies) {
+        double fortifyShare = weights.get("fortifyShare");
+        return fortifyShare == 1 ? armies : (int) Math.round(fortifyShare * armies);
     }
 }
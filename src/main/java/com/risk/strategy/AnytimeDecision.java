@@ -0,0 +1,100 @@
+package com.risk.strategy;
+
+/**
+ * Class for one decision of a computer player under a deadline. The
+ * search making the decision offers every better move it finds, checks
+ * {@link #isExpired()} as it goes and stops once it is true; the engine
+ * running it takes the last offered move if the search does not answer in
+ * time.
+ *
+ * @param <T> Type of the moves
+ */
+public class AnytimeDecision<T> {
+
+    /**
+     * Time at which the decision is due, in System.nanoTime units
+     */
+    private final long deadline;
+
+    /**
+     * Best move found so far, null before the first one
+     */
+    private volatile T best;
+
+    /**
+     * true once the engine has given up waiting for the search
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor for a decision.
+     *
+     * @param deadline Time at which the decision is due, in System.nanoTime units, Long.MAX_VALUE for none
+     */
+    public AnytimeDecision(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Method to create a decision due after a time budget.
+     *
+     * @param timeBudget Time in milliseconds, 0 or less for no deadline
+     * @return decision
+     */
+    public static <T> AnytimeDecision<T> withBudget(long timeBudget) {
+        return new AnytimeDecision<>(timeBudget > 0 ? System.nanoTime() + timeBudget * 1000000L : Long.MAX_VALUE);
+    }
+
+    /**
+     * Method to get the time at which the decision is due.
+     *
+     * @return deadline in System.nanoTime units, Long.MAX_VALUE for none
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Method to offer the best move found so far.
+     *
+     * @param move Move, replacing any move offered before
+     */
+    public void offer(T move) {
+        best = move;
+    }
+
+    /**
+     * Method to get the best move offered so far.
+     *
+     * @return move, null if none was offered
+     */
+    public T getBest() {
+        return best;
+    }
+
+    /**
+     * Method to give up waiting for the search.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Method to check if the engine has given up waiting for the search.
+     *
+     * @return true if the decision was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Method to check if the search should stop: the decision is cancelled
+     * or its deadline has passed.
+     *
+     * @return true if the search should stop
+     */
+    public boolean isExpired() {
+        return cancelled || (deadline != Long.MAX_VALUE && System.nanoTime() > deadline);
+    }
+}
@@ -1,15 +1,18 @@
 package com.risk.strategy;
 
+import com.risk.model.ArmyPlacementPolicy;
 import com.risk.model.Country;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
 import com.risk.model.Player;
+import com.risk.model.ThreatMap;
 import com.risk.controller.GamePlayController;
-import javafx.collections.ObservableList;
-import javafx.scene.control.ListView;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Benevolent class contains methods for the Player Behavior
@@ -24,6 +27,19 @@ import java.util.List;
  */
 public class Benevolent extends PlayerBehaviour {
 
+	/**
+	 * Weights of the benevolent player: the weight of the enemy armies around a country
+	 * to reinforce, and the share of the planned armies moved by the fortification.
+	 */
+	public static final HeuristicWeights DEFAULT_WEIGHTS = new HeuristicWeights(
+			new String[] { "threatWeight", "fortifyShare" },
+			new double[] { 0, 1 }, new double[] { -2, 0 }, new double[] { 2, 1 });
+
+	/**
+	 * Weights of the player
+	 */
+	private HeuristicWeights weights = DEFAULT_WEIGHTS;
+
 	/**
 	 * Object of GamePlayController, control various activities during the game play.
 	 */
@@ -55,23 +71,23 @@ public class Benevolent extends PlayerBehaviour {
 	 * @param currentPlayer Current player.
 	 */
 	@Override
-	public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
-		System.out.println("Beginning Reinforcement phase for benevolent player " + currentPlayer.getName());
+	public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+		println("Beginning Reinforcement phase for benevolent player " + currentPlayer.getName());
 		setChanged();
 		notifyObservers("Beginning Reinforcement phase for benevolent player " + currentPlayer.getName() + ".\n");
-		System.out.println("List of countries owned: " + countryList.toString() + "\n");
+		println("List of countries owned: " + countryList.toString() + "\n");
 		setChanged();
 		notifyObservers("List of countries owned: " + countryList.toString() + "\n");
 		List<Country> sortedList = sortCountryListByArmyCount(countryList);
 		for (Country country1 : sortedList) {
-			System.out.println(country1.getName() + ":" + country1.getNoOfArmies());
+			println(country1.getName() + ":" + country1.getNoOfArmies());
 		}
 		if (!sortedList.isEmpty()) {
-			country = sortedList.get(0);
+			country = findCountryForReinforcement(countryList);
 			country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
-			System.out.println(currentPlayer.getName() + " benevolent player has been assigned all the " + currentPlayer.getArmyCount()
+			println(currentPlayer.getName() + " benevolent player has been assigned all the " + currentPlayer.getArmyCount()
 			+ " armies to the weakest country " + country.getName());
-			System.out.println("Ended Reinforcement phase for benevolent player " + currentPlayer.getName());
+			println("Ended Reinforcement phase for benevolent player " + currentPlayer.getName());
 			setChanged();
 			notifyObservers(currentPlayer.getName() + " benevolent player has been assigned all the " + currentPlayer.getArmyCount()
 			+ " armies to the weakest country " + country.getName() + ".\n");
@@ -82,6 +98,48 @@ public class Benevolent extends PlayerBehaviour {
 		}
 	}
 
+	/**
+	 * Method to get the policy placing the initial armies of the benevolent player,
+	 * which always adds the next army to its weakest country.
+	 *
+	 * @return ArmyPlacementPolicy
+	 * Placement policy of the benevolent player.
+	 */
+	@Override
+	public ArmyPlacementPolicy getArmyPlacementPolicy() {
+		return (countries, armies, random) -> {
+			int[] allocation = new int[countries.size()];
+			Integer[] order = new Integer[countries.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparingInt(i -> countries.get(i).getNoOfArmies()));
+			// Raise the weakest countries level by level, the first 'levelled' countries share the lowest level.
+			int levelled = 1;
+			int level = countries.get(order[0]).getNoOfArmies();
+			int left = armies;
+			while (left > 0) {
+				while (levelled < order.length && countries.get(order[levelled]).getNoOfArmies() <= level) {
+					levelled++;
+				}
+				int nextLevel = levelled < order.length ? countries.get(order[levelled]).getNoOfArmies() : Integer.MAX_VALUE;
+				int raise = (int) Math.min((long) nextLevel - level, left / levelled);
+				if (raise == 0) {
+					for (int i = 0; i < left; i++) {
+						allocation[order[i]]++;
+					}
+					break;
+				}
+				for (int i = 0; i < levelled; i++) {
+					allocation[order[i]] += raise;
+				}
+				level += raise;
+				left -= raise * levelled;
+			}
+			return allocation;
+		};
+	}
+
 	/**
 	 * Method for Benevolent class for attack phase.
 	 *
@@ -90,9 +148,9 @@ public class Benevolent extends PlayerBehaviour {
 	 * @param gamePhase            Current player.
 	 */
 	@Override
-	public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
+	protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
 			Player gamePhase) {
-		System.out.println("Benevolent player cannot attack.");
+		println("Benevolent player cannot attack.");
 		setChanged();
 		notifyObservers("Benevolent player cannot attack.\n");
 	}
@@ -108,40 +166,190 @@ public class Benevolent extends PlayerBehaviour {
 	 * If the fortification successful; other wise false.
 	 */
 	@Override
-	public boolean fortificationPhase(ListView<Country> selectedCountryList, ListView<Country> adjCountry,
+	public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountry,
 			Player currentPlayer) {
-		System.out.println("Beginning Fortification phase for benevolent player " + currentPlayer.getName());
+		println("Beginning Fortification phase for benevolent player " + currentPlayer.getName());
 		setChanged();
 		notifyObservers("Beginning Fortification phase for benevolent player " + currentPlayer.getName() + ".\n");
-		for (Country country : sortCountryListByArmyCount(selectedCountryList.getItems())) {
-			System.out.println(country.getName() + ":" + country.getNoOfArmies());
+		GameState state = GameState.of(currentPlayer);
+		int[] move = currentPlayer.getPlayerCountries().isEmpty() ? null
+				: planFortification(state, state.indexOf(currentPlayer));
+		if (move != null) {
+			Country countryFromFortify = state.getCountry(move[0]);
+			Country countryToFortify = state.getCountry(move[1]);
+			countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + move[2]);
+			countryFromFortify.setNoOfArmies(countryFromFortify.getNoOfArmies() - move[2]);
+			println("Country " + countryToFortify + " has been assigned " + move[2] +
+					" armies from country " + countryFromFortify.getName());
+			println("Ended Fortification phase for benevolent player " + currentPlayer.getName());
 			setChanged();
-			notifyObservers(country.getName() + ":" + country.getNoOfArmies());
-		}
-		Country weakestCountry = checkAndFindWeakestIfNoAdjacentCountryToFortify(selectedCountryList.getItems());
-		if (weakestCountry != null) {
-			Country strongestAdjacentCountry = getStrongestAdjacentCountry(weakestCountry);
-			if (strongestAdjacentCountry != null) {
-				int fortificationArmies = (strongestAdjacentCountry.getNoOfArmies() - weakestCountry.getNoOfArmies()) / 2;
-				weakestCountry.setNoOfArmies(weakestCountry.getNoOfArmies() + fortificationArmies);
-				strongestAdjacentCountry.setNoOfArmies(strongestAdjacentCountry.getNoOfArmies() - fortificationArmies);
-				System.out.println("Country " + weakestCountry + " has been assigned " + fortificationArmies +
-						" armies from country " + strongestAdjacentCountry.getName());
-				System.out.println("Ended Fortification phase for benevolent player " + currentPlayer.getName());
-				setChanged();
-				notifyObservers("Country " + weakestCountry + " has been assigned " + fortificationArmies +
-						" armies from country " + strongestAdjacentCountry.getName() + ".\n");
-				setChanged();
-				notifyObservers("Ended Fortification phase for benevolent player " + currentPlayer.getName() + ".\n");
-				return true;
-			}
+			notifyObservers("Country " + countryToFortify + " has been assigned " + move[2] +
+					" armies from country " + countryFromFortify.getName() + ".\n");
+			setChanged();
+			notifyObservers("Ended Fortification phase for benevolent player " + currentPlayer.getName() + ".\n");
+			return true;
 		}
-		System.out.println("Ended Fortification phase for benevolent player " + currentPlayer.getName());
+		println("Ended Fortification phase for benevolent player " + currentPlayer.getName());
 		setChanged();
 		notifyObservers("Ended Fortification phase for benevolent player " + currentPlayer.getName() + ".\n");
 		return false;
 	}
 
+	/**
+	 * Method to get the weights of the benevolent player.
+	 *
+	 * @return HeuristicWeights
+	 * Weights of the player.
+	 */
+	@Override
+	public HeuristicWeights getWeights() {
+		return weights;
+	}
+
+	/**
+	 * Method to set the weights of the benevolent player.
+	 *
+	 * @param weights Weights named like DEFAULT_WEIGHTS.
+	 */
+	@Override
+	public void setWeights(HeuristicWeights weights) {
+		this.weights = DEFAULT_WEIGHTS.withValues(weights.toArray());
+	}
+
+	/**
+	 * Method to find the country receiving the reinforcement: the weakest
+	 * one which an enemy can attack, or the weakest one if none can be
+	 * attacked. With a threat weight, the enemy armies able to attack it
+	 * within two hops are counted with their weight instead. The enemy
+	 * armies come from the threat map, kept up to date as the game goes.
+	 *
+	 * @param countryList List of countries of the player.
+	 * @return Country
+	 * Country to reinforce, null if the list is empty.
+	 */
+	public Country findCountryForReinforcement(List<Country> countryList) {
+		if (countryList.isEmpty()) {
+			return null;
+		}
+		ThreatMap threats = ThreatMap.of(countryList.get(0));
+		double threatWeight = weights.get("threatWeight");
+		if (threatWeight == 0) {
+			Country threatened = findWeakestCountry(countryList, weakest -> (threats.contains(weakest)
+					? threats.getThreat(weakest) : getEnemyArmies(weakest)) > 0);
+			return threatened != null ? threatened : findWeakestCountry(countryList, weakest -> true);
+		}
+		Country best = null;
+		double bestScore = 0;
+		for (Country country : countryList) {
+			int enemyArmies = threats.contains(country) ? threats.getTwoHopThreat(country) : getTwoHopEnemyArmies(country);
+			double score = threatWeight * enemyArmies - country.getNoOfArmies();
+			if (best == null || score > bestScore) {
+				best = country;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Method to get the armies moved by the fortification, the weighted
+	 * share of the planned ones.
+	 *
+	 * @param armies Armies the plan moves.
+	 * @return int
+	 * Number of armies to move, 0 for no move.
+	 */
+	public int getFortificationArmies(int armies) {
+		return (int) Math.round(armies * weights.get("fortifyShare"));
+	}
+
+	/**
+	 * Method to plan the fortification: the movable armies of every
+	 * component of the countries of the player are shared out over its
+	 * border countries by the enemy armies they face, and the move is the
+	 * first step of that plan worth most.
+	 *
+	 * @param state  Game state, not changed.
+	 * @param player Number of the player in the state.
+	 * @return numbers of the countries the armies leave and reach and the number of armies, null for no move
+	 */
+	public int[] planFortification(GameState state, int player) {
+		FortificationPlanner planner = FortificationPlanner.getShared();
+		planner.plan(state, player, FortificationPlanner.getThreatDemand(state, player));
+		int[] move = planner.getMove();
+		if (move != null) {
+			move[2] = getFortificationArmies(move[2]);
+		}
+		return move == null || move[2] == 0 ? null : move;
+	}
+
+	/**
+	 * Method for the simulated reinforcement phase, which places all the
+	 * armies on the country chosen like in the real game.
+	 *
+	 * @param state  Game state to play on.
+	 * @param player Number of the player in the state.
+	 * @param armies Number of armies to place.
+	 * @param random Random source, not used.
+	 */
+	@Override
+	public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+		double threatWeight = weights.get("threatWeight");
+		int best = -1;
+		double bestScore = 0;
+		boolean bestThreatened = false;
+		for (int country : state.getCountries(player)) {
+			boolean threatened = threatWeight != 0 || state.isBorder(country);
+			double score = (threatWeight == 0 ? 0 : threatWeight * GameSimulation.getTwoHopEnemyArmies(state, country)) - state.getArmies(country);
+			if (best < 0 || (threatened && !bestThreatened) || (threatened == bestThreatened && score > bestScore)) {
+				best = country;
+				bestScore = score;
+				bestThreatened = threatened;
+			}
+		}
+		if (best >= 0) {
+			state.placeArmies(best, armies);
+		}
+	}
+
+	/**
+	 * Method for the simulated attack phase; the benevolent player never attacks.
+	 *
+	 * @param state  Game state to play on.
+	 * @param player Number of the player in the state.
+	 * @param random Random source, not used.
+	 */
+	@Override
+	public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+	}
+
+	/**
+	 * Method for the simulated fortification phase, which plays the move
+	 * planned like in the real game.
+	 *
+	 * @param state  Game state to play on.
+	 * @param player Number of the player in the state.
+	 * @param random Random source, not used.
+	 */
+	@Override
+	public void simulateFortification(GameState state, int player, SplittableRandom random) {
+		int[] move = planFortification(state, player);
+		if (move != null) {
+			state.moveArmies(move[0], move[1], move[2]);
+		}
+	}
+
+	/**
+	 * Method to check if the benevolent player delegates its endgames, which
+	 * it never does: the benevolent player never attacks.
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean isEndgameSolving() {
+		return false;
+	}
+
 	/**
 	 * Method for Benevolent class for if player can attack.
 	 *
@@ -150,8 +358,8 @@ public class Benevolent extends PlayerBehaviour {
 	 * If player can attack; other wise false.
 	 */
 	@Override
-	public boolean playerCanAttack(ListView<Country> countries) {
-		System.out.println("Benevolent player cannot attack.");
+	protected boolean canStrategyAttack(List<Country> countries) {
+		println("Benevolent player cannot attack.");
 		setChanged();
 		notifyObservers("Benevolent player cannot attack.\n");
 		return false;
@@ -177,9 +385,14 @@ public class Benevolent extends PlayerBehaviour {
 		if (adjacentCountries.isEmpty()) {
 			return null;
 		}
-		Collections.sort(adjacentCountries, Comparator.comparing(obj -> Integer.valueOf(obj.getNoOfArmies()), Collections.reverseOrder()));
-		if (adjacentCountries.get(0).getNoOfArmies() > 1)
-			return adjacentCountries.get(0);
+		Country strongestAdjacentCountry = adjacentCountries.get(0);
+		for (Country adjacentCountry : adjacentCountries) {
+			if (adjacentCountry.getNoOfArmies() > strongestAdjacentCountry.getNoOfArmies()) {
+				strongestAdjacentCountry = adjacentCountry;
+			}
+		}
+		if (strongestAdjacentCountry.getNoOfArmies() > 1)
+			return strongestAdjacentCountry;
 		return null;
 	}
 
@@ -192,25 +405,19 @@ public class Benevolent extends PlayerBehaviour {
 	 * Strongest country.
 	 */
 	public Country checkAndFindWeakestIfNoAdjacentCountryToFortify(List<Country> list) {
-		if (!list.isEmpty()) {
-			for (Country country : list) {
-				if (country != null && country.getNoOfArmies() >= 1 && getStrongestAdjacentCountry(country) != null) {
-					return country;
-				}
-			}
-		}
-		return null;
+		return findWeakestCountry(list, country -> country.getNoOfArmies() >= 1 && getStrongestAdjacentCountry(country) != null);
 	}
 
 	/**
 	 * Method to sort country list by army count.
 	 *
-	 * @param list List of countries.
+	 * @param list List of countries, left unchanged.
 	 * @return List
-	 * List of countries which have been sorted.
+	 * Copy of the list sorted from the weakest to the strongest country.
 	 */
 	public List<Country> sortCountryListByArmyCount(List<Country> list) {
-		Collections.sort(list, Comparator.comparing(obj -> Integer.valueOf(obj.getNoOfArmies())));
-		return list;
+		List<Country> sortedList = new ArrayList<>(list);
+		sortedList.sort(Comparator.comparing(obj -> Integer.valueOf(obj.getNoOfArmies())));
+		return sortedList;
 	}
 }
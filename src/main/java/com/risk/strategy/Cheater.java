@@ -3,13 +3,11 @@ package com.risk.strategy;
 import com.risk.model.Country;
 import com.risk.model.Player;
 import com.risk.controller.GamePlayController;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.scene.control.ListView;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Cheater class contains methods for the Player Behavior
@@ -28,9 +26,9 @@ import java.util.List;
 public class Cheater extends PlayerBehaviour {
 
     /**
-     * Object of ObservableList.
+     * Countries owned by the player at the beginning of the turn, which attack all their neighbours.
      */
-    private ObservableList<Country> attackerCountryList = FXCollections.observableArrayList();
+    private List<Country> attackerCountryList = new ArrayList<>();
 
     /**
      * Object of GamePlayController, control various activities during the game play.
@@ -62,27 +60,27 @@ public class Cheater extends PlayerBehaviour {
      * @param currentPlayer Current player.
      */
     @Override
-    public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
-        System.out.println("Beginning Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
-        System.out.println("List of countries owned: " + countryList.toString() + "\n");
+        println("List of countries owned: " + countryList.toString() + "\n");
         setChanged();
         notifyObservers("List of countries owned: " + countryList.toString() + "\n");
         for (Country country1 : countryList) {
             if (country1.getNoOfArmies() < Integer.MAX_VALUE / 2)
                 country1.setNoOfArmies(country1.getNoOfArmies() * 2);
-            System.out.println("Army count of country " + country1.getName() + " has been doubled to " + country1.getNoOfArmies() + ".\n");
+            println("Army count of country " + country1.getName() + " has been doubled to " + country1.getNoOfArmies() + ".\n");
             setChanged();
             notifyObservers("Army count of country " + country1.getName() + " has been doubled to " + country1.getNoOfArmies() + ".\n");
         }
-        System.out.println("Army count of all the countries owned by cheater player " + currentPlayer.getName() + " has been doubled.\n");
+        println("Army count of all the countries owned by cheater player " + currentPlayer.getName() + " has been doubled.\n");
         setChanged();
         notifyObservers("Army count of all the countries owned by cheater player " + currentPlayer.getName() + " has been doubled.\n");
         attackerCountryList.clear();
         attackerCountryList.addAll(countryList);
         currentPlayer.setArmyCount(0);
-        System.out.println("Ended Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
+        println("Ended Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended Reinforcement phase for cheater player " + currentPlayer.getName() + ".\n");
     }
@@ -96,47 +94,33 @@ public class Cheater extends PlayerBehaviour {
      * @param currentPlayer        Current player.
      */
     @Override
-    public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
-                            Player currentPlayer) {
-        System.out.println("Beginning attack phase for cheater player " + currentPlayer.getName() + ".\n");
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning attack phase for cheater player " + currentPlayer.getName() + ".\n");
-        List<Country> countryWon = new ArrayList<>();
-        ObservableList<Country> attackerCountries = this.attackerCountryList;
-        for (Country country1 : attackerCountries) {
-            System.out.println(country1.getName() + ":" + getDefendingCountryList(country1).toString());
-            setChanged();
-            notifyObservers(country1.getName() + ":" + getDefendingCountryList(country1).toString());
-        }
-        Iterator<Country> countryIterator = attackerCountries.iterator();
-        boolean flag = false;
-        while (countryIterator.hasNext()) {
-            Country attackingCountry = countryIterator.next();
-            List<Country> defendingCountries = getDefendingCountryList(attackingCountry);
-            for (Country defendingCountry : defendingCountries) {
-                defendingCountry.setNoOfArmies(1);
-                if (attackingCountry.getNoOfArmies() > 1) {
-                    attackingCountry.setNoOfArmies(attackingCountry.getNoOfArmies() - 1);
+        // Every neighbour is won by the first attacking country reaching it, then all of them change owner at once.
+        Set<Country> countryWon = new LinkedHashSet<>();
+        for (Country attackingCountry : attackerCountryList) {
+            for (Country defendingCountry : attackingCountry.getAdjacentCountries()) {
+                if (defendingCountry.getPlayer() != attackingCountry.getPlayer() && countryWon.add(defendingCountry)) {
+                    defendingCountry.setNoOfArmies(1);
+                    if (attackingCountry.getNoOfArmies() > 1) {
+                        attackingCountry.setNoOfArmies(attackingCountry.getNoOfArmies() - 1);
+                    }
                 }
-                defendingCountry.getPlayer().getPlayerCountries().remove(defendingCountry);
-                defendingCountry.setPlayer(attackingCountry.getPlayer());
-
-                attackingCountry.getPlayer().getPlayerCountries().add(defendingCountry);
-
-                countryWon.add(defendingCountry);
-                flag = true;
-                System.out.println("Country " + attackingCountry.getName() + " has won country " + defendingCountry.getName() + ".\n");
-                setChanged();
-                notifyObservers("Country " + attackingCountry.getName() + " has won country " + defendingCountry.getName() + ".\n");
             }
         }
-        if (flag) {
-            System.out.println("Cheater player " + currentPlayer.getName() + " has won all his neighbouring countries.\n");
+        if (!countryWon.isEmpty()) {
+            currentPlayer.conquerCountries(countryWon);
+            println("Cheater player " + currentPlayer.getName() + " has won all his neighbouring countries.\n");
             setChanged();
             notifyObservers("Cheater player " + currentPlayer.getName() + " has won all his neighbouring countries.\n");
+            if (attackingCountryList != null) {
+                attackingCountryList.addAll(countryWon);
+            }
         }
-        attackingCountryList.getItems().addAll(countryWon);
-        System.out.println("Ended attack phase for cheater player " + currentPlayer.getName() + ".\n");
+        println("Ended attack phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended attack phase for cheater player " + currentPlayer.getName() + ".\n");
     }
@@ -152,9 +136,9 @@ public class Cheater extends PlayerBehaviour {
      * If the fortification successful; other wise false.
      */
     @Override
-    public boolean fortificationPhase(ListView<Country> selectedCountryList, ListView<Country> adjCountryList,
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
                                       Player currentPlayer) {
-        System.out.println("Beginning Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
+        println("Beginning Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
         boolean flag = false;
@@ -164,7 +148,7 @@ public class Cheater extends PlayerBehaviour {
                 if (fortifyCountry.getNoOfArmies() < Integer.MAX_VALUE / 2)
                     fortifyCountry.setNoOfArmies(fortifyCountry.getNoOfArmies() * 2);
                 flag = true;
-                System.out.println("Army count of country " + fortifyCountry.getName() + " has been doubled to "
+                println("Army count of country " + fortifyCountry.getName() + " has been doubled to "
                         + fortifyCountry.getNoOfArmies() + ".\n");
                 setChanged();
                 notifyObservers("Army count of country " + fortifyCountry.getName() + " has been doubled to "
@@ -172,19 +156,30 @@ public class Cheater extends PlayerBehaviour {
             }
         }
         if (flag) {
-            System.out.println("Army count of countries belonging to cheater player " + currentPlayer.getName() +
+            println("Army count of countries belonging to cheater player " + currentPlayer.getName() +
                     " and having some neighbours belonging to other players has been doubled.\n");
             setChanged();
             notifyObservers("Army count of countries belonging to cheater player " + currentPlayer.getName() +
                     " and having some neighbours belonging to other players has been doubled.\n");
         }
-        System.out.println("Ended Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
+        println("Ended Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended Fortification phase for cheater player " + currentPlayer.getName() + ".\n");
 
         return true;
     }
 
+    /**
+     * Method to check if the cheater player delegates its endgames, which
+     * it never does: the cheater conquers without dice.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isEndgameSolving() {
+        return false;
+    }
+
     /**
      * Method for Cheater class for if player can attack.
      *
@@ -193,20 +188,21 @@ public class Cheater extends PlayerBehaviour {
      * If player can attack; other wise false.
      */
     @Override
-    public boolean playerCanAttack(ListView<Country> countries) {
+    protected boolean canStrategyAttack(List<Country> countries) {
         boolean canAttack = false;
         if (attackerCountryList == null || attackerCountryList.isEmpty()) {
-            attackerCountryList.addAll(countries.getItems());
+            attackerCountryList.addAll(countries);
         }
         for (Country attackerCountry : attackerCountryList) {
             if (getDefendingCountryList(attackerCountry).size() > 0) {
                 canAttack = true;
+                break;
             }
         }
 
         if (!canAttack) {
-            System.out.println("Cheater player cannot continue with attack phase, move to fortification phase.\n");
-            System.out.println("Attack phase ended for cheater player\n");
+            println("Cheater player cannot continue with attack phase, move to fortification phase.\n");
+            println("Attack phase ended for cheater player\n");
             setChanged();
             notifyObservers("Cheater player cannot continue with attack phase, move to fortification phase.\n");
             setChanged();
@@ -0,0 +1,382 @@
+package com.risk.strategy;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.BattleOdds;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class for the planning of the attacks of a player: chains of conquests,
+ * each one attacking from the country the previous one took, towards the
+ * targets worth most. A conquest is worth a fixed value, more when it
+ * completes a continent, by the control value of the continent, or when
+ * it takes the last country of a player, whose cards would be won.
+ * <p>
+ * From every country of the player able to attack, a breadth-first
+ * search expands the chains over the enemy countries, one conquest more
+ * per level, the armies moving on being the ones expected to survive the
+ * battle if it is won. A country reached by several chains of the same
+ * length keeps the most likely one. A chain is worth the value of each of
+ * its conquests times the probability of getting that far, and the plan is
+ * the chain worth most. The odds of the battles come from
+ * {@link BattleOdds} and are memoized by army counts, since the same
+ * battles come up in many chains.
+ * <p>
+ * Everything is kept in arrays reused from one plan to the next, so an
+ * instance plans for one thread at a time; the strategies use
+ * {@link #getShared()}.
+ */
+public class ConquestPlanner {
+
+    /**
+     * Largest number of conquests of a chain
+     */
+    public static final int MAX_LENGTH = 8;
+
+    /**
+     * Value of a conquest, in armies
+     */
+    public static final double CONQUEST_VALUE = 1;
+
+    /**
+     * Value of taking the last country of a player, in armies, not counting the cards
+     */
+    public static final double ELIMINATION_VALUE = 5;
+
+    /**
+     * Value of every card won by taking the last country of a player, in armies
+     */
+    public static final double CARD_VALUE = 2;
+
+    /**
+     * Largest number of memoized battles, after which the memo starts again
+     */
+    private static final int MAX_MEMOIZED = 1 << 16;
+
+    /**
+     * Planner of every thread
+     */
+    private static final ThreadLocal<ConquestPlanner> SHARED = ThreadLocal.withInitial(ConquestPlanner::new);
+
+    /**
+     * Weight of the control value of a completed continent
+     */
+    private final double continentWeight;
+
+    /**
+     * Weight of the value of taking the last country of a player
+     */
+    private final double eliminationWeight;
+
+    /**
+     * Probability of winning and expected surviving armies if won, by attacker and defender armies
+     */
+    private final Map<Long, double[]> odds = new HashMap<>();
+
+    /**
+     * Countries of the player in every continent
+     */
+    private int[] owned = new int[0];
+
+    /**
+     * Queue of the search
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * Country from which a country reached by the search is attacked, itself for the start
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * Number of conquests of the chain reaching every country
+     */
+    private int[] length = new int[0];
+
+    /**
+     * Armies expected on every country once the chain has reached it
+     */
+    private int[] armies = new int[0];
+
+    /**
+     * Probability that the chain reaching every country gets that far
+     */
+    private double[] probability = new double[0];
+
+    /**
+     * Expected value of the chain reaching every country
+     */
+    private double[] value = new double[0];
+
+    /**
+     * Search which last reached every country
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * Number of the current search
+     */
+    private int search;
+
+    /**
+     * true if the last plan may conquer countries of any continent
+     */
+    private boolean wholeMap;
+
+    /**
+     * Expected value of the last plan
+     */
+    private double expectedValue;
+
+    /**
+     * Probability that the whole last plan succeeds
+     */
+    private double successProbability;
+
+    /**
+     * Constructor for a planner valuing continents and eliminations by their full value.
+     */
+    public ConquestPlanner() {
+        this(1, 1);
+    }
+
+    /**
+     * Constructor for a planner weighting the value of the targets.
+     *
+     * @param continentWeight   Weight of the control value of a completed continent
+     * @param eliminationWeight Weight of the value of taking the last country of a player
+     */
+    public ConquestPlanner(double continentWeight, double eliminationWeight) {
+        this.continentWeight = continentWeight;
+        this.eliminationWeight = eliminationWeight;
+    }
+
+    /**
+     * Method to get the planner of the current thread.
+     *
+     * @return planner
+     */
+    public static ConquestPlanner getShared() {
+        return SHARED.get();
+    }
+
+    /**
+     * Method to plan the attacks of a player.
+     *
+     * @param state  Game state, not changed.
+     * @param player Number of the player in the state.
+     * @param policy Policy which every attack of a chain must satisfy, null to allow any attack
+     * @return numbers of the attacking country and of the countries to conquer in turn, null if no attack is allowed
+     */
+    public int[] plan(GameState state, int player, AttackPolicy policy) {
+        return plan(state, player, policy, -1);
+    }
+
+    /**
+     * Method to plan the attacks of a player inside a continent: the chains
+     * may start from any country of the player but only conquer countries
+     * of the continent. As the state may then hold the countries around the
+     * continent only, taking the last country of a player is not valued.
+     *
+     * @param state     Game state, not changed.
+     * @param player    Number of the player in the state.
+     * @param policy    Policy which every attack of a chain must satisfy, null to allow any attack
+     * @param continent Number of the continent in the state, -1 for the whole map
+     * @return numbers of the attacking country and of the countries to conquer in turn, null if no attack is allowed
+     */
+    public int[] plan(GameState state, int player, AttackPolicy policy, int continent) {
+        int size = state.getCountryCount();
+        if (queue.length < size) {
+            queue = new int[size];
+            parent = new int[size];
+            length = new int[size];
+            armies = new int[size];
+            probability = new double[size];
+            value = new double[size];
+            visited = new int[size];
+            search = 0;
+        }
+        if (owned.length < state.getContinentCount()) {
+            owned = new int[state.getContinentCount()];
+        }
+        Arrays.fill(owned, 0);
+        for (int country : state.getCountries(player)) {
+            if (state.getContinent(country) >= 0) {
+                owned[state.getContinent(country)]++;
+            }
+        }
+        wholeMap = continent < 0;
+        expectedValue = 0;
+        successProbability = 0;
+        int bestStart = -1;
+        int bestEnd = -1;
+        for (int start : state.getCountries(player)) {
+            if (state.getArmies(start) < 2 || !state.isBorder(start)) {
+                continue;
+            }
+            int end = expand(state, player, start, policy, continent);
+            if (end >= 0 && (bestEnd < 0 || value[end] > expectedValue)) {
+                bestStart = start;
+                bestEnd = end;
+                expectedValue = value[end];
+                successProbability = probability[end];
+            }
+        }
+        if (bestEnd < 0) {
+            return null;
+        }
+        // The search of the best start is run again, as the arrays only keep the last one.
+        expand(state, player, bestStart, policy, continent);
+        int[] path = new int[length[bestEnd] + 1];
+        for (int country = bestEnd, i = path.length - 1; i >= 0; country = parent[country], i--) {
+            path[i] = country;
+        }
+        return path;
+    }
+
+    /**
+     * Method to expand the chains of conquests starting from a country.
+     *
+     * @param state     Game state.
+     * @param player    Number of the player in the state.
+     * @param start     Number of the attacking country
+     * @param policy    Policy which every attack must satisfy, null to allow any attack
+     * @param continent Number of the only continent to conquer countries of, -1 for any
+     * @return number of the country ending the chain worth most, -1 if no attack is allowed
+     */
+    private int expand(GameState state, int player, int start, AttackPolicy policy, int continent) {
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            search = 1;
+        }
+        visited[start] = search;
+        parent[start] = start;
+        length[start] = 0;
+        armies[start] = state.getArmies(start);
+        probability[start] = 1;
+        value[start] = 0;
+        queue[0] = start;
+        int tail = 1;
+        int best = -1;
+        for (int head = 0; head < tail; head++) {
+            int country = queue[head];
+            if (head > 0 && (best < 0 || value[country] > value[best])) {
+                best = country;
+            }
+            int attacker = armies[country];
+            if (length[country] == MAX_LENGTH || attacker < 2) {
+                continue;
+            }
+            for (int i = 0; i < state.getNeighbourCount(country); i++) {
+                int neighbour = state.getNeighbour(country, i);
+                int defender = state.getArmies(neighbour);
+                if (state.getOwner(neighbour) == player || (continent >= 0 && state.getContinent(neighbour) != continent)
+                        || (policy != null && !policy.shouldContinue(attacker, defender))) {
+                    continue;
+                }
+                boolean reached = visited[neighbour] == search;
+                if (reached && length[neighbour] <= length[country]) {
+                    continue;
+                }
+                double[] battle = getOdds(attacker, defender);
+                double reach = probability[country] * battle[0];
+                if (reached && reach <= probability[neighbour]) {
+                    continue;
+                }
+                // Not expanded yet, as it is one level further: the more likely chain replaces the other one.
+                parent[neighbour] = country;
+                length[neighbour] = length[country] + 1;
+                armies[neighbour] = (int) Math.round(battle[1]) - 1;
+                probability[neighbour] = reach;
+                value[neighbour] = value[country] + reach * getConquestValue(state, neighbour);
+                if (!reached) {
+                    visited[neighbour] = search;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to get the value of the conquest ending a chain, the countries
+     * of the chain being taken into account for the continents and the
+     * players they complete.
+     *
+     * @param state   Game state.
+     * @param country Number of the country ending the chain
+     * @return value in armies
+     */
+    private double getConquestValue(GameState state, int country) {
+        int continent = state.getContinent(country);
+        int defender = state.getOwner(country);
+        int inContinent = 0;
+        int ofDefender = 0;
+        for (int step = country; ; step = parent[step]) {
+            if (state.getOwner(step) == defender) {
+                ofDefender++;
+            } else if (parent[step] == step) {
+                break;
+            }
+            if (continent >= 0 && state.getContinent(step) == continent) {
+                inContinent++;
+            }
+        }
+        double conquest = CONQUEST_VALUE;
+        if (continent >= 0 && owned[continent] + inContinent == state.getContinentSize(continent)) {
+            conquest += continentWeight * state.getContinentBonus(continent);
+        }
+        if (wholeMap && defender >= 0 && ofDefender == state.getCountryCount(defender)) {
+            Player player = state.getPlayer(defender);
+            int cards = player == null || player.getCardList() == null ? 0 : player.getCardList().size();
+            conquest += eliminationWeight * (ELIMINATION_VALUE + CARD_VALUE * cards);
+        }
+        return conquest;
+    }
+
+    /**
+     * Method to get the memoized odds of a battle fought until it is decided.
+     *
+     * @param attacker Armies on the attacking country
+     * @param defender Armies on the defending country
+     * @return probability of winning, and armies expected on the attacking country if the battle is won
+     */
+    double[] getOdds(int attacker, int defender) {
+        long key = (long) attacker << 32 | defender;
+        double[] battle = odds.get(key);
+        if (battle == null) {
+            if (odds.size() == MAX_MEMOIZED) {
+                odds.clear();
+            }
+            BattleOdds battleOdds = BattleOdds.getSharedOdds();
+            double win = battleOdds.getWinProbability(attacker, defender);
+            // A lost battle always leaves one army, so the armies if won follow from the expected ones.
+            double survivors = win == 0 ? 1 : (battleOdds.getExpectedAttackerArmies(attacker, defender) - (1 - win)) / win;
+            battle = new double[] { win, survivors };
+            odds.put(key, battle);
+        }
+        return battle;
+    }
+
+    /**
+     * Method to get the expected value of the last plan.
+     *
+     * @return value in armies, 0 without a plan
+     */
+    public double getExpectedValue() {
+        return expectedValue;
+    }
+
+    /**
+     * Method to get the probability that every conquest of the last plan succeeds.
+     *
+     * @return probability, 0 without a plan
+     */
+    public double getSuccessProbability() {
+        return successProbability;
+    }
+}
@@ -0,0 +1,158 @@
+package com.risk.strategy;
+
+import com.risk.model.Continent;
+import com.risk.model.Country;
+
+/**
+ * Class for the moves planned by {@link Hierarchical} inside one
+ * continent: the country to reinforce, the attack and the fortification,
+ * with the value of the plan which ranks the continents.
+ */
+public class ContinentPlan {
+
+    /**
+     * Continent of the plan
+     */
+    private final Continent continent;
+
+    /**
+     * Value of the plan, in armies
+     */
+    private final double value;
+
+    /**
+     * Country to reinforce, null for none
+     */
+    private final Country reinforcement;
+
+    /**
+     * Attacking country, null for no attack
+     */
+    private final Country attacking;
+
+    /**
+     * Defending country, null for no attack
+     */
+    private final Country defending;
+
+    /**
+     * Country the fortification moves armies from, null for no fortification
+     */
+    private final Country fortifyingFrom;
+
+    /**
+     * Country the fortification moves armies to, null for no fortification
+     */
+    private final Country fortifyingTo;
+
+    /**
+     * Armies moved by the fortification
+     */
+    private final int fortificationArmies;
+
+    /**
+     * Constructor for a plan.
+     *
+     * @param continent           Continent of the plan
+     * @param value               Value of the plan, in armies
+     * @param reinforcement       Country to reinforce, null for none
+     * @param attacking           Attacking country, null for no attack
+     * @param defending           Defending country, null for no attack
+     * @param fortifyingFrom      Country the fortification moves armies from, null for no fortification
+     * @param fortifyingTo        Country the fortification moves armies to, null for no fortification
+     * @param fortificationArmies Armies moved by the fortification
+     */
+    public ContinentPlan(Continent continent, double value, Country reinforcement, Country attacking,
+                         Country defending, Country fortifyingFrom, Country fortifyingTo, int fortificationArmies) {
+        this.continent = continent;
+        this.value = value;
+        this.reinforcement = reinforcement;
+        this.attacking = attacking;
+        this.defending = defending;
+        this.fortifyingFrom = fortifyingFrom;
+        this.fortifyingTo = fortifyingTo;
+        this.fortificationArmies = fortificationArmies;
+    }
+
+    /**
+     * Getter for the continent of the plan.
+     *
+     * @return continent
+     */
+    public Continent getContinent() {
+        return continent;
+    }
+
+    /**
+     * Getter for the value of the plan.
+     *
+     * @return value in armies
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Getter for the country to reinforce.
+     *
+     * @return country, null for none
+     */
+    public Country getReinforcement() {
+        return reinforcement;
+    }
+
+    /**
+     * Getter for the attacking country.
+     *
+     * @return country, null for no attack
+     */
+    public Country getAttacking() {
+        return attacking;
+    }
+
+    /**
+     * Getter for the defending country.
+     *
+     * @return country, null for no attack
+     */
+    public Country getDefending() {
+        return defending;
+    }
+
+    /**
+     * Getter for the country the fortification moves armies from.
+     *
+     * @return country, null for no fortification
+     */
+    public Country getFortifyingFrom() {
+        return fortifyingFrom;
+    }
+
+    /**
+     * Getter for the country the fortification moves armies to.
+     *
+     * @return country, null for no fortification
+     */
+    public Country getFortifyingTo() {
+        return fortifyingTo;
+    }
+
+    /**
+     * Getter for the armies moved by the fortification.
+     *
+     * @return number of armies
+     */
+    public int getFortificationArmies() {
+        return fortificationArmies;
+    }
+
+    /**
+     * Method to describe the plan.
+     *
+     * @return continent and value of the plan
+     */
+    @Override
+    public String toString() {
+        return String.format("%s (value %.2f)", continent, value);
+    }
+}
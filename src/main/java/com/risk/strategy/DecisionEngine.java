@@ -0,0 +1,147 @@
+package com.risk.strategy;
+
+import java.io.Serializable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Class running the timed decisions of a computer player. Every strategy
+ * has its own engine, which keeps its time budget, the search it gave up
+ * on last and whether a decision fell back to its default move.
+ */
+public class DecisionEngine implements Serializable {
+
+    /**
+     * Time the engine waits past the deadline of a decision before it gives
+     * up on the search, in milliseconds
+     */
+    public static final long DEADLINE_GRACE = 20;
+
+    /**
+     * Threads running the timed decisions
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "risk-decision");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Time per decision, in milliseconds
+     */
+    private long timeBudget;
+
+    /**
+     * Flag of the last search given up by the engine, true while it has not stopped
+     */
+    private transient AtomicBoolean abandonedSearch;
+
+    /**
+     * true if a decision fell back to its default move since the last check
+     */
+    private transient boolean fellBack;
+
+    /**
+     * Setter for the time per decision.
+     *
+     * @param timeBudget Time in milliseconds, 0 or less for no time limit
+     */
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Method to get the time per decision.
+     *
+     * @return time in milliseconds, 0 or less for no time limit
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * Method to check if the last search given up by the engine is still
+     * running, in which case the next decisions take their fallback at once.
+     *
+     * @return true if an abandoned search has not stopped; otherwise false
+     */
+    public boolean isSearchAbandoned() {
+        return abandonedSearch != null && abandonedSearch.get();
+    }
+
+    /**
+     * Method to make a decision under the time budget. The search runs on
+     * a decision thread and offers its best move so far to the decision;
+     * if it has not answered a little after the deadline, the decision is
+     * cancelled and the last offered move is taken, or the fallback if
+     * none was offered. While a cancelled search has not stopped, the next
+     * decisions take the fallback at once, so a search ignoring its
+     * deadline slows no game down. Without a time budget the search runs
+     * on the calling thread. A search may also answer null to take its
+     * last offered move.
+     *
+     * @param search   Search making the decision, returning its move
+     * @param fallback Cheap default move
+     * @param name     Name of the strategy, for the failures of the search
+     * @param <T>      Type of the moves
+     * @return move of the search, or the best one it offered, or the fallback
+     */
+    public <T> T decide(Function<AnytimeDecision<T>, T> search, Supplier<T> fallback, String name) {
+        AnytimeDecision<T> decision = AnytimeDecision.withBudget(timeBudget);
+        T move;
+        if (timeBudget <= 0) {
+            move = search.apply(decision);
+        } else if (isSearchAbandoned()) {
+            move = null;
+        } else {
+            AtomicBoolean running = new AtomicBoolean(true);
+            Future<T> result = EXECUTOR.submit(() -> {
+                try {
+                    return search.apply(decision);
+                } finally {
+                    running.set(false);
+                }
+            });
+            try {
+                move = result.get(timeBudget + DEADLINE_GRACE, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                decision.cancel();
+                result.cancel(true);
+                abandonedSearch = running;
+                move = null;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Decision of " + name + " failed", e.getCause());
+            }
+        }
+        if (move == null) {
+            move = decision.getBest();
+        }
+        if (move == null) {
+            fellBack = true;
+            move = fallback.get();
+        }
+        return move;
+    }
+
+    /**
+     * Method to check if a decision fell back to its default move since
+     * the last check. The flag is cleared.
+     *
+     * @return true if a decision fell back since the last check; otherwise false
+     */
+    public boolean takeFallback() {
+        boolean result = fellBack;
+        fellBack = false;
+        return result;
+    }
+}
@@ -0,0 +1,416 @@
+package com.risk.strategy;
+
+import com.risk.model.BattleOdds;
+import com.risk.model.Country;
+import com.risk.model.Dice;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class for the exact solving of the attacks of an endgame: two players
+ * left, the opponent down to a few countries and few armies around them.
+ * Such positions are where the heuristic strategies shuffle armies until
+ * the turn limit, so strategies can delegate their attacks to the solver
+ * instead, see {@link PlayerBehaviour#setEndgameSolving(boolean)}.
+ * <p>
+ * The contested area, the countries of the opponent and their neighbours,
+ * is copied into its own {@link GameState}, and the attack phase is solved
+ * over it with expectimax: every move is one dice round of an attack or
+ * the end of the phase, followed by a chance node over the outcomes of the
+ * round. Every round takes armies off the board, so the search always ends,
+ * and the value of every state is memoized by a hash of the owners and
+ * armies of the area. Eliminating the opponent is worth 1; ending the
+ * phase before is worth the share of the area the player holds, like
+ * {@link GameState#evaluate(int)}, weighted by {@link #STOP_WEIGHT} as the
+ * game still has to be won in the turns to come. A position is only taken
+ * when its states, estimated from the armies of the area, are few enough,
+ * and the solver gives up should the memo fill up all the same.
+ * <p>
+ * The memo is kept from one round to the next as long as the area does not
+ * change, so the rounds after the first one are found in it. An instance
+ * solves for one thread at a time; the strategies use {@link #getShared()}.
+ */
+public class EndgameSolver {
+
+    /**
+     * Largest number of countries of the opponent
+     */
+    public static final int MAX_TARGETS = 6;
+
+    /**
+     * Largest number of states of the contested area, estimated by the
+     * product of the armies plus one on its countries
+     */
+    public static final int MAX_STATES = 1 << 17;
+
+    /**
+     * Largest number of armies of the contested area. Every dice round
+     * takes at least one army off, so this bounds the depth of the search.
+     */
+    public static final int MAX_AREA_ARMIES = 1024;
+
+    /**
+     * Number of entries of the memo, past half of which the solver gives up
+     */
+    private static final int MEMO_CAPACITY = 1 << 19;
+
+    /**
+     * Weight of the share of the area when the phase ends before the opponent is eliminated
+     */
+    public static final double STOP_WEIGHT = 0.5;
+
+    /**
+     * Solver of every thread
+     */
+    private static final ThreadLocal<EndgameSolver> SHARED = ThreadLocal.withInitial(EndgameSolver::new);
+
+    /**
+     * Hash of the owners and armies of the area of every memoized state,
+     * in an open addressing table created on the first solve
+     */
+    private long[] keys;
+
+    /**
+     * Value of every memoized state
+     */
+    private double[] values;
+
+    /**
+     * true for the entries of the memo in use
+     */
+    private boolean[] used;
+
+    /**
+     * Number of memoized states
+     */
+    private int stateCount;
+
+    /**
+     * Countries of the area of the memoized values
+     */
+    private List<Country> area = new ArrayList<>();
+
+    /**
+     * Player of the memoized values
+     */
+    private Player areaPlayer;
+
+    /**
+     * State of the area, changed and restored by the search
+     */
+    private GameState state;
+
+    /**
+     * Number of the solving player in the state of the area
+     */
+    private int player;
+
+    /**
+     * Hash of the current state of the area
+     */
+    private long hash;
+
+    /**
+     * true once the memo has outgrown its limit
+     */
+    private boolean aborted;
+
+    /**
+     * Value of the last solved position
+     */
+    private double value;
+
+    /**
+     * Method to get the solver of the current thread.
+     *
+     * @return solver
+     */
+    public static EndgameSolver getShared() {
+        return SHARED.get();
+    }
+
+    /**
+     * Method to check if a position is small enough to be solved: two
+     * players left, the opponent owning at most MAX_TARGETS countries, and
+     * the product of the armies plus one on them and their neighbours at
+     * most MAX_STATES, and at most MAX_AREA_ARMIES armies on them.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @return true if the position is an endgame the solver takes; otherwise false
+     */
+    public boolean isSolvable(GameState state, int player) {
+        return player >= 0 && getOpponent(state, player) >= 0 && getArea(state, player) != null;
+    }
+
+    /**
+     * Method to solve the attacks of a player.
+     *
+     * @param state  Game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the attacking and defending countries of the next
+     * dice round, an empty array to end the attack phase, null if the
+     * position is not an endgame or too large to be solved
+     */
+    public int[] solve(GameState state, int player) {
+        List<Country> countries = isSolvable(state, player) ? getArea(state, player) : null;
+        if (countries == null) {
+            return null;
+        }
+        if (keys == null) {
+            keys = new long[MEMO_CAPACITY];
+            values = new double[MEMO_CAPACITY];
+            used = new boolean[MEMO_CAPACITY];
+        }
+        Player solving = state.getPlayer(player);
+        if (!countries.equals(area) || solving != areaPlayer) {
+            clear();
+            area = countries;
+            areaPlayer = solving;
+        }
+        this.state = new GameState(countries);
+        this.player = this.state.indexOf(solving);
+        hash = 0;
+        for (int country = 0; country < this.state.getCountryCount(); country++) {
+            hash ^= key(country);
+        }
+        aborted = false;
+        int size = this.state.getCountryCount();
+        int best = Expectiminimax.STOP;
+        value = getStopValue();
+        for (int move : getMoves()) {
+            double moveValue = valueChanceNode(move / size, move % size);
+            if (aborted) {
+                clear();
+                return null;
+            }
+            if (moveValue > value) {
+                value = moveValue;
+                best = move;
+            }
+        }
+        if (best == Expectiminimax.STOP) {
+            return new int[0];
+        }
+        return new int[] { state.indexOf(this.state.getCountry(best / size)),
+                state.indexOf(this.state.getCountry(best % size)) };
+    }
+
+    /**
+     * Method to get the value of the last solved position.
+     *
+     * @return probability of eliminating the opponent this turn, the
+     * positions where the phase ends before counting for their weighted share
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Method to get the number of memoized states.
+     *
+     * @return number of states
+     */
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Method to empty the memo.
+     */
+    private void clear() {
+        if (stateCount > 0) {
+            Arrays.fill(used, false);
+            stateCount = 0;
+        }
+    }
+
+    /**
+     * Method to get the only opponent of a player.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @return number of the opponent, -1 unless exactly one other player has countries
+     */
+    private static int getOpponent(GameState state, int player) {
+        int opponent = -1;
+        for (int other = 0; other < state.getPlayerCount(); other++) {
+            if (other == player || state.getCountryCount(other) == 0) {
+                continue;
+            }
+            if (opponent >= 0) {
+                return -1;
+            }
+            opponent = other;
+        }
+        return state.getCountryCount(player) > 0 ? opponent : -1;
+    }
+
+    /**
+     * Method to get the contested area: the countries of the opponent and
+     * their neighbours, in the order of the state.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @return countries of the area, null if the opponent has too many countries or the area too many states or armies
+     */
+    private static List<Country> getArea(GameState state, int player) {
+        int opponent = getOpponent(state, player);
+        if (state.getCountryCount(opponent) > MAX_TARGETS) {
+            return null;
+        }
+        boolean[] inArea = new boolean[state.getCountryCount()];
+        long states = 1;
+        int armies = 0;
+        for (int country : state.getCountries(opponent)) {
+            for (int i = -1; i < state.getNeighbourCount(country); i++) {
+                int member = i < 0 ? country : state.getNeighbour(country, i);
+                if (!inArea[member]) {
+                    inArea[member] = true;
+                    states *= state.getArmies(member) + 1;
+                    armies += state.getArmies(member);
+                    if (states > MAX_STATES || armies > MAX_AREA_ARMIES) {
+                        return null;
+                    }
+                }
+            }
+        }
+        List<Country> countries = new ArrayList<>();
+        for (int country = 0; country < inArea.length; country++) {
+            if (inArea[country]) {
+                countries.add(state.getCountry(country));
+            }
+        }
+        return countries;
+    }
+
+    /**
+     * Method to value a move node, where the player rolls another round of
+     * one of the attacks or ends the phase.
+     *
+     * @return value of the current state
+     */
+    private double valueMoveNode() {
+        if (state.getCountryCount(player) == state.getCountryCount()) {
+            return 1;
+        }
+        int entry = (int) (hash ^ (hash >>> 32)) & (MEMO_CAPACITY - 1);
+        for (; used[entry]; entry = (entry + 1) & (MEMO_CAPACITY - 1)) {
+            if (keys[entry] == hash) {
+                return values[entry];
+            }
+        }
+        int size = state.getCountryCount();
+        double best = getStopValue();
+        for (int move : getMoves()) {
+            best = Math.max(best, valueChanceNode(move / size, move % size));
+            if (aborted) {
+                return 0;
+            }
+        }
+        // The searches below may have taken the free entry, so the next free one is looked for.
+        while (used[entry]) {
+            entry = (entry + 1) & (MEMO_CAPACITY - 1);
+        }
+        used[entry] = true;
+        keys[entry] = hash;
+        values[entry] = best;
+        if (++stateCount > MEMO_CAPACITY / 2) {
+            aborted = true;
+        }
+        return best;
+    }
+
+    /**
+     * Method to value the chance node of one dice round, over its outcomes.
+     *
+     * @param from Number of the attacking country
+     * @param to   Number of the defending country
+     * @return value of the round
+     */
+    private double valueChanceNode(int from, int to) {
+        int attacker = state.getArmies(from);
+        int defender = state.getArmies(to);
+        int defenderOwner = state.getOwner(to);
+        int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+        int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+        int comparedDice = Math.min(attackerDice, defenderDice);
+        double expected = 0;
+        for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+            double probability = BattleOdds.getRoundOutcomeProbability(attackerDice, defenderDice, attackerLosses);
+            int attackerLeft = attacker - attackerLosses;
+            int defenderLeft = defender - comparedDice + attackerLosses;
+            long saved = hash;
+            hash ^= key(from) ^ key(to);
+            if (defenderLeft == 0) {
+                // All the attacking armies but one move on, like the real conquests.
+                state.setOwner(to, player, attackerLeft - 1);
+                state.setArmies(from, 1);
+            } else {
+                state.setArmies(to, defenderLeft);
+                state.setArmies(from, attackerLeft);
+            }
+            hash ^= key(from) ^ key(to);
+            double childValue = valueMoveNode();
+            state.setOwner(to, defenderOwner, defender);
+            state.setArmies(from, attacker);
+            hash = saved;
+            if (aborted) {
+                return 0;
+            }
+            expected += probability * childValue;
+        }
+        return expected;
+    }
+
+    /**
+     * Method to get the attacks of the current state: every country of the
+     * player with two armies or more against every enemy neighbour.
+     *
+     * @return moves, each the attacking country times the number of countries plus the defending country
+     */
+    private int[] getMoves() {
+        int size = state.getCountryCount();
+        int[] moves = new int[8];
+        int count = 0;
+        for (int from = 0; from < size; from++) {
+            if (state.getOwner(from) != player || state.getArmies(from) < 2) {
+                continue;
+            }
+            for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                int to = state.getNeighbour(from, i);
+                if (state.getOwner(to) == player) {
+                    continue;
+                }
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, count * 2);
+                }
+                moves[count++] = from * size + to;
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    /**
+     * Method to get the value of ending the phase in the current state.
+     *
+     * @return weighted share of the area held by the player
+     */
+    private double getStopValue() {
+        return STOP_WEIGHT * state.evaluate(player);
+    }
+
+    /**
+     * Method to get the hash key of a country of the area in the current state.
+     *
+     * @param country Number of the country in the area
+     * @return key of the country
+     */
+    private long key(int country) {
+        return Expectiminimax.zobrist(country, state.getOwner(country) == player ? 0 : 1, state.getArmies(country));
+    }
+}
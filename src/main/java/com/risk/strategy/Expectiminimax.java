@@ -0,0 +1,943 @@
+package com.risk.strategy;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.BattleOdds;
+import com.risk.model.Country;
+import com.risk.model.Dice;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+import com.risk.controller.GamePlayController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Expectiminimax class contains methods for the Player Behavior
+ * Strategies of computer player.
+ * <p>
+ * A computer player strategy that searches its attacks with expectiminimax
+ * over a {@link GameState}. Every move is one dice round of an attack, or
+ * the end of the attack phase, and is followed by a chance node over the
+ * outcomes of the round, so the player decides again after every round.
+ * The chance nodes are pruned with the Star1 bounds of *-minimax, which
+ * need the values to lie between 0 and 1, and the move nodes with alpha
+ * beta. At the end of the phase the opponents get one reply, the min node:
+ * the strike on this player that hurts it most, valued with the battle
+ * odds. At the search horizon the best battle fought to the end, valued
+ * the same way, stands for the rest of the phase.
+ * <p>
+ * Results are kept in a transposition table of fixed size, keyed by a
+ * Zobrist hash of the owners and armies which is updated with every move,
+ * and the search deepens one round at a time until its deadline, always
+ * answering with the best move of the deepest finished search. A move is
+ * coded as one int, so maps of more than MAX_COUNTRY_COUNT countries are
+ * not searched.
+ * <p>
+ * The reinforcement and the fortification are chosen with the same
+ * evaluation, one move deep.
+ */
+public class Expectiminimax extends PlayerBehaviour {
+
+    /**
+     * Move ending the attack phase or skipping the fortification
+     */
+    public static final int STOP = -1;
+
+    /**
+     * Policy of the real attacks, which roll one round per searched move
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.singleRound();
+
+    /**
+     * Policy deciding which attacks are worth searching
+     */
+    private static final AttackPolicy CANDIDATE_POLICY = AttackPolicy.forExpectedValue(Aggressive.CONQUEST_VALUE);
+
+    /**
+     * Largest number of countries of a searched map, for which a move coded
+     * as from * countries + to still fits in an int
+     */
+    public static final int MAX_COUNTRY_COUNT = 46340;
+
+    /**
+     * Smallest and largest values of a state
+     */
+    private static final double MIN_VALUE = 0, MAX_VALUE = 1;
+
+    /**
+     * Number of nodes between two checks of the deadline
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * Largest search depth, in dice rounds
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * Depth at which the search stops before its deadline, in dice rounds
+     */
+    private int maxDepth = MAX_DEPTH;
+
+    /**
+     * Memory of the transposition table, in bytes
+     */
+    private long tableMemory = 4L << 20;
+
+    /**
+     * Transposition table, created on first use and kept between moves
+     */
+    private transient TranspositionTable table;
+
+    /**
+     * Depth of the last finished search
+     */
+    private transient volatile int lastDepth;
+
+    /**
+     * Strategy standing for this player in the simulated turns
+     */
+    private final Aggressive simulationStrategy = new Aggressive();
+
+    /**
+     * Attacking country chosen by the last search of the attack phase
+     */
+    private transient Country pendingAttacking;
+
+    /**
+     * Defending country chosen by the last search of the attack phase
+     */
+    private transient Country pendingDefending;
+
+    /**
+     * Attacking country of the battle going on, kept until the battle ends
+     */
+    private transient Country battleAttacking;
+
+    /**
+     * Defending country of the battle going on, kept until the battle ends
+     */
+    private transient Country battleDefending;
+
+    /**
+     * Object of GamePlayController, control various activities during the game play.
+     */
+    private GamePlayController gamePlayController;
+
+    /**
+     * Expectiminimax Player Constructor
+     */
+    public Expectiminimax() {
+        setTimeBudget(100);
+    }
+
+    /**
+     * Constructor method for Expectiminimax class.
+     *
+     * @param gamePlayController Attaching with observer.
+     */
+    public Expectiminimax(GamePlayController gamePlayController) {
+        setTimeBudget(100);
+        this.gamePlayController = gamePlayController;
+        this.addObserver(gamePlayController);
+    }
+
+    /**
+     * Setter for the depth at which the search stops before its deadline.
+     *
+     * @param maxDepth Depth in dice rounds, from 1 to MAX_DEPTH
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(1, Math.min(MAX_DEPTH, maxDepth));
+    }
+
+    /**
+     * Setter for the memory of the transposition table. The table is emptied.
+     *
+     * @param tableMemory Memory in bytes
+     */
+    public void setTableMemory(long tableMemory) {
+        this.tableMemory = tableMemory;
+        this.table = null;
+    }
+
+    /**
+     * Method to get the transposition table.
+     *
+     * @return transposition table
+     */
+    public TranspositionTable getTable() {
+        if (table == null) {
+            table = new TranspositionTable(tableMemory);
+        }
+        return table;
+    }
+
+    /**
+     * Method to get the depth reached by the last search of an attack.
+     *
+     * @return depth in dice rounds, 0 if the move needed no search
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Method for Expectiminimax class for reinforcement phase.
+     * Start and end of the reinforcement phase.
+     *
+     * @param countryList   List of countries owned by the player.
+     * @param country       Country to which reinforcement armies are to be assigned.
+     * @param currentPlayer Current player.
+     */
+    @Override
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Reinforcement phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+        battleAttacking = null;
+        battleDefending = null;
+        if (!currentPlayer.getPlayerCountries().isEmpty() && currentPlayer.getArmyCount() > 0) {
+            GameState state = GameState.of(currentPlayer);
+            int choice = chooseReinforcement(state, state.indexOf(currentPlayer), currentPlayer.getArmyCount());
+            country = state.getCountry(choice);
+            country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
+            println(currentPlayer.getName() + " expectiminimax player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies());
+            setChanged();
+            notifyObservers(currentPlayer.getName() + " expectiminimax player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies() + "\n");
+            currentPlayer.setArmyCount(0);
+        }
+        println("Ended Reinforcement phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Reinforcement phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for Expectiminimax class for if player can attack. The round
+     * chosen by the search is kept for the following attack phase. Once
+     * the search chose a battle, its next rounds are rolled without
+     * searching again while the battle is worth going on.
+     *
+     * @param countries List of countries owned by the player.
+     * @return true
+     * If the search chose to attack; other wise false.
+     */
+    @Override
+    protected boolean canStrategyAttack(List<Country> countries) {
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (!countries.isEmpty() && countries.get(0).getPlayer() != null) {
+            Player player = countries.get(0).getPlayer();
+            if (battleAttacking != null && battleAttacking.getPlayer() == player && battleDefending.getPlayer() != player
+                    && CANDIDATE_POLICY.shouldContinue(battleAttacking.getNoOfArmies(), battleDefending.getNoOfArmies())) {
+                pendingAttacking = battleAttacking;
+                pendingDefending = battleDefending;
+                return true;
+            }
+            GameState state = GameState.of(player);
+            int[] attack = chooseAttack(state, state.indexOf(player));
+            if (attack != null) {
+                pendingAttacking = state.getCountry(attack[0]);
+                pendingDefending = state.getCountry(attack[1]);
+                battleAttacking = pendingAttacking;
+                battleDefending = pendingDefending;
+                return true;
+            }
+        }
+        battleAttacking = null;
+        battleDefending = null;
+        println("Expectiminimax player cannot continue with attack phase, move to fortification phase.");
+        println("Attack phase ended for expectiminimax player.");
+        setChanged();
+        notifyObservers("Expectiminimax player cannot continue with attack phase, move to fortification phase.\n");
+        setChanged();
+        notifyObservers("Attack phase ended for expectiminimax player.\n");
+        return false;
+    }
+
+    /**
+     * Method for Expectiminimax class for attack phase, which rolls the
+     * one round chosen by the search.
+     *
+     * @param attackingCountryList List of countries attacking.
+     * @param defendingCountryList List of countries defending.
+     * @param currentPlayer        Current player.
+     */
+    @Override
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning attack phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+        if (pendingAttacking == null || pendingAttacking.getPlayer() != currentPlayer) {
+            GameState state = GameState.of(currentPlayer);
+            int[] attack = chooseAttack(state, state.indexOf(currentPlayer));
+            pendingAttacking = attack == null ? null : state.getCountry(attack[0]);
+            pendingDefending = attack == null ? null : state.getCountry(attack[1]);
+        }
+        Country attacking = pendingAttacking;
+        Country defending = pendingDefending;
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (attacking != null && attacking.getNoOfArmies() > 1 && defending.getPlayer() != currentPlayer) {
+            println("Attacking from " + attacking.getName() + " to " + defending.getName());
+            setChanged();
+            notifyObservers("Attacking from " + attacking.getName() + " to " + defending.getName() + ".\n");
+            attack(attacking, defending, currentPlayer);
+        }
+        println("Ended attack phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended attack phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for Expectiminimax class for fortification phase.
+     * Start and end of the fortification phase.
+     *
+     * @param selectedCountryList List of countries selected by the player.
+     * @param adjCountryList      List of adjacent countries.
+     * @param currentPlayer       Current player.
+     * @return true
+     * If the fortification successful; other wise false.
+     */
+    @Override
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
+                                      Player currentPlayer) {
+        println("Beginning Fortification phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Fortification phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+        boolean fortified = false;
+        if (!currentPlayer.getPlayerCountries().isEmpty()) {
+            GameState state = GameState.of(currentPlayer);
+            int[] move = chooseFortification(state, state.indexOf(currentPlayer));
+            if (move != null) {
+                Country countryFromFortify = state.getCountry(move[0]);
+                Country countryToFortify = state.getCountry(move[1]);
+                int armies = countryFromFortify.getNoOfArmies() - 1;
+                countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + armies);
+                countryFromFortify.setNoOfArmies(1);
+                println("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName());
+                setChanged();
+                notifyObservers("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName() + ".\n");
+                fortified = true;
+            }
+        }
+        println("Ended Fortification phase for expectiminimax player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Fortification phase for expectiminimax player " + currentPlayer.getName() + ".\n");
+        return fortified;
+    }
+
+    /**
+     * Method to get the policy of the real attacks, which roll one round
+     * at a time as the search decides every round.
+     *
+     * @return AttackPolicy
+     * Attack policy of the expectiminimax player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        return ATTACK_POLICY;
+    }
+
+    /**
+     * Method for the simulated turns of the expectiminimax player, which
+     * plays like the aggressive player to keep the simulations fast.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        simulationStrategy.simulateReinforcement(state, player, armies, random);
+    }
+
+    /**
+     * Method for the simulated attack phase of the expectiminimax player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the dice.
+     */
+    @Override
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        simulationStrategy.simulateAttacks(state, player, random);
+    }
+
+    /**
+     * Method for the simulated fortification phase of the expectiminimax player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        simulationStrategy.simulateFortification(state, player, random);
+    }
+
+    /**
+     * Method to choose the country receiving all the reinforcement armies:
+     * the border country for which the evaluation, attacks to come
+     * included, is best. Past the time budget the best country valued so
+     * far is taken, or the strongest border country.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @return number of the chosen country
+     */
+    public int chooseReinforcement(GameState state, int player, int armies) {
+        return decide(decision -> searchReinforcement(state, player, armies, decision),
+                () -> GameSimulation.findDefaultReinforcement(state, player));
+    }
+
+    /**
+     * Method to search the reinforcement, offering the best country so far.
+     *
+     * @param state    Current game state, not changed.
+     * @param player   Number of the player in the state.
+     * @param armies   Number of armies to place.
+     * @param decision Decision receiving the best country
+     * @return number of the chosen country, null if the decision expired
+     */
+    private Integer searchReinforcement(GameState state, int player, int armies, AnytimeDecision<Integer> decision) {
+        Search search = new Search(state.copy(), player, getTable(), decision);
+        int[] countries = state.getCountries(player);
+        int best = countries.length > 0 ? countries[0] : -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int country : countries) {
+            if (!state.isBorder(country)) {
+                continue;
+            }
+            if (decision.isExpired()) {
+                return null;
+            }
+            search.state.placeArmies(country, armies);
+            double value = search.evaluate(true);
+            search.state.placeArmies(country, -armies);
+            if (value > bestValue) {
+                bestValue = value;
+                best = country;
+                decision.offer(best);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to choose the next dice round, searched by iterative deepening
+     * until the deadline. Should the search overrun its deadline, the move
+     * of the deepest finished search is taken, or the attack most likely
+     * to conquer.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the attacking and defending countries, null to stop attacking
+     */
+    public int[] chooseAttack(GameState state, int player) {
+        int size = checkCountryCount(state);
+        int best = decide(decision -> searchAttack(state, player, decision), () -> {
+            int[] attack = GameSimulation.findDefaultAttack(state, player, CANDIDATE_POLICY);
+            return attack == null ? STOP : attack[0] * size + attack[1];
+        });
+        return best == STOP ? null : new int[] { best / size, best % size };
+    }
+
+    /**
+     * Method to check that the moves of a map can be coded as from * countries + to.
+     *
+     * @param state Game state to search.
+     * @return number of countries of the map
+     */
+    private static int checkCountryCount(GameState state) {
+        int size = state.getCountryCount();
+        if (size > MAX_COUNTRY_COUNT) {
+            throw new IllegalArgumentException("Maps of more than " + MAX_COUNTRY_COUNT
+                    + " countries cannot be searched: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Method to search the next dice round by iterative deepening, offering
+     * the move of every finished depth.
+     *
+     * @param state    Current game state, not changed.
+     * @param player   Number of the player in the state.
+     * @param decision Decision receiving the best move
+     * @return chosen move, STOP to stop attacking
+     */
+    private Integer searchAttack(GameState state, int player, AnytimeDecision<Integer> decision) {
+        TranspositionTable transpositions = getTable();
+        transpositions.newSearch();
+        Search search = new Search(state.copy(), player, transpositions, decision);
+        lastDepth = 0;
+        int[] moves = search.getMoves(TranspositionTable.NO_MOVE);
+        int best = search.evaluate(true) > search.evaluate(false) ? search.continuationMove : STOP;
+        if (moves.length > 1) {
+            decision.offer(best);
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                search.valueMoveNode(depth, MIN_VALUE, MAX_VALUE, true);
+                if (search.aborted) {
+                    break;
+                }
+                best = search.rootMove;
+                lastDepth = depth;
+                decision.offer(best);
+                if (search.exhausted) {
+                    break;
+                }
+            }
+        } else {
+            best = STOP;
+        }
+        return best;
+    }
+
+    /**
+     * Method to choose the fortification move, which moves all the armies
+     * but one: the move after which the strongest reply of the opponents
+     * hurts least, if it is better than no move. Past the time budget the
+     * best move valued so far is taken, or no move.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the countries the armies leave and reach, null for no move
+     */
+    public int[] chooseFortification(GameState state, int player) {
+        int size = checkCountryCount(state);
+        int best = decide(decision -> searchFortification(state, player, decision), () -> STOP);
+        return best == STOP ? null : new int[] { best / size, best % size };
+    }
+
+    /**
+     * Method to search the fortification move, offering the best move so far.
+     *
+     * @param state    Current game state, not changed.
+     * @param player   Number of the player in the state.
+     * @param decision Decision receiving the best move
+     * @return chosen move, STOP for no move, null if the decision expired
+     */
+    private Integer searchFortification(GameState state, int player, AnytimeDecision<Integer> decision) {
+        Search search = new Search(state.copy(), player, getTable(), decision);
+        GameState copy = search.state;
+        int size = state.getCountryCount();
+        int best = STOP;
+        double bestValue = search.evaluate(false);
+        decision.offer(best);
+        for (int from : state.getCountries(player)) {
+            int armies = state.getArmies(from) - 1;
+            if (armies < 1) {
+                continue;
+            }
+            if (decision.isExpired()) {
+                return null;
+            }
+            for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                int to = state.getNeighbour(from, i);
+                if (state.getOwner(to) != player || !state.isBorder(to)) {
+                    continue;
+                }
+                copy.moveArmies(from, to, armies);
+                double value = search.evaluate(false);
+                copy.moveArmies(to, from, armies);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = from * size + to;
+                    decision.offer(best);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method for Expectiminimax class for attack.
+     *
+     * @param attacking Country attacking.
+     * @param defending Country defending.
+     * @param player    Current player.
+     */
+    private void attack(Country attacking, Country defending, Player player) {
+        Dice dice = new Dice(attacking, defending);
+        if (player != null) {
+            dice.addObserver(player);
+        }
+        rollDice(dice, gamePlayController);
+    }
+
+    /**
+     * Method to get the Zobrist key of a country with an owner and armies,
+     * mixed from the three numbers instead of read from random tables so
+     * that any number of armies has a key.
+     *
+     * @param country Number of the country
+     * @param owner   Number of the owner
+     * @param armies  Number of armies
+     * @return key of the country
+     */
+    static long zobrist(int country, int owner, int armies) {
+        long z = ((long) country << 40) ^ ((long) (owner + 1) << 24) ^ armies;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Class for one search, which makes and unmakes the moves on its own
+     * copy of the state.
+     */
+    private static final class Search {
+
+        /**
+         * Game state, changed and restored by the search
+         */
+        private final GameState state;
+
+        /**
+         * Number of the searching player
+         */
+        private final int player;
+
+        /**
+         * Transposition table
+         */
+        private final TranspositionTable table;
+
+        /**
+         * Decision of the search, which abandons it once expired
+         */
+        private final AnytimeDecision<?> decision;
+
+        /**
+         * Odds of the battles
+         */
+        private final BattleOdds odds = BattleOdds.getSharedOdds();
+
+        /**
+         * Hash of the current state
+         */
+        private long hash;
+
+        /**
+         * Number of move nodes visited
+         */
+        private long nodes;
+
+        /**
+         * true once the deadline has passed; the result of the search is then meaningless
+         */
+        private boolean aborted;
+
+        /**
+         * true if the last search ended every line before its depth, so deeper searches change nothing
+         */
+        private boolean exhausted;
+
+        /**
+         * Best move of the root found by the last search
+         */
+        private int rootMove = STOP;
+
+        /**
+         * Attack of the best battle found by the last evaluation with attacks to come
+         */
+        private int continuationMove = STOP;
+
+        /**
+         * Constructor for a search.
+         *
+         * @param state    Game state owned by the search
+         * @param player   Number of the searching player
+         * @param table    Transposition table
+         * @param decision Decision of the search, which abandons it once expired
+         */
+        private Search(GameState state, int player, TranspositionTable table, AnytimeDecision<?> decision) {
+            this.state = state;
+            this.player = player;
+            this.table = table;
+            this.decision = decision;
+            for (int country = 0; country < state.getCountryCount(); country++) {
+                hash ^= zobrist(country, state.getOwner(country), state.getArmies(country));
+            }
+        }
+
+        /**
+         * Method to value a move node, where the player rolls another round
+         * of one of the attacks or ends the phase.
+         *
+         * @param depth Remaining depth in dice rounds
+         * @param alpha Value the player is already sure of
+         * @param beta  Value above which the node does not matter
+         * @param root  true for the root of the search
+         * @return value of the node, or a bound of it outside the window
+         */
+        private double valueMoveNode(int depth, double alpha, double beta, boolean root) {
+            if (root) {
+                exhausted = true;
+            }
+            if ((++nodes % DEADLINE_CHECK_INTERVAL) == 0 && decision.isExpired()) {
+                aborted = true;
+            }
+            if (aborted) {
+                return MIN_VALUE;
+            }
+            int countries = state.getCountryCount(player);
+            if (countries == 0 || countries == state.getCountryCount()) {
+                return countries == 0 ? MIN_VALUE : MAX_VALUE;
+            }
+            if (depth == 0) {
+                exhausted = false;
+                return evaluate(true);
+            }
+            int hashMove = TranspositionTable.NO_MOVE;
+            int entry = table.find(hash);
+            if (entry >= 0) {
+                hashMove = table.getMove(entry);
+                if (!root && table.getDepth(entry) >= depth) {
+                    double stored = table.getValue(entry);
+                    byte bound = table.getBound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && stored >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && stored <= alpha)) {
+                        // The stored search may have been cut at its horizon.
+                        exhausted = false;
+                        return stored;
+                    }
+                }
+            }
+            double start = alpha;
+            double best = Double.NEGATIVE_INFINITY;
+            int bestMove = STOP;
+            int size = state.getCountryCount();
+            for (int move : getMoves(hashMove)) {
+                double value = move == STOP ? evaluate(false)
+                        : valueChanceNode(move / size, move % size, depth, Math.max(alpha, best), beta);
+                if (aborted) {
+                    return MIN_VALUE;
+                }
+                if (value > best) {
+                    best = value;
+                    bestMove = move;
+                    if (best >= beta) {
+                        break;
+                    }
+                }
+            }
+            byte bound = best <= start ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(hash, depth, bound, best, bestMove);
+            if (root) {
+                rootMove = bestMove;
+            }
+            return best;
+        }
+
+        /**
+         * Method to value the chance node of one dice round, with the Star1
+         * bounds: the outcomes not seen yet are assumed worth the smallest
+         * or the largest value, which gives every outcome its own window
+         * and ends the node as soon as its value is known to lie outside
+         * the window.
+         *
+         * @param from  Number of the attacking country
+         * @param to    Number of the defending country
+         * @param depth Remaining depth in dice rounds, this round included
+         * @param alpha Value the player is already sure of
+         * @param beta  Value above which the node does not matter
+         * @return value of the node, or a bound of it outside the window
+         */
+        private double valueChanceNode(int from, int to, int depth, double alpha, double beta) {
+            int attacker = state.getArmies(from);
+            int defender = state.getArmies(to);
+            int defenderOwner = state.getOwner(to);
+            int attackerDice = Math.min(Dice.MAX_ATTACKER_DICE, attacker - 1);
+            int defenderDice = Math.min(Dice.MAX_DEFENDER_DICE, defender);
+            int comparedDice = Math.min(attackerDice, defenderDice);
+            double seen = 0;
+            double remaining = 1;
+            for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                double probability = BattleOdds.getRoundOutcomeProbability(attackerDice, defenderDice, attackerLosses);
+                remaining -= probability;
+                double childAlpha = Math.max(MIN_VALUE, (alpha - seen - remaining * MAX_VALUE) / probability);
+                double childBeta = Math.min(MAX_VALUE, (beta - seen - remaining * MIN_VALUE) / probability);
+                int attackerLeft = attacker - attackerLosses;
+                int defenderLeft = defender - comparedDice + attackerLosses;
+                long saved = hash;
+                hash ^= zobrist(from, player, attacker) ^ zobrist(to, defenderOwner, defender);
+                if (defenderLeft == 0) {
+                    state.setOwner(to, player, attackerLeft - 1);
+                    state.setArmies(from, 1);
+                } else {
+                    state.setArmies(to, defenderLeft);
+                    state.setArmies(from, attackerLeft);
+                }
+                hash ^= zobrist(from, player, state.getArmies(from)) ^ zobrist(to, state.getOwner(to), state.getArmies(to));
+                double value = valueMoveNode(depth - 1, childAlpha, childBeta, false);
+                state.setOwner(to, defenderOwner, defender);
+                state.setArmies(from, attacker);
+                hash = saved;
+                if (aborted) {
+                    return MIN_VALUE;
+                }
+                seen += probability * value;
+                if (seen + remaining * MAX_VALUE <= alpha) {
+                    return seen + remaining * MAX_VALUE;
+                }
+                if (seen + remaining * MIN_VALUE >= beta) {
+                    return seen + remaining * MIN_VALUE;
+                }
+            }
+            return seen;
+        }
+
+        /**
+         * Method to get the moves of a move node: the move of the
+         * transposition table first, then the end of the phase, then the
+         * attacks worth searching by decreasing odds of winning the battle.
+         *
+         * @param hashMove Move of the transposition table, NO_MOVE if there is none
+         * @return moves
+         */
+        private int[] getMoves(int hashMove) {
+            int size = state.getCountryCount();
+            int[] moves = new int[8];
+            double[] odds = new double[8];
+            int count = 0;
+            for (int from = 0; from < size; from++) {
+                int attacker = state.getArmies(from);
+                if (state.getOwner(from) != player || attacker < 2) {
+                    continue;
+                }
+                for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                    int to = state.getNeighbour(from, i);
+                    if (state.getOwner(to) == player || !CANDIDATE_POLICY.shouldContinue(attacker, state.getArmies(to))) {
+                        continue;
+                    }
+                    if (count == moves.length) {
+                        moves = Arrays.copyOf(moves, count * 2);
+                        odds = Arrays.copyOf(odds, count * 2);
+                    }
+                    double winProbability = from * size + to == hashMove ? 2
+                            : this.odds.getWinProbability(attacker, state.getArmies(to));
+                    // Insertion by decreasing odds.
+                    int position = count++;
+                    while (position > 0 && odds[position - 1] < winProbability) {
+                        moves[position] = moves[position - 1];
+                        odds[position] = odds[position - 1];
+                        position--;
+                    }
+                    moves[position] = from * size + to;
+                    odds[position] = winProbability;
+                }
+            }
+            int[] result = new int[count + 1];
+            if (count > 0 && moves[0] == hashMove) {
+                result[0] = hashMove;
+                result[1] = STOP;
+                System.arraycopy(moves, 1, result, 2, count - 1);
+            } else {
+                result[0] = STOP;
+                System.arraycopy(moves, 0, result, 1, count);
+            }
+            return result;
+        }
+
+        /**
+         * Method to evaluate the current state. The share of the countries
+         * and of the armies is lowered by the strongest reply of an opponent,
+         * one battle against a country of the player valued with its odds.
+         * With attacks to come, the best battle the player can still fight,
+         * valued the same way, may raise it.
+         *
+         * @param attacksToCome true if the player may still attack
+         * @return value between 0 and 1
+         */
+        private double evaluate(boolean attacksToCome) {
+            int size = state.getCountryCount();
+            int countries = state.getCountryCount(player);
+            if (countries == 0 || countries == size) {
+                return countries == 0 ? MIN_VALUE : MAX_VALUE;
+            }
+            long playerArmies = 0;
+            long totalArmies = 0;
+            for (int country = 0; country < size; country++) {
+                totalArmies += state.getArmies(country);
+                if (state.getOwner(country) == player) {
+                    playerArmies += state.getArmies(country);
+                }
+            }
+            double reply = share(countries, playerArmies, totalArmies);
+            for (int country = 0; country < size; country++) {
+                if (state.getOwner(country) != player) {
+                    continue;
+                }
+                int defender = state.getArmies(country);
+                for (int i = 0; i < state.getNeighbourCount(country); i++) {
+                    int enemy = state.getNeighbour(country, i);
+                    int attacker = state.getArmies(enemy);
+                    if (state.getOwner(enemy) == player || attacker < 2) {
+                        continue;
+                    }
+                    double defenderLoss = defender - odds.getExpectedDefenderArmies(attacker, defender);
+                    double attackerLoss = attacker - odds.getExpectedAttackerArmies(attacker, defender);
+                    reply = Math.min(reply, share(countries - odds.getWinProbability(attacker, defender),
+                            playerArmies - defenderLoss, totalArmies - defenderLoss - attackerLoss));
+                }
+            }
+            if (!attacksToCome) {
+                return reply;
+            }
+            double threat = share(countries, playerArmies, totalArmies) - reply;
+            double best = reply;
+            continuationMove = STOP;
+            for (int from = 0; from < size; from++) {
+                int attacker = state.getArmies(from);
+                if (state.getOwner(from) != player || attacker < 2) {
+                    continue;
+                }
+                for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                    int to = state.getNeighbour(from, i);
+                    int defender = state.getArmies(to);
+                    if (state.getOwner(to) == player || !CANDIDATE_POLICY.shouldContinue(attacker, defender)) {
+                        continue;
+                    }
+                    double attackerLoss = attacker - odds.getExpectedAttackerArmies(attacker, defender);
+                    double defenderLoss = defender - odds.getExpectedDefenderArmies(attacker, defender);
+                    double value = share(countries + odds.getWinProbability(attacker, defender),
+                            playerArmies - attackerLoss, totalArmies - attackerLoss - defenderLoss) - threat;
+                    if (value > best) {
+                        best = value;
+                        continuationMove = from * size + to;
+                    }
+                }
+            }
+            return Math.max(MIN_VALUE, Math.min(MAX_VALUE, best));
+        }
+
+        /**
+         * Method to weight the share of the countries three times as much as
+         * the share of the armies, like {@link GameState#evaluate(int)}.
+         *
+         * @param countries    Countries of the player
+         * @param playerArmies Armies of the player
+         * @param totalArmies  Armies of all the players
+         * @return value between 0 and 1
+         */
+        private double share(double countries, double playerArmies, double totalArmies) {
+            double armyShare = totalArmies <= 0 ? 0 : playerArmies / totalArmies;
+            return 0.75 * countries / state.getCountryCount() + 0.25 * armyShare;
+        }
+    }
+}
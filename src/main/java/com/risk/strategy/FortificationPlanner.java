@@ -0,0 +1,420 @@
+package com.risk.strategy;
+
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class for the planning of the fortification of a player: the armies
+ * which can move are shared out over every connected component of the
+ * countries of the player, each country being given a share of them in
+ * proportion to its demand, for instance the enemy armies it faces. The
+ * countries holding more than their share then send the difference to the
+ * countries holding less: in rounds of one search from all the countries
+ * in need, every country with armies to spare sends them to the nearest
+ * one, the nearest senders first, which keeps the transport short at a
+ * cost linear in the size of the component per round.
+ * <p>
+ * The plan is a list of transfers, each with the neighbour through which
+ * the armies leave, and as a fortification moves armies between two
+ * neighbours only, {@link #getMove()} gives the first step of the plan
+ * worth most. Everything is kept in integer arrays reused from one plan to
+ * the next, so an instance plans for one thread at a time; the
+ * strategies use {@link #getShared()}.
+ */
+public class FortificationPlanner {
+
+    /**
+     * Planner of every thread
+     */
+    private static final ThreadLocal<FortificationPlanner> SHARED = ThreadLocal.withInitial(FortificationPlanner::new);
+
+    /**
+     * Component of every country, -1 for the countries of the other players
+     */
+    private int[] component = new int[0];
+
+    /**
+     * Countries of the player, component after component
+     */
+    private int[] order = new int[0];
+
+    /**
+     * Position in order of the first country of every component, and of the end
+     */
+    private int[] componentStart = new int[1];
+
+    /**
+     * Number of components
+     */
+    private int componentCount;
+
+    /**
+     * Armies a country has to spare, negative for the armies it lacks
+     */
+    private int[] surplus = new int[0];
+
+    /**
+     * Queue of the searches
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * Neighbour through which a country reached by a search is nearer the country in need
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * Number of steps between a country reached by a search and the country in need
+     */
+    private int[] distance = new int[0];
+
+    /**
+     * Country in need nearest to a country reached by a search
+     */
+    private int[] root = new int[0];
+
+    /**
+     * Search which last reached every country
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * Number of the current search
+     */
+    private int search;
+
+    /**
+     * Demand of the countries of the last plan
+     */
+    private double[] demand;
+
+    /**
+     * Number of transfers of the plan
+     */
+    private int transferCount;
+
+    /**
+     * Country sending the armies of every transfer
+     */
+    private int[] transferFrom = new int[16];
+
+    /**
+     * Country receiving the armies of every transfer
+     */
+    private int[] transferTo = new int[16];
+
+    /**
+     * Armies of every transfer
+     */
+    private int[] transferArmies = new int[16];
+
+    /**
+     * Neighbour of the sending country on the way of every transfer
+     */
+    private int[] transferStep = new int[16];
+
+    /**
+     * Length of the way of every transfer
+     */
+    private int[] transferDistance = new int[16];
+
+    /**
+     * Method to get the planner of the current thread.
+     *
+     * @return planner
+     */
+    public static FortificationPlanner getShared() {
+        return SHARED.get();
+    }
+
+    /**
+     * Method to get the demand of the border countries of a player: the
+     * enemy armies they face. The other countries have no demand.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @return demand of every country
+     */
+    public static double[] getThreatDemand(GameState state, int player) {
+        double[] threat = new double[state.getCountryCount()];
+        for (int country : state.getCountries(player)) {
+            threat[country] = GameSimulation.getEnemyArmies(state, country);
+        }
+        return threat;
+    }
+
+    /**
+     * Method to find the connected components of the countries of a player.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @return number of components
+     */
+    public int findComponents(GameState state, int player) {
+        int size = state.getCountryCount();
+        if (component.length < size) {
+            component = new int[size];
+            order = new int[size];
+            surplus = new int[size];
+            queue = new int[size];
+            parent = new int[size];
+            distance = new int[size];
+            root = new int[size];
+            visited = new int[size];
+            search = 0;
+        }
+        Arrays.fill(component, 0, size, -1);
+        componentCount = 0;
+        int end = 0;
+        for (int start = 0; start < size; start++) {
+            if (state.getOwner(start) != player || component[start] >= 0) {
+                continue;
+            }
+            if (componentStart.length < componentCount + 2) {
+                componentStart = Arrays.copyOf(componentStart, 2 * componentCount + 2);
+            }
+            componentStart[componentCount] = end;
+            component[start] = componentCount;
+            order[end++] = start;
+            for (int next = componentStart[componentCount]; next < end; next++) {
+                int country = order[next];
+                for (int i = 0; i < state.getNeighbourCount(country); i++) {
+                    int neighbour = state.getNeighbour(country, i);
+                    if (state.getOwner(neighbour) == player && component[neighbour] < 0) {
+                        component[neighbour] = componentCount;
+                        order[end++] = neighbour;
+                    }
+                }
+            }
+            componentCount++;
+        }
+        componentStart[componentCount] = end;
+        return componentCount;
+    }
+
+    /**
+     * Method to get the component of a country found by the last search of components.
+     *
+     * @param country Number of the country
+     * @return number of the component, -1 for a country of another player
+     */
+    public int getComponent(int country) {
+        return component[country];
+    }
+
+    /**
+     * Method to plan the fortification of a player.
+     *
+     * @param state  Game state, not changed.
+     * @param player Number of the player in the state.
+     * @param demand Demand of every country, 0 or less for none
+     * @return number of transfers of the plan
+     */
+    public int plan(GameState state, int player, double[] demand) {
+        this.demand = demand;
+        transferCount = 0;
+        findComponents(state, player);
+        for (int k = 0; k < componentCount; k++) {
+            int start = componentStart[k];
+            int end = componentStart[k + 1];
+            long movable = 0;
+            double totalDemand = 0;
+            for (int i = start; i < end; i++) {
+                movable += state.getArmies(order[i]) - 1;
+                totalDemand += Math.max(0, demand[order[i]]);
+            }
+            if (movable == 0 || totalDemand == 0) {
+                continue;
+            }
+            // Shares rounded on the running total, so that they add up to the movable armies.
+            double cumulative = 0;
+            long given = 0;
+            for (int i = start; i < end; i++) {
+                int country = order[i];
+                cumulative += Math.max(0, demand[country]);
+                long share = Math.min(movable, (long) Math.floor(movable * cumulative / totalDemand + 1e-9)) - given;
+                given += share;
+                surplus[country] = (int) (state.getArmies(country) - 1 - share);
+            }
+            while (supply(state, player, start, end)) {
+                // Every round fills a country in need or empties the countries with armies to spare.
+            }
+        }
+        return transferCount;
+    }
+
+    /**
+     * Method to play one round of supply in a component: a search from all
+     * the countries still in need at once finds for every other country
+     * the nearest of them, and the countries with armies to spare, nearest
+     * first, send them to it until it needs no more.
+     *
+     * @param state  Game state.
+     * @param player Number of the player in the state.
+     * @param start  Position in order of the first country of the component
+     * @param end    Position in order of the end of the component
+     * @return true if armies were sent and some are still to send
+     */
+    private boolean supply(GameState state, int player, int start, int end) {
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            search = 1;
+        }
+        int tail = 0;
+        for (int i = start; i < end; i++) {
+            int country = order[i];
+            if (surplus[country] < 0) {
+                queue[tail++] = country;
+                visited[country] = search;
+                parent[country] = country;
+                distance[country] = 0;
+            }
+        }
+        if (tail == 0) {
+            return false;
+        }
+        boolean sent = false;
+        boolean left = false;
+        for (int head = 0; head < tail; head++) {
+            int country = queue[head];
+            int sink = parent[country] == country ? country : root[parent[country]];
+            root[country] = sink;
+            if (surplus[country] > 0) {
+                if (surplus[sink] < 0) {
+                    int armies = Math.min(surplus[country], -surplus[sink]);
+                    surplus[country] -= armies;
+                    surplus[sink] += armies;
+                    addTransfer(country, sink, armies, parent[country], distance[country]);
+                    sent = true;
+                }
+                left |= surplus[country] > 0;
+            }
+            for (int i = 0; i < state.getNeighbourCount(country); i++) {
+                int neighbour = state.getNeighbour(country, i);
+                if (visited[neighbour] != search && state.getOwner(neighbour) == player) {
+                    visited[neighbour] = search;
+                    parent[neighbour] = country;
+                    distance[neighbour] = distance[country] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return sent && left;
+    }
+
+    /**
+     * Method to add a transfer to the plan.
+     *
+     * @param from     Country sending the armies
+     * @param to       Country receiving the armies
+     * @param armies   Number of armies
+     * @param step     Neighbour of the sending country on the way
+     * @param length   Length of the way
+     */
+    private void addTransfer(int from, int to, int armies, int step, int length) {
+        if (transferCount == transferFrom.length) {
+            int capacity = 2 * transferCount;
+            transferFrom = Arrays.copyOf(transferFrom, capacity);
+            transferTo = Arrays.copyOf(transferTo, capacity);
+            transferArmies = Arrays.copyOf(transferArmies, capacity);
+            transferStep = Arrays.copyOf(transferStep, capacity);
+            transferDistance = Arrays.copyOf(transferDistance, capacity);
+        }
+        transferFrom[transferCount] = from;
+        transferTo[transferCount] = to;
+        transferArmies[transferCount] = armies;
+        transferStep[transferCount] = step;
+        transferDistance[transferCount] = length;
+        transferCount++;
+    }
+
+    /**
+     * Method to get the number of transfers of the last plan.
+     *
+     * @return number of transfers
+     */
+    public int getTransferCount() {
+        return transferCount;
+    }
+
+    /**
+     * Method to get the country sending the armies of a transfer.
+     *
+     * @param transfer Position of the transfer
+     * @return number of the country
+     */
+    public int getFrom(int transfer) {
+        return transferFrom[transfer];
+    }
+
+    /**
+     * Method to get the country receiving the armies of a transfer.
+     *
+     * @param transfer Position of the transfer
+     * @return number of the country
+     */
+    public int getTo(int transfer) {
+        return transferTo[transfer];
+    }
+
+    /**
+     * Method to get the armies of a transfer.
+     *
+     * @param transfer Position of the transfer
+     * @return number of armies
+     */
+    public int getArmies(int transfer) {
+        return transferArmies[transfer];
+    }
+
+    /**
+     * Method to get the neighbour of the sending country on the way of a transfer.
+     *
+     * @param transfer Position of the transfer
+     * @return number of the neighbour
+     */
+    public int getStep(int transfer) {
+        return transferStep[transfer];
+    }
+
+    /**
+     * Method to get the length of the way of a transfer.
+     *
+     * @param transfer Position of the transfer
+     * @return number of steps
+     */
+    public int getDistance(int transfer) {
+        return transferDistance[transfer];
+    }
+
+    /**
+     * Method to get the fortification move of the last plan: of the first
+     * steps of the transfers, the one worth most, a transfer being worth
+     * its armies times the demand of the receiving country over the length
+     * of its way. The transfers leaving by the same step move together.
+     *
+     * @return numbers of the countries the armies leave and reach and the number of armies, null for no move
+     */
+    public int[] getMove() {
+        Map<Long, double[]> steps = new LinkedHashMap<>();
+        for (int t = 0; t < transferCount; t++) {
+            double[] step = steps.computeIfAbsent((long) transferFrom[t] << 32 | transferStep[t], key -> new double[2]);
+            step[0] += transferArmies[t] * demand[transferTo[t]] / transferDistance[t];
+            step[1] += transferArmies[t];
+        }
+        int[] best = null;
+        double bestValue = 0;
+        for (Map.Entry<Long, double[]> step : steps.entrySet()) {
+            if (best == null || step.getValue()[0] > bestValue) {
+                long key = step.getKey();
+                best = new int[] { (int) (key >>> 32), (int) key, (int) step.getValue()[1] };
+                bestValue = step.getValue()[0];
+            }
+        }
+        return best;
+    }
+}
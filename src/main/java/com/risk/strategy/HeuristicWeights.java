@@ -0,0 +1,200 @@
+package com.risk.strategy;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Class for the weights of a parameterized strategy: named values, each
+ * with the bounds a tuner may search between. Instances are immutable;
+ * changed weights are new instances.
+ * <p>
+ * In a configuration file the weights of a strategy are written as
+ * <code>Strategy.name=value</code>, for instance
+ * <code>Aggressive.conquestValue=5.0</code>.
+ */
+public class HeuristicWeights implements Serializable {
+
+    /**
+     * Names of the weights
+     */
+    private final String[] names;
+
+    /**
+     * Values of the weights
+     */
+    private final double[] values;
+
+    /**
+     * Smallest value of every weight
+     */
+    private final double[] lowerBounds;
+
+    /**
+     * Largest value of every weight
+     */
+    private final double[] upperBounds;
+
+    /**
+     * Constructor for the weights. The values are clamped to their bounds.
+     *
+     * @param names       Names of the weights
+     * @param values      Values of the weights
+     * @param lowerBounds Smallest value of every weight
+     * @param upperBounds Largest value of every weight
+     */
+    public HeuristicWeights(String[] names, double[] values, double[] lowerBounds, double[] upperBounds) {
+        if (values.length != names.length || lowerBounds.length != names.length || upperBounds.length != names.length) {
+            throw new IllegalArgumentException("Every weight needs a name, a value and two bounds");
+        }
+        this.names = names.clone();
+        this.lowerBounds = lowerBounds.clone();
+        this.upperBounds = upperBounds.clone();
+        this.values = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = Math.max(lowerBounds[i], Math.min(upperBounds[i], values[i]));
+        }
+    }
+
+    /**
+     * Method to get the number of weights.
+     *
+     * @return number of weights
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Method to get the name of a weight.
+     *
+     * @param i Position of the weight
+     * @return name
+     */
+    public String getName(int i) {
+        return names[i];
+    }
+
+    /**
+     * Method to get the value of a weight.
+     *
+     * @param i Position of the weight
+     * @return value
+     */
+    public double get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Method to get the value of a weight by name.
+     *
+     * @param name Name of the weight
+     * @return value
+     */
+    public double get(String name) {
+        return values[indexOf(name)];
+    }
+
+    /**
+     * Method to get the smallest value of a weight.
+     *
+     * @param i Position of the weight
+     * @return lower bound
+     */
+    public double getLowerBound(int i) {
+        return lowerBounds[i];
+    }
+
+    /**
+     * Method to get the largest value of a weight.
+     *
+     * @param i Position of the weight
+     * @return upper bound
+     */
+    public double getUpperBound(int i) {
+        return upperBounds[i];
+    }
+
+    /**
+     * Method to get a copy of the values.
+     *
+     * @return values in the order of the names
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Method to get weights with the same names and bounds and other values.
+     *
+     * @param newValues Values in the order of the names, clamped to the bounds
+     * @return new weights
+     */
+    public HeuristicWeights withValues(double[] newValues) {
+        return new HeuristicWeights(names, newValues, lowerBounds, upperBounds);
+    }
+
+    /**
+     * Method to get weights with the values found in a configuration.
+     * Weights missing from the configuration keep their value.
+     *
+     * @param properties Configuration
+     * @param strategy   Name of the strategy prefixing the keys
+     * @return new weights
+     */
+    public HeuristicWeights withProperties(Properties properties, String strategy) {
+        double[] newValues = values.clone();
+        for (int i = 0; i < names.length; i++) {
+            String value = properties.getProperty(strategy + "." + names[i]);
+            if (value != null) {
+                try {
+                    newValues[i] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring weight " + strategy + "." + names[i] + ", not a number: " + value);
+                }
+            }
+        }
+        return withValues(newValues);
+    }
+
+    /**
+     * Method to write the weights into a configuration.
+     *
+     * @param properties Configuration
+     * @param strategy   Name of the strategy prefixing the keys
+     */
+    public void putProperties(Properties properties, String strategy) {
+        for (int i = 0; i < names.length; i++) {
+            properties.setProperty(strategy + "." + names[i], Double.toString(values[i]));
+        }
+    }
+
+    /**
+     * Method to find a weight by name.
+     *
+     * @param name Name of the weight
+     * @return position of the weight
+     */
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown weight " + name + ", expected one of " + Arrays.toString(names));
+    }
+
+    /**
+     * Method to get the names and values of the weights.
+     *
+     * @return description of the weights
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            description.append(i > 0 ? ", " : "").append(names[i]).append("=").append(values[i]);
+        }
+        return description.toString();
+    }
+}
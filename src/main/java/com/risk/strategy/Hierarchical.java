@@ -0,0 +1,564 @@
+package com.risk.strategy;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.Continent;
+import com.risk.model.Country;
+import com.risk.model.Dice;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+import com.risk.model.ThreatMap;
+import com.risk.controller.GamePlayController;
+import com.risk.services.ContinentGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Hierarchical class contains methods for the Player Behavior
+ * Strategies of computer player.
+ * <p>
+ * A computer player strategy for very large maps, which plans in two
+ * levels so that its turns do not grow with the number of countries. It
+ * first chooses a few continents on the {@link ContinentGraph} of the map,
+ * among the ones it has countries in and their neighbours, from their
+ * control values and the countries it owns in them, which the players keep
+ * counted. It then solves each chosen continent on its own, in parallel,
+ * over a game state holding only the continent and the countries around
+ * it: the chain of conquests worth most inside the continent, the country
+ * most under threat if it already owns the whole continent, and the
+ * fortification planned over the local countries. The continent whose plan
+ * is worth most gets the reinforcement and plays its attacks and its
+ * fortification first.
+ * <p>
+ * The simulated turns are played like the aggressive player.
+ */
+public class Hierarchical extends PlayerBehaviour {
+
+    /**
+     * Default number of continents solved every turn
+     */
+    public static final int CONTINENT_COUNT = 3;
+
+    /**
+     * Policy deciding which attacks are worth playing
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.forExpectedValue(Aggressive.CONQUEST_VALUE);
+
+    /**
+     * Number of continents solved every turn
+     */
+    private int continentCount = CONTINENT_COUNT;
+
+    /**
+     * Pool solving the continents, null for the common pool
+     */
+    private transient ForkJoinPool pool;
+
+    /**
+     * Continent graph of the map, built on first use
+     */
+    private transient ContinentGraph graph;
+
+    /**
+     * Strategy standing for this player in the simulated turns
+     */
+    private final Aggressive simulationStrategy = new Aggressive();
+
+    /**
+     * Attacking country chosen when checking if the player can attack
+     */
+    private transient Country pendingAttacking;
+
+    /**
+     * Defending country chosen when checking if the player can attack
+     */
+    private transient Country pendingDefending;
+
+    /**
+     * Object of GamePlayController, control various activities during the game play.
+     */
+    private GamePlayController gamePlayController;
+
+    /**
+     * Hierarchical Player Constructor
+     */
+    public Hierarchical() {
+    }
+
+    /**
+     * Constructor method for Hierarchical class.
+     *
+     * @param gamePlayController Attaching with observer.
+     */
+    public Hierarchical(GamePlayController gamePlayController) {
+        this.gamePlayController = gamePlayController;
+        this.addObserver(gamePlayController);
+    }
+
+    /**
+     * Setter for the number of continents solved every turn.
+     *
+     * @param continentCount Number of continents, at least 1
+     */
+    public void setContinentCount(int continentCount) {
+        this.continentCount = Math.max(1, continentCount);
+    }
+
+    /**
+     * Setter for the pool solving the continents.
+     *
+     * @param pool Pool, null for the common pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Method to get the continent graph of the map a country is on, built
+     * again if the country is not in the last one.
+     *
+     * @param country Country of the map
+     * @return continent graph
+     */
+    public ContinentGraph getGraph(Country country) {
+        if (graph == null || !graph.contains(country)) {
+            graph = ContinentGraph.of(country);
+        }
+        return graph;
+    }
+
+    /**
+     * Method to plan the turn of a player: the chosen continents are
+     * solved in parallel and their plans ranked.
+     *
+     * @param player Player whose turn is planned
+     * @return plans of the chosen continents, the one worth most first
+     */
+    public List<ContinentPlan> plan(Player player) {
+        return plan(player, null);
+    }
+
+    /**
+     * Method to plan the turn of a player under the time budget. Without
+     * any plan in time, the player has no plan and falls back to its
+     * default moves.
+     *
+     * @param player Player whose turn is planned
+     * @return plans of the chosen continents, the one worth most first
+     */
+    private List<ContinentPlan> decidePlans(Player player) {
+        return decide(decision -> plan(player, decision), Collections::emptyList);
+    }
+
+    /**
+     * Method to plan the turn of a player, offering the plans ranked so far
+     * to the decision as the continents are solved.
+     *
+     * @param player   Player whose turn is planned
+     * @param decision Decision to which the plans are offered, null for none
+     * @return plans of the chosen continents, the one worth most first, null if the decision was given up
+     */
+    private List<ContinentPlan> plan(Player player, AnytimeDecision<List<ContinentPlan>> decision) {
+        Country anyCountry = null;
+        for (Country country : player.getPlayerCountries()) {
+            if (country.getPartOfContinent() != null) {
+                anyCountry = country;
+                break;
+            }
+        }
+        if (anyCountry == null) {
+            return Collections.emptyList();
+        }
+        ContinentGraph continentGraph = getGraph(anyCountry);
+        // Built before the solves, which only read the countries.
+        ThreatMap.of(anyCountry);
+        ForkJoinPool solvers = pool != null ? pool : ForkJoinPool.commonPool();
+        List<Future<ContinentPlan>> results = new ArrayList<>();
+        for (Continent continent : selectContinents(continentGraph, player)) {
+            results.add(solvers.submit(() -> solve(continentGraph, continent, player)));
+        }
+        List<ContinentPlan> plans = new ArrayList<>();
+        try {
+            for (Future<ContinentPlan> result : results) {
+                if (decision != null && decision.isExpired()) {
+                    cancel(results);
+                    return null;
+                }
+                if (result.get() != null) {
+                    plans.add(result.get());
+                    plans.sort(Comparator.comparingDouble(ContinentPlan::getValue).reversed());
+                    if (decision != null) {
+                        decision.offer(new ArrayList<>(plans));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(results);
+            return decision != null ? null : plans;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Continent plan failed", e.getCause());
+        }
+        return plans;
+    }
+
+    /**
+     * Method to stop the solves of a plan given up.
+     *
+     * @param results Results of the solves
+     */
+    private static void cancel(List<Future<ContinentPlan>> results) {
+        for (Future<ContinentPlan> result : results) {
+            result.cancel(true);
+        }
+    }
+
+    /**
+     * Method to choose the continents to solve, among the ones the player
+     * has countries in and their neighbours, from the counts of countries
+     * only: a continent is worth its control value, the more so the fewer
+     * countries it misses. An owned continent is only worth solving when an
+     * enemy can attack it.
+     *
+     * @param continentGraph Continent graph of the map
+     * @param player         Player whose turn is planned
+     * @return chosen continents, the one worth most first
+     */
+    public List<Continent> selectContinents(ContinentGraph continentGraph, Player player) {
+        // The continents are scored by number, as hashing them by name would cost more than the scores.
+        int[] owned = new int[continentGraph.getContinentCount()];
+        boolean[] candidate = new boolean[owned.length];
+        int[] candidates = new int[owned.length];
+        int candidateCount = 0;
+        for (Map.Entry<Continent, Integer> entry : player.getContinentCountryCounts().entrySet()) {
+            int number = continentGraph.indexOf(entry.getKey());
+            if (number < 0) {
+                continue;
+            }
+            owned[number] = entry.getValue();
+            if (!candidate[number]) {
+                candidate[number] = true;
+                candidates[candidateCount++] = number;
+            }
+            for (int adjacent : continentGraph.getAdjacentContinents(number)) {
+                if (!candidate[adjacent]) {
+                    candidate[adjacent] = true;
+                    candidates[candidateCount++] = adjacent;
+                }
+            }
+        }
+        // The best few are kept sorted as the candidates go by, instead of sorting all of them.
+        int[] best = new int[continentCount];
+        double[] bestScores = new double[continentCount];
+        int bestCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int number = candidates[i];
+            Continent continent = continentGraph.getContinent(number);
+            int size = continentGraph.getCountryCount(number);
+            double score;
+            if (owned[number] < size) {
+                score = (double) continent.getControlValue() * (owned[number] + 1) / (size - owned[number] + 1);
+            } else if (isThreatened(continentGraph, continent)) {
+                score = continent.getControlValue();
+            } else {
+                continue;
+            }
+            if (bestCount == continentCount && score <= bestScores[bestCount - 1]) {
+                continue;
+            }
+            int position = bestCount < continentCount ? bestCount++ : bestCount - 1;
+            for (; position > 0 && bestScores[position - 1] < score; position--) {
+                best[position] = best[position - 1];
+                bestScores[position] = bestScores[position - 1];
+            }
+            best[position] = number;
+            bestScores[position] = score;
+        }
+        List<Continent> selected = new ArrayList<>();
+        for (int i = 0; i < bestCount; i++) {
+            selected.add(continentGraph.getContinent(best[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * Method to check if an enemy can attack a continent owned by one player.
+     *
+     * @param continentGraph Continent graph of the map
+     * @param continent      Continent owned by one player
+     * @return true if a border country of the continent has an enemy neighbour; otherwise false
+     */
+    private static boolean isThreatened(ContinentGraph continentGraph, Continent continent) {
+        for (Country country : continentGraph.getBorderCountries(continent)) {
+            if (getEnemyArmies(country) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to solve the moves of a player inside a continent, over a game
+     * state of the continent and the countries around it. The countries are
+     * only read, so that continents can be solved in parallel.
+     *
+     * @param continentGraph Continent graph of the map
+     * @param continent      Continent to solve
+     * @param player         Player whose turn is planned
+     * @return plan of the continent, null if the player has nothing to do there
+     */
+    public ContinentPlan solve(ContinentGraph continentGraph, Continent continent, Player player) {
+        List<Country> continentCountries = continentGraph.getCountries(continent);
+        LinkedHashSet<Country> local = new LinkedHashSet<>(continentCountries);
+        for (Country country : continentCountries) {
+            local.addAll(country.getAdjacentCountries());
+        }
+        GameState state = new GameState(new ArrayList<>(local));
+        int playerNumber = state.indexOf(player);
+        if (playerNumber < 0) {
+            return null;
+        }
+        int localContinent = state.getContinent(state.indexOf(continentCountries.get(0)));
+        ConquestPlanner planner = ConquestPlanner.getShared();
+        int[] path = planner.plan(state, playerNumber, ATTACK_POLICY, localContinent);
+        double value = path == null ? 0 : planner.getExpectedValue();
+
+        // The threats come from the whole map, as the countries around the continent miss some neighbours.
+        double[] demand = new double[state.getCountryCount()];
+        int mostThreatened = -1;
+        int owned = 0;
+        for (int country : state.getCountries(playerNumber)) {
+            demand[country] = getEnemyArmies(state.getCountry(country));
+            if (state.getContinent(country) != localContinent) {
+                continue;
+            }
+            owned++;
+            if (demand[country] > 0 && (mostThreatened < 0 || demand[country] - state.getArmies(country)
+                    > demand[mostThreatened] - state.getArmies(mostThreatened))) {
+                mostThreatened = country;
+            }
+        }
+        if (owned == continentCountries.size() && mostThreatened >= 0) {
+            double threat = demand[mostThreatened];
+            value += continent.getControlValue() * threat / (threat + state.getArmies(mostThreatened));
+        }
+        int reinforcement = path != null ? path[0] : mostThreatened;
+        if (reinforcement < 0) {
+            return null;
+        }
+        FortificationPlanner fortificationPlanner = FortificationPlanner.getShared();
+        fortificationPlanner.plan(state, playerNumber, demand);
+        int[] move = fortificationPlanner.getMove();
+        return new ContinentPlan(continent, value, state.getCountry(reinforcement),
+                path == null ? null : state.getCountry(path[0]), path == null ? null : state.getCountry(path[1]),
+                move == null ? null : state.getCountry(move[0]), move == null ? null : state.getCountry(move[1]),
+                move == null ? 0 : move[2]);
+    }
+
+    /**
+     * Method for Hierarchical class for reinforcement phase.
+     * Start and end of the reinforcement phase. All the armies go to the
+     * country chosen by the plan worth most.
+     *
+     * @param countryList   List of countries owned by the player.
+     * @param country       Country to which reinforcement armies are to be assigned.
+     * @param currentPlayer Current player.
+     */
+    @Override
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Reinforcement phase for hierarchical player " + currentPlayer.getName() + ".\n");
+        if (!countryList.isEmpty() && currentPlayer.getArmyCount() > 0) {
+            List<ContinentPlan> plans = decidePlans(currentPlayer);
+            country = plans.isEmpty() ? findStrongestCountry(countryList, strongest -> true)
+                    : plans.get(0).getReinforcement();
+            country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
+            println(currentPlayer.getName() + " hierarchical player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies() + (plans.isEmpty() ? "" : ", planning for " + plans));
+            setChanged();
+            notifyObservers(currentPlayer.getName() + " hierarchical player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies() + (plans.isEmpty() ? "" : ", planning for " + plans) + "\n");
+            currentPlayer.setArmyCount(0);
+        }
+        println("Ended Reinforcement phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Reinforcement phase for hierarchical player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for Hierarchical class for if player can attack. The attack of
+     * the plan worth most is kept for the following attack phase.
+     *
+     * @param countries List of countries owned by the player.
+     * @return true
+     * If a plan has an attack; other wise false.
+     */
+    @Override
+    protected boolean canStrategyAttack(List<Country> countries) {
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (!countries.isEmpty() && countries.get(0).getPlayer() != null) {
+            for (ContinentPlan plan : decidePlans(countries.get(0).getPlayer())) {
+                if (plan.getAttacking() != null) {
+                    pendingAttacking = plan.getAttacking();
+                    pendingDefending = plan.getDefending();
+                    return true;
+                }
+            }
+        }
+        println("Hierarchical player cannot continue with attack phase, move to fortification phase.");
+        println("Attack phase ended for hierarchical player.");
+        setChanged();
+        notifyObservers("Hierarchical player cannot continue with attack phase, move to fortification phase.\n");
+        setChanged();
+        notifyObservers("Attack phase ended for hierarchical player.\n");
+        return false;
+    }
+
+    /**
+     * Method for Hierarchical class for attack phase, which plays the
+     * attack kept by the last check.
+     *
+     * @param attackingCountryList List of countries attacking.
+     * @param defendingCountryList List of countries defending.
+     * @param currentPlayer        Current player.
+     */
+    @Override
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning attack phase for hierarchical player " + currentPlayer.getName() + ".\n");
+        if (pendingAttacking == null || pendingAttacking.getPlayer() != currentPlayer) {
+            canStrategyAttack(attackingCountryList);
+        }
+        Country attacking = pendingAttacking;
+        Country defending = pendingDefending;
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (attacking != null && attacking.getNoOfArmies() > 1 && defending.getPlayer() != currentPlayer) {
+            println("Attacking from " + attacking.getName() + " to " + defending.getName());
+            setChanged();
+            notifyObservers("Attacking from " + attacking.getName() + " to " + defending.getName() + ".\n");
+            attack(attacking, defending, currentPlayer);
+        }
+        println("Ended attack phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended attack phase for hierarchical player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for Hierarchical class for attack.
+     *
+     * @param attacking Country attacking.
+     * @param defending Country defending.
+     * @param player    Current player.
+     */
+    private void attack(Country attacking, Country defending, Player player) {
+        Dice dice = new Dice(attacking, defending);
+        if (player != null) {
+            dice.addObserver(player);
+        }
+        rollDice(dice, gamePlayController);
+    }
+
+    /**
+     * Method for Hierarchical class for fortification phase.
+     * Start and end of the fortification phase. The fortification of the
+     * first plan having one is played.
+     *
+     * @param selectedCountryList List of countries selected by the player.
+     * @param adjCountryList      List of adjacent countries.
+     * @param currentPlayer       Current player.
+     * @return true
+     * If the fortification successful; other wise false.
+     */
+    @Override
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
+                                      Player currentPlayer) {
+        println("Beginning Fortification phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Fortification phase for hierarchical player " + currentPlayer.getName() + ".\n");
+        boolean fortified = false;
+        for (ContinentPlan plan : decidePlans(currentPlayer)) {
+            if (plan.getFortifyingFrom() != null) {
+                Country countryFromFortify = plan.getFortifyingFrom();
+                Country countryToFortify = plan.getFortifyingTo();
+                int armies = plan.getFortificationArmies();
+                countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + armies);
+                countryFromFortify.setNoOfArmies(countryFromFortify.getNoOfArmies() - armies);
+                println("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName());
+                setChanged();
+                notifyObservers("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName() + ".\n");
+                fortified = true;
+                break;
+            }
+        }
+        println("Ended Fortification phase for hierarchical player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Fortification phase for hierarchical player " + currentPlayer.getName() + ".\n");
+        return fortified;
+    }
+
+    /**
+     * Method to get the policy deciding which attacks the hierarchical player plays.
+     *
+     * @return AttackPolicy
+     * Attack policy of the hierarchical player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        return ATTACK_POLICY;
+    }
+
+    /**
+     * Method for the simulated turns of the hierarchical player, which
+     * plays like the aggressive player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        simulationStrategy.simulateReinforcement(state, player, armies, random);
+    }
+
+    /**
+     * Method for the simulated attack phase of the hierarchical player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the dice.
+     */
+    @Override
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        simulationStrategy.simulateAttacks(state, player, random);
+    }
+
+    /**
+     * Method for the simulated fortification phase of the hierarchical player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        simulationStrategy.simulateFortification(state, player, random);
+    }
+}
@@ -2,13 +2,16 @@ package com.risk.strategy;
 
 import com.risk.model.Country;
 import com.risk.model.Dice;
+import com.risk.model.GameState;
 import com.risk.model.Player;
 import com.risk.view.DiceView;
 import com.risk.services.Util.WindowUtil;
 import com.risk.controller.GamePlayController;
-import javafx.collections.ObservableList;
 import javafx.scene.control.ListView;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Human class contains methods for the Player Behavior
  * Strategies of computer player.
@@ -49,11 +52,11 @@ public class Human extends PlayerBehaviour {
      * @param currentPlayer Current player.
      */
     @Override
-    public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
-        System.out.println("Beginning Reinforcement phase for human player " + currentPlayer.getName() + ".\n");
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for human player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning Reinforcement phase for human player " + currentPlayer.getName() + ".\n");
-        System.out.println("List of countries owned: " + countryList.toString() + "\n");
+        println("List of countries owned: " + countryList.toString() + "\n");
         setChanged();
         notifyObservers("List of countries owned: " + countryList.toString() + "\n");
         if (currentPlayer.getArmyCount() > 0) {
@@ -69,7 +72,7 @@ public class Human extends PlayerBehaviour {
             }
             country.setNoOfArmies(country.getNoOfArmies() + reinforcementArmies);
             currentPlayer.setArmyCount(currentPlayer.getArmyCount() - reinforcementArmies);
-            System.out.println(country.getName() + " was assigned " + reinforcementArmies + " armies.\n");
+            println(country.getName() + " was assigned " + reinforcementArmies + " armies.\n");
             setChanged();
             notifyObservers(country.getName() + " was assigned " + reinforcementArmies + " armies.\n");
 
@@ -77,17 +80,32 @@ public class Human extends PlayerBehaviour {
     }
 
     /**
-     * Method for Human class for attack phase.
+     * Method for Human class for attack phase from the game screen,
+     * with the countries selected in the list views.
      *
-     * @param attackingCountryList List of countries attacking.
-     * @param defendingCountryList List of countries defending.
+     * @param attackingCountryList List view of countries attacking.
+     * @param defendingCountryList List view of countries defending.
      * @param currentPlayer        Current player.
      */
     @Override
     public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
                             Player currentPlayer) {
-        Country attackingCountry = attackingCountryList.getSelectionModel().getSelectedItem();
-        Country defendingCountry = defendingCountryList.getSelectionModel().getSelectedItem();
+        playAttack(getSelection(attackingCountryList), getSelection(defendingCountryList), currentPlayer);
+    }
+
+    /**
+     * Method for Human class for attack phase, the first country of each
+     * list being the one chosen by the player.
+     *
+     * @param attackingCountryList List holding the attacking country.
+     * @param defendingCountryList List holding the defending country.
+     * @param currentPlayer        Current player.
+     */
+    @Override
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                     Player currentPlayer) {
+        Country attackingCountry = getFirst(attackingCountryList);
+        Country defendingCountry = getFirst(defendingCountryList);
         if (attackingCountry != null && defendingCountry != null) {
 
             boolean playerCanAttack = isAttackMoveValid(attackingCountry, defendingCountry);
@@ -106,11 +124,11 @@ public class Human extends PlayerBehaviour {
     }
 
     /**
-     * Method for Human class for fortification phase.
-     * Start and end of the fortification phase.
+     * Method for Human class for fortification phase from the game screen,
+     * with the countries selected in the list views.
      *
-     * @param selectedCountryList List of countries selected by the player.
-     * @param adjCountryList      List of adjacent countries.
+     * @param selectedCountryList List view of countries selected by the player.
+     * @param adjCountryList      List view of adjacent countries.
      * @param playerPlaying       Current player.
      * @return true
      * If the fortification successful; other wise false.
@@ -118,8 +136,25 @@ public class Human extends PlayerBehaviour {
     @Override
     public boolean fortificationPhase(ListView<Country> selectedCountryList, ListView<Country> adjCountryList,
                                       Player playerPlaying) {
-        Country selectedCountry = selectedCountryList.getSelectionModel().getSelectedItem();
-        Country adjCountry = adjCountryList.getSelectionModel().getSelectedItem();
+        return playFortification(getSelection(selectedCountryList), getSelection(adjCountryList), playerPlaying);
+    }
+
+    /**
+     * Method for Human class for fortification phase, the first country of
+     * each list being the one chosen by the player.
+     * Start and end of the fortification phase.
+     *
+     * @param selectedCountryList List holding the country the armies leave.
+     * @param adjCountryList      List holding the country the armies reach.
+     * @param playerPlaying       Current player.
+     * @return true
+     * If the fortification successful; other wise false.
+     */
+    @Override
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
+                                     Player playerPlaying) {
+        Country selectedCountry = getFirst(selectedCountryList);
+        Country adjCountry = getFirst(adjCountryList);
         if (selectedCountry == null) {
             WindowUtil.popUpWindow("Please choose Selected Country as source.", "Message", "");
             return false;
@@ -142,8 +177,8 @@ public class Human extends PlayerBehaviour {
             } else {
                 selectedCountry.setNoOfArmies(selectedCountry.getNoOfArmies() - armies);
                 adjCountry.setNoOfArmies(adjCountry.getNoOfArmies() + armies);
-                System.out.println(armies + " armies placed on " + adjCountry.getName() + " country.\n");
-                System.out.println("Fortification phase ended.\n");
+                println(armies + " armies placed on " + adjCountry.getName() + " country.\n");
+                println("Fortification phase ended.\n");
                 setChanged();
                 notifyObservers(armies + " armies placed on " + adjCountry.getName() + " country.\n");
                 setChanged();
@@ -158,6 +193,30 @@ public class Human extends PlayerBehaviour {
         }
     }
 
+    /**
+     * Method to suggest a fortification move to the player: the first step
+     * of the plan sharing out the movable armies over the border countries
+     * by the enemy armies they face.
+     *
+     * @param playerPlaying Current player.
+     * @return suggestion to show, null if the plan moves nothing
+     */
+    public String suggestFortification(Player playerPlaying) {
+        if (playerPlaying.getPlayerCountries() == null || playerPlaying.getPlayerCountries().isEmpty()) {
+            return null;
+        }
+        GameState state = GameState.of(playerPlaying);
+        int player = state.indexOf(playerPlaying);
+        FortificationPlanner planner = FortificationPlanner.getShared();
+        planner.plan(state, player, FortificationPlanner.getThreatDemand(state, player));
+        int[] move = planner.getMove();
+        if (move == null) {
+            return null;
+        }
+        return "Suggested fortification: move " + move[2] + " armies from " + state.getCountry(move[0]).getName()
+                + " to " + state.getCountry(move[1]).getName() + ".\n";
+    }
+
     /**
      * Method to check if the attack move is valid or not.
      *
@@ -180,24 +239,56 @@ public class Human extends PlayerBehaviour {
         return isValidAttackMove;
     }
 
+    /**
+     * Method to get the country selected in a list view as a list.
+     *
+     * @param listView List view of countries.
+     * @return list holding the selected country, empty if there is none
+     */
+    private static List<Country> getSelection(ListView<Country> listView) {
+        Country selected = listView == null ? null : listView.getSelectionModel().getSelectedItem();
+        return selected == null ? Collections.emptyList() : Collections.singletonList(selected);
+    }
+
+    /**
+     * Method to get the first country of a list.
+     *
+     * @param countries List of countries, may be null.
+     * @return first country, null if there is none
+     */
+    private static Country getFirst(List<Country> countries) {
+        return countries == null || countries.isEmpty() ? null : countries.get(0);
+    }
+
+    /**
+     * Method to check if the human player delegates its endgames, which
+     * it never does: the human player decides the attacks.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isEndgameSolving() {
+        return false;
+    }
+
     /**
      * Method to check if the player can attack or not.
      *
-     * @param countries List view of all the countries of the player.
+     * @param countries List of all the countries of the player.
      * @return true
      * If the player can attack; other wise false.
      */
     @Override
-    public boolean playerCanAttack(ListView<Country> countries) {
+    protected boolean canStrategyAttack(List<Country> countries) {
         boolean canAttack = false;
-        for (com.risk.model.Country Country : countries.getItems()) {
+        for (com.risk.model.Country Country : countries) {
             if (Country.getNoOfArmies() > 1) {
                 canAttack = true;
             }
         }
         if (!canAttack) {
-            System.out.println("Player cannot continue with attack phase, move to fortification phase.\n");
-            System.out.println("Attack phase ended\n");
+            println("Player cannot continue with attack phase, move to fortification phase.\n");
+            println("Attack phase ended\n");
             setChanged();
             notifyObservers("Player cannot continue with attack phase, move to fortification phase.\n");
             setChanged();
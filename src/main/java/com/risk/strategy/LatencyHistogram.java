@@ -0,0 +1,186 @@
+package com.risk.strategy;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class for the histogram of the decision latencies of a strategy, one
+ * per phase played by the engine. The latencies are counted in buckets
+ * doubling in width from one microsecond, so a percentile is known within
+ * a factor of two whatever its size, and recording is lock free so that
+ * parallel games can share a histogram.
+ * <p>
+ * Every game keeps one histogram per strategy name in its
+ * {@link com.risk.model.GameContext}; a tournament merges the histograms of
+ * its games when it reports them.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of buckets; the last one takes every latency from about 18 minutes up
+     */
+    private static final int BUCKETS = 40;
+
+    /**
+     * Name of the strategy
+     */
+    private final String strategy;
+
+    /**
+     * Number of decisions in every bucket; bucket i holds latencies below 2^i microseconds
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Number of decisions which fell back to the default move
+     */
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * Sum of the latencies, in nanoseconds
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Largest latency, in nanoseconds
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructor for a histogram.
+     *
+     * @param strategy Name of the strategy
+     */
+    public LatencyHistogram(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Method to add the histograms of a game to the histograms of a
+     * tournament, by strategy name.
+     *
+     * @param totals     Histograms of the tournament, to which missing strategies are added
+     * @param histograms Histograms of the game
+     */
+    public static void merge(Map<String, LatencyHistogram> totals, Map<String, LatencyHistogram> histograms) {
+        for (LatencyHistogram histogram : histograms.values()) {
+            totals.computeIfAbsent(histogram.getStrategy(), LatencyHistogram::new).add(histogram);
+        }
+    }
+
+    /**
+     * Method to add the decisions of another histogram to this one.
+     *
+     * @param histogram Histogram of the same strategy
+     */
+    public void add(LatencyHistogram histogram) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.addAndGet(i, histogram.counts.get(i));
+        }
+        fallbacks.addAndGet(histogram.fallbacks.get());
+        total.addAndGet(histogram.total.get());
+        max.accumulateAndGet(histogram.max.get(), Math::max);
+    }
+
+    /**
+     * Method to record a decision.
+     *
+     * @param nanos    Latency in nanoseconds
+     * @param fallback true if the decision fell back to the default move
+     */
+    public void record(long nanos, boolean fallback) {
+        long micros = Math.max(0, nanos) / 1000;
+        counts.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        total.addAndGet(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+        if (fallback) {
+            fallbacks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method to get the name of the strategy.
+     *
+     * @return strategy name
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Method to get the number of decisions.
+     *
+     * @return number of decisions
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Method to get the number of decisions which fell back to the default move.
+     *
+     * @return number of fallbacks
+     */
+    public long getFallbackCount() {
+        return fallbacks.get();
+    }
+
+    /**
+     * Method to get the mean latency.
+     *
+     * @return mean in nanoseconds, 0 without decisions
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) total.get() / count;
+    }
+
+    /**
+     * Method to get the largest latency.
+     *
+     * @return largest latency in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Method to get a bound of a percentile of the latencies: the upper end
+     * of the bucket holding it.
+     *
+     * @param percentile Percentile, from 0 to 100
+     * @return latency in nanoseconds which at least that share of the decisions stayed below, 0 without decisions
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), (1L << i) * 1000);
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Method to describe the latencies.
+     *
+     * @return summary of the histogram, in milliseconds
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d decisions, mean %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d fallbacks",
+                strategy, getCount(), getMean() / 1e6, getPercentile(50) / 1e6, getPercentile(99) / 1e6,
+                getMax() / 1e6, getFallbackCount());
+    }
+}
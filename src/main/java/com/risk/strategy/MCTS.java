@@ -0,0 +1,697 @@
+package com.risk.strategy;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.Country;
+import com.risk.model.Dice;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+import com.risk.controller.GamePlayController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MCTS class contains methods for the Player Behavior
+ * Strategies of computer player.
+ * <p>
+ * A computer player strategy that chooses its reinforcement, every attack
+ * and its fortification by Monte Carlo tree search over a {@link GameState}.
+ * The tree holds the moves of the current phase and is open loop: every
+ * iteration replays the moves on a fresh copy of the state with new dice,
+ * so the same move can lead to different states. After the moves of the
+ * tree, the turn is finished and a few more rounds are played with the
+ * simulated strategies of the players, the aggressive one standing for
+ * this player, and the resulting state is evaluated.
+ * <p>
+ * Independent trees are grown in parallel on a fork-join pool, each with
+ * its own random stream, within an iteration and a time budget per move,
+ * and their root statistics are added up to choose the move.
+ */
+public class MCTS extends PlayerBehaviour {
+
+    /**
+     * Value of a conquest for the tree search player, in armies
+     */
+    public static final double CONQUEST_VALUE = Aggressive.CONQUEST_VALUE;
+
+    /**
+     * Policy deciding when the attacks of the tree search player stop
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.forExpectedValue(CONQUEST_VALUE);
+
+    /**
+     * Exploration constant of the UCB1 selection
+     */
+    public static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Discount of the value of a state per round played in the rollout,
+     * so that winning sooner is worth more than winning later
+     */
+    public static final double ROUND_DISCOUNT = 0.9;
+
+    /**
+     * Move ending the attack phase or skipping the fortification
+     */
+    public static final int STOP = -1;
+
+    /**
+     * Phase of a search
+     */
+    private static final int REINFORCEMENT = 0, ATTACK = 1, FORTIFICATION = 2;
+
+    /**
+     * Number of iterations per move, shared by all the trees
+     */
+    private int iterationBudget = 2000;
+
+    /**
+     * Number of rounds played after the current turn in a rollout
+     */
+    private int rolloutRounds = 2;
+
+    /**
+     * Number of trees grown in parallel
+     */
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+    /**
+     * Seed of the searches, null for a random seed
+     */
+    private Long seed;
+
+    /**
+     * Pool in which the trees are grown, null for the common pool
+     */
+    private transient ForkJoinPool pool;
+
+    /**
+     * Strategy standing for this player in the rollouts
+     */
+    private final Aggressive rolloutStrategy = new Aggressive();
+
+    /**
+     * Attacking country chosen by the last search of the attack phase
+     */
+    private transient Country pendingAttacking;
+
+    /**
+     * Defending country chosen by the last search of the attack phase
+     */
+    private transient Country pendingDefending;
+
+    /**
+     * Object of GamePlayController, control various activities during the game play.
+     */
+    private GamePlayController gamePlayController;
+
+    /**
+     * MCTS Player Constructor
+     */
+    public MCTS() {
+        setTimeBudget(250);
+    }
+
+    /**
+     * Constructor method for MCTS class.
+     *
+     * @param gamePlayController Attaching with observer.
+     */
+    public MCTS(GamePlayController gamePlayController) {
+        setTimeBudget(250);
+        this.gamePlayController = gamePlayController;
+        this.addObserver(gamePlayController);
+    }
+
+    /**
+     * Setter for the number of iterations per move.
+     *
+     * @param iterationBudget Number of iterations, shared by all the trees
+     */
+    public void setIterationBudget(int iterationBudget) {
+        this.iterationBudget = Math.max(1, iterationBudget);
+    }
+
+    /**
+     * Setter for the number of rounds played after the current turn in a rollout.
+     *
+     * @param rolloutRounds Number of rounds
+     */
+    public void setRolloutRounds(int rolloutRounds) {
+        this.rolloutRounds = Math.max(0, rolloutRounds);
+    }
+
+    /**
+     * Setter for the number of trees grown in parallel.
+     *
+     * @param parallelism Number of trees
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Setter for the seed of the searches. With a seed and no time limit
+     * the searches are reproducible.
+     *
+     * @param seed Seed, null for a random seed
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Setter for the pool in which the trees are grown.
+     *
+     * @param pool Pool, null for the common pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Method for MCTS class for reinforcement phase.
+     * Start and end of the reinforcement phase.
+     *
+     * @param countryList   List of countries owned by the player.
+     * @param country       Country to which reinforcement armies are to be assigned.
+     * @param currentPlayer Current player.
+     */
+    @Override
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Reinforcement phase for MCTS player " + currentPlayer.getName() + ".\n");
+        if (!currentPlayer.getPlayerCountries().isEmpty() && currentPlayer.getArmyCount() > 0) {
+            GameState state = GameState.of(currentPlayer);
+            int choice = chooseReinforcement(state, state.indexOf(currentPlayer), currentPlayer.getArmyCount());
+            country = state.getCountry(choice);
+            country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
+            println(currentPlayer.getName() + " MCTS player has been assigned all the " + currentPlayer.getArmyCount()
+                    + " armies to the country " + country.getName() + " , army count " + country.getNoOfArmies());
+            setChanged();
+            notifyObservers(currentPlayer.getName() + " MCTS player has been assigned all the " + currentPlayer.getArmyCount()
+                    + " armies to the country " + country.getName() + " , army count " + country.getNoOfArmies() + "\n");
+            currentPlayer.setArmyCount(0);
+        }
+        println("Ended Reinforcement phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Reinforcement phase for MCTS player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for MCTS class for if player can attack. The attack chosen
+     * by the search is kept for the following attack phase.
+     *
+     * @param countries List of countries owned by the player.
+     * @return true
+     * If the search chose to attack; other wise false.
+     */
+    @Override
+    protected boolean canStrategyAttack(List<Country> countries) {
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (!countries.isEmpty() && countries.get(0).getPlayer() != null) {
+            Player player = countries.get(0).getPlayer();
+            GameState state = GameState.of(player);
+            int[] attack = chooseAttack(state, state.indexOf(player));
+            if (attack != null) {
+                pendingAttacking = state.getCountry(attack[0]);
+                pendingDefending = state.getCountry(attack[1]);
+                return true;
+            }
+        }
+        println("MCTS player cannot continue with attack phase, move to fortification phase.");
+        println("Attack phase ended for MCTS player.");
+        setChanged();
+        notifyObservers("MCTS player cannot continue with attack phase, move to fortification phase.\n");
+        setChanged();
+        notifyObservers("Attack phase ended for MCTS player.\n");
+        return false;
+    }
+
+    /**
+     * Method for MCTS class for attack phase.
+     * Start and end of the attack phase.
+     *
+     * @param attackingCountryList List of countries attacking.
+     * @param defendingCountryList List of countries defending.
+     * @param currentPlayer        Current player.
+     */
+    @Override
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning attack phase for MCTS player " + currentPlayer.getName() + ".\n");
+        if (pendingAttacking == null || pendingAttacking.getPlayer() != currentPlayer) {
+            GameState state = GameState.of(currentPlayer);
+            int[] attack = chooseAttack(state, state.indexOf(currentPlayer));
+            pendingAttacking = attack == null ? null : state.getCountry(attack[0]);
+            pendingDefending = attack == null ? null : state.getCountry(attack[1]);
+        }
+        Country attacking = pendingAttacking;
+        Country defending = pendingDefending;
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (attacking != null && attacking.getNoOfArmies() > 1 && defending.getPlayer() != currentPlayer) {
+            println("Attacking from " + attacking.getName() + " to " + defending.getName());
+            setChanged();
+            notifyObservers("Attacking from " + attacking.getName() + " to " + defending.getName() + ".\n");
+            attack(attacking, defending, currentPlayer);
+        }
+        println("Ended attack phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended attack phase for MCTS player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for MCTS class for fortification phase.
+     * Start and end of the fortification phase.
+     *
+     * @param selectedCountryList List of countries selected by the player.
+     * @param adjCountryList      List of adjacent countries.
+     * @param currentPlayer       Current player.
+     * @return true
+     * If the fortification successful; other wise false.
+     */
+    @Override
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
+                                      Player currentPlayer) {
+        println("Beginning Fortification phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Fortification phase for MCTS player " + currentPlayer.getName() + ".\n");
+        boolean fortified = false;
+        if (!currentPlayer.getPlayerCountries().isEmpty()) {
+            GameState state = GameState.of(currentPlayer);
+            int[] move = chooseFortification(state, state.indexOf(currentPlayer));
+            if (move != null) {
+                Country countryFromFortify = state.getCountry(move[0]);
+                Country countryToFortify = state.getCountry(move[1]);
+                int armies = countryFromFortify.getNoOfArmies() - 1;
+                countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + armies);
+                countryFromFortify.setNoOfArmies(1);
+                println("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName());
+                setChanged();
+                notifyObservers("Country " + countryToFortify.getName() + " has been assigned " + armies
+                        + " armies from country " + countryFromFortify.getName() + ".\n");
+                fortified = true;
+            }
+        }
+        println("Ended Fortification phase for MCTS player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Fortification phase for MCTS player " + currentPlayer.getName() + ".\n");
+        return fortified;
+    }
+
+    /**
+     * Method to get the policy deciding when the attacks of the tree search player stop,
+     * the one used by its simulated attacks.
+     *
+     * @return AttackPolicy
+     * Attack policy of the tree search player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        return ATTACK_POLICY;
+    }
+
+    /**
+     * Method for the simulated turns of the tree search player, which
+     * plays like the aggressive player to keep the rollouts fast.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        rolloutStrategy.simulateReinforcement(state, player, armies, random);
+    }
+
+    /**
+     * Method for the simulated attack phase of the tree search player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the dice.
+     */
+    @Override
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        rolloutStrategy.simulateAttacks(state, player, random);
+    }
+
+    /**
+     * Method for the simulated fortification phase of the tree search player.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        rolloutStrategy.simulateFortification(state, player, random);
+    }
+
+    /**
+     * Method to choose the country receiving all the reinforcement armies.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @return number of the chosen country
+     */
+    public int chooseReinforcement(GameState state, int player, int armies) {
+        return decide(decision -> search(state, player, REINFORCEMENT, armies, decision),
+                () -> GameSimulation.findDefaultReinforcement(state, player));
+    }
+
+    /**
+     * Method to choose the next attack.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the attacking and defending countries, null to stop attacking
+     */
+    public int[] chooseAttack(GameState state, int player) {
+        int action = decide(decision -> search(state, player, ATTACK, 0, decision), () -> {
+            int[] attack = GameSimulation.findDefaultAttack(state, player, ATTACK_POLICY);
+            return attack == null ? STOP : attack[0] * state.getCountryCount() + attack[1];
+        });
+        return action == STOP ? null : new int[] { action / state.getCountryCount(), action % state.getCountryCount() };
+    }
+
+    /**
+     * Method to choose the fortification move, which moves all the armies but one.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the countries the armies leave and reach, null for no move
+     */
+    public int[] chooseFortification(GameState state, int player) {
+        int action = decide(decision -> search(state, player, FORTIFICATION, 0, decision), () -> STOP);
+        return action == STOP ? null : new int[] { action / state.getCountryCount(), action % state.getCountryCount() };
+    }
+
+    /**
+     * Method to search the best move of a phase. The trees are grown in
+     * parallel until the deadline of the decision and the move visited most
+     * often over all the trees is chosen.
+     *
+     * @param state    Current game state, not changed.
+     * @param player   Number of the player in the state.
+     * @param phase    Phase of the move
+     * @param armies   Armies to place in the reinforcement phase
+     * @param decision Decision stopping the growth once expired
+     * @return chosen move
+     */
+    private Integer search(GameState state, int player, int phase, int armies, AnytimeDecision<Integer> decision) {
+        int[] actions = getActions(state, player, phase);
+        if (actions.length == 1) {
+            return actions[0];
+        }
+        int trees = Math.min(parallelism, iterationBudget);
+        SplittableRandom seeds = new SplittableRandom(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+        List<Callable<Node>> tasks = new ArrayList<>(trees);
+        for (int tree = 0; tree < trees; tree++) {
+            int iterations = iterationBudget / trees + (tree < iterationBudget % trees ? 1 : 0);
+            SplittableRandom random = seeds.split();
+            tasks.add(() -> grow(state, player, phase, armies, iterations, decision, random));
+        }
+        Map<Integer, double[]> statistics = new HashMap<>();
+        try {
+            for (Future<Node> result : (pool != null ? pool : ForkJoinPool.commonPool()).invokeAll(tasks)) {
+                for (Node child : result.get().children.values()) {
+                    double[] total = statistics.computeIfAbsent(child.action, key -> new double[2]);
+                    total[0] += child.visits;
+                    total[1] += child.reward;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tree search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tree search failed", e.getCause());
+        }
+        int best = actions[0];
+        double[] bestTotal = null;
+        for (Map.Entry<Integer, double[]> entry : statistics.entrySet()) {
+            double[] total = entry.getValue();
+            if (bestTotal == null || total[0] > bestTotal[0]
+                    || (total[0] == bestTotal[0] && total[1] > bestTotal[1])) {
+                best = entry.getKey();
+                bestTotal = total;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to grow one tree.
+     *
+     * @param root       Current game state, not changed.
+     * @param player     Number of the player in the state.
+     * @param phase      Phase of the move
+     * @param armies     Armies to place in the reinforcement phase
+     * @param iterations Number of iterations
+     * @param decision   Decision stopping the growth once expired
+     * @param random     Random source of the tree
+     * @return root of the tree
+     */
+    private Node grow(GameState root, int player, int phase, int armies, int iterations,
+                      AnytimeDecision<Integer> decision, SplittableRandom random) {
+        Node rootNode = new Node(STOP);
+        List<Node> path = new ArrayList<>();
+        for (int iteration = 0; iteration < iterations && (iteration == 0 || !decision.isExpired()); iteration++) {
+            GameState state = root.copy();
+            path.clear();
+            path.add(rootNode);
+            Node node = rootNode;
+            boolean phaseOver = false;
+            boolean expanded = false;
+            while (!phaseOver && !expanded) {
+                int[] actions = getActions(state, player, phase);
+                Node next = null;
+                for (int action : actions) {
+                    if (!node.children.containsKey(action)) {
+                        next = new Node(action);
+                        node.children.put(action, next);
+                        expanded = true;
+                        break;
+                    }
+                }
+                if (next == null) {
+                    next = select(node, actions);
+                }
+                apply(state, player, phase, armies, next.action, random);
+                path.add(next);
+                node = next;
+                phaseOver = phase != ATTACK || next.action == STOP || state.getWinner() >= 0;
+            }
+            double reward = rollout(state, player, phase, phaseOver, random);
+            for (Node visited : path) {
+                visited.visits++;
+                visited.reward += reward;
+            }
+        }
+        return rootNode;
+    }
+
+    /**
+     * Method to select the child with the best UCB1 value among the legal moves.
+     *
+     * @param node    Node whose children are all expanded
+     * @param actions Legal moves
+     * @return selected child
+     */
+    private static Node select(Node node, int[] actions) {
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(Math.max(1, node.visits));
+        for (int action : actions) {
+            Node child = node.children.get(action);
+            double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to get the legal moves of a phase. The reinforcement goes to a
+     * border country, attacks are the ones the attack policy allows and the
+     * fortification moves armies to a border country.
+     *
+     * @param state  Game state
+     * @param player Number of the player in the state.
+     * @param phase  Phase of the move
+     * @return moves, never empty
+     */
+    private static int[] getActions(GameState state, int player, int phase) {
+        int size = state.getCountryCount();
+        int[] countries = state.getCountries(player);
+        List<Integer> actions = new ArrayList<>();
+        if (phase == REINFORCEMENT) {
+            for (int country : countries) {
+                if (state.isBorder(country)) {
+                    actions.add(country);
+                }
+            }
+            if (actions.isEmpty() && countries.length > 0) {
+                actions.add(countries[0]);
+            }
+        } else {
+            actions.add(STOP);
+            for (int from : countries) {
+                if (state.getArmies(from) < 2) {
+                    continue;
+                }
+                for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                    int to = state.getNeighbour(from, i);
+                    boolean legal = phase == ATTACK
+                            ? state.getOwner(to) != player && ATTACK_POLICY.shouldContinue(state.getArmies(from), state.getArmies(to))
+                            : state.getOwner(to) == player && state.isBorder(to);
+                    if (legal) {
+                        actions.add(from * size + to);
+                    }
+                }
+            }
+        }
+        int[] result = new int[actions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = actions.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Method to play a move on a game state.
+     *
+     * @param state  Game state
+     * @param player Number of the player in the state.
+     * @param phase  Phase of the move
+     * @param armies Armies to place in the reinforcement phase
+     * @param action Move to play
+     * @param random Random source of the dice
+     */
+    private static void apply(GameState state, int player, int phase, int armies, int action, SplittableRandom random) {
+        if (phase == REINFORCEMENT) {
+            state.placeArmies(action, armies);
+        } else if (action != STOP) {
+            int from = action / state.getCountryCount();
+            int to = action % state.getCountryCount();
+            if (phase == ATTACK) {
+                state.attack(from, to, ATTACK_POLICY, random);
+            } else {
+                state.moveArmies(from, to, state.getArmies(from) - 1);
+            }
+        }
+    }
+
+    /**
+     * Method to finish the turn after the moves of the tree, play the
+     * following rounds with the simulated strategies of the players and
+     * evaluate the result.
+     *
+     * @param state     Game state after the moves of the tree
+     * @param player    Number of the player in the state.
+     * @param phase     Phase of the tree
+     * @param phaseOver true if the moves of the tree ended the phase
+     * @param random    Random source of the moves and dice
+     * @return discounted value of the final state for the player
+     */
+    private double rollout(GameState state, int player, int phase, boolean phaseOver, SplittableRandom random) {
+        if (phase == REINFORCEMENT || !phaseOver) {
+            simulateAttacks(state, player, random);
+        }
+        if (phase != FORTIFICATION) {
+            simulateFortification(state, player, random);
+        }
+        int players = state.getPlayerCount();
+        double discount = 1;
+        for (int round = 0; round < rolloutRounds && state.getWinner() < 0; round++) {
+            for (int turn = 1; turn <= players && state.getWinner() < 0; turn++) {
+                int current = (player + turn) % players;
+                if (state.getCountryCount(current) > 0) {
+                    getRolloutStrategy(state.getPlayer(current)).simulateTurn(state, current, random);
+                }
+            }
+            discount *= ROUND_DISCOUNT;
+        }
+        return state.evaluate(player) * discount;
+    }
+
+    /**
+     * Method to get the strategy playing a player in the rollouts.
+     *
+     * @param player Player of the game
+     * @return strategy of the player, the aggressive one for tree search players
+     */
+    private PlayerBehaviour getRolloutStrategy(Player player) {
+        PlayerBehaviour behaviour = player.getPlayerBehaviour();
+        return behaviour == null || behaviour instanceof MCTS ? rolloutStrategy : behaviour;
+    }
+
+    /**
+     * Method for MCTS class for attack.
+     *
+     * @param attacking Country attacking.
+     * @param defending Country defending.
+     * @param player    Current player.
+     */
+    private void attack(Country attacking, Country defending, Player player) {
+        Dice dice = new Dice(attacking, defending);
+        if (player != null) {
+            dice.addObserver(player);
+        }
+        rollDice(dice, gamePlayController);
+    }
+
+    /**
+     * Class for a node of the tree, reached by playing a move.
+     */
+    private static final class Node {
+
+        /**
+         * Move leading to the node
+         */
+        private final int action;
+
+        /**
+         * Children of the node, by move
+         */
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        /**
+         * Number of iterations through the node
+         */
+        private int visits;
+
+        /**
+         * Sum of the rewards of the iterations through the node
+         */
+        private double reward;
+
+        /**
+         * Constructor for a node.
+         *
+         * @param action Move leading to the node
+         */
+        private Node(int action) {
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package com.risk.strategy;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.BattleOdds;
+import com.risk.model.Country;
+import com.risk.model.Dice;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+import com.risk.controller.GamePlayController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * NeuralPolicy class contains methods for the Player Behavior
+ * Strategies of computer player.
+ * <p>
+ * A computer player strategy whose moves are chosen by a small policy and
+ * value network, see {@link PolicyNetwork}. For every decision, all the
+ * candidate moves of the phase are described by the same few inputs,
+ * stacked into one batch and scored in a single pass of the network, and
+ * the move scoring highest is played: the country receiving all the
+ * reinforcement armies, the next attack or the end of the attack phase,
+ * the fortification or none. The value output of the chosen move is kept
+ * as the estimate of the position.
+ * <p>
+ * Without a network the player plays its reinforcement and attacks like
+ * the default moves of {@link PlayerBehaviour} and does not fortify.
+ */
+public class NeuralPolicy extends PlayerBehaviour {
+
+    /**
+     * Number of inputs describing a candidate move
+     */
+    public static final int INPUTS = 14;
+
+    /**
+     * Kinds of candidate moves
+     */
+    static final int REINFORCE = 0, ATTACK = 1, FORTIFY = 2, STOP = 3;
+
+    /**
+     * Largest number of attacks of a simulated attack phase
+     */
+    private static final int MAX_SIMULATED_ATTACKS = 64;
+
+    /**
+     * Policy deciding when the attacks of the neural player stop
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.forExpectedValue(Aggressive.CONQUEST_VALUE);
+
+    /**
+     * Answer of a timed decision for no attack or no fortification, as null takes the fallback
+     */
+    private static final int[] NO_MOVE = {};
+
+    /**
+     * Network of the player, null for the network of the players
+     */
+    private transient PolicyNetwork network;
+
+    /**
+     * Value given by the network to the last chosen move
+     */
+    private transient float lastValue = Float.NaN;
+
+    /**
+     * Number of candidates of the last decision
+     */
+    private transient int lastBatchSize;
+
+    /**
+     * Attacking country chosen when checking if the player can attack
+     */
+    private transient Country pendingAttacking;
+
+    /**
+     * Defending country chosen when checking if the player can attack
+     */
+    private transient Country pendingDefending;
+
+    /**
+     * Object of GamePlayController, control various activities during the game play.
+     */
+    private GamePlayController gamePlayController;
+
+    /**
+     * NeuralPolicy Player Constructor
+     */
+    public NeuralPolicy() {
+    }
+
+    /**
+     * Constructor method for NeuralPolicy class.
+     *
+     * @param gamePlayController Attaching with observer.
+     */
+    public NeuralPolicy(GamePlayController gamePlayController) {
+        this.gamePlayController = gamePlayController;
+        this.addObserver(gamePlayController);
+    }
+
+    /**
+     * Setter for the network of the player.
+     *
+     * @param network Network, null for the network of the players
+     */
+    public void setNetwork(PolicyNetwork network) {
+        this.network = network;
+    }
+
+    /**
+     * Method to get the network of the player.
+     *
+     * @return network, null if there is none
+     */
+    public PolicyNetwork getNetwork() {
+        return network != null ? network : PolicyNetwork.getDefault();
+    }
+
+    /**
+     * Method to get the value given by the network to the last chosen move.
+     *
+     * @return value between 0 and 1, NaN before the first decision made by the network
+     */
+    public float getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * Method to get the number of candidates scored by the last decision.
+     *
+     * @return number of candidates
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Method for NeuralPolicy class for reinforcement phase.
+     * Start and end of the reinforcement phase.
+     *
+     * @param countryList   List of countries owned by the player.
+     * @param country       Country to which reinforcement armies are to be assigned.
+     * @param currentPlayer Current player.
+     */
+    @Override
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Reinforcement phase for neural player " + currentPlayer.getName() + ".\n");
+        if (!currentPlayer.getPlayerCountries().isEmpty() && currentPlayer.getArmyCount() > 0) {
+            GameState state = GameState.of(currentPlayer);
+            country = state.getCountry(decideReinforcement(state, state.indexOf(currentPlayer),
+                    currentPlayer.getArmyCount()));
+            country.setNoOfArmies(country.getNoOfArmies() + currentPlayer.getArmyCount());
+            println(currentPlayer.getName() + " neural player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies());
+            setChanged();
+            notifyObservers(currentPlayer.getName() + " neural player has been assigned all the "
+                    + currentPlayer.getArmyCount() + " armies to the country " + country.getName() + " , army count "
+                    + country.getNoOfArmies() + "\n");
+            currentPlayer.setArmyCount(0);
+        }
+        println("Ended Reinforcement phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Reinforcement phase for neural player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for NeuralPolicy class for if player can attack. The attack
+     * chosen by the network is kept for the following attack phase.
+     *
+     * @param countries List of countries owned by the player.
+     * @return true
+     * If the network chose to attack; other wise false.
+     */
+    @Override
+    protected boolean canStrategyAttack(List<Country> countries) {
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (!countries.isEmpty() && countries.get(0).getPlayer() != null) {
+            Player player = countries.get(0).getPlayer();
+            GameState state = GameState.of(player);
+            int[] attack = decideAttack(state, state.indexOf(player));
+            if (attack != null) {
+                pendingAttacking = state.getCountry(attack[0]);
+                pendingDefending = state.getCountry(attack[1]);
+                return true;
+            }
+        }
+        println("Neural player cannot continue with attack phase, move to fortification phase.");
+        println("Attack phase ended for neural player.");
+        setChanged();
+        notifyObservers("Neural player cannot continue with attack phase, move to fortification phase.\n");
+        setChanged();
+        notifyObservers("Attack phase ended for neural player.\n");
+        return false;
+    }
+
+    /**
+     * Method for NeuralPolicy class for attack phase, which plays the
+     * attack chosen by the last check.
+     *
+     * @param attackingCountryList List of countries attacking.
+     * @param defendingCountryList List of countries defending.
+     * @param currentPlayer        Current player.
+     */
+    @Override
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning attack phase for neural player " + currentPlayer.getName() + ".\n");
+        if (pendingAttacking == null || pendingAttacking.getPlayer() != currentPlayer) {
+            GameState state = GameState.of(currentPlayer);
+            int[] attack = decideAttack(state, state.indexOf(currentPlayer));
+            pendingAttacking = attack == null ? null : state.getCountry(attack[0]);
+            pendingDefending = attack == null ? null : state.getCountry(attack[1]);
+        }
+        Country attacking = pendingAttacking;
+        Country defending = pendingDefending;
+        pendingAttacking = null;
+        pendingDefending = null;
+        if (attacking != null && attacking.getNoOfArmies() > 1 && defending.getPlayer() != currentPlayer) {
+            println("Attacking from " + attacking.getName() + " to " + defending.getName());
+            setChanged();
+            notifyObservers("Attacking from " + attacking.getName() + " to " + defending.getName() + ".\n");
+            attack(attacking, defending, currentPlayer);
+        }
+        println("Ended attack phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended attack phase for neural player " + currentPlayer.getName() + ".\n");
+    }
+
+    /**
+     * Method for NeuralPolicy class for attack.
+     *
+     * @param attacking Country attacking.
+     * @param defending Country defending.
+     * @param player    Current player.
+     */
+    private void attack(Country attacking, Country defending, Player player) {
+        Dice dice = new Dice(attacking, defending);
+        if (player != null) {
+            dice.addObserver(player);
+        }
+        rollDice(dice, gamePlayController);
+    }
+
+    /**
+     * Method for NeuralPolicy class for fortification phase.
+     * Start and end of the fortification phase.
+     *
+     * @param selectedCountryList List of countries selected by the player.
+     * @param adjCountryList      List of adjacent countries.
+     * @param currentPlayer       Current player.
+     * @return true
+     * If the fortification successful; other wise false.
+     */
+    @Override
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
+                                      Player currentPlayer) {
+        println("Beginning Fortification phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Beginning Fortification phase for neural player " + currentPlayer.getName() + ".\n");
+        boolean fortified = false;
+        if (!currentPlayer.getPlayerCountries().isEmpty()) {
+            GameState state = GameState.of(currentPlayer);
+            int[] move = decideFortification(state, state.indexOf(currentPlayer));
+            if (move != null) {
+                Country countryFromFortify = state.getCountry(move[0]);
+                Country countryToFortify = state.getCountry(move[1]);
+                countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + move[2]);
+                countryFromFortify.setNoOfArmies(countryFromFortify.getNoOfArmies() - move[2]);
+                println("Country " + countryToFortify.getName() + " has been assigned " + move[2]
+                        + " armies from country " + countryFromFortify.getName());
+                setChanged();
+                notifyObservers("Country " + countryToFortify.getName() + " has been assigned " + move[2]
+                        + " armies from country " + countryFromFortify.getName() + ".\n");
+                fortified = true;
+            }
+        }
+        println("Ended Fortification phase for neural player " + currentPlayer.getName());
+        setChanged();
+        notifyObservers("Ended Fortification phase for neural player " + currentPlayer.getName() + ".\n");
+        return fortified;
+    }
+
+    /**
+     * Method to get the policy deciding when the attacks of the neural player stop.
+     *
+     * @return AttackPolicy
+     * Attack policy of the neural player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        return ATTACK_POLICY;
+    }
+
+    /**
+     * Method for the simulated reinforcement phase, chosen by the network.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        if (state.getCountryCount(player) > 0) {
+            state.placeArmies(chooseReinforcement(state, player, armies), armies);
+        }
+    }
+
+    /**
+     * Method for the simulated attack phase, every attack chosen by the network.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the dice.
+     */
+    @Override
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        int[] attack;
+        for (int i = 0; i < MAX_SIMULATED_ATTACKS && (attack = chooseAttack(state, player)) != null; i++) {
+            state.attack(attack[0], attack[1], ATTACK_POLICY, random);
+        }
+    }
+
+    /**
+     * Method for the simulated fortification phase, chosen by the network.
+     *
+     * @param state  Game state to play on.
+     * @param player Number of the player in the state.
+     * @param random Random source of the moves.
+     */
+    @Override
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        int[] move = chooseFortification(state, player);
+        if (move != null) {
+            state.moveArmies(move[0], move[1], move[2]);
+        }
+    }
+
+    /**
+     * Method to choose the country receiving all the reinforcement armies.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @return number of the chosen country, -1 if the player has none
+     */
+    public int chooseReinforcement(GameState state, int player, int armies) {
+        if (getNetwork() == null) {
+            return GameSimulation.findDefaultReinforcement(state, player);
+        }
+        int[] candidates = getCandidates(state, player, REINFORCE);
+        int best = choose(state, player, REINFORCE, candidates, armies);
+        return best < 0 ? -1 : candidates[best * 2 + 1];
+    }
+
+    /**
+     * Method to choose the next attack, or the end of the attack phase.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the attacking and defending countries, null to stop attacking
+     */
+    public int[] chooseAttack(GameState state, int player) {
+        if (getNetwork() == null) {
+            return GameSimulation.findDefaultAttack(state, player, ATTACK_POLICY);
+        }
+        int[] candidates = getCandidates(state, player, ATTACK);
+        int best = choose(state, player, ATTACK, candidates, 0);
+        return best < 0 || candidates[best * 2] < 0 ? null
+                : new int[] { candidates[best * 2], candidates[best * 2 + 1] };
+    }
+
+    /**
+     * Method to choose the fortification, which moves all the armies but one.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the countries the armies leave and reach and number of armies moved, null for no move
+     */
+    public int[] chooseFortification(GameState state, int player) {
+        if (getNetwork() == null) {
+            return null;
+        }
+        int[] candidates = getCandidates(state, player, FORTIFY);
+        int best = choose(state, player, FORTIFY, candidates, 0);
+        if (best < 0 || candidates[best * 2] < 0) {
+            return null;
+        }
+        int from = candidates[best * 2];
+        return new int[] { from, candidates[best * 2 + 1], state.getArmies(from) - 1 };
+    }
+
+    /**
+     * Method to choose the reinforcement under the time budget, falling
+     * back to the border country with the most armies.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @param armies Number of armies to place.
+     * @return number of the chosen country, -1 if the player has none
+     */
+    private int decideReinforcement(GameState state, int player, int armies) {
+        return decide(decision -> chooseReinforcement(state, player, armies),
+                () -> GameSimulation.findDefaultReinforcement(state, player));
+    }
+
+    /**
+     * Method to choose the next attack under the time budget, falling back
+     * to the default attack of the attack policy.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the attacking and defending countries, null to stop attacking
+     */
+    private int[] decideAttack(GameState state, int player) {
+        int[] attack = decide(decision -> orNoMove(chooseAttack(state, player)),
+                () -> orNoMove(GameSimulation.findDefaultAttack(state, player, ATTACK_POLICY)));
+        return attack.length == 0 ? null : attack;
+    }
+
+    /**
+     * Method to choose the fortification under the time budget, falling
+     * back to no move.
+     *
+     * @param state  Current game state, not changed.
+     * @param player Number of the player in the state.
+     * @return numbers of the countries the armies leave and reach and number of armies moved, null for no move
+     */
+    private int[] decideFortification(GameState state, int player) {
+        int[] move = decide(decision -> orNoMove(chooseFortification(state, player)), () -> NO_MOVE);
+        return move.length == 0 ? null : move;
+    }
+
+    /**
+     * Method to turn no move into an answer of a timed decision.
+     *
+     * @param move Move, null for no move
+     * @return the move, or {@link #NO_MOVE}
+     */
+    private static int[] orNoMove(int[] move) {
+        return move != null ? move : NO_MOVE;
+    }
+
+    /**
+     * Method to score all the candidates of a decision in one batch.
+     *
+     * @param state      Current game state.
+     * @param player     Number of the player in the state.
+     * @param kind       Kind of the decision
+     * @param candidates Countries of the candidates, in pairs, see {@link #getCandidates(GameState, int, int)}
+     * @param armies     Number of armies to place, for a reinforcement
+     * @return position of the candidate scoring highest, -1 if there is none
+     */
+    private int choose(GameState state, int player, int kind, int[] candidates, int armies) {
+        int batch = candidates.length / 2;
+        lastBatchSize = batch;
+        if (batch == 0) {
+            return -1;
+        }
+        float[] inputs = new float[batch * INPUTS];
+        int[] owned = countOwned(state, player);
+        for (int row = 0; row < batch; row++) {
+            encode(state, player, owned, kind, candidates[row * 2], candidates[row * 2 + 1], armies, inputs,
+                    row * INPUTS);
+        }
+        float[] scores = new float[batch];
+        float[] values = new float[batch];
+        getNetwork().evaluate(inputs, batch, scores, values);
+        int best = 0;
+        for (int row = 1; row < batch; row++) {
+            if (scores[row] > scores[best]) {
+                best = row;
+            }
+        }
+        lastValue = values[best];
+        return best;
+    }
+
+    /**
+     * Method to list the candidate moves of a decision, as pairs of
+     * countries: for a reinforcement -1 and every border country, or every
+     * country if none is on the border; for an attack every country with
+     * two armies or more and every enemy neighbour; for a fortification
+     * every country with two armies or more and every neighbour of the
+     * player. The attacks and the fortifications end with the pair -1, -1
+     * standing for no move.
+     *
+     * @param state  Current game state.
+     * @param player Number of the player in the state.
+     * @param kind   Kind of the decision
+     * @return countries of the candidates, in pairs
+     */
+    static int[] getCandidates(GameState state, int player, int kind) {
+        int[] candidates = new int[16];
+        int count = 0;
+        int[] countries = state.getCountries(player);
+        boolean anyBorder = false;
+        for (int country : countries) {
+            anyBorder |= state.isBorder(country);
+        }
+        for (int from : countries) {
+            if (kind == REINFORCE) {
+                if (state.isBorder(from) || !anyBorder) {
+                    candidates = add(candidates, count, -1, from);
+                    count += 2;
+                }
+                continue;
+            }
+            if (state.getArmies(from) < 2) {
+                continue;
+            }
+            for (int i = 0; i < state.getNeighbourCount(from); i++) {
+                int to = state.getNeighbour(from, i);
+                if ((state.getOwner(to) == player) == (kind == FORTIFY)) {
+                    candidates = add(candidates, count, from, to);
+                    count += 2;
+                }
+            }
+        }
+        if (kind != REINFORCE) {
+            candidates = add(candidates, count, -1, -1);
+            count += 2;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Method to add a pair to a list of candidates, growing it if needed.
+     *
+     * @param candidates List of candidates
+     * @param count      Number of numbers in the list
+     * @param from       First country of the pair
+     * @param to         Second country of the pair
+     * @return list of candidates holding the pair
+     */
+    private static int[] add(int[] candidates, int count, int from, int to) {
+        if (count + 2 > candidates.length) {
+            candidates = Arrays.copyOf(candidates, candidates.length * 2);
+        }
+        candidates[count] = from;
+        candidates[count + 1] = to;
+        return candidates;
+    }
+
+    /**
+     * Method to count the countries of the player on every continent, once
+     * for all the candidates of a decision.
+     *
+     * @param state  Current game state.
+     * @param player Number of the player in the state.
+     * @return number of countries of the player on every continent
+     */
+    static int[] countOwned(GameState state, int player) {
+        int[] owned = new int[state.getContinentCount()];
+        for (int country : state.getCountries(player)) {
+            int continent = state.getContinent(country);
+            if (continent >= 0) {
+                owned[continent]++;
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Method to describe a candidate move by the inputs of the network: the
+     * kind of move, the armies of both countries and around the second one,
+     * the odds of the attack, the continent of the second country, the
+     * shares of the map of the player and of the owner of the second
+     * country, and the armies placed or moved.
+     *
+     * @param state  Current game state.
+     * @param player Number of the player in the state.
+     * @param owned  Number of countries of the player on every continent, see {@link #countOwned(GameState, int)}
+     * @param kind   Kind of the decision
+     * @param from   First country of the candidate, -1 for none
+     * @param to     Second country of the candidate, -1 for none
+     * @param armies Number of armies to place, for a reinforcement
+     * @param inputs Array receiving the inputs
+     * @param offset Position of the first input in the array
+     */
+    static void encode(GameState state, int player, int[] owned, int kind, int from, int to, int armies,
+                       float[] inputs, int offset) {
+        Arrays.fill(inputs, offset, offset + INPUTS, 0);
+        int size = state.getCountryCount();
+        inputs[offset + 11] = (float) state.getCountryCount(player) / size;
+        if (to < 0) {
+            inputs[offset + STOP] = 1;
+            return;
+        }
+        inputs[offset + kind] = 1;
+        int moved = kind == REINFORCE ? armies : kind == FORTIFY ? state.getArmies(from) - 1 : 0;
+        int hostile = 0;
+        int friendly = 0;
+        int strongestEnemy = 0;
+        for (int i = 0; i < state.getNeighbourCount(to); i++) {
+            int neighbour = state.getNeighbour(to, i);
+            if (state.getOwner(neighbour) == player) {
+                friendly += state.getArmies(neighbour);
+            } else {
+                hostile += state.getArmies(neighbour);
+                strongestEnemy = Math.max(strongestEnemy, state.getArmies(neighbour));
+            }
+        }
+        BattleOdds odds = BattleOdds.getSharedOdds();
+        if (kind == ATTACK) {
+            inputs[offset + 4] = scale(state.getArmies(from));
+            inputs[offset + 8] = (float) odds.getWinProbability(state.getArmies(from), state.getArmies(to));
+        } else if (kind == FORTIFY) {
+            inputs[offset + 4] = scale(state.getArmies(from));
+            inputs[offset + 8] = state.isBorder(from) ? 1 : 0;
+        } else if (strongestEnemy > 0) {
+            // The odds of a reinforced country against its weakest enemy neighbour.
+            int weakest = Integer.MAX_VALUE;
+            for (int i = 0; i < state.getNeighbourCount(to); i++) {
+                int neighbour = state.getNeighbour(to, i);
+                if (state.getOwner(neighbour) != player) {
+                    weakest = Math.min(weakest, state.getArmies(neighbour));
+                }
+            }
+            inputs[offset + 8] = (float) odds.getWinProbability(state.getArmies(to) + armies, weakest);
+        }
+        inputs[offset + 5] = scale(state.getArmies(to));
+        inputs[offset + 6] = scale(hostile);
+        inputs[offset + 7] = scale(friendly);
+        int continent = state.getContinent(to);
+        if (continent >= 0) {
+            inputs[offset + 9] = (float) owned[continent] / state.getContinentSize(continent);
+            inputs[offset + 10] = state.getContinentBonus(continent) / 10f;
+        }
+        inputs[offset + 12] = (float) state.getCountryCount(state.getOwner(to)) / size;
+        inputs[offset + 13] = scale(moved);
+    }
+
+    /**
+     * Method to scale a number of armies to the range of the inputs.
+     *
+     * @param armies Number of armies
+     * @return logarithm of the armies plus one, divided by four
+     */
+    private static float scale(int armies) {
+        return (float) (Math.log1p(armies) / 4);
+    }
+}
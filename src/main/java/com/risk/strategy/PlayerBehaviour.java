@@ -1,8 +1,18 @@
 package com.risk.strategy;
 
+import com.risk.controller.DiceController;
+import com.risk.controller.GamePlayController;
+import com.risk.model.ArmyPlacementPolicy;
+import com.risk.model.AttackPolicy;
 import com.risk.model.Continent;
 import com.risk.model.Country;
+import com.risk.model.CountryArmyIndex;
+import com.risk.model.Dice;
+import com.risk.model.GameContext;
+import com.risk.model.GameSimulation;
+import com.risk.model.GameState;
 import com.risk.model.Player;
+import com.risk.model.ThreatMap;
 import com.risk.services.MapIO;
 import javafx.collections.ObservableList;
 import javafx.scene.control.ListView;
@@ -10,6 +20,10 @@ import javafx.scene.control.ListView;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Observable;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -24,9 +38,31 @@ import java.util.stream.Collectors;
  */
 public abstract class PlayerBehaviour extends Observable implements Serializable {
 
+    /**
+     * Engine running the timed decisions of the strategy
+     */
+    private final DecisionEngine decisionEngine = new DecisionEngine();
+
+    /**
+     * true if the attacks of the endgames are decided by the endgame solver
+     */
+    private boolean endgameSolving;
+
+    /**
+     * Attacking and defending countries of the round chosen by the endgame
+     * solver, null if the solver did not decide the next attack
+     */
+    private transient Country[] endgameAttack;
+
+    /**
+     * Context of the game of the player, null before the player joins a game
+     */
+    private transient GameContext context;
+
     /**
      * 
-	 * Method for reinforcement phase. 
+	 * Method for reinforcement phase, over plain lists so that computer
+	 * players need no JavaFX objects.
 	 * Start and end of the reinforcement phase. 
 	 * 
 	 * @param countryList
@@ -37,11 +73,13 @@ public abstract class PlayerBehaviour extends Observable implements Serializable
 	 *            Current player.
 	 *            
 	 */
-    abstract public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer);
+    abstract public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer);
 
     /**
      * 
-	 * Method for attack phase.
+	 * Method for attack phase, over plain lists. The round chosen by the
+	 * endgame solver when checking if the player can attack is rolled, 
+	 * otherwise the attack of the strategy is played.
 	 * 
 	 * @param attackingCountryList
 	 *            List of countries attacking.
@@ -51,12 +89,36 @@ public abstract class PlayerBehaviour extends Observable implements Serializable
 	 *            Current player.
 	 *            
 	 */ 
-    abstract public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
-                                     Player currentPlayer);
+    public void playAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                           Player currentPlayer) {
+        Country[] attack = endgameAttack;
+        endgameAttack = null;
+        if (attack != null && attack[0].getPlayer() == currentPlayer && attack[0].getNoOfArmies() > 1
+                && attack[1].getPlayer() != currentPlayer) {
+            playEndgameRound(attack[0], attack[1], currentPlayer);
+        } else {
+            playStrategyAttack(attackingCountryList, defendingCountryList, currentPlayer);
+        }
+    }
 
     /**
      * 
-	 * Method for fortification phase. 
+	 * Method for the attack of the strategy, over plain lists.
+	 * 
+	 * @param attackingCountryList
+	 *            List of countries attacking.
+	 * @param defendingCountryList
+	 *            List of countries defending.
+	 * @param currentPlayer
+	 *            Current player.
+	 *            
+	 */ 
+    abstract protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                               Player currentPlayer);
+
+    /**
+     * 
+	 * Method for fortification phase, over plain lists.
 	 * Start and end of the fortification phase. 
 	 * 
 	 * @param selectedCountry
@@ -70,9 +132,216 @@ public abstract class PlayerBehaviour extends Observable implements Serializable
      * 			  If the fortification successful; other wise false.
      * 
 	 */ 
-    abstract public boolean fortificationPhase(ListView<Country> selectedCountry, ListView<Country> adjCountry,
-                                               Player playerPlaying);
+    abstract public boolean playFortification(List<Country> selectedCountry, List<Country> adjCountry,
+                                              Player playerPlaying);
+
+    /**
+     * 
+	 * Method for if player can attack, over a plain list. In an endgame the
+	 * endgame solver decides, when the strategy delegates to it, and its
+	 * round is kept for the following attack phase.
+	 * 
+	 * @param countries
+	 *            List of countries owned by the player.
+	 *   
+	 * @return true 
+     * 			  If player can attack; other wise false.
+     *            
+	 */    
+    public boolean canAttack(List<Country> countries) {
+        endgameAttack = null;
+        if (isEndgameSolving() && countries != null && !countries.isEmpty() && isEndgameCandidate(countries.get(0).getPlayer())) {
+            Player player = countries.get(0).getPlayer();
+            GameState state = GameState.of(player);
+            int[] attack = EndgameSolver.getShared().solve(state, state.indexOf(player));
+            if (attack != null && attack.length == 0) {
+                println("Endgame solved for player " + player.getName() + ", attack phase ended.");
+                setChanged();
+                notifyObservers("Endgame solved for player " + player.getName() + ", attack phase ended.\n");
+                return false;
+            }
+            if (attack != null) {
+                endgameAttack = new Country[] { state.getCountry(attack[0]), state.getCountry(attack[1]) };
+                return true;
+            }
+        }
+        return canStrategyAttack(countries);
+    }
+
+    /**
+     * 
+	 * Method for if the strategy can attack, over a plain list.
+	 * 
+	 * @param countries
+	 *            List of countries owned by the player.
+	 *   
+	 * @return true 
+     * 			  If player can attack; other wise false.
+     *            
+	 */    
+    abstract protected boolean canStrategyAttack(List<Country> countries);
+
+    /**
+     * 
+	 * Method to check, without building any game state, if a player may be
+	 * in an endgame the solver takes: the player and one opponent own every
+	 * country of the map, and the opponent owns at most
+	 * {@link EndgameSolver#MAX_TARGETS} countries.
+	 * 
+	 * @param player
+	 *            Player attacking, may be null.
+	 *   
+	 * @return true 
+     * 			  If the endgame solver may take the position; other wise false.
+     *            
+	 */    
+    private static boolean isEndgameCandidate(Player player) {
+        if (player == null) {
+            return false;
+        }
+        List<Country> countries = player.getPlayerCountries();
+        for (Country country : countries) {
+            for (Country neighbour : country.getAdjacentCountries()) {
+                Player opponent = neighbour.getPlayer();
+                if (opponent != player) {
+                    int targets = opponent == null ? Integer.MAX_VALUE : opponent.getPlayerCountries().size();
+                    return targets <= EndgameSolver.MAX_TARGETS
+                            && countries.size() + targets == ThreatMap.of(country).getCountryCount();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 
+	 * Method for reinforcement phase from the game screen.
+	 * 
+	 * @param countryList
+	 *            List of countries owned by the player.
+	 * @param country
+	 *            Country to which reinforcement armies are to be assigned.
+	 * @param currentPlayer
+	 *            Current player.
+	 *            
+	 */
+    public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
+        playReinforcement(countryList, country, currentPlayer);
+    }
+
+    /**
+     * 
+	 * Method for attack phase from the game screen, on the items of the list views.
+	 * 
+	 * @param attackingCountryList
+	 *            List view of countries attacking.
+	 * @param defendingCountryList
+	 *            List view of countries defending.
+	 * @param currentPlayer
+	 *            Current player.
+	 *            
+	 */ 
+    public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
+                            Player currentPlayer) {
+        playAttack(getItems(attackingCountryList), getItems(defendingCountryList), currentPlayer);
+    }
+
+    /**
+     * 
+	 * Method for fortification phase from the game screen, on the items of the list views.
+	 * 
+	 * @param selectedCountry
+	 *            List view of countries selected by the player.
+	 * @param adjCountry
+	 *            List view of adjacent countries.
+	 * @param playerPlaying
+	 *            Current player.
+	 * 
+	 * @return true 
+     * 			  If the fortification successful; other wise false.
+     * 
+	 */ 
+    public boolean fortificationPhase(ListView<Country> selectedCountry, ListView<Country> adjCountry,
+                                      Player playerPlaying) {
+        return playFortification(getItems(selectedCountry), getItems(adjCountry), playerPlaying);
+    }
+
+    /**
+     * 
+	 * Method for if player can attack from the game screen, on the items of the list view.
+	 * 
+	 * @param countries
+	 *            List view of countries owned by the player.
+	 *   
+	 * @return true 
+     * 			  If player can attack; other wise false.
+     *            
+	 */    
+    public boolean playerCanAttack(ListView<Country> countries) {
+        return canAttack(getItems(countries));
+    }
+
+    /**
+     * 
+	 * Method to roll one dice round of the attack chosen by the endgame solver.
+	 * 
+	 * @param attacking
+	 *            Country attacking.
+	 * @param defending
+	 *            Country defending.
+	 * @param currentPlayer
+	 *            Current player.
+	 *            
+	 */ 
+    private void playEndgameRound(Country attacking, Country defending, Player currentPlayer) {
+        println("Endgame attack from " + attacking.getName() + " to " + defending.getName());
+        setChanged();
+        notifyObservers("Endgame attack from " + attacking.getName() + " to " + defending.getName() + ".\n");
+        Dice dice = new Dice(attacking, defending);
+        if (currentPlayer != null) {
+            dice.addObserver(currentPlayer);
+            dice.setRandom(currentPlayer.getContext().getRandom());
+        }
+        dice.setAttackPolicy(AttackPolicy.singleRound());
+        dice.rollUntilDecided();
+    }
 
+    /**
+     * Method to roll the battle of an attack of a computer player, with the
+     * random source of the game of the attacker. With no game window, in a
+     * tournament or without a game play controller, the dice are rolled
+     * directly, so that the game needs no JavaFX class; otherwise the dice
+     * controller shows the battle.
+     *
+     * @param dice               Dice of the attack.
+     * @param gamePlayController Game play controller showing the battle, may be null.
+     */
+    protected void rollDice(Dice dice, GamePlayController gamePlayController) {
+        GameContext context = dice.getAttackingCountry().getPlayer().getContext();
+        dice.setRandom(context.getRandom());
+        if (context.isTournament() || gamePlayController == null) {
+            dice.setAttackPolicy(getAttackPolicy());
+            dice.rollUntilDecided();
+        } else {
+            DiceController diceController = new DiceController(dice, this, gamePlayController);
+            diceController.automateDiceRoll();
+        }
+    }
+
+    /**
+     * 
+	 * Method to get the items of a list view.
+	 * 
+	 * @param listView
+	 *            List view, may be null.
+	 *   
+	 * @return List 
+     * 			  Items of the list view, null for no list view.
+     *            
+	 */    
+    private static List<Country> getItems(ListView<Country> listView) {
+        return listView == null ? null : listView.getItems();
+    }
 
     /**
      * 
@@ -94,17 +363,378 @@ public abstract class PlayerBehaviour extends Observable implements Serializable
     }
 
     /**
-     * 
-	 * Method for if player can attack.
-	 * 
+     *
+	 * Method to get the armies of the enemy neighbours of a country, kept
+	 * by the threat map of the country when it is in one.
+	 *
+	 * @param country
+	 *            Country of a player.
+	 *
+	 * @return int
+     * 			  Armies on the adjacent countries of the other players.
+     *
+	 */
+    protected static int getEnemyArmies(Country country) {
+        if (country.getThreatMap() != null) {
+            return country.getThreatMap().getThreat(country);
+        }
+        int armies = 0;
+        for (Country neighbour : country.getAdjacentCountries()) {
+            if (neighbour.getPlayer() != country.getPlayer()) {
+                armies += neighbour.getNoOfArmies();
+            }
+        }
+        return armies;
+    }
+
+    /**
+     *
+	 * Method to get the armies able to attack a country within two hops,
+	 * see {@link ThreatMap#getTwoHopThreat(Country)}. The threat map of
+	 * the map is built the first time.
+	 *
+	 * @param country
+	 *            Country of a player.
+	 *
+	 * @return int
+     * 			  Armies of the enemy neighbours and of the countries backing them.
+     *
+	 */
+    protected static int getTwoHopEnemyArmies(Country country) {
+        return ThreatMap.of(country).getTwoHopThreat(country);
+    }
+
+    /**
+     *
+	 * Method to find the strongest country of a list matching a condition.
+	 * When the list holds the countries of their owner, the army ranking
+	 * of the owner is used instead of going through the list.
+	 *
 	 * @param countries
-	 *            List of countries owned by the player.
-	 *   
+	 *            List of countries of one player.
+	 * @param condition
+	 *            Condition on the country.
+	 *
+	 * @return Country
+     * 			  Strongest matching country, null if there is none.
+     *
+	 */
+    protected Country findStrongestCountry(List<Country> countries, Predicate<Country> condition) {
+        CountryArmyIndex armyIndex = getArmyIndex(countries);
+        if (armyIndex != null) {
+            return armyIndex.findStrongest(condition);
+        }
+        Country strongest = null;
+        for (Country country : countries) {
+            if (country != null && (strongest == null || country.getNoOfArmies() > strongest.getNoOfArmies())
+                    && condition.test(country)) {
+                strongest = country;
+            }
+        }
+        return strongest;
+    }
+
+    /**
+     *
+	 * Method to find the weakest country of a list matching a condition.
+	 * When the list holds the countries of their owner, the army ranking
+	 * of the owner is used instead of going through the list.
+	 *
+	 * @param countries
+	 *            List of countries of one player.
+	 * @param condition
+	 *            Condition on the country.
+	 *
+	 * @return Country
+     * 			  Weakest matching country, null if there is none.
+     *
+	 */
+    protected Country findWeakestCountry(List<Country> countries, Predicate<Country> condition) {
+        CountryArmyIndex armyIndex = getArmyIndex(countries);
+        if (armyIndex != null) {
+            return armyIndex.findWeakest(condition);
+        }
+        Country weakest = null;
+        for (Country country : countries) {
+            if (country != null && (weakest == null || country.getNoOfArmies() < weakest.getNoOfArmies())
+                    && condition.test(country)) {
+                weakest = country;
+            }
+        }
+        return weakest;
+    }
+
+    /**
+     *
+	 * Method to get the army ranking holding exactly the countries of a list.
+	 *
+	 * @param countries
+	 *            List of countries.
+	 *
+	 * @return CountryArmyIndex
+     * 			  Army ranking of the owner, null if the list is not the owner's full country list.
+     *
+	 */
+    private CountryArmyIndex getArmyIndex(List<Country> countries) {
+        if (countries.isEmpty() || countries.get(0) == null || countries.get(0).getPlayer() == null) {
+            return null;
+        }
+        CountryArmyIndex armyIndex = countries.get(0).getPlayer().getArmyIndex();
+        List<Country> playerCountries = countries.get(0).getPlayer().getPlayerCountries();
+        if (armyIndex.size() != countries.size() || playerCountries == null || playerCountries.size() != countries.size()) {
+            return null;
+        }
+        return armyIndex;
+    }
+
+    /**
+     *
+	 * Method to get the policy placing the initial armies of a computer player.
+	 *
+	 * @return ArmyPlacementPolicy
+     * 			  Placement policy, random unless the strategy has its own.
+     *
+	 */
+    public ArmyPlacementPolicy getArmyPlacementPolicy() {
+        return ArmyPlacementPolicy.random();
+    }
+
+    /**
+     *
+	 * Method to get the policy deciding when the automatic attacks stop.
+	 *
+	 * @return AttackPolicy
+     * 			  Attack policy, null to attack until the battle is decided.
+     *
+	 */
+    public AttackPolicy getAttackPolicy() {
+        return null;
+    }
+
+    /**
+     *
+	 * Method to get the weights of a parameterized strategy.
+	 *
+	 * @return HeuristicWeights
+     * 			  Weights of the strategy, null if it has none.
+     *
+	 */
+    public HeuristicWeights getWeights() {
+        return null;
+    }
+
+    /**
+     *
+	 * Method to set the weights of a parameterized strategy. Strategies
+	 * without weights ignore them.
+	 *
+	 * @param weights
+	 *            Weights with the names of the ones of the strategy.
+	 *
+	 */
+    public void setWeights(HeuristicWeights weights) {
+    }
+
+    /**
+     *
+	 * Setter for the context of the game of the player, set by the player.
+	 *
+	 * @param context
+	 *            Context shared by all the players of the game.
+	 *
+	 */
+    public void setContext(GameContext context) {
+        this.context = context;
+    }
+
+    /**
+     *
+	 * Method to show a message of the strategy through the context of its
+	 * game, or on the standard output before the player joins a game.
+	 *
+	 * @param message
+	 *            Message of the strategy.
+	 *
+	 */
+    protected void println(Object message) {
+        if (context != null) {
+            context.println(message);
+        } else {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     *
+	 * Setter for the time per decision of a computer player.
+	 *
+	 * @param timeBudget
+	 *            Time in milliseconds, 0 or less for no time limit.
+	 *
+	 */
+    public void setTimeBudget(long timeBudget) {
+        decisionEngine.setTimeBudget(timeBudget);
+    }
+
+    /**
+     *
+	 * Method to get the time per decision of a computer player.
+	 *
+	 * @return long
+     * 			  Time in milliseconds, 0 or less for no time limit.
+     *
+	 */
+    public long getTimeBudget() {
+        return decisionEngine.getTimeBudget();
+    }
+
+    /**
+     *
+	 * Setter for the delegation of the endgames to the {@link EndgameSolver},
+	 * which decides the attacks round by round once two players are left
+	 * and the opponent is down to a few countries.
+	 *
+	 * @param endgameSolving
+	 *            true to delegate the endgames.
+	 *
+	 */
+    public void setEndgameSolving(boolean endgameSolving) {
+        this.endgameSolving = endgameSolving;
+    }
+
+    /**
+     *
+	 * Method to check if the strategy delegates its endgames to the
+	 * {@link EndgameSolver}.
+	 *
 	 * @return true 
-     * 			  If player can attack; other wise false.
-     *            
-	 */    
-    abstract public boolean playerCanAttack(ListView<Country> countries);
+     * 			  If the endgames are delegated; other wise false.
+     *
+	 */
+    public boolean isEndgameSolving() {
+        return endgameSolving;
+    }
+
+    /**
+     *
+	 * Method to check if the last search given up by the engine is still
+	 * running, in which case the next decisions take their fallback at once.
+	 *
+	 * @return true 
+     * 			  If an abandoned search has not stopped; other wise false.
+     *
+	 */
+    public boolean isSearchAbandoned() {
+        return decisionEngine.isSearchAbandoned();
+    }
+
+    /**
+     *
+	 * Method to make a decision under the time budget, with the decision
+	 * engine of the strategy, see {@link DecisionEngine#decide}. A decision
+	 * falling back is remembered for the latency histogram of the
+	 * strategy, see {@link #takeFallback()}.
+	 *
+	 * @param search
+	 *            Search making the decision, returning its move.
+	 * @param fallback
+	 *            Cheap default move.
+	 *
+	 * @return T
+     * 			  Move of the search, or the best one it offered, or the fallback.
+     *
+	 */
+    protected <T> T decide(Function<AnytimeDecision<T>, T> search, Supplier<T> fallback) {
+        return decisionEngine.decide(search, fallback, getClass().getSimpleName());
+    }
+
+    /**
+     *
+	 * Method for the engine timing the phases to check if a decision of
+	 * the phase fell back to its default move. The flag is cleared.
+	 *
+	 * @return true 
+     * 			  If a decision fell back since the last check; other wise false.
+     *
+	 */
+    public boolean takeFallback() {
+        return decisionEngine.takeFallback();
+    }
+
+    /**
+     *
+	 * Method to play a whole simulated turn of the strategy on a game state,
+	 * used by the rollouts of the tree search.
+	 *
+	 * @param state
+	 *            Game state to play on.
+	 * @param player
+	 *            Number of the player in the state.
+	 * @param random
+	 *            Random source of the moves and dice.
+	 *
+	 */
+    public void simulateTurn(GameState state, int player, SplittableRandom random) {
+        simulateReinforcement(state, player, state.getReinforcementArmies(player), random);
+        simulateAttacks(state, player, random);
+        simulateFortification(state, player, random);
+    }
+
+    /**
+     *
+	 * Method for the simulated reinforcement phase. Strategies without their
+	 * own simulation place all the armies on a random country.
+	 *
+	 * @param state
+	 *            Game state to play on.
+	 * @param player
+	 *            Number of the player in the state.
+	 * @param armies
+	 *            Number of armies to place.
+	 * @param random
+	 *            Random source of the moves.
+	 *
+	 */
+    public void simulateReinforcement(GameState state, int player, int armies, SplittableRandom random) {
+        GameSimulation.simulateRandomReinforcement(state, player, armies, random);
+    }
+
+    /**
+     *
+	 * Method for the simulated attack phase. Strategies without their own
+	 * simulation attack random neighbours, following their attack policy,
+	 * until no attack is left. Every round costs at least one army, so the
+	 * phase always ends.
+	 *
+	 * @param state
+	 *            Game state to play on.
+	 * @param player
+	 *            Number of the player in the state.
+	 * @param random
+	 *            Random source of the moves and dice.
+	 *
+	 */
+    public void simulateAttacks(GameState state, int player, SplittableRandom random) {
+        GameSimulation.simulateRandomAttacks(state, player, getAttackPolicy(), random);
+    }
+
+    /**
+     *
+	 * Method for the simulated fortification phase. Strategies without their
+	 * own simulation move a random number of armies between two random
+	 * adjacent countries.
+	 *
+	 * @param state
+	 *            Game state to play on.
+	 * @param player
+	 *            Number of the player in the state.
+	 * @param random
+	 *            Random source of the moves.
+	 *
+	 */
+    public void simulateFortification(GameState state, int player, SplittableRandom random) {
+        GameSimulation.simulateRandomFortification(state, player, random);
+    }
 
     /**
      * 
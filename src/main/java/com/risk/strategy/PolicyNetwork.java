@@ -0,0 +1,389 @@
+package com.risk.strategy;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class for the small policy and value network of {@link NeuralPolicy}: a
+ * stack of fully connected layers with rectified linear hidden units and
+ * two outputs, the score of a candidate move and the value of the
+ * position, squashed between 0 and 1.
+ * <p>
+ * Every layer keeps its weights in one primitive float array, input by
+ * input, so that a whole batch of candidates goes through a layer as one
+ * matrix multiply whose inner loop runs over consecutive memory. Nothing
+ * is native: the network runs on any Java machine.
+ * <p>
+ * The network used by the players is read once, from the file named by
+ * the system property <code>risk.network</code> if it is set, otherwise
+ * from the <code>policy_network.txt</code> resource written by
+ * {@link PolicyTrainer}. The file is plain text: a line
+ * <code>layers</code> followed by the sizes of the layers, then for every
+ * layer one line of weights per input and one line of biases. Lines
+ * starting with <code>#</code> are comments.
+ */
+public class PolicyNetwork {
+
+    /**
+     * System property naming the network file
+     */
+    public static final String FILE_PROPERTY = "risk.network";
+
+    /**
+     * Name of the network resource
+     */
+    public static final String RESOURCE = "policy_network.txt";
+
+    /**
+     * Output giving the score of a candidate move
+     */
+    public static final int POLICY = 0;
+
+    /**
+     * Output giving the value of the position
+     */
+    public static final int VALUE = 1;
+
+    /**
+     * Network of the players, read on first use
+     */
+    private static PolicyNetwork defaultNetwork;
+
+    /**
+     * true once the network of the players has been looked for
+     */
+    private static boolean defaultLoaded;
+
+    /**
+     * Number of units of every layer, the inputs first and the two outputs last
+     */
+    private final int[] sizes;
+
+    /**
+     * Weights of every layer, input by input
+     */
+    private final float[][] weights;
+
+    /**
+     * Biases of every layer
+     */
+    private final float[][] biases;
+
+    /**
+     * Constructor for a network of random weights, scaled to the number of
+     * inputs of every layer so that the hidden units start in range.
+     *
+     * @param sizes  Number of units of every layer, the inputs first, ending with 2 outputs
+     * @param random Random source of the weights
+     */
+    public PolicyNetwork(int[] sizes, SplittableRandom random) {
+        this(sizes);
+        for (int layer = 0; layer < weights.length; layer++) {
+            double scale = Math.sqrt(2.0 / sizes[layer]);
+            for (int i = 0; i < weights[layer].length; i++) {
+                weights[layer][i] = (float) ((random.nextDouble() * 2 - 1) * scale * Math.sqrt(3));
+            }
+        }
+    }
+
+    /**
+     * Constructor for a network of zero weights.
+     *
+     * @param sizes Number of units of every layer, the inputs first, ending with 2 outputs
+     */
+    private PolicyNetwork(int[] sizes) {
+        if (sizes.length < 2 || sizes[sizes.length - 1] != 2) {
+            throw new IllegalArgumentException("A network needs inputs and 2 outputs: " + Arrays.toString(sizes));
+        }
+        this.sizes = sizes.clone();
+        weights = new float[sizes.length - 1][];
+        biases = new float[sizes.length - 1][];
+        for (int layer = 0; layer < weights.length; layer++) {
+            weights[layer] = new float[sizes[layer] * sizes[layer + 1]];
+            biases[layer] = new float[sizes[layer + 1]];
+        }
+    }
+
+    /**
+     * Method to get the network used by the players.
+     *
+     * @return network, null if there is none
+     */
+    public static synchronized PolicyNetwork getDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            String fileName = System.getProperty(FILE_PROPERTY);
+            try {
+                if (fileName != null) {
+                    defaultNetwork = load(new File(fileName));
+                } else {
+                    try (InputStream input = PolicyNetwork.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                        defaultNetwork = input == null ? null : load(input);
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Policy network could not be read, playing without it: " + e.getMessage());
+            }
+        }
+        return defaultNetwork;
+    }
+
+    /**
+     * Method to set the network used by the players.
+     *
+     * @param network Network, null to read it again on next use
+     */
+    public static synchronized void setDefault(PolicyNetwork network) {
+        defaultNetwork = network;
+        defaultLoaded = network != null;
+    }
+
+    /**
+     * Method to read a network file.
+     *
+     * @param file Network file
+     * @return network
+     * @throws IOException if the file cannot be read
+     */
+    public static PolicyNetwork load(File file) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            return load(input);
+        }
+    }
+
+    /**
+     * Method to read a network.
+     *
+     * @param input Text of the network
+     * @return network
+     * @throws IOException if the text cannot be read
+     */
+    public static PolicyNetwork load(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String[]> lines = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                lines.add(line.split("\\s+"));
+            }
+        }
+        if (lines.isEmpty() || !lines.get(0)[0].equals("layers")) {
+            throw new IllegalArgumentException("Network must start with its layers");
+        }
+        int[] sizes = new int[lines.get(0).length - 1];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = Integer.parseInt(lines.get(0)[i + 1]);
+        }
+        PolicyNetwork network = new PolicyNetwork(sizes);
+        int line = 1;
+        for (int layer = 0; layer < network.weights.length; layer++) {
+            int outputs = sizes[layer + 1];
+            for (int unit = 0; unit < sizes[layer]; unit++) {
+                parseRow(lines, line++, network.weights[layer], unit * outputs, outputs);
+            }
+            parseRow(lines, line++, network.biases[layer], 0, outputs);
+        }
+        return network;
+    }
+
+    /**
+     * Method to read one line of numbers of a network.
+     *
+     * @param lines  Lines of the network
+     * @param line   Position of the line
+     * @param target Array receiving the numbers
+     * @param offset Position of the first number in the array
+     * @param count  Number of numbers of the line
+     */
+    private static void parseRow(List<String[]> lines, int line, float[] target, int offset, int count) {
+        if (line >= lines.size() || lines.get(line).length != count) {
+            throw new IllegalArgumentException("Network line " + line + " must have " + count + " numbers");
+        }
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = Float.parseFloat(lines.get(line)[i]);
+        }
+    }
+
+    /**
+     * Method to write a network file. The file is written next to its
+     * final place first and then renamed, like {@link WeightsConfig}.
+     *
+     * @param file    Network file
+     * @param comment Comment written at the top of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void store(File file, String comment) throws IOException {
+        File absolute = file.getAbsoluteFile();
+        File temporary = new File(absolute.getParentFile(), absolute.getName() + ".tmp");
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(temporary),
+                StandardCharsets.UTF_8))) {
+            writer.println("# " + comment);
+            StringBuilder header = new StringBuilder("layers");
+            for (int size : sizes) {
+                header.append(' ').append(size);
+            }
+            writer.println(header);
+            for (int layer = 0; layer < weights.length; layer++) {
+                int outputs = sizes[layer + 1];
+                for (int input = 0; input < sizes[layer]; input++) {
+                    writer.println(formatRow(weights[layer], input * outputs, outputs));
+                }
+                writer.println(formatRow(biases[layer], 0, outputs));
+            }
+        }
+        if (!temporary.renameTo(absolute) && !(absolute.delete() && temporary.renameTo(absolute))) {
+            throw new IOException("Could not replace " + absolute);
+        }
+    }
+
+    /**
+     * Method to write one line of numbers of a network.
+     *
+     * @param source Array of the numbers
+     * @param offset Position of the first number in the array
+     * @param count  Number of numbers of the line
+     * @return numbers separated by spaces
+     */
+    private static String formatRow(float[] source, int offset, int count) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            row.append(i > 0 ? " " : "").append(source[offset + i]);
+        }
+        return row.toString();
+    }
+
+    /**
+     * Method to get the number of inputs of a candidate.
+     *
+     * @return number of inputs
+     */
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    /**
+     * Method to get the number of units of every layer.
+     *
+     * @return sizes, the inputs first and the outputs last
+     */
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    /**
+     * Method to evaluate a batch of candidates in one pass.
+     *
+     * @param inputs Inputs of the candidates, one after the other
+     * @param batch  Number of candidates
+     * @param scores Array receiving the score of every candidate
+     * @param values Array receiving the value of the position after every candidate, between 0 and 1; may be null
+     */
+    public void evaluate(float[] inputs, int batch, float[] scores, float[] values) {
+        float[] outputs = forward(inputs, batch, null);
+        for (int row = 0; row < batch; row++) {
+            scores[row] = outputs[row * 2 + POLICY];
+            if (values != null) {
+                values[row] = sigmoid(outputs[row * 2 + VALUE]);
+            }
+        }
+    }
+
+    /**
+     * Method to run a batch through the layers.
+     *
+     * @param inputs      Inputs of the rows, one after the other
+     * @param batch       Number of rows
+     * @param activations Array receiving the outputs of every layer for training, null if not needed
+     * @return raw outputs of the last layer, two per row
+     */
+    float[] forward(float[] inputs, int batch, float[][] activations) {
+        float[] current = inputs;
+        for (int layer = 0; layer < weights.length; layer++) {
+            current = multiply(current, batch, layer, layer < weights.length - 1);
+            if (activations != null) {
+                activations[layer] = current;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Method to multiply a batch by the weights of a layer, add the biases
+     * and, for the hidden layers, cut the negative sums.
+     *
+     * @param inputs Rows of the inputs of the layer
+     * @param batch  Number of rows
+     * @param layer  Number of the layer
+     * @param hidden true for a hidden layer
+     * @return rows of the outputs of the layer
+     */
+    private float[] multiply(float[] inputs, int batch, int layer, boolean hidden) {
+        int inputSize = sizes[layer];
+        int outputSize = sizes[layer + 1];
+        float[] layerWeights = weights[layer];
+        float[] outputs = new float[batch * outputSize];
+        for (int row = 0; row < batch; row++) {
+            int out = row * outputSize;
+            System.arraycopy(biases[layer], 0, outputs, out, outputSize);
+            for (int input = 0; input < inputSize; input++) {
+                float x = inputs[row * inputSize + input];
+                if (x == 0) {
+                    continue;
+                }
+                // Consecutive weights of one input, which the compiler can vectorize.
+                int w = input * outputSize;
+                for (int j = 0; j < outputSize; j++) {
+                    outputs[out + j] += x * layerWeights[w + j];
+                }
+            }
+            if (hidden) {
+                for (int j = 0; j < outputSize; j++) {
+                    outputs[out + j] = Math.max(0, outputs[out + j]);
+                }
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * Method to get the weights of a layer, changed in place by the training.
+     *
+     * @param layer Number of the layer
+     * @return weights, input by input
+     */
+    float[] getWeights(int layer) {
+        return weights[layer];
+    }
+
+    /**
+     * Method to get the biases of a layer, changed in place by the training.
+     *
+     * @param layer Number of the layer
+     * @return biases
+     */
+    float[] getBiases(int layer) {
+        return biases[layer];
+    }
+
+    /**
+     * Method to squash a raw value between 0 and 1.
+     *
+     * @param x Raw value
+     * @return logistic of the value
+     */
+    static float sigmoid(float x) {
+        return (float) (1 / (1 + Math.exp(-x)));
+    }
+}
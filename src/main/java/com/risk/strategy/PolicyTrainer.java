@@ -0,0 +1,590 @@
+package com.risk.strategy;
+
+import com.risk.model.BattleOdds;
+import com.risk.model.GameState;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Class for the offline training of the network of {@link NeuralPolicy},
+ * run from the command line:
+ * <pre>java com.risk.strategy.PolicyTrainer output [seed] [games] [epochs] [map file]</pre>
+ * Headless games between an aggressive, a random and a benevolent player
+ * are played on {@link GameState} copies of the map, in parallel. Every
+ * few rounds the candidate moves of every player are recorded, each with
+ * a target score from the hand-written judgement of the move, the odds and
+ * gains of an attack, the threat covered by a reinforcement or a
+ * fortification, and a target value, the final evaluation of the player.
+ * The network is fitted to the records by minibatch gradient descent, the
+ * squared error of the score and the logistic loss of the value, and
+ * written to the output file. The neural player is then measured against
+ * the same opponents.
+ * <p>
+ * Every random choice comes from streams derived from the seed, so a run
+ * is reproducible whatever the number of threads.
+ */
+public class PolicyTrainer {
+
+    /**
+     * Number of players of the games
+     */
+    private static final int PLAYERS = 3;
+
+    /**
+     * Number of rounds after which a game is stopped and evaluated
+     */
+    private static final int MAX_ROUNDS = 100;
+
+    /**
+     * Armies put on every country at the start of a game
+     */
+    private static final int INITIAL_ARMIES = 3;
+
+    /**
+     * Number of rounds between two recorded positions
+     */
+    private static final int RECORD_EVERY = 3;
+
+    /**
+     * Sizes of the layers of the trained network
+     */
+    private static final int[] LAYERS = { NeuralPolicy.INPUTS, 32, 32, 2 };
+
+    /**
+     * Number of records of a gradient step
+     */
+    private static final int BATCH = 64;
+
+    /**
+     * Step size of the first epoch, halved over the run
+     */
+    private static final float LEARNING_RATE = 0.02f;
+
+    /**
+     * Score below which an attack is judged not worth its odds
+     */
+    private static final double ATTACK_THRESHOLD = 0.5;
+
+    /**
+     * Map of the games
+     */
+    private final GameState map;
+
+    /**
+     * Seed of the run
+     */
+    private long seed = 1;
+
+    /**
+     * Number of games recorded
+     */
+    private int games = 64;
+
+    /**
+     * Number of passes over the records
+     */
+    private int epochs = 20;
+
+    /**
+     * Inputs of the records, one after the other
+     */
+    private float[] inputs = new float[0];
+
+    /**
+     * Target score of every record
+     */
+    private float[] scores = new float[0];
+
+    /**
+     * Target value of every record
+     */
+    private float[] values = new float[0];
+
+    /**
+     * Number of records
+     */
+    private int recordCount;
+
+    /**
+     * Constructor method for PolicyTrainer class.
+     *
+     * @param map State of the map of the games
+     */
+    public PolicyTrainer(GameState map) {
+        this.map = map;
+    }
+
+    /**
+     * Main method of the trainer.
+     *
+     * @param args output file, seed, games, epochs and map file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: PolicyTrainer output [seed] [games] [epochs] [map file]");
+            return;
+        }
+        GameState map = args.length > 4 ? WeightTuner.loadMap(args[4])
+                : WeightTuner.createMap(42, new SplittableRandom(0));
+        PolicyTrainer trainer = new PolicyTrainer(map);
+        trainer.setSeed(args.length > 1 ? Long.parseLong(args[1]) : 1);
+        trainer.setGames(args.length > 2 ? Integer.parseInt(args[2]) : 64);
+        trainer.setEpochs(args.length > 3 ? Integer.parseInt(args[3]) : 20);
+        trainer.record();
+        System.out.println("Recorded " + trainer.getRecordCount() + " candidate moves");
+        PolicyNetwork network = trainer.train();
+        network.store(new File(args[0]), "Policy network trained by PolicyTrainer, seed " + trainer.seed + ", "
+                + trainer.getRecordCount() + " records, " + trainer.epochs + " epochs");
+        NeuralPolicy neural = new NeuralPolicy();
+        neural.setNetwork(network);
+        System.out.println("Mean final evaluation of the neural player: " + trainer.measure(neural));
+        System.out.println("Mean final evaluation of the aggressive player: " + trainer.measure(new Aggressive()));
+    }
+
+    /**
+     * Setter for the seed of the run.
+     *
+     * @param seed Seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Setter for the number of games recorded.
+     *
+     * @param games Number of games
+     */
+    public void setGames(int games) {
+        this.games = games;
+    }
+
+    /**
+     * Setter for the number of passes over the records.
+     *
+     * @param epochs Number of epochs
+     */
+    public void setEpochs(int epochs) {
+        this.epochs = epochs;
+    }
+
+    /**
+     * Method to get the number of records.
+     *
+     * @return number of records
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Method to play and record the games, in parallel.
+     */
+    public void record() {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Callable<PolicyTrainer>> tasks = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            SplittableRandom gameRandom = random.split();
+            int shift = game % PLAYERS;
+            tasks.add(() -> {
+                PolicyTrainer records = new PolicyTrainer(map);
+                records.recordGame(shift, gameRandom);
+                return records;
+            });
+        }
+        for (PolicyTrainer records : invokeAll(tasks)) {
+            append(records);
+        }
+    }
+
+    /**
+     * Method to fit a new network to the records.
+     *
+     * @return trained network
+     */
+    public PolicyNetwork train() {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        PolicyNetwork network = new PolicyNetwork(LAYERS, random);
+        int[] order = new int[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            order[i] = i;
+        }
+        int inputSize = NeuralPolicy.INPUTS;
+        float[] batchInputs = new float[BATCH * inputSize];
+        float[][] activations = new float[LAYERS.length - 1][];
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            shuffle(order, random);
+            float rate = LEARNING_RATE / (1 + epoch * 1f / Math.max(1, epochs - 1));
+            double loss = 0;
+            for (int start = 0; start < recordCount; start += BATCH) {
+                int batch = Math.min(BATCH, recordCount - start);
+                for (int row = 0; row < batch; row++) {
+                    System.arraycopy(inputs, order[start + row] * inputSize, batchInputs, row * inputSize,
+                            inputSize);
+                }
+                float[] outputs = network.forward(batchInputs, batch, activations);
+                float[] delta = new float[batch * 2];
+                for (int row = 0; row < batch; row++) {
+                    int record = order[start + row];
+                    float error = outputs[row * 2 + PolicyNetwork.POLICY] - scores[record];
+                    float value = PolicyNetwork.sigmoid(outputs[row * 2 + PolicyNetwork.VALUE]);
+                    delta[row * 2 + PolicyNetwork.POLICY] = error / batch;
+                    delta[row * 2 + PolicyNetwork.VALUE] = (value - values[record]) / batch;
+                    loss += error * error;
+                }
+                backpropagate(network, batchInputs, batch, activations, delta, rate);
+            }
+            System.out.println("Epoch " + epoch + ", mean squared score error " + loss / recordCount);
+        }
+        return network;
+    }
+
+    /**
+     * Method to measure a strategy against the recorded opponents, taking
+     * every seat in turn.
+     *
+     * @param strategy Measured strategy
+     * @return mean final evaluation of the strategy
+     */
+    public double measure(PlayerBehaviour strategy) {
+        SplittableRandom random = new SplittableRandom(~seed);
+        List<Callable<Double>> tasks = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            SplittableRandom gameRandom = random.split();
+            int seat = game % PLAYERS;
+            tasks.add(() -> {
+                GameState state = deal(gameRandom);
+                PlayerBehaviour[] behaviours = createOpponents(0);
+                behaviours[seat] = strategy;
+                play(state, behaviours, gameRandom, null);
+                return state.evaluate(seat);
+            });
+        }
+        double total = 0;
+        for (double evaluation : invokeAll(tasks)) {
+            total += evaluation;
+        }
+        return total / games;
+    }
+
+    /**
+     * Method to play one game and record the candidate moves of every player.
+     *
+     * @param shift  Rotation of the seats of the strategies
+     * @param random Random source of the deal, the moves and the dice
+     */
+    private void recordGame(int shift, SplittableRandom random) {
+        GameState state = deal(random);
+        int[] playerOfRecord = new int[64];
+        int first = recordCount;
+        playerOfRecord = play(state, createOpponents(shift), random, playerOfRecord);
+        for (int record = first; record < recordCount; record++) {
+            values[record] = (float) state.evaluate(playerOfRecord[record - first]);
+        }
+    }
+
+    /**
+     * Method to play a game to its end or to the round limit.
+     *
+     * @param state          State of the game
+     * @param behaviours     Strategy of every player
+     * @param random         Random source of the moves and the dice
+     * @param playerOfRecord Array receiving the player of every record, null not to record
+     * @return player of every record, null if not recording
+     */
+    private int[] play(GameState state, PlayerBehaviour[] behaviours, SplittableRandom random,
+                       int[] playerOfRecord) {
+        for (int round = 0; round < MAX_ROUNDS && state.getWinner() < 0; round++) {
+            for (int player = 0; player < PLAYERS && state.getWinner() < 0; player++) {
+                if (state.getCountryCount(player) == 0) {
+                    continue;
+                }
+                if (playerOfRecord != null && round % RECORD_EVERY == 0) {
+                    int first = recordCount;
+                    recordPosition(state, player);
+                    if (recordCount > playerOfRecord.length) {
+                        playerOfRecord = Arrays.copyOf(playerOfRecord, Math.max(recordCount,
+                                playerOfRecord.length * 2));
+                    }
+                    Arrays.fill(playerOfRecord, first, recordCount, player);
+                }
+                behaviours[player].simulateTurn(state, player, random);
+            }
+        }
+        return playerOfRecord;
+    }
+
+    /**
+     * Method to record the candidate moves of the three phases of a player.
+     *
+     * @param state  Current game state
+     * @param player Number of the player in the state
+     */
+    private void recordPosition(GameState state, int player) {
+        int armies = state.getReinforcementArmies(player);
+        int[] owned = NeuralPolicy.countOwned(state, player);
+        for (int kind = NeuralPolicy.REINFORCE; kind <= NeuralPolicy.FORTIFY; kind++) {
+            int[] candidates = NeuralPolicy.getCandidates(state, player, kind);
+            for (int i = 0; i < candidates.length; i += 2) {
+                grow(recordCount + 1);
+                NeuralPolicy.encode(state, player, owned, kind, candidates[i], candidates[i + 1], armies, inputs,
+                        recordCount * NeuralPolicy.INPUTS);
+                scores[recordCount] = (float) judge(state, player, kind, candidates[i], candidates[i + 1], armies);
+                recordCount++;
+            }
+        }
+    }
+
+    /**
+     * Method to judge a candidate move by hand: an attack by its odds and
+     * what a conquest brings, a reinforcement or a fortification by the
+     * threat it meets. Ending a phase scores 0.
+     *
+     * @param state  Current game state
+     * @param player Number of the player in the state
+     * @param kind   Kind of the decision
+     * @param from   First country of the candidate, -1 for none
+     * @param to     Second country of the candidate, -1 for none
+     * @param armies Number of armies to place, for a reinforcement
+     * @return target score of the move
+     */
+    static double judge(GameState state, int player, int kind, int from, int to, int armies) {
+        if (to < 0) {
+            return 0;
+        }
+        BattleOdds odds = BattleOdds.getSharedOdds();
+        if (kind == NeuralPolicy.ATTACK) {
+            double gain = 1;
+            int continent = state.getContinent(to);
+            if (continent >= 0 && getOwnedCount(state, player, continent) == state.getContinentSize(continent) - 1) {
+                gain += state.getContinentBonus(continent) / 5.0;
+            }
+            if (state.getCountryCount(state.getOwner(to)) == 1) {
+                gain += 0.5;
+            }
+            return odds.getWinProbability(state.getArmies(from), state.getArmies(to)) * gain - ATTACK_THRESHOLD;
+        }
+        if (kind == NeuralPolicy.FORTIFY) {
+            double before = getThreat(state, player, from, 0) + getThreat(state, player, to, 0);
+            int moved = state.getArmies(from) - 1;
+            double after = getThreat(state, player, from, -moved) + getThreat(state, player, to, moved);
+            return Math.tanh(before - after);
+        }
+        int weakest = Integer.MAX_VALUE;
+        for (int i = 0; i < state.getNeighbourCount(to); i++) {
+            int neighbour = state.getNeighbour(to, i);
+            if (state.getOwner(neighbour) != player) {
+                weakest = Math.min(weakest, state.getArmies(neighbour));
+            }
+        }
+        double attack = weakest == Integer.MAX_VALUE ? 0
+                : odds.getWinProbability(state.getArmies(to) + armies, weakest);
+        double threat = getThreat(state, player, to, 0) - getThreat(state, player, to, armies);
+        int continent = state.getContinent(to);
+        double share = continent < 0 ? 0
+                : (double) getOwnedCount(state, player, continent) / state.getContinentSize(continent);
+        return 0.5 * attack + 0.3 * Math.tanh(threat) + 0.2 * share;
+    }
+
+    /**
+     * Method to measure the threat on a country of the player: the enemy
+     * armies around it for every army on it.
+     *
+     * @param state   Current game state
+     * @param player  Number of the player in the state
+     * @param country Number of the country
+     * @param added   Armies added to the country
+     * @return enemy armies around the country divided by its armies
+     */
+    private static double getThreat(GameState state, int player, int country, int added) {
+        int hostile = 0;
+        for (int i = 0; i < state.getNeighbourCount(country); i++) {
+            int neighbour = state.getNeighbour(country, i);
+            if (state.getOwner(neighbour) != player) {
+                hostile += state.getArmies(neighbour);
+            }
+        }
+        return (double) hostile / Math.max(1, state.getArmies(country) + added);
+    }
+
+    /**
+     * Method to count the countries of a continent owned by a player.
+     *
+     * @param state     Current game state
+     * @param player    Number of the player in the state
+     * @param continent Number of the continent
+     * @return number of countries
+     */
+    private static int getOwnedCount(GameState state, int player, int continent) {
+        int owned = 0;
+        for (int country : state.getCountries(player)) {
+            if (state.getContinent(country) == continent) {
+                owned++;
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Method to take one gradient step on a batch, the gradients of the
+     * outputs going back through the layers.
+     *
+     * @param network     Trained network, changed in place
+     * @param batchInputs Inputs of the batch
+     * @param batch       Number of rows
+     * @param activations Outputs of every layer for the batch
+     * @param delta       Gradient of the loss for the outputs of the last layer
+     * @param rate        Step size
+     */
+    private static void backpropagate(PolicyNetwork network, float[] batchInputs, int batch,
+                                      float[][] activations, float[] delta, float rate) {
+        int[] sizes = network.getSizes();
+        for (int layer = sizes.length - 2; layer >= 0; layer--) {
+            int inputSize = sizes[layer];
+            int outputSize = sizes[layer + 1];
+            float[] layerInputs = layer == 0 ? batchInputs : activations[layer - 1];
+            float[] weights = network.getWeights(layer);
+            float[] biases = network.getBiases(layer);
+            float[] inputDelta = layer == 0 ? null : new float[batch * inputSize];
+            for (int row = 0; row < batch; row++) {
+                for (int input = 0; input < inputSize; input++) {
+                    float x = layerInputs[row * inputSize + input];
+                    int w = input * outputSize;
+                    float sum = 0;
+                    for (int j = 0; j < outputSize; j++) {
+                        sum += weights[w + j] * delta[row * outputSize + j];
+                    }
+                    // The hidden units are rectified: no gradient goes back through a unit at 0.
+                    if (inputDelta != null && x > 0) {
+                        inputDelta[row * inputSize + input] = sum;
+                    }
+                }
+            }
+            for (int row = 0; row < batch; row++) {
+                for (int input = 0; input < inputSize; input++) {
+                    float x = layerInputs[row * inputSize + input];
+                    if (x == 0) {
+                        continue;
+                    }
+                    int w = input * outputSize;
+                    for (int j = 0; j < outputSize; j++) {
+                        weights[w + j] -= rate * x * delta[row * outputSize + j];
+                    }
+                }
+                for (int j = 0; j < outputSize; j++) {
+                    biases[j] -= rate * delta[row * outputSize + j];
+                }
+            }
+            delta = inputDelta;
+        }
+    }
+
+    /**
+     * Method to deal the countries of the map at random.
+     *
+     * @param random Random source of the deal
+     * @return state of the new game
+     */
+    private GameState deal(SplittableRandom random) {
+        GameState state = map.copy();
+        int size = state.getCountryCount();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        shuffle(order, random);
+        for (int i = 0; i < size; i++) {
+            state.setOwner(order[i], i % PLAYERS, INITIAL_ARMIES);
+        }
+        return state;
+    }
+
+    /**
+     * Method to create the strategies of the players.
+     *
+     * @param shift Rotation of the seats of the strategies
+     * @return strategy of every player
+     */
+    private static PlayerBehaviour[] createOpponents(int shift) {
+        PlayerBehaviour[] behaviours = new PlayerBehaviour[PLAYERS];
+        behaviours[shift % PLAYERS] = new Aggressive();
+        behaviours[(shift + 1) % PLAYERS] = new Random();
+        behaviours[(shift + 2) % PLAYERS] = new Benevolent();
+        return behaviours;
+    }
+
+    /**
+     * Method to shuffle numbers in place.
+     *
+     * @param order  Numbers
+     * @param random Random source
+     */
+    private static void shuffle(int[] order, SplittableRandom random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    /**
+     * Method to make room for records.
+     *
+     * @param count Number of records to hold
+     */
+    private void grow(int count) {
+        if (count > scores.length) {
+            int capacity = Math.max(count, scores.length * 2);
+            inputs = Arrays.copyOf(inputs, capacity * NeuralPolicy.INPUTS);
+            scores = Arrays.copyOf(scores, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * Method to append the records of a game.
+     *
+     * @param records Records of the game
+     */
+    private void append(PolicyTrainer records) {
+        grow(recordCount + records.recordCount);
+        System.arraycopy(records.inputs, 0, inputs, recordCount * NeuralPolicy.INPUTS,
+                records.recordCount * NeuralPolicy.INPUTS);
+        System.arraycopy(records.scores, 0, scores, recordCount, records.recordCount);
+        System.arraycopy(records.values, 0, values, recordCount, records.recordCount);
+        recordCount += records.recordCount;
+    }
+
+    /**
+     * Method to run tasks on the common fork-join pool.
+     *
+     * @param tasks Tasks
+     * @param <T>   Type of the results
+     * @return results in the order of the tasks
+     */
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                results.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Training game failed", e.getCause());
+        }
+        return results;
+    }
+}
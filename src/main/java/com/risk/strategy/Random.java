@@ -1,14 +1,12 @@
 package com.risk.strategy;
 
+import com.risk.model.AttackPolicy;
 import com.risk.model.Country;
 import com.risk.model.Dice;
 import com.risk.model.Player;
-import com.risk.model.TournamentModel;
-import com.risk.controller.DiceController;
 import com.risk.controller.GamePlayController;
-import javafx.collections.ObservableList;
-import javafx.scene.control.ListView;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +24,16 @@ import java.util.stream.Collectors;
  */
 public class Random extends PlayerBehaviour {
 
+    /**
+     * Smallest chance of conquest for which the random player goes on attacking
+     */
+    public static final double TARGET_WIN_PROBABILITY = 0.25;
+
+    /**
+     * Policy deciding when the attacks of the random player stop
+     */
+    private static final AttackPolicy ATTACK_POLICY = AttackPolicy.forWinProbability(TARGET_WIN_PROBABILITY);
+
     /**
      * Object of GamePlayController, control various activities during the game play.
      */
@@ -54,20 +62,20 @@ public class Random extends PlayerBehaviour {
      * @param currentPlayer Current player.
      */
     @Override
-    public void reinforcementPhase(ObservableList<Country> countryList, Country country, Player currentPlayer) {
-        System.out.println("Beginning Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
+    public void playReinforcement(List<Country> countryList, Country country, Player currentPlayer) {
+        println("Beginning Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
-        Country randomCountry = countryList.get(new java.util.Random().nextInt(countryList.size()));
         int armies = currentPlayer.getArmyCount();
-        if (armies > 0) {
+        if (armies > 0 && !countryList.isEmpty()) {
+            Country randomCountry = countryList.get(currentPlayer.getContext().getRandom().nextInt(countryList.size()));
             randomCountry.setNoOfArmies(randomCountry.getNoOfArmies() + armies);
             currentPlayer.setArmyCount(currentPlayer.getArmyCount() - armies);
-            System.out.println("Country " + randomCountry.getName() + " has been assigned " + armies + " armies.\n");
+            println("Country " + randomCountry.getName() + " has been assigned " + armies + " armies.\n");
             setChanged();
             notifyObservers("Country " + randomCountry.getName() + " has been assigned " + armies + " armies.\n");
         }
-        System.out.println("Ended Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
+        println("Ended Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended Reinforcement phase for random player " + currentPlayer.getName() + ".\n");
     }
@@ -81,35 +89,47 @@ public class Random extends PlayerBehaviour {
      * @param currentPlayer        Current player.
      */
     @Override
-    public void attackPhase(ListView<Country> attackingCountryList, ListView<Country> defendingCountryList,
-                            Player currentPlayer) {
-        System.out.println("Beginning attack phase for random player " + currentPlayer.getName() + ".\n");
+    protected void playStrategyAttack(List<Country> attackingCountryList, List<Country> defendingCountryList,
+                                      Player currentPlayer) {
+        println("Beginning attack phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning attack phase for random player " + currentPlayer.getName() + ".\n");
-        ObservableList<Country> attackableCountries = attackingCountryList.getItems();
-        System.out.println("Attackable country list=" + attackableCountries.toString());
+        List<Country> attackableCountries = attackingCountryList;
+        println("Attackable country list=" + attackableCountries.toString());
         setChanged();
         notifyObservers("Attackable country list=" + attackableCountries.toString());
-        Country attackingCountry;
-        while ((attackingCountry = attackableCountries.get(new java.util.Random().nextInt(attackableCountries.size()))).getNoOfArmies() < 2) {
+        // Candidates are built in one pass, so the choice below never has to sample again.
+        List<Country> attackingCountries = new ArrayList<>();
+        List<List<Country>> defendingCountryLists = new ArrayList<>();
+        for (Country country : attackableCountries) {
+            if (country.getNoOfArmies() < 2) {
+                continue;
+            }
+            List<Country> defendingCountries = getPolicyDefendingCountryList(country);
+            if (!defendingCountries.isEmpty()) {
+                attackingCountries.add(country);
+                defendingCountryLists.add(defendingCountries);
+            }
         }
-        System.out.println("Attacking country = " + attackingCountry.getName() + " , no of armies=" + attackingCountry.getNoOfArmies());
+        if (attackingCountries.isEmpty()) {
+            return;
+        }
+        java.util.Random random = currentPlayer.getContext().getRandom();
+        int choice = random.nextInt(attackingCountries.size());
+        Country attackingCountry = attackingCountries.get(choice);
+        println("Attacking country = " + attackingCountry.getName() + " , no of armies=" + attackingCountry.getNoOfArmies());
         setChanged();
         notifyObservers("Attacking country = " + attackingCountry.getName() + " , no of armies=" + attackingCountry.getNoOfArmies());
-        List<Country> defendingCountries;
-
-        while ((defendingCountries = getDefendingCountryList(attackingCountry)).isEmpty()) {
-            attackingCountry = attackableCountries.get(new java.util.Random().nextInt(attackableCountries.size()));
-        }
+        List<Country> defendingCountries = defendingCountryLists.get(choice);
 
-        Country defendingCountry = defendingCountries.get(new java.util.Random().nextInt(defendingCountries.size()));
+        Country defendingCountry = defendingCountries.get(random.nextInt(defendingCountries.size()));
 
-        System.out.println("Attacking from random country " + attackingCountry.getName() + " to random country " + defendingCountry.getName() + ".\n");
+        println("Attacking from random country " + attackingCountry.getName() + " to random country " + defendingCountry.getName() + ".\n");
         setChanged();
         notifyObservers("Attacking from random country " + attackingCountry.getName() + " to random country " + defendingCountry.getName() + ".\n");
         attack(attackingCountry, defendingCountry, currentPlayer);
 
-        System.out.println("Ended Attack phase for random player " + currentPlayer.getName() + ".\n");
+        println("Ended Attack phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended Attack phase for random player " + currentPlayer.getName() + ".\n");
     }
@@ -125,33 +145,40 @@ public class Random extends PlayerBehaviour {
      * If the fortification successful; other wise false.
      */
     @Override
-    public boolean fortificationPhase(ListView<Country> selectedCountryList, ListView<Country> adjCountryList,
+    public boolean playFortification(List<Country> selectedCountryList, List<Country> adjCountryList,
                                       Player currentPlayer) {
-        System.out.println("Beginning Fortification phase for random player " + currentPlayer.getName() + ".\n");
+        println("Beginning Fortification phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Beginning Fortification phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
-        notifyObservers("List of countries owned: " + selectedCountryList.getItems() + "\n");
-        System.out.println("List of countries owned: " + selectedCountryList.getItems() + "\n");
-        ObservableList<Country> selectedCountry = selectedCountryList.getItems();
-        Country countryToFortify = selectedCountry.get(new java.util.Random().nextInt(selectedCountry.size()));
-        List<Country> adjacentOwnedCountryList;
-        while ((adjacentOwnedCountryList = getAdjacentOwnedCountryList(countryToFortify)).isEmpty()) {
-            countryToFortify = selectedCountry.get(new java.util.Random().nextInt(selectedCountry.size()));
+        notifyObservers("List of countries owned: " + selectedCountryList + "\n");
+        println("List of countries owned: " + selectedCountryList + "\n");
+        List<Country> fortifiableCountries = new ArrayList<>();
+        List<List<Country>> adjacentOwnedCountryLists = new ArrayList<>();
+        for (Country country : selectedCountryList) {
+            List<Country> adjacentOwnedCountryList = getAdjacentOwnedCountryList(country);
+            if (!adjacentOwnedCountryList.isEmpty()) {
+                fortifiableCountries.add(country);
+                adjacentOwnedCountryLists.add(adjacentOwnedCountryList);
+            }
         }
-        Country countryFromFortify = adjacentOwnedCountryList.get(new java.util.Random().nextInt(adjacentOwnedCountryList.size()));
 
-        if (countryFromFortify.getNoOfArmies() >= 2) {
-            int randomArmies = new java.util.Random().nextInt(countryFromFortify.getNoOfArmies() - 1) + 1;
+        if (!fortifiableCountries.isEmpty()) {
+            java.util.Random random = currentPlayer.getContext().getRandom();
+            int choice = random.nextInt(fortifiableCountries.size());
+            Country countryToFortify = fortifiableCountries.get(choice);
+            List<Country> adjacentOwnedCountryList = adjacentOwnedCountryLists.get(choice);
+            Country countryFromFortify = adjacentOwnedCountryList.get(random.nextInt(adjacentOwnedCountryList.size()));
+            int randomArmies = random.nextInt(countryFromFortify.getNoOfArmies() - 1) + 1;
             countryToFortify.setNoOfArmies(countryToFortify.getNoOfArmies() + randomArmies);
             countryFromFortify.setNoOfArmies(countryFromFortify.getNoOfArmies() - randomArmies);
-            System.out.println("Fortified " + randomArmies + " from random country " + countryFromFortify.getName()
+            println("Fortified " + randomArmies + " from random country " + countryFromFortify.getName()
                     + " to random country " + countryToFortify.getName() + ".\n");
             setChanged();
             notifyObservers("Fortified " + randomArmies + " from random country " + countryFromFortify.getName()
                     + " to random country " + countryToFortify.getName() + ".\n");
         }
-        System.out.println("Ended Fortification phase for random player " + currentPlayer.getName() + ".\n");
+        println("Ended Fortification phase for random player " + currentPlayer.getName() + ".\n");
         setChanged();
         notifyObservers("Ended Fortification phase for random player " + currentPlayer.getName() + ".\n");
         return true;
@@ -165,17 +192,18 @@ public class Random extends PlayerBehaviour {
      * If player can attack; other wise false.
      */
     @Override
-    public boolean playerCanAttack(ListView<Country> countries) {
+    protected boolean canStrategyAttack(List<Country> countries) {
         boolean canAttack = false;
-        for (Country country : countries.getItems()) {
-            if (country.getNoOfArmies() > 1 && getDefendingCountryList(country).size() > 0) {
+        for (Country country : countries) {
+            if (country.getNoOfArmies() > 1 && !getPolicyDefendingCountryList(country).isEmpty()) {
                 canAttack = true;
+                break;
             }
         }
 
         if (!canAttack) {
-            System.out.println("Random player cannot continue with attack phase, move to fortification phase.\n");
-            System.out.println("Attack phase ended for random player.\n");
+            println("Random player cannot continue with attack phase, move to fortification phase.\n");
+            println("Attack phase ended for random player.\n");
             setChanged();
             notifyObservers("Random player cannot continue with attack phase, move to fortification phase.\n");
             setChanged();
@@ -196,15 +224,33 @@ public class Random extends PlayerBehaviour {
         if (currentPlayer != null) {
             diceModel.addObserver(currentPlayer);
         }
+        rollDice(diceModel, gamePlayController);
+    }
 
-        if (TournamentModel.isTournament) {
-            DiceController diceController = new DiceController(diceModel, this);
-            diceController.automateDiceRoll();
-        } else {
-            DiceController diceController = new DiceController(diceModel, this, this.gamePlayController);
-            diceController.automateDiceRoll();
-        }
+    /**
+     * Method to get the policy deciding when the attacks of the random player stop.
+     * It goes on attacking while the conquest has a fair chance.
+     *
+     * @return AttackPolicy
+     * Attack policy of the random player.
+     */
+    @Override
+    public AttackPolicy getAttackPolicy() {
+        return ATTACK_POLICY;
+    }
 
+    /**
+     * Method to get the list of defending countries which the
+     * attack policy allows to attack.
+     *
+     * @param attackingCountry Country attacking.
+     * @return List
+     * List of defending countries worth attacking.
+     */
+    public List<Country> getPolicyDefendingCountryList(Country attackingCountry) {
+        return getDefendingCountryList(attackingCountry).stream()
+                .filter(t -> ATTACK_POLICY.shouldContinue(attackingCountry.getNoOfArmies(), t.getNoOfArmies()))
+                .collect(Collectors.toList());
     }
 
     /**
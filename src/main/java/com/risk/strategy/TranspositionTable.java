@@ -0,0 +1,200 @@
+package com.risk.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Class for the transposition table of the game tree searches: search
+ * results keyed by the hash of a game state, in a fixed number of entries
+ * chosen from a memory budget. The entries are kept in parallel arrays,
+ * two to a bucket: the first one keeps the deepest result of the current
+ * search and the second one always takes the newest result that does not
+ * fit in the first, so that deep results survive while recent ones are
+ * still found.
+ */
+public class TranspositionTable {
+
+    /**
+     * Memory taken by one entry, in bytes
+     */
+    public static final int ENTRY_BYTES = 24;
+
+    /**
+     * Kind of a stored value: exact, lower bound or upper bound of the real value
+     */
+    public static final byte EXACT = 0, LOWER_BOUND = 1, UPPER_BOUND = 2;
+
+    /**
+     * Move stored when a result has none
+     */
+    public static final int NO_MOVE = Integer.MIN_VALUE;
+
+    /**
+     * Largest number of entries
+     */
+    private static final int MAX_ENTRIES = 1 << 26;
+
+    /**
+     * Hash of the state of every entry
+     */
+    private final long[] keys;
+
+    /**
+     * Value of every entry
+     */
+    private final double[] values;
+
+    /**
+     * Best move of every entry
+     */
+    private final int[] moves;
+
+    /**
+     * Remaining search depth of every entry
+     */
+    private final byte[] depths;
+
+    /**
+     * Kind of value of every entry
+     */
+    private final byte[] bounds;
+
+    /**
+     * Search which stored every entry, 0 for an empty entry
+     */
+    private final byte[] generations;
+
+    /**
+     * Mask giving the first entry of the bucket of a hash
+     */
+    private final int mask;
+
+    /**
+     * Number of the current search, from 1 to 127
+     */
+    private byte generation = 1;
+
+    /**
+     * Constructor for the table, with the largest power of two of entries fitting in the budget.
+     *
+     * @param memoryBytes Memory budget in bytes
+     */
+    public TranspositionTable(long memoryBytes) {
+        long entries = Math.max(2, Math.min(MAX_ENTRIES, memoryBytes / ENTRY_BYTES));
+        int capacity = Integer.highestOneBit((int) entries);
+        keys = new long[capacity];
+        values = new double[capacity];
+        moves = new int[capacity];
+        depths = new byte[capacity];
+        bounds = new byte[capacity];
+        generations = new byte[capacity];
+        mask = (capacity - 1) & ~1;
+    }
+
+    /**
+     * Method to get the number of entries.
+     *
+     * @return number of entries
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Method to start a new search. Entries of older searches are kept
+     * but are the first ones to be replaced.
+     */
+    public void newSearch() {
+        generation = (byte) (generation == Byte.MAX_VALUE ? 1 : generation + 1);
+    }
+
+    /**
+     * Method to empty the table.
+     */
+    public void clear() {
+        Arrays.fill(generations, (byte) 0);
+    }
+
+    /**
+     * Method to find the entry of a state.
+     *
+     * @param key Hash of the state
+     * @return position of the entry, -1 if the state is not in the table
+     */
+    public int find(long key) {
+        int bucket = (int) key & mask;
+        for (int entry = bucket; entry <= bucket + 1; entry++) {
+            if (generations[entry] != 0 && keys[entry] == key) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method to get the value of an entry.
+     *
+     * @param entry Position of the entry
+     * @return value
+     */
+    public double getValue(int entry) {
+        return values[entry];
+    }
+
+    /**
+     * Method to get the best move of an entry.
+     *
+     * @param entry Position of the entry
+     * @return move, NO_MOVE if there is none
+     */
+    public int getMove(int entry) {
+        return moves[entry];
+    }
+
+    /**
+     * Method to get the remaining search depth of an entry.
+     *
+     * @param entry Position of the entry
+     * @return depth
+     */
+    public int getDepth(int entry) {
+        return depths[entry];
+    }
+
+    /**
+     * Method to get the kind of value of an entry.
+     *
+     * @param entry Position of the entry
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public byte getBound(int entry) {
+        return bounds[entry];
+    }
+
+    /**
+     * Method to store a search result. It goes to the first entry of its
+     * bucket if that entry holds the same state, is empty, comes from an
+     * older search or was searched less deep; otherwise it replaces the
+     * second entry.
+     *
+     * @param key   Hash of the state
+     * @param depth Remaining search depth, at most 127
+     * @param bound Kind of value
+     * @param value Value
+     * @param move  Best move, NO_MOVE if there is none
+     */
+    public void store(long key, int depth, byte bound, double value, int move) {
+        int entry = (int) key & mask;
+        if (generations[entry] == generation && keys[entry] != key && depth < depths[entry]) {
+            entry++;
+        }
+        if (move == NO_MOVE && generations[entry] != 0 && keys[entry] == key) {
+            move = moves[entry];
+        }
+        keys[entry] = key;
+        values[entry] = value;
+        moves[entry] = move;
+        depths[entry] = (byte) depth;
+        bounds[entry] = bound;
+        generations[entry] = generation;
+    }
+}
@@ -0,0 +1,606 @@
+package com.risk.strategy;
+
+import com.risk.model.Continent;
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+import com.risk.services.MapValidate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Class for the offline tuning of the weights of a parameterized strategy
+ * by a genetic search over self-play games, run from the command line:
+ * <pre>java com.risk.strategy.WeightTuner strategy output [seed] [generations] [population] [games] [map file]</pre>
+ * Every candidate plays the same batch of headless games on
+ * {@link GameState} copies of the map against an aggressive and a random
+ * player, taking every seat in turn, and its fitness is the mean final
+ * evaluation of its position. The games of a generation run in parallel
+ * on a fork-join pool.
+ * <p>
+ * Every random choice comes from streams derived from the seed, the
+ * generation and the game, so a run is reproducible whatever the number
+ * of threads. After every generation the population is written to a
+ * checkpoint file, from which an interrupted run goes on with the same
+ * result, and the best weights are written to the output configuration
+ * for {@link WeightsConfig}.
+ */
+public class WeightTuner {
+
+    /**
+     * Number of players of the games
+     */
+    private static final int PLAYERS = 3;
+
+    /**
+     * Number of rounds after which a game is stopped and evaluated
+     */
+    private static final int MAX_ROUNDS = 100;
+
+    /**
+     * Armies put on every country at the start of a game
+     */
+    private static final int INITIAL_ARMIES = 3;
+
+    /**
+     * Number of best candidates kept unchanged in the next generation
+     */
+    private static final int ELITE = 2;
+
+    /**
+     * Number of candidates competing for every parent
+     */
+    private static final int TOURNAMENT_SIZE = 3;
+
+    /**
+     * Probability of mutating a weight of a child
+     */
+    private static final double MUTATION_RATE = 0.5;
+
+    /**
+     * Standard deviation of a mutation, as a share of the range of the weight
+     */
+    private static final double MUTATION_SCALE = 0.1;
+
+    /**
+     * Name of the tuned strategy
+     */
+    private final String strategy;
+
+    /**
+     * Weights the search starts from
+     */
+    private final HeuristicWeights startWeights;
+
+    /**
+     * Map of the games, the owners and armies being dealt again for every game
+     */
+    private final GameState map;
+
+    /**
+     * Seed of the run
+     */
+    private long seed = 1;
+
+    /**
+     * Number of generations of the run
+     */
+    private int generations = 20;
+
+    /**
+     * Number of candidates of a generation
+     */
+    private int populationSize = 16;
+
+    /**
+     * Number of games played by every candidate in a generation
+     */
+    private int games = 48;
+
+    /**
+     * Checkpoint file, null for none
+     */
+    private File checkpoint;
+
+    /**
+     * Pool running the games, null for the common pool
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Fitness of the best candidate of the last generation
+     */
+    private double bestFitness = Double.NaN;
+
+    /**
+     * Constructor for the tuner.
+     *
+     * @param strategy     Name of the strategy, a player type with weights
+     * @param startWeights Weights the search starts from
+     * @param map          Map of the games, with any owners
+     */
+    public WeightTuner(String strategy, HeuristicWeights startWeights, GameState map) {
+        if (createStrategy(strategy).getWeights() == null) {
+            throw new IllegalArgumentException("Strategy " + strategy + " has no weights");
+        }
+        this.strategy = strategy;
+        this.startWeights = startWeights;
+        this.map = map;
+    }
+
+    /**
+     * Main method of the tuner.
+     *
+     * @param args strategy, output file, seed, generations, population size, games and map file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: WeightTuner strategy output [seed] [generations] [population] [games] [map file]");
+            return;
+        }
+        File output = new File(args[1]);
+        GameState map = args.length > 6 ? loadMap(args[6]) : createMap(42, new SplittableRandom(0));
+        Properties config = WeightsConfig.load(output);
+        HeuristicWeights start = createStrategy(args[0]).getWeights().withProperties(config, args[0]);
+        WeightTuner tuner = new WeightTuner(args[0], start, map);
+        tuner.setSeed(args.length > 2 ? Long.parseLong(args[2]) : 1);
+        tuner.setGenerations(args.length > 3 ? Integer.parseInt(args[3]) : 20);
+        tuner.setPopulationSize(args.length > 4 ? Integer.parseInt(args[4]) : 16);
+        tuner.setGames(args.length > 5 ? Integer.parseInt(args[5]) : 48);
+        tuner.setCheckpoint(new File(args[1] + ".checkpoint"));
+        HeuristicWeights best = tuner.tune(output);
+        System.out.println("Best weights of " + args[0] + ": " + best + ", fitness " + tuner.getBestFitness());
+    }
+
+    /**
+     * Setter for the seed of the run.
+     *
+     * @param seed Seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Setter for the number of generations of the run.
+     *
+     * @param generations Number of generations
+     */
+    public void setGenerations(int generations) {
+        this.generations = Math.max(1, generations);
+    }
+
+    /**
+     * Setter for the number of candidates of a generation.
+     *
+     * @param populationSize Number of candidates, at least ELITE + 1
+     */
+    public void setPopulationSize(int populationSize) {
+        this.populationSize = Math.max(ELITE + 1, populationSize);
+    }
+
+    /**
+     * Setter for the number of games played by every candidate in a generation.
+     *
+     * @param games Number of games
+     */
+    public void setGames(int games) {
+        this.games = Math.max(1, games);
+    }
+
+    /**
+     * Setter for the checkpoint file.
+     *
+     * @param checkpoint Checkpoint file, null for none
+     */
+    public void setCheckpoint(File checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Setter for the pool running the games.
+     *
+     * @param pool Pool, null for the common pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Method to get the fitness of the best candidate of the last generation.
+     *
+     * @return fitness, NaN before the first generation
+     */
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * Method to run the search, going on from the checkpoint if it belongs
+     * to the same strategy and seed.
+     *
+     * @param output Configuration file receiving the best weights after every generation, null for none
+     * @return best weights of the last generation
+     * @throws IOException if a file cannot be read or written
+     */
+    public HeuristicWeights tune(File output) throws IOException {
+        int generation = 0;
+        double[][] population = null;
+        HeuristicWeights best = startWeights;
+        if (checkpoint != null && checkpoint.exists()) {
+            Properties saved = WeightsConfig.load(checkpoint);
+            if (strategy.equals(saved.getProperty("strategy")) && Long.toString(seed).equals(saved.getProperty("seed"))
+                    && Integer.toString(populationSize).equals(saved.getProperty("population"))) {
+                generation = Integer.parseInt(saved.getProperty("generation"));
+                population = new double[populationSize][];
+                for (int i = 0; i < populationSize; i++) {
+                    population[i] = parseValues(saved.getProperty("candidate." + i));
+                }
+                best = startWeights.withValues(parseValues(saved.getProperty("best")));
+                bestFitness = Double.parseDouble(saved.getProperty("bestFitness"));
+                System.out.println("Resuming " + strategy + " from generation " + generation);
+            }
+        }
+        if (population == null) {
+            population = createPopulation();
+        }
+        for (; generation < generations; generation++) {
+            long start = System.nanoTime();
+            double[] fitness = evaluate(population, generation);
+            Integer[] ranking = rank(fitness);
+            best = startWeights.withValues(population[ranking[0]]);
+            bestFitness = fitness[ranking[0]];
+            System.out.printf("Generation %d: best fitness %.4f, mean %.4f, %s (%.1f s)%n", generation, bestFitness,
+                    Arrays.stream(fitness).average().orElse(0), best, (System.nanoTime() - start) / 1e9);
+            population = breed(population, ranking, new SplittableRandom(deriveSeed(generation, -1)));
+            if (output != null) {
+                Properties config = WeightsConfig.load(output);
+                best.putProperties(config, strategy);
+                WeightsConfig.store(config, output, "Strategy weights tuned by WeightTuner, seed " + seed
+                        + ", generation " + generation + ", fitness " + bestFitness);
+            }
+            if (checkpoint != null) {
+                saveCheckpoint(generation + 1, population, best);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to measure the fitness of candidates: the mean final
+     * evaluation of their position over the games of a generation, all
+     * the candidates playing the same games.
+     *
+     * @param population Weights of the candidates
+     * @param generation Number of the generation, choosing the games
+     * @return fitness of every candidate
+     */
+    public double[] evaluate(double[][] population, int generation) {
+        List<Callable<Double>> tasks = new ArrayList<>(population.length * games);
+        for (double[] candidate : population) {
+            PlayerBehaviour tuned = createStrategy(strategy);
+            tuned.setWeights(startWeights.withValues(candidate));
+            // Solve the attack policy of the weights before the games share the strategy.
+            tuned.getAttackPolicy();
+            for (int game = 0; game < games; game++) {
+                long gameSeed = deriveSeed(generation, game);
+                int seat = game % PLAYERS;
+                tasks.add(() -> playGame(tuned, seat, new SplittableRandom(gameSeed)));
+            }
+        }
+        double[] fitness = new double[population.length];
+        try {
+            List<Future<Double>> results = (pool != null ? pool : ForkJoinPool.commonPool()).invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                fitness[i / games] += results.get(i).get() / games;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tuning game failed", e.getCause());
+        }
+        return fitness;
+    }
+
+    /**
+     * Method to play one headless game: the countries are dealt at random,
+     * the tuned strategy plays one seat, an aggressive and a random player
+     * the others.
+     *
+     * @param tuned  Tuned strategy
+     * @param seat   Seat of the tuned strategy
+     * @param random Random source of the deal, the moves and the dice
+     * @return final evaluation of the position of the tuned strategy
+     */
+    private double playGame(PlayerBehaviour tuned, int seat, SplittableRandom random) {
+        GameState state = map.copy();
+        int size = state.getCountryCount();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int i = 0; i < size; i++) {
+            state.setOwner(order[i], i % PLAYERS, INITIAL_ARMIES);
+        }
+        PlayerBehaviour[] behaviours = new PlayerBehaviour[PLAYERS];
+        for (int player = 0, opponent = 0; player < PLAYERS; player++) {
+            behaviours[player] = player == seat ? tuned : opponent++ == 0 ? new Aggressive() : new Random();
+        }
+        for (int round = 0; round < MAX_ROUNDS && state.getWinner() < 0; round++) {
+            for (int player = 0; player < PLAYERS && state.getWinner() < 0; player++) {
+                if (state.getCountryCount(player) > 0) {
+                    behaviours[player].simulateTurn(state, player, random);
+                }
+            }
+        }
+        return state.evaluate(seat);
+    }
+
+    /**
+     * Method to create the first generation: the starting weights and
+     * candidates drawn uniformly between the bounds.
+     *
+     * @return weights of the candidates
+     */
+    private double[][] createPopulation() {
+        SplittableRandom random = new SplittableRandom(deriveSeed(-1, -1));
+        double[][] population = new double[populationSize][];
+        population[0] = startWeights.toArray();
+        for (int i = 1; i < populationSize; i++) {
+            population[i] = new double[startWeights.size()];
+            for (int w = 0; w < startWeights.size(); w++) {
+                population[i][w] = startWeights.getLowerBound(w)
+                        + random.nextDouble() * (startWeights.getUpperBound(w) - startWeights.getLowerBound(w));
+            }
+        }
+        return population;
+    }
+
+    /**
+     * Method to create the next generation: the elite is kept and the other
+     * children are blends of two parents chosen by tournament, mutated.
+     *
+     * @param population Weights of the candidates
+     * @param ranking    Positions of the candidates from the fittest
+     * @param random     Random source of the generation
+     * @return weights of the next candidates
+     */
+    private double[][] breed(double[][] population, Integer[] ranking, SplittableRandom random) {
+        double[][] next = new double[population.length][];
+        for (int i = 0; i < ELITE; i++) {
+            next[i] = population[ranking[i]].clone();
+        }
+        for (int i = ELITE; i < next.length; i++) {
+            double[] first = population[select(ranking, random)];
+            double[] second = population[select(ranking, random)];
+            double[] child = new double[first.length];
+            for (int w = 0; w < child.length; w++) {
+                double range = startWeights.getUpperBound(w) - startWeights.getLowerBound(w);
+                // Blend crossover: anywhere between the parents, reaching half their distance beyond them.
+                double low = Math.min(first[w], second[w]);
+                double spread = Math.abs(first[w] - second[w]);
+                child[w] = low - spread / 2 + random.nextDouble() * spread * 2;
+                if (random.nextDouble() < MUTATION_RATE) {
+                    child[w] += gaussian(random) * MUTATION_SCALE * range;
+                }
+            }
+            next[i] = startWeights.withValues(child).toArray();
+        }
+        return next;
+    }
+
+    /**
+     * Method to choose a parent: the fittest of a few candidates drawn at random.
+     *
+     * @param ranking Positions of the candidates from the fittest
+     * @param random  Random source
+     * @return position of the parent
+     */
+    private static int select(Integer[] ranking, SplittableRandom random) {
+        int best = ranking.length;
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            best = Math.min(best, random.nextInt(ranking.length));
+        }
+        return ranking[best];
+    }
+
+    /**
+     * Method to order the candidates from the fittest, ties by position.
+     *
+     * @param fitness Fitness of every candidate
+     * @return positions of the candidates
+     */
+    private static Integer[] rank(double[] fitness) {
+        Integer[] ranking = new Integer[fitness.length];
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        Arrays.sort(ranking, Comparator.comparingDouble((Integer i) -> -fitness[i]).thenComparingInt(i -> i));
+        return ranking;
+    }
+
+    /**
+     * Method to draw from the standard normal distribution.
+     *
+     * @param random Random source
+     * @return normal value
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Method to derive the seed of a random stream of the run.
+     *
+     * @param generation Number of the generation, -1 for the first population
+     * @param game       Number of the game, -1 for the breeding
+     * @return seed of the stream
+     */
+    private long deriveSeed(int generation, int game) {
+        return new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (generation + 2)) ^ (0xC2B2AE3D27D4EB4FL * (game + 2)))
+                .nextLong();
+    }
+
+    /**
+     * Method to write the checkpoint file.
+     *
+     * @param generation Number of the next generation
+     * @param population Weights of its candidates
+     * @param best       Best weights of the last generation
+     * @throws IOException if the file cannot be written
+     */
+    private void saveCheckpoint(int generation, double[][] population, HeuristicWeights best) throws IOException {
+        Properties saved = new Properties();
+        saved.setProperty("strategy", strategy);
+        saved.setProperty("seed", Long.toString(seed));
+        saved.setProperty("population", Integer.toString(populationSize));
+        saved.setProperty("generation", Integer.toString(generation));
+        for (int i = 0; i < population.length; i++) {
+            saved.setProperty("candidate." + i, formatValues(population[i]));
+        }
+        saved.setProperty("best", formatValues(best.toArray()));
+        saved.setProperty("bestFitness", Double.toString(bestFitness));
+        WeightsConfig.store(saved, checkpoint, "WeightTuner checkpoint");
+    }
+
+    /**
+     * Method to write values exactly, separated by commas.
+     *
+     * @param values Values
+     * @return text of the values
+     */
+    private static String formatValues(double[] values) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            text.append(i > 0 ? "," : "").append(Double.toString(values[i]));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Method to read values written by formatValues.
+     *
+     * @param text Text of the values
+     * @return values
+     */
+    private static double[] parseValues(String text) {
+        String[] parts = text.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Method to create a strategy by player type.
+     *
+     * @param strategy Player type
+     * @return strategy with its default weights
+     */
+    static PlayerBehaviour createStrategy(String strategy) {
+        switch (strategy) {
+            case "Aggressive":
+                return new Aggressive();
+            case "Benevolent":
+                return new Benevolent();
+            default:
+                throw new IllegalArgumentException("Strategy " + strategy + " has no weights");
+        }
+    }
+
+    /**
+     * Method to read a map file into a game state.
+     *
+     * @param fileName Map file
+     * @return state of the map, with the countries dealt in name order
+     */
+    public static GameState loadMap(String fileName) {
+        MapValidate mapValidate = new MapValidate();
+        if (!mapValidate.validateMapFile(fileName)) {
+            throw new IllegalArgumentException("Invalid map file " + fileName);
+        }
+        List<Country> countries = new ArrayList<>(mapValidate.getCountrySet().values());
+        countries.sort(Comparator.comparing(Country::getName));
+        return deal(countries);
+    }
+
+    /**
+     * Method to create a random map: a ring of countries with random
+     * shortcuts, cut into continents of six countries.
+     *
+     * @param size   Number of countries
+     * @param random Random source
+     * @return state of the map
+     */
+    public static GameState createMap(int size, SplittableRandom random) {
+        List<Country> countries = new ArrayList<>();
+        Continent continent = null;
+        for (int i = 0; i < size; i++) {
+            if (i % 6 == 0) {
+                continent = new Continent("Continent" + i / 6, 2 + random.nextInt(4));
+            }
+            Country country = new Country("Country" + i);
+            country.setPartOfContinent(continent);
+            countries.add(country);
+        }
+        for (int i = 0; i < size; i++) {
+            link(countries.get(i), countries.get((i + 1) % size));
+            if (random.nextInt(3) == 0) {
+                link(countries.get(i), countries.get(random.nextInt(size)));
+            }
+        }
+        return deal(countries);
+    }
+
+    /**
+     * Method to deal countries to placeholder players in turn and copy them into a game state.
+     *
+     * @param countries Countries of the map
+     * @return state of the map
+     */
+    private static GameState deal(List<Country> countries) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new Player("Player" + i));
+        }
+        for (int i = 0; i < countries.size(); i++) {
+            countries.get(i).setPlayer(players.get(i % PLAYERS));
+            countries.get(i).setNoOfArmies(INITIAL_ARMIES);
+        }
+        return new GameState(countries);
+    }
+
+    /**
+     * Method to make two countries neighbours.
+     *
+     * @param first  First country
+     * @param second Second country
+     */
+    private static void link(Country first, Country second) {
+        if (first != second && !first.getAdjacentCountries().contains(second)) {
+            first.getAdjacentCountries().add(second);
+            second.getAdjacentCountries().add(first);
+        }
+    }
+}
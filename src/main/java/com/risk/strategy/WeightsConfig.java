@@ -0,0 +1,109 @@
+package com.risk.strategy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Class for the configuration file holding the weights of the
+ * parameterized strategies, as written by {@link WeightTuner}.
+ * <p>
+ * The configuration used by the players is read once, from the file named
+ * by the system property <code>risk.weights</code> if it is set, otherwise
+ * from the <code>strategy_weights.properties</code> resource.
+ */
+public class WeightsConfig {
+
+    /**
+     * System property naming the configuration file
+     */
+    public static final String FILE_PROPERTY = "risk.weights";
+
+    /**
+     * Name of the configuration resource
+     */
+    public static final String RESOURCE = "strategy_weights.properties";
+
+    /**
+     * Configuration of the players, read on first use
+     */
+    private static Properties defaultConfig;
+
+    /**
+     * Method to get the configuration used by the players.
+     *
+     * @return configuration, empty if there is none
+     */
+    public static synchronized Properties getDefault() {
+        if (defaultConfig == null) {
+            Properties properties = new Properties();
+            String fileName = System.getProperty(FILE_PROPERTY);
+            try {
+                if (fileName != null) {
+                    properties = load(new File(fileName));
+                } else {
+                    try (InputStream input = WeightsConfig.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                        if (input != null) {
+                            properties.load(input);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Strategy weights could not be read, using the built in ones: " + e.getMessage());
+            }
+            defaultConfig = properties;
+        }
+        return defaultConfig;
+    }
+
+    /**
+     * Method to set the configuration used by the players.
+     *
+     * @param config Configuration, null to read it again on next use
+     */
+    public static synchronized void setDefault(Properties config) {
+        defaultConfig = config;
+    }
+
+    /**
+     * Method to read a configuration file.
+     *
+     * @param file Configuration file
+     * @return configuration, empty if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public static Properties load(File file) throws IOException {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream input = new FileInputStream(file)) {
+                properties.load(input);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Method to write a configuration file. The file is written next to
+     * its final place first and then renamed, so that an interrupted write
+     * leaves the previous file intact.
+     *
+     * @param properties Configuration
+     * @param file       Configuration file
+     * @param comment    Comment written at the top of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void store(Properties properties, File file, String comment) throws IOException {
+        File absolute = file.getAbsoluteFile();
+        File temporary = new File(absolute.getParentFile(), absolute.getName() + ".tmp");
+        try (OutputStream output = new FileOutputStream(temporary)) {
+            properties.store(output, comment);
+        }
+        if (!temporary.renameTo(absolute) && !(absolute.delete() && temporary.renameTo(absolute))) {
+            throw new IOException("Could not replace " + absolute);
+        }
+    }
+}
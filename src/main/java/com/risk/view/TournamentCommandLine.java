@@ -0,0 +1,378 @@
+package com.risk.view;
+
+import com.risk.model.IPlayerType;
+import com.risk.model.Player;
+import com.risk.model.TournamentModel;
+import com.risk.services.MapIO;
+import com.risk.strategy.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Observer;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a tournament between computer players from the command line, with
+ * no window and no JavaFX toolkit:
+ * <pre>java com.risk.view.TournamentCommandLine -M map... -P strategy... -G games -D turns [-S seed] [-T threads] [-O output] [-V]</pre>
+ * Every map plays the given number of games between one player of every
+ * listed strategy, each game stopped as a draw after the given number of
+ * turns. Every game has its own random source for the deal, the dice and
+ * the random moves, seeded from the tournament seed, so that the same
+ * command plays the same games, unless a strategy is limited by time. The
+ * games are played at the same time on the given number of threads, every
+ * core by default, each game on its own copy of its map. The winner of
+ * every game, the wins of every strategy and the decision
+ * latencies are written to the output file, or to the standard output.
+ * The messages of the games are only shown with <code>-V</code>.
+ */
+public class TournamentCommandLine {
+
+    /** Strategies which can play a tournament */
+    private static final String[] PLAYER_TYPES = {IPlayerType.AGGRESSIVE, IPlayerType.BENEVOLENT, IPlayerType.RANDOM,
+            IPlayerType.CHEATER, IPlayerType.MCTS, IPlayerType.EXPECTIMINIMAX, IPlayerType.HIERARCHICAL,
+            IPlayerType.NEURAL};
+
+    /** Usage of the command */
+    private static final String USAGE = "Usage: TournamentCommandLine -M map... -P strategy... -G games -D turns"
+            + " [-S seed] [-T threads] [-O output] [-V]";
+
+    /** Map files */
+    private final List<String> mapFiles = new ArrayList<>();
+
+    /** Strategy of every player */
+    private final List<String> playerTypes = new ArrayList<>();
+
+    /** Number of games on every map */
+    private int numberOfGames;
+
+    /** Number of turns after which a game is a draw */
+    private int numberOfTurns;
+
+    /** Seed of the deals */
+    private long seed = 1;
+
+    /** Number of games played at the same time */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Output file, null for the standard output */
+    private String outputFile;
+
+    /** true to show the messages of the games */
+    private boolean verbose;
+
+    /** Observer printing the messages of the games on the console, null unless verbose */
+    private Observer eventSink;
+
+    /**
+     * Main method of the command line tournament.
+     *
+     * @param args options of the tournament
+     */
+    public static void main(String[] args) {
+        int status = run(args, System.out);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Method to run a tournament from its options.
+     *
+     * @param args    options of the tournament
+     * @param console Stream of the results, of the errors and, with -V, of the messages of the games
+     * @return 0 if the tournament was played, 1 if a map or the output cannot be used, 2 if the options are wrong
+     */
+    public static int run(String[] args, PrintStream console) {
+        TournamentCommandLine commandLine = new TournamentCommandLine();
+        String error = commandLine.parse(args);
+        if (error != null) {
+            console.println(error);
+            console.println(USAGE);
+            return 2;
+        }
+        PrintStream output = console;
+        if (commandLine.outputFile != null) {
+            try {
+                output = new PrintStream(new FileOutputStream(commandLine.outputFile), true, "UTF-8");
+            } catch (FileNotFoundException | UnsupportedEncodingException e) {
+                console.println("Cannot write " + commandLine.outputFile + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        try {
+            return commandLine.play(output, console);
+        } finally {
+            if (output != console) {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * Method to read the options.
+     *
+     * @param args options of the tournament
+     * @return error message, null if the options are valid
+     */
+    private String parse(String[] args) {
+        List<String> values = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-M")) {
+                values = mapFiles;
+            } else if (arg.equals("-P")) {
+                values = playerTypes;
+            } else if (arg.equals("-V")) {
+                verbose = true;
+                values = null;
+            } else if (arg.equals("-G") || arg.equals("-D") || arg.equals("-S") || arg.equals("-T")
+                    || arg.equals("-O")) {
+                if (i + 1 >= args.length) {
+                    return "Missing value of " + arg;
+                }
+                String value = args[++i];
+                try {
+                    if (arg.equals("-G")) {
+                        numberOfGames = Integer.parseInt(value);
+                    } else if (arg.equals("-D")) {
+                        numberOfTurns = Integer.parseInt(value);
+                    } else if (arg.equals("-S")) {
+                        seed = Long.parseLong(value);
+                    } else if (arg.equals("-T")) {
+                        threads = Integer.parseInt(value);
+                    } else {
+                        outputFile = value;
+                    }
+                } catch (NumberFormatException e) {
+                    return "Not a number for " + arg + ": " + value;
+                }
+                values = null;
+            } else if (values != null) {
+                // Lists are separated by spaces or by commas.
+                for (String value : arg.split(",")) {
+                    if (!value.trim().isEmpty()) {
+                        values.add(value.trim());
+                    }
+                }
+            } else {
+                return "Unexpected argument " + arg;
+            }
+        }
+        if (mapFiles.isEmpty()) {
+            return "No map file given";
+        }
+        if (playerTypes.size() < 2 || playerTypes.size() > 6) {
+            return "Between 2 and 6 strategies are needed";
+        }
+        for (int i = 0; i < playerTypes.size(); i++) {
+            String type = findPlayerType(playerTypes.get(i));
+            if (type == null) {
+                return "Unknown strategy " + playerTypes.get(i);
+            }
+            playerTypes.set(i, type);
+        }
+        if (numberOfGames < 1) {
+            return "At least one game per map is needed";
+        }
+        if (numberOfTurns < 1) {
+            return "At least one turn per game is needed";
+        }
+        if (threads < 1) {
+            return "At least one thread is needed";
+        }
+        return null;
+    }
+
+    /**
+     * Method to find a strategy by its name, whatever its case.
+     *
+     * @param name Name of the strategy
+     * @return player type, null if there is no such computer strategy
+     */
+    private static String findPlayerType(String name) {
+        for (String type : PLAYER_TYPES) {
+            if (type.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to play the games of every map and write the results.
+     *
+     * @param output  Stream of the results
+     * @param console Stream of the errors and, with -V, of the messages of the games
+     * @return 0 if the tournament was played, 1 if a map is not valid
+     */
+    private int play(PrintStream output, PrintStream console) {
+        eventSink = verbose ? (observable, message) -> console.println(message) : null;
+        TournamentModel tournamentModel = new TournamentModel();
+        tournamentModel.setEventSink(eventSink);
+        for (String mapFile : mapFiles) {
+            if (tournamentModel.loadMap(mapFile) == null) {
+                console.println("Invalid map file " + mapFile);
+                return 1;
+            }
+        }
+        output.println("Maps: " + String.join(", ", mapFiles));
+        output.println("Players: " + String.join(", ", playerTypes));
+        output.println("Games: " + numberOfGames + ", turns: " + numberOfTurns + ", seed: " + seed);
+
+        Map<String, Integer> wins = new LinkedHashMap<>();
+        for (int i = 0; i < playerTypes.size(); i++) {
+            wins.put(getPlayerName(i), 0);
+        }
+        int draws = 0;
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Seeds are drawn in the order of the games, so that the games do not depend on the threads
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Future<GameResult>> games = new ArrayList<>();
+            for (String mapFile : mapFiles) {
+                for (int gameCount = 1; gameCount <= numberOfGames; gameCount++) {
+                    int number = gameCount;
+                    long gameSeed = seeds.nextLong();
+                    games.add(executor.submit(() -> playGame(mapFile, number, gameSeed)));
+                }
+            }
+            Iterator<Future<GameResult>> results = games.iterator();
+            for (String mapFile : mapFiles) {
+                output.println();
+                output.println("Map: " + new File(mapFile).getName() + " ->");
+                for (int gameCount = 1; gameCount <= numberOfGames; gameCount++) {
+                    GameResult result = getResult(results.next());
+                    LatencyHistogram.merge(latencies, result.latencies);
+                    if (result.winner != null) {
+                        wins.merge(result.winner.getName(), 1, Integer::sum);
+                        output.println(" Winner: " + result.winner.getName() + " (" + result.winner.getPlayerType()
+                                + ") | Game Number " + gameCount + " | Turns " + result.turns);
+                    } else {
+                        draws++;
+                        output.println(" Winner: Draw | Game Number " + gameCount + " | Turns " + result.turns);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        output.println();
+        output.println("Wins ->");
+        for (int i = 0; i < playerTypes.size(); i++) {
+            output.println(" " + getPlayerName(i) + " (" + playerTypes.get(i) + "): " + wins.get(getPlayerName(i)));
+        }
+        output.println(" Draws: " + draws);
+        output.printf("Played %d games in %.1f s on %d threads%n", mapFiles.size() * numberOfGames, seconds,
+                threads);
+        output.println("Decision latency ->");
+        for (LatencyHistogram histogram : latencies.values()) {
+            output.println(" " + histogram);
+        }
+        return 0;
+    }
+
+    /**
+     * Method to play one game of the tournament, on its own copy of the map
+     * and with its own model, so that games are played at the same time.
+     *
+     * @param mapFile   Map file of the game
+     * @param gameCount Number of the game on its map
+     * @param gameSeed  Seed of the random source of the game
+     * @return winner and length of the game
+     */
+    private GameResult playGame(String mapFile, int gameCount, long gameSeed) {
+        TournamentModel tournamentModel = new TournamentModel();
+        tournamentModel.setEventSink(eventSink);
+        MapIO mapIO = tournamentModel.loadMap(mapFile);
+        List<Player> playerList = new ArrayList<>();
+        for (int i = 0; i < playerTypes.size(); i++) {
+            playerList.add(new Player(getPlayerName(i), playerTypes.get(i)));
+        }
+        HashMap<Player, Integer> result = tournamentModel.playGame(playerList, numberOfTurns, gameCount, mapIO,
+                new Random(gameSeed));
+        return new GameResult(result.keySet().iterator().next(), tournamentModel.getTurnsPlayed(),
+                tournamentModel.getLatencies());
+    }
+
+    /**
+     * Method to wait for the result of a game. A failure of the game is
+     * thrown again in the calling thread.
+     *
+     * @param game Game being played
+     * @return winner and length of the game
+     */
+    private static GameResult getResult(Future<GameResult> game) {
+        try {
+            return game.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Method to get the name of a player of the tournament.
+     *
+     * @param index Position of the player
+     * @return name of the player
+     */
+    private static String getPlayerName(int index) {
+        return "Player " + (index + 1);
+    }
+
+    /**
+     * Result of one game of the tournament.
+     */
+    private static class GameResult {
+
+        /** Winner of the game, null for a draw */
+        private final Player winner;
+
+        /** Number of turns played */
+        private final int turns;
+
+        /** Latencies of the strategies in the game, by strategy name */
+        private final Map<String, LatencyHistogram> latencies;
+
+        /**
+         * Constructor of the result of a game.
+         *
+         * @param winner    Winner of the game, null for a draw
+         * @param turns     Number of turns played
+         * @param latencies Latencies of the strategies in the game
+         */
+        private GameResult(Player winner, int turns, Map<String, LatencyHistogram> latencies) {
+            this.winner = winner;
+            this.turns = turns;
+            this.latencies = latencies;
+        }
+    }
+}
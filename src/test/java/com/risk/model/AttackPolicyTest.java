@@ -0,0 +1,69 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for AttackPolicy.
+ */
+public class AttackPolicyTest {
+
+	/** Policy going on while the conquest is at least as likely as not */
+	private AttackPolicy winProbabilityPolicy;
+
+	/** Policy maximizing the expected value of the battle */
+	private AttackPolicy expectedValuePolicy;
+
+	/**
+	 * Set up the initial objects for AttackPolicy
+	 *
+	 */
+	@Before
+	public void initialize() {
+		winProbabilityPolicy = AttackPolicy.forWinProbability(0.5);
+		expectedValuePolicy = AttackPolicy.forExpectedValue(5);
+	}
+
+	/**
+	 * Test to check the thresholds of the win probability policy against the battle odds.
+	 */
+	@Test
+	public void winProbabilityThresholdTest() {
+		BattleOdds battleOdds = BattleOdds.getSharedOdds();
+		for (int defender = 1; defender <= 50; defender++) {
+			int threshold = winProbabilityPolicy.getThreshold(defender);
+			assertTrue(battleOdds.getWinProbability(threshold, defender) >= 0.5);
+			assertTrue(threshold == 2 || battleOdds.getWinProbability(threshold - 1, defender) < 0.5);
+		}
+		assertEquals(3, winProbabilityPolicy.getThreshold(1));
+	}
+
+	/**
+	 * Test to check the decisions of the expected value policy.
+	 */
+	@Test
+	public void expectedValueDecisionTest() {
+		assertTrue(expectedValuePolicy.shouldContinue(2, 1));
+		assertTrue(expectedValuePolicy.shouldContinue(4, 100));
+		assertFalse(expectedValuePolicy.shouldContinue(3, 100));
+		assertFalse(expectedValuePolicy.shouldContinue(1, 1));
+		assertFalse(expectedValuePolicy.shouldContinue(5, 0));
+	}
+
+	/**
+	 * Test to check that the thresholds never decrease, also beyond the table.
+	 */
+	@Test
+	public void thresholdMonotonicTest() {
+		int previous = 0;
+		for (int defender = 1; defender <= 2 * AttackPolicy.MAX_DEFENDER_ARMIES; defender++) {
+			int threshold = winProbabilityPolicy.getThreshold(defender);
+			assertTrue(threshold >= previous);
+			previous = threshold;
+		}
+	}
+}
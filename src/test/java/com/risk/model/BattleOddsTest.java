@@ -0,0 +1,108 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for BattleOdds.
+ */
+public class BattleOddsTest {
+
+	/** Object for BattleOdds class */
+	private BattleOdds battleOdds;
+
+	/**
+	 * Set up the initial objects for BattleOdds
+	 *
+	 */
+	@Before
+	public void initialize() {
+		battleOdds = new BattleOdds();
+	}
+
+	/**
+	 * Test to check the probabilities of a single dice round.
+	 */
+	@Test
+	public void roundOutcomeProbabilityTest() {
+		assertEquals(15.0 / 36, BattleOdds.getRoundOutcomeProbability(1, 1, 0), 1e-9);
+		assertEquals(2890.0 / 7776, BattleOdds.getRoundOutcomeProbability(3, 2, 0), 1e-9);
+		assertEquals(2275.0 / 7776, BattleOdds.getRoundOutcomeProbability(3, 2, 2), 1e-9);
+		assertEquals(0, BattleOdds.getRoundOutcomeProbability(3, 2, 3), 0);
+	}
+
+	/**
+	 * Test to check the win probability of small battles.
+	 */
+	@Test
+	public void winProbabilityTest() {
+		assertEquals(15.0 / 36, battleOdds.getWinProbability(2, 1), 1e-6);
+		assertEquals(0.7542, battleOdds.getWinProbability(3, 1), 1e-4);
+		assertEquals(0, battleOdds.getWinProbability(1, 5), 0);
+		assertEquals(1, battleOdds.getWinProbability(2, 0), 0);
+		assertTrue(battleOdds.getWinProbability(20, 5) > battleOdds.getWinProbability(5, 20));
+	}
+
+	/**
+	 * Test to check that the table grows and large battles are scaled.
+	 */
+	@Test
+	public void largeBattleTest() {
+		double probability = battleOdds.getWinProbability(200, 100);
+		assertTrue(probability > 0.99);
+		double scaled = battleOdds.getWinProbability(4000, 4000);
+		assertTrue(scaled > 0.5 && scaled < 1);
+		assertEquals(probability, battleOdds.getWinProbability(200, 100), 0);
+	}
+
+	/**
+	 * Test to check the outcome distribution against the memoized odds.
+	 */
+	@Test
+	public void outcomeDistributionTest() {
+		double[][] distribution = battleOdds.getOutcomeDistribution(10, 6);
+		double total = 0;
+		double win = 0;
+		double attackerArmies = 0;
+		for (int attacker = 0; attacker < distribution.length; attacker++) {
+			for (int defender = 0; defender < distribution[attacker].length; defender++) {
+				total += distribution[attacker][defender];
+				if (defender == 0) {
+					win += distribution[attacker][defender];
+				}
+				attackerArmies += attacker * distribution[attacker][defender];
+			}
+		}
+		assertEquals(1, total, 1e-9);
+		assertEquals(battleOdds.getWinProbability(10, 6), win, 1e-5);
+		assertEquals(battleOdds.getExpectedAttackerArmies(10, 6), attackerArmies, 1e-4);
+	}
+
+	/**
+	 * Test to check that the outcome distribution of a battle too large for the table is scaled.
+	 */
+	@Test
+	public void largeOutcomeDistributionTest() {
+		double[][] distribution = battleOdds.getOutcomeDistribution(3000, 2000);
+		assertEquals(3001, distribution.length);
+		assertEquals(2001, distribution[1].length);
+		double total = 0;
+		double win = 0;
+		double attackerArmies = 0;
+		for (int attacker = 0; attacker < distribution.length; attacker++) {
+			for (int defender = 0; defender < distribution[attacker].length; defender++) {
+				total += distribution[attacker][defender];
+				if (defender == 0) {
+					win += distribution[attacker][defender];
+				}
+				attackerArmies += attacker * distribution[attacker][defender];
+			}
+		}
+		assertEquals(1, total, 1e-9);
+		assertEquals(battleOdds.getWinProbability(3000, 2000), win, 1e-5);
+		assertEquals(battleOdds.getExpectedAttackerArmies(3000, 2000), attackerArmies, 1);
+	}
+}
@@ -0,0 +1,57 @@
+package com.risk.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Throughput benchmark for BattleSimulator, run from the command line:
+ * <pre>java com.risk.model.BattleSimulatorBenchmark [battles] [attackers] [defenders]</pre>
+ * It prints the number of battles resolved per second by the scalar and the
+ * vectorized paths, on one thread and on all the cores. The vectorized path
+ * needs <code>--add-modules jdk.incubator.vector</code>, without it only the
+ * scalar path is measured.
+ */
+public class BattleSimulatorBenchmark {
+
+	/**
+	 * Main method of the benchmark.
+	 *
+	 * @param args number of battles, attacker armies and defender armies
+	 */
+	public static void main(String[] args) {
+		int battles = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		int attackers = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int defenders = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		int[] attackerArmies = new int[battles];
+		int[] defenderArmies = new int[battles];
+		Arrays.fill(attackerArmies, attackers);
+		Arrays.fill(defenderArmies, defenders);
+		int[] attackerResult = new int[battles];
+		int[] defenderResult = new int[battles];
+
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool[] pools = { single, ForkJoinPool.commonPool() };
+		String[] poolNames = { "1 thread", "x " + ForkJoinPool.getCommonPoolParallelism() };
+		int paths = BattleSimulator.VECTOR_API_PRESENT ? 2 : 1;
+		BattleSimulator[] simulators = new BattleSimulator[pools.length * paths];
+		String[] names = new String[simulators.length];
+		for (int i = 0; i < simulators.length; i++) {
+			boolean vectorized = i % paths == 1;
+			simulators[i] = new BattleSimulator(1L, pools[i / paths], vectorized);
+			names[i] = (vectorized ? "vector " : "scalar ") + poolNames[i / paths];
+		}
+		if (!BattleSimulator.VECTOR_API_PRESENT) {
+			System.out.println("jdk.incubator.vector not present, scalar path only");
+		}
+		for (int i = 0; i < simulators.length; i++) {
+			for (int warmUp = 0; warmUp < 3; warmUp++) {
+				simulators[i].simulate(attackerArmies, defenderArmies, attackerResult, defenderResult);
+			}
+			long start = System.nanoTime();
+			simulators[i].simulate(attackerArmies, defenderArmies, attackerResult, defenderResult);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%-18s %,.0f battles/s%n", names[i], battles / seconds);
+		}
+		single.shutdown();
+	}
+}
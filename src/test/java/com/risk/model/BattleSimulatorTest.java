@@ -0,0 +1,98 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for BattleSimulator.
+ */
+public class BattleSimulatorTest {
+
+	/** Armies on the attacking countries */
+	private int[] attackerArmies;
+
+	/** Armies on the defending countries */
+	private int[] defenderArmies;
+
+	/**
+	 * Set up a batch of battles of various sizes
+	 *
+	 */
+	@Before
+	public void initialize() {
+		attackerArmies = new int[10000];
+		defenderArmies = new int[10000];
+		for (int i = 0; i < attackerArmies.length; i++) {
+			attackerArmies[i] = 1 + i % 17;
+			defenderArmies[i] = i % 11;
+		}
+	}
+
+	/**
+	 * Test to check that the scalar and the vectorized paths give the same battles.
+	 */
+	@Test
+	public void modesAgreeTest() {
+		ForkJoinPool single = new ForkJoinPool(1);
+		int[][] scalar = simulate(new BattleSimulator(42L, single, false));
+		int[][] vectorized = simulate(new BattleSimulator(42L, single, true));
+		single.shutdown();
+		assertArrayEquals(scalar[0], vectorized[0]);
+		assertArrayEquals(scalar[1], vectorized[1]);
+	}
+
+	/**
+	 * Test to check that one thread and the parallel pool give the same battles.
+	 */
+	@Test
+	public void threadsAgreeTest() {
+		ForkJoinPool single = new ForkJoinPool(1);
+		int[][] oneThread = simulate(new BattleSimulator(42L, single));
+		int[][] parallel = simulate(new BattleSimulator(42L));
+		single.shutdown();
+		assertArrayEquals(oneThread[0], parallel[0]);
+		assertArrayEquals(oneThread[1], parallel[1]);
+	}
+
+	/**
+	 * Test to check that every battle ends as a battle of the game does.
+	 */
+	@Test
+	public void battleEndTest() {
+		int[][] result = simulate(new BattleSimulator(7L));
+		for (int i = 0; i < attackerArmies.length; i++) {
+			assertTrue(result[0][i] >= 1 && result[0][i] <= attackerArmies[i]);
+			assertTrue(result[1][i] >= 0 && result[1][i] <= defenderArmies[i]);
+			assertTrue(result[0][i] == 1 || result[1][i] == 0);
+		}
+	}
+
+	/**
+	 * Test to check the simulated win rate against the exact odds.
+	 */
+	@Test
+	public void winProbabilityTest() {
+		BattleSimulator simulator = new BattleSimulator(2018L);
+		BattleOdds battleOdds = new BattleOdds();
+		assertEquals(battleOdds.getWinProbability(3, 1), simulator.estimateWinProbability(3, 1, 200000), 0.01);
+		assertEquals(battleOdds.getWinProbability(8, 6), simulator.estimateWinProbability(8, 6, 200000), 0.01);
+	}
+
+	/**
+	 * Method to simulate the batch.
+	 *
+	 * @param simulator Simulator to use
+	 * @return armies left on the attacking and defending countries
+	 */
+	private int[][] simulate(BattleSimulator simulator) {
+		int[][] result = new int[2][attackerArmies.length];
+		simulator.simulate(attackerArmies, defenderArmies, result[0], result[1]);
+		return result;
+	}
+}
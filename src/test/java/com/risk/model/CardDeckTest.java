@@ -0,0 +1,122 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.services.MapIO;
+import com.risk.services.StartUpPhase;
+
+/**
+ * Test class for CardDeck.
+ */
+public class CardDeckTest {
+
+	/** List of the countries of the map */
+	private List<Country> countries;
+
+	/** Object for CardDeck class */
+	private CardDeck cardDeck;
+
+	/**
+	 * Set up a deck of nine countries
+	 *
+	 */
+	@Before
+	public void initialize() {
+		countries = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			countries.add(new Country("Country" + i));
+		}
+		cardDeck = CardDeck.forCountries(countries);
+	}
+
+	/**
+	 * Test to check that every card is drawn once and the types are balanced.
+	 */
+	@Test
+	public void drawAllCardsTest() {
+		assertEquals(9, cardDeck.size());
+		Set<Country> drawnCountries = new HashSet<>();
+		CardHand hand = new CardHand(null);
+		Card card;
+		while ((card = cardDeck.draw()) != null) {
+			drawnCountries.add(card.getCountry());
+			hand.add(card);
+		}
+		assertEquals(9, drawnCountries.size());
+		assertEquals(3, hand.getCount(ICardType.INFANTRY));
+		assertEquals(3, hand.getCount(ICardType.CAVALRY));
+		assertEquals(3, hand.getCount(ICardType.ARTILLERY));
+		assertTrue(cardDeck.isEmpty());
+		assertNull(cardDeck.draw());
+	}
+
+	/**
+	 * Test to check that returned cards can be drawn again.
+	 */
+	@Test
+	public void returnCardsTest() {
+		List<Card> drawn = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			drawn.add(cardDeck.draw());
+		}
+		cardDeck.returnCards(drawn.subList(0, 3));
+		assertEquals(3, cardDeck.size());
+		Set<Card> redrawn = new HashSet<>();
+		for (int i = 0; i < 3; i++) {
+			redrawn.add(cardDeck.draw());
+		}
+		assertEquals(new HashSet<>(drawn.subList(0, 3)), redrawn);
+	}
+
+	/**
+	 * Test to check that the decks of the same map get the same card types.
+	 */
+	@Test
+	public void sharedDefinitionsTest() {
+		assertEquals(CardDeck.getCardDefinitions(countries), CardDeck.getCardDefinitions(countries));
+		CardDeck otherDeck = CardDeck.forCountries(countries);
+		Card card = otherDeck.draw();
+		assertEquals(CardDeck.getCardDefinitions(countries).get(card.getCountry().getName()), card.getCardType());
+	}
+
+	/**
+	 * Test to check that a loaded map computes its card types once for all its games.
+	 */
+	@Test
+	public void mapDefinitionsTest() {
+		MapIO mapIO = new MapIO();
+		HashMap<String, Country> countrySet = new HashMap<>();
+		for (Country country : countries) {
+			countrySet.put(country.getName(), country);
+		}
+		mapIO.getMapGraph().setCountrySet(countrySet);
+		assertSame(mapIO.getCardDefinitions(), mapIO.getCardDefinitions());
+		assertEquals(CardDeck.getCardDefinitions(countries), mapIO.getCardDefinitions());
+		CardDeck deck = new StartUpPhase().assignCardToCountry(mapIO, new Random(1));
+		assertEquals(9, deck.size());
+		Card card = deck.draw();
+		assertEquals(mapIO.getCardDefinitions().get(card.getCountry().getName()), card.getCardType());
+	}
+
+	/**
+	 * Test to check that a card of another deck is refused.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void returnForeignCardTest() {
+		cardDeck.draw();
+		cardDeck.returnCard(new Card(ICardType.INFANTRY));
+	}
+}
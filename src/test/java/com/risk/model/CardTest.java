@@ -1,8 +1,13 @@
 package com.risk.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -71,4 +76,68 @@ public class CardTest {
         assertEquals(true,card.isExchangePossible(listOfCards));
         listOfCards.clear();
         }
+
+	/**
+	* Test to check that an invalid combination is refused.
+	* 
+	*/
+    @Test
+    public void checkExchangeForInvalidCards(){
+        listOfCards.add(new Card(ICardType.INFANTRY));
+        listOfCards.add(new Card(ICardType.INFANTRY));
+        listOfCards.add(new Card(ICardType.CAVALRY));
+        assertFalse(card.isExchangePossible(listOfCards));
+        assertNull(card.generateValidCardCombination(listOfCards));
+
+        listOfCards.add(new Card(ICardType.INFANTRY));
+        assertFalse(card.isExchangePossible(listOfCards));
+        }
+
+	/**
+	* Test to check that a mixed set is generated
+	* when there is no three of a kind.
+	* 
+	*/
+    @Test
+    public void generateMixedCardCombination(){
+        listOfCards.add(new Card(ICardType.INFANTRY));
+        listOfCards.add(new Card(ICardType.CAVALRY));
+        listOfCards.add(new Card(ICardType.CAVALRY));
+        listOfCards.add(new Card(ICardType.ARTILLERY));
+
+        List<Card> cards = card.generateValidCardCombination(listOfCards);
+        assertEquals(3, cards.size());
+        assertTrue(card.isExchangePossible(cards));
+        }
+
+	/**
+	* Test to check that the generated set holds a card
+	* whose country is owned by the player.
+	* 
+	*/
+    @Test
+    public void generateCardCombinationWithOwnedCountry(){
+        Player player = new Player("Player1");
+        Player opponent = new Player("Player2");
+        for (int i = 0; i < 4; i++) {
+            Card infantry = new Card(ICardType.INFANTRY);
+            infantry.setCountry(new Country("Infantry" + i));
+            infantry.getCountry().setPlayer(opponent);
+            listOfCards.add(infantry);
+        }
+        Card cavalry = new Card(ICardType.CAVALRY);
+        cavalry.setCountry(new Country("Canada"));
+        cavalry.getCountry().setPlayer(player);
+        listOfCards.add(cavalry);
+        Card artillery = new Card(ICardType.ARTILLERY);
+        artillery.setCountry(new Country("India"));
+        artillery.getCountry().setPlayer(opponent);
+        listOfCards.add(artillery);
+
+        assertEquals(ICardType.INFANTRY, card.generateValidCardCombination(listOfCards).get(0).getCardType());
+        List<Card> cards = card.generateValidCardCombination(listOfCards, player);
+        assertEquals(3, cards.size());
+        assertTrue(cards.contains(cavalry));
+        assertTrue(card.isExchangePossible(cards));
+        }
     }
@@ -0,0 +1,136 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CountryArmyIndex.
+ */
+public class CountryArmyIndexTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** List of the countries of the player */
+	private List<Country> countries;
+
+	/**
+	 * Set up a player owning five countries with 1 to 5 armies
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("Player");
+		countries = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			Country country = new Country("Country" + i);
+			country.setNoOfArmies(i);
+			country.setPlayer(player);
+			countries.add(country);
+		}
+	}
+
+	/**
+	 * Test to check the strongest and weakest countries as armies change.
+	 */
+	@Test
+	public void strongestAndWeakestTest() {
+		CountryArmyIndex index = player.getArmyIndex();
+		assertEquals(5, index.size());
+		assertSame(countries.get(4), index.getStrongest());
+		assertSame(countries.get(0), index.getWeakest());
+		countries.get(0).setNoOfArmies(10);
+		countries.get(4).setNoOfArmies(0);
+		assertSame(countries.get(0), index.getStrongest());
+		assertSame(countries.get(4), index.getWeakest());
+	}
+
+	/**
+	 * Test to check that a country moves to the index of its new owner.
+	 */
+	@Test
+	public void changeOwnerTest() {
+		Player other = new Player("Other");
+		Country strongest = countries.get(4);
+		strongest.setPlayer(other);
+		assertFalse(player.getArmyIndex().contains(strongest));
+		assertTrue(other.getArmyIndex().contains(strongest));
+		assertEquals(4, player.getArmyIndex().size());
+		assertSame(countries.get(3), player.getArmyIndex().getStrongest());
+		assertSame(strongest, other.getArmyIndex().getWeakest());
+	}
+
+	/**
+	 * Test to check the search of the strongest and weakest countries matching a condition.
+	 */
+	@Test
+	public void findWithConditionTest() {
+		CountryArmyIndex index = player.getArmyIndex();
+		assertSame(countries.get(3), index.findStrongest(country -> country.getNoOfArmies() % 2 == 0));
+		assertSame(countries.get(1), index.findWeakest(country -> country.getNoOfArmies() % 2 == 0));
+		assertNull(index.findStrongest(country -> country.getNoOfArmies() > 5));
+	}
+
+	/**
+	 * Test to check the index against a sort after random changes.
+	 */
+	@Test
+	public void randomChangesTest() {
+		Random random = new Random(42);
+		Player other = new Player("Other");
+		for (int i = 0; i < 1000; i++) {
+			Country country = countries.get(random.nextInt(countries.size()));
+			if (random.nextInt(4) == 0) {
+				country.setPlayer(random.nextBoolean() ? player : other);
+			} else {
+				country.setNoOfArmies(random.nextInt(20));
+			}
+			for (Player owner : new Player[] { player, other }) {
+				List<Country> sorted = owner.getArmyIndex().getSortedCountries(true);
+				if (!sorted.isEmpty()) {
+					assertEquals(sorted.get(0).getNoOfArmies(), owner.getArmyIndex().getStrongest().getNoOfArmies());
+					assertEquals(sorted.get(sorted.size() - 1).getNoOfArmies(),
+							owner.getArmyIndex().getWeakest().getNoOfArmies());
+				}
+			}
+		}
+		assertEquals(countries.size(), player.getArmyIndex().size() + other.getArmyIndex().size());
+	}
+
+	/**
+	 * Test to check the searches with a condition against a sort while the index grows.
+	 */
+	@Test
+	public void findAfterGrowthTest() {
+		Random random = new Random(7);
+		CountryArmyIndex index = player.getArmyIndex();
+		for (int i = 6; i <= 60; i++) {
+			Country country = new Country("Country" + i);
+			country.setNoOfArmies(random.nextInt(50));
+			country.setPlayer(player);
+			int divisor = 2 + random.nextInt(5);
+			int strongest = -1;
+			int weakest = -1;
+			for (Country owned : index.getSortedCountries(true)) {
+				if (owned.getNoOfArmies() % divisor == 0) {
+					strongest = Math.max(strongest, owned.getNoOfArmies());
+					weakest = weakest < 0 ? owned.getNoOfArmies() : Math.min(weakest, owned.getNoOfArmies());
+				}
+			}
+			Country found = index.findStrongest(owned -> owned.getNoOfArmies() % divisor == 0);
+			assertEquals(strongest, found == null ? -1 : found.getNoOfArmies());
+			found = index.findWeakest(owned -> owned.getNoOfArmies() % divisor == 0);
+			assertEquals(weakest, found == null ? -1 : found.getNoOfArmies());
+		}
+	}
+}
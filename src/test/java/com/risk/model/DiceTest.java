@@ -111,5 +111,79 @@ public class DiceTest {
 		assertEquals("Attacker has lost one army.",playResult.get(0));
 	}
 
+	/**
+	* Test to check that the sorting network compares the highest dice
+	* and that ties go to the defender.
+	*
+	*/
+	@Test
+	public void resolveRoundTest() {
+		int roundResult = Dice.resolveRound(2, 6, 5, 4, 6);
+		assertEquals(1, Dice.attackerLosses(roundResult));
+		assertEquals(1, Dice.defenderLosses(roundResult));
+
+		roundResult = Dice.resolveRound(1, 4, 6, 3, 5);
+		assertEquals(0, Dice.attackerLosses(roundResult));
+		assertEquals(2, Dice.defenderLosses(roundResult));
+
+		roundResult = Dice.resolveRound(3, 3, 0, 4, 3);
+		assertEquals(2, Dice.attackerLosses(roundResult));
+		assertEquals(0, Dice.defenderLosses(roundResult));
+	}
+
+	/**
+	* Test to check that only as many dice are compared as the
+	* smaller side has rolled.
+	*
+	*/
+	@Test
+	public void resolveRoundSingleComparisonTest() {
+		int roundResult = Dice.resolveRound(6, 0, 0, 2, 1);
+		assertEquals(0, Dice.attackerLosses(roundResult));
+		assertEquals(1, Dice.defenderLosses(roundResult));
+
+		roundResult = Dice.resolveRound(6, 5, 4, 6, 0);
+		assertEquals(1, Dice.attackerLosses(roundResult));
+		assertEquals(0, Dice.defenderLosses(roundResult));
+	}
+
+	/**
+	* Test to check the dice play result built from the dice lists.
+	*
+	*/
+	@Test
+	public void getDicePlayResultTest() {
+		dice.getAttackerDiceList().add(2);
+		dice.getAttackerDiceList().add(5);
+		dice.getDefenderDiceList().add(4);
+		ArrayList<String> result = dice.getDicePlayResult();
+		assertEquals(1, result.size());
+		assertEquals("Defender has lost one army.", result.get(0));
+		assertEquals(0, defendingCountry.getNoOfArmies());
+	}
+
+	/**
+	* Test to check that rolling until decided ends the attack.
+	*
+	*/
+	@Test
+	public void rollUntilDecidedTest() {
+		dice.rollUntilDecided();
+		assertTrue(attackingCountry.getNoOfArmies() == 1 || defendingCountry.getPlayer() == player1);
+	}
+
+	/**
+	* Test to check that the rolls stop when the attack policy advises it.
+	*
+	*/
+	@Test
+	public void rollUntilDecidedWithPolicyTest() {
+		attackingCountry.setNoOfArmies(10);
+		defendingCountry.setNoOfArmies(30);
+		dice.setAttackPolicy(AttackPolicy.forWinProbability(0.5));
+		dice.rollUntilDecided();
+		assertTrue(attackingCountry.getNoOfArmies() < 10 || defendingCountry.getNoOfArmies() < 30);
+		assertEquals(player2, defendingCountry.getPlayer());
+	}
 
 }
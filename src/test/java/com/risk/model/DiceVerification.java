@@ -0,0 +1,293 @@
+package com.risk.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Statistical verification of the dice, run from the command line:
+ * <pre>java com.risk.model.DiceVerification [rolls] [dice|seeded|simulator|all]</pre>
+ * It streams the rolls of a random source through all the cores and
+ * compares the face frequencies, the pairs of consecutive faces and the
+ * outcomes of 3 against 2 and 1 against 1 rounds with the exact dice
+ * probabilities using chi-square tests. The process exits with status 1
+ * if any source is biased.
+ */
+public class DiceVerification {
+
+	/** Upper quantile of the standard normal distribution for the 1e-6 significance level */
+	private static final double CRITICAL_Z = 4.753;
+
+	/** Exact chi-square critical values for the 1e-6 significance level, for 1 to 10 degrees of freedom */
+	private static final double[] CRITICAL_VALUES = { 23.928, 27.631, 30.665, 33.377, 35.888, 38.258, 40.522,
+			42.701, 44.811, 46.863 };
+
+	/** Number of rolls counted locally before being added to the shared counters */
+	private static final int CHUNK_ROLLS = 1 << 20;
+
+	/** Number of dice faces */
+	private static final int FACES = 6;
+
+	/** Counters of the faces */
+	private final LongAdder[] faceCounts = counters(FACES);
+
+	/** Counters of the pairs of consecutive faces */
+	private final LongAdder[] pairCounts = counters(FACES * FACES);
+
+	/** Counters of the attacker losses of 3 against 2 rounds */
+	private final LongAdder[] fullRoundCounts = counters(3);
+
+	/** Counters of the attacker losses of 1 against 1 rounds */
+	private final LongAdder[] singleRoundCounts = counters(2);
+
+	/** Messages of the failed checks */
+	private final List<String> failures = new ArrayList<>();
+
+	/**
+	 * Main method of the verification.
+	 *
+	 * @param args number of rolls per source and the source to check
+	 */
+	public static void main(String[] args) {
+		long rolls = args.length > 0 ? Long.parseLong(args[0]) : 1000000000L;
+		String source = args.length > 1 ? args[1] : "all";
+		boolean biased = false;
+		if (source.equals("dice") || source.equals("all")) {
+			biased |= !verify("Dice.generateRandomNumber", diceSource(), rolls).report();
+		}
+		if (source.equals("seeded") || source.equals("all")) {
+			biased |= !verify("Dice.generateRandomNumber seeded", seededDiceSource(2018L), rolls).report();
+		}
+		if (source.equals("simulator") || source.equals("all")) {
+			biased |= !verify("BattleSimulator", simulatorSource(), rolls).report();
+		}
+		if (biased) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Method to get the rolls of the dice used by a game on the game
+	 * screen, without a random source of its own.
+	 *
+	 * @return factory of one roll supplier per thread
+	 */
+	public static Supplier<IntSupplier> diceSource() {
+		return () -> {
+			Dice dice = new Dice(null, null);
+			return dice::generateRandomNumber;
+		};
+	}
+
+	/**
+	 * Method to get the rolls of the dice of seeded games, as in a
+	 * tournament: every roll supplier rolls the dice of its own game, whose
+	 * context has a random source seeded from the seeds of the tournament.
+	 *
+	 * @param seed Seed of the tournament
+	 * @return factory of one roll supplier per thread
+	 */
+	public static Supplier<IntSupplier> seededDiceSource(long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		return () -> {
+			long gameSeed;
+			synchronized (seeds) {
+				gameSeed = seeds.nextLong();
+			}
+			GameContext context = new GameContext(true, new Random(gameSeed));
+			Dice dice = new Dice(null, null);
+			dice.setRandom(context.getRandom());
+			return dice::generateRandomNumber;
+		};
+	}
+
+	/**
+	 * Method to get the rolls of the battle simulator streams.
+	 *
+	 * @return factory of one roll supplier per thread
+	 */
+	public static Supplier<IntSupplier> simulatorSource() {
+		return () -> {
+			long[] position = { ThreadLocalRandom.current().nextLong() };
+			return () -> BattleSimulator.rollDice(position[0] += BattleSimulator.GOLDEN_GAMMA);
+		};
+	}
+
+	/**
+	 * Method to stream the rolls of a source and check them.
+	 *
+	 * @param name   Name of the source
+	 * @param source Factory of one roll supplier per thread
+	 * @param rolls  Number of rolls to check
+	 * @return verification with the counters and the failed checks
+	 */
+	public static DiceVerification verify(String name, Supplier<IntSupplier> source, long rolls) {
+		DiceVerification verification = new DiceVerification();
+		long start = System.nanoTime();
+		int chunks = (int) ((rolls + CHUNK_ROLLS - 1) / CHUNK_ROLLS);
+		IntStream.range(0, chunks).parallel().forEach(chunk -> verification.count(source.get(),
+				(int) Math.min(CHUNK_ROLLS, rolls - (long) chunk * CHUNK_ROLLS)));
+		verification.check(name);
+		System.out.printf("%s: %,d rolls in %.1f s%n", name, rolls, (System.nanoTime() - start) / 1e9);
+		return verification;
+	}
+
+	/**
+	 * Method to count one chunk of rolls. The rolls are counted once as faces,
+	 * once as pairs, and the same rolls are grouped by five into 3 against 2
+	 * rounds and by two into 1 against 1 rounds.
+	 *
+	 * @param dice  Supplier of the rolls
+	 * @param rolls Number of rolls of the chunk
+	 */
+	private void count(IntSupplier dice, int rolls) {
+		long[] faces = new long[FACES];
+		long[] pairs = new long[FACES * FACES];
+		long[] fullRounds = new long[3];
+		long[] singleRounds = new long[2];
+		int[] round = new int[5];
+		for (int i = 0; i < rolls; i++) {
+			int value = dice.getAsInt();
+			if (value < 1 || value > FACES) {
+				synchronized (failures) {
+					failures.add("roll out of range: " + value);
+				}
+				return;
+			}
+			faces[value - 1]++;
+			round[i % 5] = value;
+			if (i % 2 == 1) {
+				pairs[(round[(i - 1) % 5] - 1) * FACES + value - 1]++;
+				singleRounds[Dice.attackerLosses(Dice.resolveRound(round[(i - 1) % 5], 0, 0, value, 0))]++;
+			}
+			if (i % 5 == 4) {
+				fullRounds[Dice.attackerLosses(Dice.resolveRound(round[0], round[1], round[2], round[3], round[4]))]++;
+			}
+		}
+		add(faceCounts, faces);
+		add(pairCounts, pairs);
+		add(fullRoundCounts, fullRounds);
+		add(singleRoundCounts, singleRounds);
+	}
+
+	/**
+	 * Method to run the chi-square checks on the counters.
+	 *
+	 * @param name Name of the source
+	 */
+	private void check(String name) {
+		double[] faceProbabilities = new double[FACES];
+		Arrays.fill(faceProbabilities, 1.0 / FACES);
+		double[] pairProbabilities = new double[FACES * FACES];
+		Arrays.fill(pairProbabilities, 1.0 / (FACES * FACES));
+		double[] fullRoundProbabilities = new double[3];
+		for (int losses = 0; losses < 3; losses++) {
+			fullRoundProbabilities[losses] = BattleOdds.getRoundOutcomeProbability(3, 2, losses);
+		}
+		double[] singleRoundProbabilities = { BattleOdds.getRoundOutcomeProbability(1, 1, 0),
+				BattleOdds.getRoundOutcomeProbability(1, 1, 1) };
+		chiSquare(name + " faces", faceCounts, faceProbabilities);
+		chiSquare(name + " pairs", pairCounts, pairProbabilities);
+		chiSquare(name + " 3v2 rounds", fullRoundCounts, fullRoundProbabilities);
+		chiSquare(name + " 1v1 rounds", singleRoundCounts, singleRoundProbabilities);
+	}
+
+	/**
+	 * Method to compare counts with their expected probabilities.
+	 *
+	 * @param name          Name of the check
+	 * @param counts        Observed counts
+	 * @param probabilities Expected probabilities
+	 */
+	private void chiSquare(String name, LongAdder[] counts, double[] probabilities) {
+		long total = 0;
+		for (LongAdder count : counts) {
+			total += count.sum();
+		}
+		double statistic = 0;
+		for (int i = 0; i < counts.length; i++) {
+			double expected = total * probabilities[i];
+			double difference = counts[i].sum() - expected;
+			statistic += difference * difference / expected;
+		}
+		double critical = criticalValue(counts.length - 1);
+		boolean passed = total > 0 && statistic <= critical;
+		System.out.printf("  %-40s chi2 = %10.2f (limit %.2f) %s%n", name, statistic, critical, passed ? "ok" : "BIASED");
+		if (!passed) {
+			synchronized (failures) {
+				failures.add(name + ": chi2 = " + statistic + " > " + critical);
+			}
+		}
+	}
+
+	/**
+	 * Method to get the chi-square critical value. Exact values are used for
+	 * up to ten degrees of freedom, where the Wilson-Hilferty approximation is
+	 * too loose, and the approximation above.
+	 *
+	 * @param degreesOfFreedom Degrees of freedom
+	 * @return critical value
+	 */
+	static double criticalValue(int degreesOfFreedom) {
+		if (degreesOfFreedom <= CRITICAL_VALUES.length) {
+			return CRITICAL_VALUES[degreesOfFreedom - 1];
+		}
+		double variance = 2.0 / (9.0 * degreesOfFreedom);
+		return degreesOfFreedom * Math.pow(1 - variance + CRITICAL_Z * Math.sqrt(variance), 3);
+	}
+
+	/**
+	 * Method to print the failed checks.
+	 *
+	 * @return true
+	 * If every check passed; other wise false.
+	 */
+	public boolean report() {
+		for (String failure : failures) {
+			System.err.println("FAILED " + failure);
+		}
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Getter for the failed checks.
+	 *
+	 * @return messages of the failed checks
+	 */
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Method to create counters.
+	 *
+	 * @param size Number of counters
+	 * @return counters set to zero
+	 */
+	private static LongAdder[] counters(int size) {
+		LongAdder[] counters = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			counters[i] = new LongAdder();
+		}
+		return counters;
+	}
+
+	/**
+	 * Method to add local counts to the shared counters.
+	 *
+	 * @param counters Shared counters
+	 * @param counts   Local counts
+	 */
+	private static void add(LongAdder[] counters, long[] counts) {
+		for (int i = 0; i < counts.length; i++) {
+			counters[i].add(counts[i]);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * Test class for the statistical verification of the dice.
+ * The full volume check is run with DiceVerification from the command line.
+ */
+public class DiceVerificationTest {
+
+	/** Number of rolls checked per source */
+	private static final long ROLLS = 5000000L;
+
+	/**
+	 * Test to check the dice used by the game screen.
+	 */
+	@Test
+	public void diceSourceTest() {
+		assertTrue(DiceVerification.verify("Dice.generateRandomNumber", DiceVerification.diceSource(), ROLLS).getFailures().isEmpty());
+	}
+
+	/**
+	 * Test to check the dice of the seeded games.
+	 */
+	@Test
+	public void seededDiceSourceTest() {
+		assertTrue(DiceVerification.verify("Dice.generateRandomNumber seeded", DiceVerification.seededDiceSource(2018L), ROLLS).getFailures().isEmpty());
+	}
+
+	/**
+	 * Test to check the dice of the battle simulator.
+	 */
+	@Test
+	public void simulatorSourceTest() {
+		assertTrue(DiceVerification.verify("BattleSimulator", DiceVerification.simulatorSource(), ROLLS).getFailures().isEmpty());
+	}
+
+	/**
+	 * Test to check that a slightly loaded dice is detected.
+	 */
+	@Test
+	public void biasedSourceTest() {
+		Supplier<IntSupplier> loaded = () -> () -> {
+			int value = java.util.concurrent.ThreadLocalRandom.current().nextInt(1, 7);
+			return value == 1 && java.util.concurrent.ThreadLocalRandom.current().nextInt(100) == 0 ? 6 : value;
+		};
+		assertFalse(DiceVerification.verify("loaded", loaded, ROLLS).getFailures().isEmpty());
+	}
+
+	/**
+	 * Test to check the critical values against closed forms and the approximation.
+	 */
+	@Test
+	public void criticalValueTest() {
+		// With two degrees of freedom the tail is exp(-x / 2).
+		assertEquals(2 * Math.log(1e6), DiceVerification.criticalValue(2), 0.001);
+		assertEquals(23.928, DiceVerification.criticalValue(1), 0.001);
+		// The approximation above the table goes on growing, at about two per degree of freedom.
+		assertEquals(DiceVerification.criticalValue(10) + 2.0, DiceVerification.criticalValue(11), 1.5);
+	}
+}
@@ -0,0 +1,109 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for GameState.
+ */
+public class GameStateTest {
+
+	/** Object for Player class */
+	private Player player1;
+
+	/** Object for Player class */
+	private Player player2;
+
+	/** Countries of the map, in a line */
+	private List<Country> countries;
+
+	/**
+	 * Set up a line of four countries, the first three in one continent,
+	 * the first two owned by player1 and the last two by player2
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player1 = new Player("player1");
+		player2 = new Player("player2");
+		Continent continent = new Continent("Asia", 5);
+		countries = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Country country = new Country("Country" + i);
+			if (i < 3) {
+				country.setPartOfContinent(continent);
+			}
+			country.setPlayer(i < 2 ? player1 : player2);
+			country.setNoOfArmies(i == 1 ? 20 : 1);
+			countries.add(country);
+		}
+		for (int i = 0; i < 3; i++) {
+			countries.get(i).getAdjacentCountries().add(countries.get(i + 1));
+			countries.get(i + 1).getAdjacentCountries().add(countries.get(i));
+		}
+		ArrayList<Country> player1Countries = new ArrayList<>(countries.subList(0, 2));
+		player1.setMyCountries(player1Countries);
+	}
+
+	/**
+	 * Test to check the state found from the countries of a player.
+	 */
+	@Test
+	public void ofPlayerTest() {
+		GameState state = GameState.of(player1);
+		assertEquals(4, state.getCountryCount());
+		assertEquals(2, state.getPlayerCount());
+		int first = state.indexOf(countries.get(0));
+		int second = state.indexOf(countries.get(1));
+		assertEquals(state.indexOf(player1), state.getOwner(first));
+		assertEquals(20, state.getArmies(second));
+		assertEquals(2, state.getNeighbourCount(second));
+		assertFalse(state.isBorder(first));
+		assertTrue(state.isBorder(second));
+		assertEquals(3, state.getReinforcementArmies(state.indexOf(player1)));
+	}
+
+	/**
+	 * Test to check that a copy changes independently and conquests update the counters.
+	 */
+	@Test
+	public void copyAndAttackTest() {
+		GameState state = GameState.of(player1);
+		int player = state.indexOf(player1);
+		int from = state.indexOf(countries.get(1));
+		int to = state.indexOf(countries.get(2));
+		GameState copy = state.copy();
+		assertTrue(copy.attack(from, to, null, new SplittableRandom(1)));
+		assertEquals(player, copy.getOwner(to));
+		assertEquals(1, copy.getArmies(from));
+		assertEquals(3, copy.getCountryCount(player));
+		assertEquals(1 + 5, copy.getReinforcementArmies(player));
+		assertEquals(2, state.getCountryCount(player));
+		assertEquals(20, state.getArmies(from));
+		assertEquals(-1, copy.getWinner());
+		assertTrue(copy.evaluate(player) > state.evaluate(player));
+		assertEquals(countries.get(1), copy.getCountry(from));
+	}
+
+	/**
+	 * Test to check that an attack stopped by its policy leaves the defender in place.
+	 */
+	@Test
+	public void attackPolicyStopTest() {
+		countries.get(2).setNoOfArmies(100);
+		GameState state = GameState.of(player1);
+		int from = state.indexOf(countries.get(1));
+		int to = state.indexOf(countries.get(2));
+		assertFalse(state.attack(from, to, AttackPolicy.forWinProbability(0.99), new SplittableRandom(1)));
+		assertTrue(state.getArmies(from) + state.getArmies(to) >= 118);
+		assertEquals(state.indexOf(player2), state.getOwner(to));
+	}
+}
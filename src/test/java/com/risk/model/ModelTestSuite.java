@@ -7,7 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 
 @RunWith(Suite.class)
-@SuiteClasses({CardTest.class,DiceTest.class,PlayerTest.class})
+@SuiteClasses({CardTest.class,DiceTest.class,PlayerTest.class,BattleOddsTest.class,BattleSimulatorTest.class,AttackPolicyTest.class,DiceVerificationTest.class,CardDeckTest.class,CountryArmyIndexTest.class,GameStateTest.class})
 
 
 /**
@@ -1,6 +1,7 @@
 package com.risk.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -207,7 +208,7 @@ public class PlayerTest {
 	public void checkPlayerLostTest()  {
 		player1.setMyCountries(myCountries);
 		player2.setMyCountries(new ArrayList<Country>());
-		Player.currentPlayer = player1;
+		player1.setPlayerPlaying(player1);
 		assertEquals(player2.getName(),player1.checkPlayerLost(players).get(0).getName());
 	}
 	
@@ -218,7 +219,7 @@ public class PlayerTest {
 	public void checkPlayerNotLostTest() {
 		player1.setMyCountries(myCountries);
 		player2.setMyCountries(myCountries);
-		Player.currentPlayer = player1;
+		player1.setPlayerPlaying(player1);
 		assertTrue(player1.checkPlayerLost(players).isEmpty());	
 	}
 	
@@ -283,10 +284,52 @@ public class PlayerTest {
 		listOfCards.add(new Card(ICardType.ARTILLERY));
 		listOfCards.add(new Card(ICardType.INFANTRY));
 		listOfCards.add(new Card(ICardType.CAVALRY));
+		player3.setPlayerPlaying(playerPlaying);
 		testPlayer = player3.exchangeCards(listOfCards,1);
 		assertEquals(5,testPlayer.getArmyCount());
 	}
+
+	/**
+	 * Test to check that a player which is not in a game has no current player
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void playerPlayingWithoutGameTest(){
+		new Player("alone").getPlayerPlaying();
+	}
 	
+	/**
+	 * Test to check that the hand of the player follows the cards drawn and traded
+	 */
+	@Test
+	public void cardHandTest(){
+		Card infantry = new Card(ICardType.INFANTRY);
+		Card cavalry = new Card(ICardType.CAVALRY);
+		Card artillery = new Card(ICardType.ARTILLERY);
+		player1.addCard(infantry);
+		player1.addCard(cavalry);
+		CardHand hand = player1.getCardHand();
+		assertFalse(hand.hasValidSet());
+		player1.addCard(artillery);
+		assertSame(hand, player1.getCardHand());
+		assertTrue(hand.hasMixedSet());
+		player1.removeCards(Arrays.asList(infantry, cavalry));
+		assertEquals(1, player1.getCardHand().size());
+		assertEquals(1, player1.getCardList().size());
+		// The list is read only, so the hand cannot miss a change of the cards.
+		try {
+			player1.getCardList().add(new Card(ICardType.ARTILLERY));
+			fail("The card list of the player can be changed directly");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(1, player1.getCardHand().getCount(ICardType.ARTILLERY));
+		}
+		// A list set as a whole is copied and grouped again.
+		ArrayList<Card> cards = new ArrayList<>(Arrays.asList(infantry, cavalry));
+		player1.setCardList(cards);
+		cards.add(artillery);
+		assertEquals(2, player1.getCardHand().size());
+		assertEquals(0, player1.getCardHand().getCount(ICardType.ARTILLERY));
+	}
+
 	@Test
 	public void automaticAssignPlayerArmiesToCountryTest() {
 		Player player1 = new Player("Karan");
@@ -298,4 +341,61 @@ public class PlayerTest {
 		player.automaticAssignPlayerArmiesToCountry(player1);
 		assertEquals(9,player1.getArmyCount());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test to check that all the armies are placed in one call.
+	 */
+	@Test
+	public void placeAllArmiesTest() {
+		Player player1 = new Player("Karan");
+		player1.setArmyCount(10);
+		ArrayList<Country> listOfCountries = new ArrayList<>();
+		country1.setNoOfArmies(1);
+		country2.setNoOfArmies(1);
+		listOfCountries.add(country1);
+		listOfCountries.add(country2);
+		player1.setMyCountries(listOfCountries);
+		player1.placeAllArmies(ArmyPlacementPolicy.weighted(t -> t == country2 ? 1 : 0));
+		assertEquals(0, player1.getArmyCount());
+		assertEquals(1, country1.getNoOfArmies());
+		assertEquals(11, country2.getNoOfArmies());
+	}
+
+	/**
+	 * Test to check that a set of countries changes owner in one call.
+	 */
+	@Test
+	public void conquerCountriesTest() {
+		Player winner = new Player("winner");
+		Player loser = new Player("loser");
+		Continent northAmerica = new Continent("NorthAmerica", 4);
+		ArrayList<Country> continentCountries = new ArrayList<>();
+		ArrayList<Country> loserCountries = new ArrayList<>();
+		for (String name : new String[] { "Canada", "America", "Mexico" }) {
+			Country country = new Country(name);
+			country.setPartOfContinent(northAmerica);
+			country.setPlayer(loser);
+			continentCountries.add(country);
+			loserCountries.add(country);
+		}
+		northAmerica.setListOfCountries(continentCountries);
+		loser.setMyCountries(loserCountries);
+		winner.setMyCountries(new ArrayList<>());
+		assertTrue(loser.ownsContinent(northAmerica));
+
+		List<Continent> ownedContinents = winner.conquerCountries(continentCountries.subList(0, 2));
+		assertTrue(ownedContinents.isEmpty());
+		assertEquals(2, winner.getPlayerCountries().size());
+		assertEquals(1, loser.getPlayerCountries().size());
+		assertEquals(2, winner.getContinentCountryCount(northAmerica));
+		assertFalse(loser.ownsContinent(northAmerica));
+		assertSame(winner, continentCountries.get(0).getPlayer());
+
+		ownedContinents = winner.conquerCountries(continentCountries);
+		assertEquals(1, ownedContinents.size());
+		assertTrue(winner.ownsContinent(northAmerica));
+		assertEquals(3, winner.getPlayerCountries().size());
+		assertTrue(loser.getPlayerCountries().isEmpty());
+		assertEquals(0, loser.getArmyIndex().size());
+	}
+}
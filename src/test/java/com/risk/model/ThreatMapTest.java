@@ -0,0 +1,130 @@
+package com.risk.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for ThreatMap.
+ */
+public class ThreatMapTest {
+
+	/** Players of the map */
+	private Player[] players;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/**
+	 * Set up a chain of four countries, two of each of two players, with 1
+	 * to 4 armies
+	 *
+	 */
+	@Before
+	public void initialize() {
+		players = new Player[] { new Player("first"), new Player("second") };
+		countries = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(players[i / 2]);
+			country.setNoOfArmies(i + 1);
+			countries.add(country);
+		}
+		for (int i = 0; i < 3; i++) {
+			link(countries.get(i), countries.get(i + 1));
+		}
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  First country
+	 * @param second Second country
+	 */
+	private static void link(Country first, Country second) {
+		if (first != second && !first.getAdjacentCountries().contains(second)) {
+			first.getAdjacentCountries().add(second);
+			second.getAdjacentCountries().add(first);
+		}
+	}
+
+	/**
+	 * Test to check the one and two hop threats as armies and owners change.
+	 */
+	@Test
+	public void threatTest() {
+		ThreatMap map = ThreatMap.of(countries.get(0));
+		assertSame(map, ThreatMap.of(countries.get(3)));
+		assertEquals(0, map.getThreat(countries.get(0)));
+		assertEquals(3, map.getThreat(countries.get(1)));
+		assertEquals(1, map.getSupport(countries.get(1)));
+		// Country 1 faces the 3 armies of country 2, backed by the 4 of country 3.
+		assertEquals(7, map.getTwoHopThreat(countries.get(1)));
+		assertEquals(1, map.getHeat(countries.get(1)), 0);
+
+		countries.get(2).setNoOfArmies(10);
+		assertEquals(10, map.getThreat(countries.get(1)));
+		assertEquals(10, map.getSupport(countries.get(3)));
+
+		countries.get(2).setPlayer(players[0]);
+		assertEquals(0, map.getThreat(countries.get(1)));
+		assertEquals(11, map.getSupport(countries.get(1)));
+		assertEquals(4, map.getThreat(countries.get(2)));
+		assertEquals(10, map.getThreat(countries.get(3)));
+		assertEquals(0, map.getSupport(countries.get(3)));
+	}
+
+	/**
+	 * Test to check that the kept threats match the ones added up again
+	 * after many random changes on a random map, and that a new map takes
+	 * the countries over.
+	 */
+	@Test
+	public void randomChangesTest() {
+		Random random = new Random(1);
+		List<Country> map = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			Country country = new Country("Random" + i);
+			country.setPlayer(players[random.nextInt(2)]);
+			country.setNoOfArmies(1 + random.nextInt(5));
+			map.add(country);
+		}
+		for (int i = 0; i < 200; i++) {
+			link(map.get(i), map.get((i + 1) % 200));
+			link(map.get(i), map.get(random.nextInt(200)));
+		}
+		ThreatMap threatMap = new ThreatMap(map);
+		for (int change = 0; change < 10000; change++) {
+			Country country = map.get(random.nextInt(200));
+			if (random.nextBoolean()) {
+				country.setNoOfArmies(1 + random.nextInt(20));
+			} else {
+				country.setPlayer(players[random.nextInt(2)]);
+			}
+		}
+		for (Country country : map) {
+			int threat = 0;
+			int support = 0;
+			for (Country neighbour : country.getAdjacentCountries()) {
+				if (neighbour.getPlayer() != country.getPlayer()) {
+					threat += neighbour.getNoOfArmies();
+				} else {
+					support += neighbour.getNoOfArmies();
+				}
+			}
+			assertEquals(threat, threatMap.getThreat(country));
+			assertEquals(support, threatMap.getSupport(country));
+		}
+		ThreatMap rebuilt = new ThreatMap(map);
+		assertFalse(threatMap.contains(map.get(0)));
+		assertTrue(rebuilt.contains(map.get(0)));
+	}
+}
@@ -14,10 +14,6 @@ import com.risk.strategy.Aggressive;
 import com.risk.strategy.Benevolent;
 import com.risk.strategy.Random;
 
-import javafx.embed.swing.JFXPanel;
-import javafx.fxml.FXML;
-import javafx.scene.control.TextArea;
-
 public class TournamentModelTest {
 	
 	private Player player1;
@@ -38,14 +34,6 @@ public class TournamentModelTest {
 	
 	private ArrayList<Country> myCountries3;
 	
-	@FXML
-	private TextArea textArea;
-
-	@FXML
-	private JFXPanel jfxPanel;
-	
-	
-	
 	@Before
 	public void initialize() {
 		
@@ -105,9 +93,6 @@ public class TournamentModelTest {
 		player2.setMyCountries(myCountries2);
 		player3.setMyCountries(myCountries3);
 		
-		jfxPanel = new JFXPanel();
-		textArea= new TextArea();
-		
 		int numberOfTurnsToPlay = 15;
 		int gameCount = 1;
 		
@@ -125,9 +110,7 @@ public class TournamentModelTest {
 		listOfPlayers.add(player2);
 		listOfPlayers.add(player3);
 		
-		Player.currentPlayer = player1;
-		
-		results = tournamentModel.playGame(listOfPlayers, numberOfTurnsToPlay, gameCount, map, textArea);
+		results = tournamentModel.playGame(listOfPlayers, numberOfTurnsToPlay, gameCount, map);
 		
 		Assert.assertNotNull(results);
 	}
@@ -111,4 +111,42 @@ public class StartUpPhaseTest {
     public void assignCountryToPlayerTest(){
         assertNotNull(startUpPhase.assignCountryToPlayer(map,listOfPlayers));
     }
+
+    /**
+     * Test for checking that a balanced deal shares every continent
+     * between the players and places one army on every country
+     */
+    @Test
+    public void assignCountryToPlayerBalancedTest(){
+        MapIO dealMap = new MapIO();
+        String[] continentNames = {"Asia", "Europe"};
+        for (String continentName : continentNames) {
+            dealMap.getMapGraph().addContinent(new Continent(continentName, 3));
+            for (int i = 0; i < 6; i++) {
+                Country country = new Country(continentName + i);
+                country.setContinent(continentName);
+                dealMap.getMapGraph().addCountry(country);
+            }
+        }
+        ArrayList<Player> players = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Player dealPlayer = new Player("Player" + i);
+            dealPlayer.setArmyCount(10);
+            dealPlayer.setMyCountries(new ArrayList<>());
+            players.add(dealPlayer);
+        }
+        startUpPhase.assignCountryToPlayer(dealMap, players, true);
+        for (Player dealPlayer : players) {
+            assertEquals(4, dealPlayer.getPlayerCountries().size());
+            assertEquals(6, dealPlayer.getArmyCount());
+            for (String continentName : continentNames) {
+                assertEquals(2, dealPlayer.getPlayerCountries().stream()
+                        .filter(t -> t.getContinent().equals(continentName)).count());
+            }
+            for (Country country : dealPlayer.getPlayerCountries()) {
+                assertEquals(dealPlayer, country.getPlayer());
+                assertEquals(1, country.getNoOfArmies());
+            }
+        }
+    }
 }
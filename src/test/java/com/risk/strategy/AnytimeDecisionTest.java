@@ -0,0 +1,183 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Country;
+import com.risk.model.GameContext;
+import com.risk.model.Player;
+
+/**
+ * Test class for the timed decisions of PlayerBehaviour and LatencyHistogram.
+ */
+public class AnytimeDecisionTest {
+
+	/** Strategy making the decisions */
+	private Random random;
+
+	/** Latch blocking the searches which ignore their deadline */
+	private CountDownLatch release;
+
+	/**
+	 * Set up a strategy with a time budget of 50 milliseconds
+	 *
+	 */
+	@Before
+	public void initialize() {
+		random = new Random();
+		random.setTimeBudget(50);
+		release = new CountDownLatch(1);
+	}
+
+	/**
+	 * Method to block a search until the test releases it, ignoring its
+	 * deadline and the interruption of the engine giving it up.
+	 */
+	private void awaitRelease() {
+		boolean interrupted = false;
+		while (release.getCount() > 0) {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Release the searches still running
+	 */
+	@After
+	public void cleanUp() {
+		release.countDown();
+	}
+
+	/**
+	 * Test to check that a search ignoring its deadline is given up for the
+	 * fallback, and that the next decision takes its fallback without
+	 * running its search while the abandoned one is blocked.
+	 */
+	@Test
+	public void fallbackTest() {
+		AtomicReference<AnytimeDecision<Integer>> abandoned = new AtomicReference<>();
+		int move = random.decide(decision -> {
+			abandoned.set(decision);
+			awaitRelease();
+			return 1;
+		}, () -> 2);
+		assertEquals(2, move);
+		assertTrue(abandoned.get().isCancelled());
+		assertTrue(random.isSearchAbandoned());
+
+		AtomicReference<Boolean> searched = new AtomicReference<>(false);
+		assertEquals(3, (int) random.decide(decision -> {
+			searched.set(true);
+			return 4;
+		}, () -> 3));
+		assertFalse(searched.get());
+		assertTrue(random.takeFallback());
+		assertFalse(random.takeFallback());
+	}
+
+	/**
+	 * Test to check that the last offered move is taken when the search overruns.
+	 */
+	@Test
+	public void bestSoFarTest() {
+		int move = random.decide(decision -> {
+			decision.offer(5);
+			awaitRelease();
+			return 6;
+		}, () -> 7);
+		assertEquals(5, move);
+		assertTrue(random.isSearchAbandoned());
+		assertFalse(random.takeFallback());
+	}
+
+	/**
+	 * Test to check that a search stopping at its deadline answers itself.
+	 */
+	@Test
+	public void deadlineTest() {
+		int move = random.decide(decision -> {
+			int iterations = 0;
+			while (!decision.isExpired()) {
+				iterations++;
+			}
+			return iterations > 0 ? 8 : 9;
+		}, () -> 10);
+		assertEquals(8, move);
+		assertFalse(random.takeFallback());
+	}
+
+	/**
+	 * Test to check that the engine records every phase call of a strategy,
+	 * whether or not it makes a timed decision.
+	 */
+	@Test
+	public void phaseLatencyTest() {
+		GameContext context = new GameContext();
+		Player player = new Player("player", "Aggressive");
+		player.setContext(context);
+		player.setPlayerPlaying(player);
+		assertFalse(player.canAttack(new ArrayList<Country>()));
+		player.playFortification(new ArrayList<Country>(), null);
+		LatencyHistogram histogram = context.getLatency("Aggressive");
+		assertEquals(2, histogram.getCount());
+		assertEquals(0, histogram.getFallbackCount());
+		assertEquals(1, context.getLatencies().size());
+	}
+
+	/**
+	 * Test to check that the histograms of the games are merged by strategy.
+	 */
+	@Test
+	public void mergeTest() {
+		GameContext first = new GameContext();
+		first.getLatency("MCTS").record(3000, false);
+		first.getLatency("Random").record(5000, true);
+		GameContext second = new GameContext();
+		second.getLatency("MCTS").record(7000000, true);
+		Map<String, LatencyHistogram> totals = new TreeMap<>();
+		LatencyHistogram.merge(totals, first.getLatencies());
+		LatencyHistogram.merge(totals, second.getLatencies());
+		assertEquals(2, totals.get("MCTS").getCount());
+		assertEquals(1, totals.get("MCTS").getFallbackCount());
+		assertEquals(7000000, totals.get("MCTS").getMax());
+		assertEquals(1, totals.get("Random").getCount());
+		assertEquals(1, first.getLatency("MCTS").getCount());
+	}
+
+	/**
+	 * Test to check that the percentiles are bounded by the doubling buckets.
+	 */
+	@Test
+	public void histogramTest() {
+		LatencyHistogram histogram = new LatencyHistogram("test");
+		for (int i = 0; i < 99; i++) {
+			histogram.record(3000, false);
+		}
+		histogram.record(5000000, true);
+		assertEquals(100, histogram.getCount());
+		assertEquals(1, histogram.getFallbackCount());
+		assertEquals(4000, histogram.getPercentile(50));
+		assertEquals(4000, histogram.getPercentile(99));
+		assertEquals(5000000, histogram.getPercentile(100));
+		assertEquals(5000000, histogram.getMax());
+		assertEquals((99 * 3000 + 5000000) / 100.0, histogram.getMean(), 1e-9);
+	}
+}
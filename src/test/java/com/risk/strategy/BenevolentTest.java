@@ -1,6 +1,7 @@
 package com.risk.strategy;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -103,4 +104,36 @@ public class BenevolentTest {
 		assertEquals(list.get(0), benevolent.checkAndFindWeakestIfNoAdjacentCountryToFortify(list));
 	}
 
+
+	/**
+	 * Test to check that the initial armies level the weakest countries.
+	 */
+	@Test
+	public void armyPlacementPolicyTest() {
+		country.setNoOfArmies(1);
+		adjCountry1.setNoOfArmies(1);
+		adjCountry2.setNoOfArmies(5);
+		list.add(adjCountry1);
+		list.add(adjCountry2);
+		int[] allocation = benevolent.getArmyPlacementPolicy().allocate(list, 10);
+		assertEquals(5, allocation[0]);
+		assertEquals(5, allocation[1]);
+		assertEquals(0, allocation[2]);
+	}
+
+	/**
+	 * Test to check the phases played on plain lists, without list views.
+	 */
+	@Test
+	public void headlessPhasesTest() {
+		country.setNoOfArmies(4);
+		adjCountry1.setNoOfArmies(1);
+		list.add(adjCountry1);
+		player.setArmyCount(5);
+		Benevolent headless = new Benevolent();
+		headless.playReinforcement(list, null, player);
+		assertEquals(6, adjCountry1.getNoOfArmies());
+		assertEquals(0, player.getArmyCount());
+		assertFalse(headless.canAttack(list));
+	}
 }
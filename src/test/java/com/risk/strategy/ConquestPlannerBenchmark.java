@@ -0,0 +1,54 @@
+package com.risk.strategy;
+
+import java.util.SplittableRandom;
+
+import com.risk.model.GameState;
+
+/**
+ * Latency benchmark for ConquestPlanner, run from the command line:
+ * <pre>java com.risk.strategy.ConquestPlannerBenchmark [plans] [countries...]</pre>
+ * For every map size it prints the mean and largest time to plan the
+ * attacks of a player on a random map, every seventh country holding a
+ * large army so that the chains grow long.
+ */
+public class ConquestPlannerBenchmark {
+
+	/**
+	 * Main method of the benchmark.
+	 *
+	 * @param args number of plans, then the numbers of countries of the maps
+	 */
+	public static void main(String[] args) {
+		int plans = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		int[] sizes = { 42, 1000, 10000, 50000 };
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				sizes[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		ConquestPlanner planner = new ConquestPlanner();
+		for (int size : sizes) {
+			GameState state = WeightTuner.createMap(size, new SplittableRandom(size));
+			for (int country = 0; country < size; country += 7) {
+				state.placeArmies(country, 20);
+			}
+			for (int warmUp = 0; warmUp < 5; warmUp++) {
+				planner.plan(state, 0, null);
+			}
+			long total = 0;
+			long max = 0;
+			int length = 0;
+			for (int plan = 0; plan < plans; plan++) {
+				long start = System.nanoTime();
+				int[] path = planner.plan(state, plan % 3, null);
+				long nanos = System.nanoTime() - start;
+				total += nanos;
+				max = Math.max(max, nanos);
+				length += path == null ? 0 : path.length - 1;
+			}
+			System.out.printf("%,7d countries: mean %8.3f ms, max %8.3f ms, %.1f conquests per plan%n", size,
+					total / 1e6 / plans, max / 1e6, (double) length / plans);
+		}
+	}
+}
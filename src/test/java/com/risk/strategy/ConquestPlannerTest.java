@@ -0,0 +1,169 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.BattleOdds;
+import com.risk.model.Card;
+import com.risk.model.Continent;
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.ICardType;
+import com.risk.model.Player;
+
+/**
+ * Test class for ConquestPlanner.
+ */
+public class ConquestPlannerTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Object for Player class */
+	private Player weakPlayer;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for ConquestPlanner class */
+	private ConquestPlanner planner;
+
+	/**
+	 * Set up a country of the player with a large army between a chain of
+	 * two weak countries completing a continent and a single country of a
+	 * weak player, the last country of that player; the other player keeps
+	 * a country out of reach
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		weakPlayer = new Player("weak");
+		Continent continent = new Continent("continent", 7);
+		countries = new ArrayList<>();
+		Player[] owners = { player, opponent, opponent, weakPlayer, opponent, opponent };
+		int[] armies = { 20, 2, 2, 3, 1, 1 };
+		for (int i = 0; i < owners.length; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(owners[i]);
+			country.setNoOfArmies(armies[i]);
+			if (i < 3) {
+				country.setPartOfContinent(continent);
+			}
+			countries.add(country);
+		}
+		link(countries, 0, 1);
+		link(countries, 1, 2);
+		link(countries, 0, 3);
+		link(countries, 2, 4);
+		planner = new ConquestPlanner();
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param countries Countries of the map
+	 * @param first     Position of the first country
+	 * @param second    Position of the second country
+	 */
+	private static void link(List<Country> countries, int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that the plan goes through the chain completing the
+	 * continent, and that its value adds the conquests weighted by their
+	 * probability.
+	 */
+	@Test
+	public void continentTest() {
+		GameState state = new GameState(countries);
+		int[] path = planner.plan(state, 0, null);
+		assertArrayEquals(new int[] { 0, 1, 2, 4 }, path);
+		double[] first = planner.getOdds(20, 2);
+		double[] second = planner.getOdds((int) Math.round(first[1]) - 1, 2);
+		double[] third = planner.getOdds((int) Math.round(second[1]) - 1, 1);
+		double expected = first[0] + first[0] * second[0] * (1 + 7) + first[0] * second[0] * third[0];
+		assertEquals(expected, planner.getExpectedValue(), 1e-9);
+		assertEquals(first[0] * second[0] * third[0], planner.getSuccessProbability(), 1e-9);
+	}
+
+	/**
+	 * Test to check that taking the last country of a player holding cards
+	 * is preferred to a continent worth less.
+	 */
+	@Test
+	public void eliminationTest() {
+		countries.get(1).getPartOfContinent().setControlValue(1);
+		weakPlayer.addCard(new Card(ICardType.INFANTRY));
+		GameState state = new GameState(countries);
+		int[] path = planner.plan(state, 0, null);
+		assertEquals(3, path[path.length - 1]);
+	}
+
+	/**
+	 * Test to check that the memoized odds are the ones of the battle.
+	 */
+	@Test
+	public void oddsTest() {
+		BattleOdds odds = BattleOdds.getSharedOdds();
+		double[] battle = planner.getOdds(10, 4);
+		assertEquals(odds.getWinProbability(10, 4), battle[0], 0);
+		assertEquals(odds.getExpectedAttackerArmies(10, 4),
+				battle[0] * battle[1] + (1 - battle[0]), 1e-9);
+		assertTrue(battle == planner.getOdds(10, 4));
+	}
+
+	/**
+	 * Test to check that no plan is made without an allowed attack, and that
+	 * the aggressive player stops attacking then.
+	 */
+	@Test
+	public void noPlanTest() {
+		countries.get(0).setNoOfArmies(1);
+		GameState state = new GameState(countries);
+		assertNull(planner.plan(state, 0, null));
+		new Aggressive().simulateAttacks(state, 0, new SplittableRandom(1));
+		assertEquals(1, state.getArmies(0));
+	}
+
+	/**
+	 * Test to check that a large map is planned quickly and that every
+	 * step of the plan attacks a neighbour of the country taken before.
+	 */
+	@Test
+	public void largeMapTest() {
+		GameState state = WeightTuner.createMap(5000, new SplittableRandom(1));
+		for (int country = 0; country < state.getCountryCount(); country += 7) {
+			state.placeArmies(country, 20);
+		}
+		planner.plan(state, 0, null);
+		long start = System.nanoTime();
+		int[] path = planner.plan(state, 0, null);
+		long millis = (System.nanoTime() - start) / 1000000;
+		assertTrue("planned in " + millis + " ms", millis < 1000);
+		assertEquals(0, state.getOwner(path[0]));
+		for (int i = 1; i < path.length; i++) {
+			assertTrue(state.getOwner(path[i]) != 0);
+			boolean neighbour = false;
+			for (int j = 0; j < state.getNeighbourCount(path[i - 1]); j++) {
+				neighbour |= state.getNeighbour(path[i - 1], j) == path[i];
+			}
+			assertTrue(neighbour);
+		}
+	}
+}
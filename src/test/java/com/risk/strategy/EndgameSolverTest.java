@@ -0,0 +1,151 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.BattleOdds;
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Test class for EndgameSolver.
+ */
+public class EndgameSolverTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for EndgameSolver class */
+	private EndgameSolver solver;
+
+	/**
+	 * Set up a map of four countries in a square, two for each player: the
+	 * player's strong country faces the opponent's weak one
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		countries = new ArrayList<>();
+		int[] armies = { 12, 1, 1, 2 };
+		for (int i = 0; i < 4; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(i < 2 ? player : opponent);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		link(0, 2);
+		link(1, 3);
+		link(0, 1);
+		link(2, 3);
+		player.setMyCountries(new ArrayList<>(countries.subList(0, 2)));
+		opponent.setMyCountries(new ArrayList<>(countries.subList(2, 4)));
+		solver = new EndgameSolver();
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  Position of the first country
+	 * @param second Position of the second country
+	 */
+	private void link(int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that only two players with a small contested area are solved
+	 *
+	 */
+	@Test
+	public void solvableTest() {
+		GameState state = GameState.of(player);
+		assertTrue(solver.isSolvable(state, state.indexOf(player)));
+
+		countries.get(3).setPlayer(new Player("third"));
+		state = GameState.of(player);
+		assertFalse(solver.isSolvable(state, state.indexOf(player)));
+		assertNull(solver.solve(state, state.indexOf(player)));
+
+		countries.get(3).setPlayer(opponent);
+		countries.get(0).setNoOfArmies(EndgameSolver.MAX_STATES);
+		state = GameState.of(player);
+		assertFalse(solver.isSolvable(state, state.indexOf(player)));
+
+		// Few states, but too many dice rounds for the depth of the search.
+		countries.get(0).setNoOfArmies(2 * EndgameSolver.MAX_AREA_ARMIES);
+		state = GameState.of(player);
+		assertFalse(solver.isSolvable(state, state.indexOf(player)));
+	}
+
+	/**
+	 * Test to check that the strong country attacks, and that the opponent
+	 * is eliminated this turn at least as often as by fighting each battle
+	 * to the end
+	 *
+	 */
+	@Test
+	public void attackTest() {
+		GameState state = GameState.of(player);
+		int[] attack = solver.solve(state, state.indexOf(player));
+		assertArrayEquals(new int[] { state.indexOf(countries.get(0)), state.indexOf(countries.get(2)) }, attack);
+		BattleOdds odds = BattleOdds.getSharedOdds();
+		double battles = odds.getWinProbability(12, 1) * odds.getWinProbability(10, 2);
+		assertTrue(solver.getValue() >= battles);
+		assertTrue(solver.getValue() <= 1);
+
+		int states = solver.getStateCount();
+		solver.solve(state, state.indexOf(player));
+		assertEquals(states, solver.getStateCount());
+	}
+
+	/**
+	 * Test to check that a hopeless attack is not started
+	 *
+	 */
+	@Test
+	public void stopTest() {
+		countries.get(0).setNoOfArmies(2);
+		countries.get(2).setNoOfArmies(10);
+		countries.get(3).setNoOfArmies(10);
+		GameState state = GameState.of(player);
+		assertEquals(0, solver.solve(state, state.indexOf(player)).length);
+	}
+
+	/**
+	 * Test to check that a delegating strategy rolls one round of the
+	 * attack of the solver, and that the benevolent player never delegates
+	 *
+	 */
+	@Test
+	public void delegationTest() {
+		Aggressive aggressive = new Aggressive();
+		aggressive.setEndgameSolving(true);
+		assertTrue(aggressive.canAttack(player.getPlayerCountries()));
+		aggressive.playAttack(player.getPlayerCountries(), null, player);
+		// One round against a single army takes exactly one army off the two countries.
+		assertEquals(12, countries.get(0).getNoOfArmies() + countries.get(2).getNoOfArmies());
+
+		Benevolent benevolent = new Benevolent();
+		benevolent.setEndgameSolving(true);
+		assertFalse(benevolent.isEndgameSolving());
+	}
+}
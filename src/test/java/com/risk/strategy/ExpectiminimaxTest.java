@@ -0,0 +1,134 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Test class for Expectiminimax.
+ */
+public class ExpectiminimaxTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for Expectiminimax class */
+	private Expectiminimax expectiminimax;
+
+	/**
+	 * Set up a map of four countries where only the player's strong
+	 * country can attack, next to a weak enemy country
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		countries = new ArrayList<>();
+		int[] armies = { 12, 1, 1, 2 };
+		for (int i = 0; i < 4; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(i < 2 ? player : opponent);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		link(0, 2);
+		link(1, 3);
+		link(0, 1);
+		link(2, 3);
+		player.setMyCountries(new ArrayList<>(countries.subList(0, 2)));
+		expectiminimax = new Expectiminimax();
+		expectiminimax.setTimeBudget(0);
+		expectiminimax.setMaxDepth(6);
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  Position of the first country
+	 * @param second Position of the second country
+	 */
+	private void link(int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that the search attacks the weak country and searches to its depth limit.
+	 */
+	@Test
+	public void chooseAttackTest() {
+		GameState state = GameState.of(player);
+		int[] attack = expectiminimax.chooseAttack(state, state.indexOf(player));
+		assertNotNull(attack);
+		assertEquals(countries.get(0), state.getCountry(attack[0]));
+		assertEquals(countries.get(2), state.getCountry(attack[1]));
+		assertEquals(6, expectiminimax.getLastDepth());
+		assertArrayEquals(attack, expectiminimax.chooseAttack(state, state.indexOf(player)));
+	}
+
+	/**
+	 * Test to check that the search stops attacking when no attack is worth it.
+	 */
+	@Test
+	public void stopAttackTest() {
+		countries.get(0).setNoOfArmies(1);
+		countries.get(1).setNoOfArmies(2);
+		countries.get(3).setNoOfArmies(20);
+		GameState state = GameState.of(player);
+		assertNull(expectiminimax.chooseAttack(state, state.indexOf(player)));
+	}
+
+	/**
+	 * Test to check that the battle chosen by the search goes on without
+	 * searching again, until its country is conquered.
+	 */
+	@Test
+	public void battleKeptTest() {
+		assertTrue(expectiminimax.canAttack(player.getPlayerCountries()));
+		assertEquals(6, expectiminimax.getLastDepth());
+		expectiminimax.setMaxDepth(1);
+		assertTrue(expectiminimax.canAttack(player.getPlayerCountries()));
+		assertEquals(6, expectiminimax.getLastDepth());
+		countries.get(2).setPlayer(player);
+		countries.get(0).setNoOfArmies(6);
+		countries.get(2).setNoOfArmies(6);
+		player.getPlayerCountries().add(countries.get(2));
+		expectiminimax.canAttack(player.getPlayerCountries());
+		assertTrue(expectiminimax.getLastDepth() <= 1);
+	}
+
+	/**
+	 * Test to check that a search with a deadline answers in time.
+	 */
+	@Test
+	public void deadlineTest() {
+		countries.get(0).setNoOfArmies(200);
+		countries.get(2).setNoOfArmies(100);
+		expectiminimax.setMaxDepth(Expectiminimax.MAX_DEPTH);
+		expectiminimax.setTimeBudget(50);
+		GameState state = GameState.of(player);
+		long start = System.nanoTime();
+		assertNotNull(expectiminimax.chooseAttack(state, state.indexOf(player)));
+		assertTrue((System.nanoTime() - start) / 1000000 < 1000);
+		assertTrue(expectiminimax.getLastDepth() < Expectiminimax.MAX_DEPTH);
+	}
+}
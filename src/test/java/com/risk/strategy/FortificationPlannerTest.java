@@ -0,0 +1,166 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Test class for FortificationPlanner.
+ */
+public class FortificationPlannerTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for FortificationPlanner class */
+	private FortificationPlanner planner;
+
+	/**
+	 * Set up a chain of four countries of the player ending on two enemy
+	 * countries, the armies being at the far end of the chain
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		countries = new ArrayList<>();
+		int[] armies = { 10, 1, 1, 1, 5, 2 };
+		for (int i = 0; i < armies.length; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(i < 4 ? player : opponent);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		link(countries, 0, 1);
+		link(countries, 1, 2);
+		link(countries, 2, 3);
+		link(countries, 3, 4);
+		link(countries, 1, 5);
+		planner = new FortificationPlanner();
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param countries Countries of the map
+	 * @param first     Position of the first country
+	 * @param second    Position of the second country
+	 */
+	private static void link(List<Country> countries, int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that the armies are shared out by threat and that the
+	 * move is the first step towards the most threatened country.
+	 */
+	@Test
+	public void planTest() {
+		GameState state = new GameState(countries);
+		double[] demand = FortificationPlanner.getThreatDemand(state, 0);
+		assertEquals(2, demand[1], 0);
+		assertEquals(5, demand[3], 0);
+		assertEquals(0, demand[0], 0);
+
+		planner.plan(state, 0, demand);
+		int[] received = new int[4];
+		for (int t = 0; t < planner.getTransferCount(); t++) {
+			assertEquals(0, planner.getFrom(t));
+			received[planner.getTo(t)] += planner.getArmies(t);
+		}
+		// Nine movable armies, shared 2 to 5 between the two border countries.
+		assertEquals(2, received[1]);
+		assertEquals(7, received[3]);
+		assertArrayEquals(new int[] { 0, 1, 9 }, planner.getMove());
+	}
+
+	/**
+	 * Test to check that a player with nothing to move gets no move.
+	 */
+	@Test
+	public void noMoveTest() {
+		countries.get(0).setNoOfArmies(1);
+		GameState state = new GameState(countries);
+		assertEquals(0, planner.plan(state, 0, FortificationPlanner.getThreatDemand(state, 0)));
+		assertNull(planner.getMove());
+	}
+
+	/**
+	 * Test to check that the strategies play the planned move.
+	 */
+	@Test
+	public void strategiesTest() {
+		GameState state = new GameState(countries);
+		assertArrayEquals(new int[] { 0, 1, 9 }, new Benevolent().planFortification(state, 0));
+		// The aggressive player gathers everything on its strongest border country.
+		countries.get(3).setNoOfArmies(3);
+		state = new GameState(countries);
+		assertArrayEquals(new int[] { 0, 1, 9 }, new Aggressive().planFortification(state, 0));
+		new Aggressive().simulateFortification(state, 0, null);
+		assertEquals(1, state.getArmies(0));
+		assertEquals(10, state.getArmies(1));
+	}
+
+	/**
+	 * Test to check that a component of thousands of countries is planned
+	 * quickly and that no country sends more armies than it can spare.
+	 */
+	@Test
+	public void largeComponentTest() {
+		int side = 80;
+		List<Country> grid = new ArrayList<>();
+		java.util.Random random = new java.util.Random(1);
+		for (int i = 0; i < side * side; i++) {
+			Country country = new Country("Grid" + i);
+			country.setPlayer(i % side == side - 1 ? opponent : player);
+			country.setNoOfArmies(1 + random.nextInt(6));
+			grid.add(country);
+		}
+		for (int i = 0; i < side * side; i++) {
+			if (i % side < side - 1) {
+				link(grid, i, i + 1);
+			}
+			if (i + side < side * side) {
+				link(grid, i, i + side);
+			}
+		}
+		GameState state = new GameState(grid);
+		int owner = state.getOwner(0);
+		planner.plan(state, owner, FortificationPlanner.getThreatDemand(state, owner));
+		long start = System.nanoTime();
+		int transfers = planner.plan(state, owner, FortificationPlanner.getThreatDemand(state, owner));
+		long millis = (System.nanoTime() - start) / 1000000;
+		assertTrue("planned in " + millis + " ms", millis < 1000);
+		assertTrue(transfers > 0);
+
+		int[] sent = new int[state.getCountryCount()];
+		for (int t = 0; t < transfers; t++) {
+			sent[planner.getFrom(t)] += planner.getArmies(t);
+			assertEquals(owner, state.getOwner(planner.getStep(t)));
+			assertEquals(owner, state.getOwner(planner.getTo(t)));
+			assertTrue(state.isBorder(planner.getTo(t)));
+		}
+		for (int country = 0; country < state.getCountryCount(); country++) {
+			assertTrue(sent[country] <= state.getArmies(country) - 1 || sent[country] == 0);
+		}
+	}
+}
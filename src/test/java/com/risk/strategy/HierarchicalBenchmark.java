@@ -0,0 +1,121 @@
+package com.risk.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.risk.model.Continent;
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Turn time benchmark for Hierarchical, run from the command line:
+ * <pre>java com.risk.strategy.HierarchicalBenchmark [turns] [countries...]</pre>
+ * For every map size it prints the mean time the hierarchical player
+ * takes to plan a turn, next to the time the aggressive player takes to
+ * copy the map and plan its conquests over all of it.
+ */
+public class HierarchicalBenchmark {
+
+	/** Number of players of the maps */
+	private static final int PLAYERS = 3;
+
+	/** Number of countries of every continent */
+	private static final int CONTINENT_SIZE = 12;
+
+	/**
+	 * Main method of the benchmark.
+	 *
+	 * @param args number of turns, then the numbers of countries of the maps
+	 */
+	public static void main(String[] args) {
+		int turns = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int[] sizes = { 1000, 10000, 100000 };
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				sizes[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		for (int size : sizes) {
+			List<Player> players = createMap(size, new SplittableRandom(size));
+			Hierarchical hierarchical = new Hierarchical();
+			Player player = players.get(0);
+			for (int warmUp = 0; warmUp < 5; warmUp++) {
+				hierarchical.plan(player);
+			}
+			long start = System.nanoTime();
+			for (int turn = 0; turn < turns; turn++) {
+				hierarchical.plan(player);
+			}
+			double hierarchicalMillis = (System.nanoTime() - start) / 1e6 / turns;
+
+			start = System.nanoTime();
+			for (int turn = 0; turn < turns; turn++) {
+				GameState state = GameState.of(player);
+				new ConquestPlanner().plan(state, state.indexOf(player), null);
+			}
+			double wholeMapMillis = (System.nanoTime() - start) / 1e6 / turns;
+			System.out.printf("%,8d countries: hierarchical %8.3f ms per turn, whole map %9.3f ms per turn%n", size,
+					hierarchicalMillis, wholeMapMillis);
+		}
+	}
+
+	/**
+	 * Method to create a map of continents, each a ring of countries linked
+	 * to the next continent and with random shortcuts, dealt at random to
+	 * players with three armies on every country.
+	 *
+	 * @param size   Number of countries
+	 * @param random Random source
+	 * @return players of the map
+	 */
+	static List<Player> createMap(int size, SplittableRandom random) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < PLAYERS; i++) {
+			Player player = new Player("Player" + i);
+			player.setMyCountries(new ArrayList<>());
+			players.add(player);
+		}
+		List<Country> countries = new ArrayList<>();
+		Continent continent = null;
+		for (int i = 0; i < size; i++) {
+			if (i % CONTINENT_SIZE == 0) {
+				continent = new Continent("Continent" + i / CONTINENT_SIZE, 2 + random.nextInt(5));
+			}
+			Country country = new Country("Country" + i);
+			country.setPartOfContinent(continent);
+			Player owner = players.get(random.nextInt(PLAYERS));
+			country.setPlayer(owner);
+			owner.addCountry(country);
+			country.setNoOfArmies(3);
+			countries.add(country);
+		}
+		for (int i = 0; i < size; i++) {
+			int first = i - i % CONTINENT_SIZE;
+			int end = Math.min(size, first + CONTINENT_SIZE);
+			link(countries.get(i), countries.get(i + 1 < end ? i + 1 : first));
+			if (i + 1 == end && end < size) {
+				link(countries.get(i), countries.get(end));
+			}
+			if (random.nextInt(6) == 0) {
+				link(countries.get(i), countries.get(random.nextInt(size)));
+			}
+		}
+		return players;
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  First country
+	 * @param second Second country
+	 */
+	private static void link(Country first, Country second) {
+		if (first != second && !first.getAdjacentCountries().contains(second)) {
+			first.getAdjacentCountries().add(second);
+			second.getAdjacentCountries().add(first);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Continent;
+import com.risk.model.Country;
+import com.risk.model.Player;
+import com.risk.services.ContinentGraph;
+
+/**
+ * Test class for Hierarchical.
+ */
+public class HierarchicalTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for Continent class */
+	private Continent asia;
+
+	/** Object for Continent class */
+	private Continent europe;
+
+	/** Object for Hierarchical class */
+	private Hierarchical hierarchical;
+
+	/**
+	 * Set up a chain of three continents: Asia, where the player owns two
+	 * countries and a weak enemy country is left, Europe, owned by the
+	 * opponent and next to Asia, and Africa, owned by the opponent and only
+	 * next to Europe
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		player.setMyCountries(new ArrayList<>());
+		opponent = new Player("opponent");
+		opponent.setMyCountries(new ArrayList<>());
+		asia = new Continent("Asia", 5);
+		europe = new Continent("Europe", 3);
+		Continent africa = new Continent("Africa", 3);
+		Continent[] continents = { asia, asia, asia, europe, europe, europe, africa, africa };
+		Player[] owners = { player, player, opponent, opponent, opponent, opponent, opponent, opponent };
+		int[] armies = { 10, 2, 1, 3, 3, 3, 3, 3 };
+		countries = new ArrayList<>();
+		for (int i = 0; i < owners.length; i++) {
+			Country country = new Country("Country" + i);
+			country.setPartOfContinent(continents[i]);
+			country.setPlayer(owners[i]);
+			owners[i].addCountry(country);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		for (int i = 0; i + 1 < countries.size(); i++) {
+			countries.get(i).getAdjacentCountries().add(countries.get(i + 1));
+			countries.get(i + 1).getAdjacentCountries().add(countries.get(i));
+		}
+		hierarchical = new Hierarchical();
+	}
+
+	/**
+	 * Test to check that the continents are chosen among the ones of the
+	 * player and their neighbours, the one the player almost owns first
+	 *
+	 */
+	@Test
+	public void selectTest() {
+		ContinentGraph graph = hierarchical.getGraph(countries.get(0));
+		assertEquals(3, graph.getContinentCount());
+		List<Continent> selected = hierarchical.selectContinents(graph, player);
+		assertEquals(2, selected.size());
+		assertEquals(asia, selected.get(0));
+		assertEquals(europe, selected.get(1));
+
+		hierarchical.setContinentCount(1);
+		selected = hierarchical.selectContinents(graph, player);
+		assertEquals(1, selected.size());
+		assertEquals(asia, selected.get(0));
+	}
+
+	/**
+	 * Test to check that the plan worth most completes Asia, attacking
+	 * from the strong country through the country of the player
+	 *
+	 */
+	@Test
+	public void planTest() {
+		countries.get(1).setNoOfArmies(8);
+		List<ContinentPlan> plans = hierarchical.plan(player);
+		assertFalse(plans.isEmpty());
+		ContinentPlan best = plans.get(0);
+		assertEquals(asia, best.getContinent());
+		assertEquals(countries.get(1), best.getAttacking());
+		assertEquals(countries.get(2), best.getDefending());
+		assertEquals(countries.get(1), best.getReinforcement());
+		assertTrue(best.getValue() > asia.getControlValue() / 2.0);
+	}
+
+	/**
+	 * Test to check that all the armies are placed on the country the best
+	 * plan reinforces
+	 *
+	 */
+	@Test
+	public void reinforcementTest() {
+		countries.get(1).setNoOfArmies(8);
+		player.setArmyCount(4);
+		hierarchical.playReinforcement(player.getPlayerCountries(), null, player);
+		assertEquals(0, player.getArmyCount());
+		assertEquals(12, countries.get(1).getNoOfArmies());
+		assertEquals(10, countries.get(0).getNoOfArmies());
+	}
+
+	/**
+	 * Test to check that a player with no country has nothing to plan
+	 *
+	 */
+	@Test
+	public void noCountryTest() {
+		Player empty = new Player("empty");
+		empty.setMyCountries(new ArrayList<>());
+		assertTrue(hierarchical.plan(empty).isEmpty());
+	}
+
+	/**
+	 * Test to check that a turn on a large map is planned in a bounded time,
+	 * only the chosen continents being solved
+	 *
+	 */
+	@Test
+	public void largeMapTest() {
+		List<Player> players = HierarchicalBenchmark.createMap(20000, new SplittableRandom(3));
+		Player largePlayer = players.get(0);
+		for (int warmUp = 0; warmUp < 5; warmUp++) {
+			hierarchical.plan(largePlayer);
+		}
+		long start = System.nanoTime();
+		List<ContinentPlan> plans = null;
+		for (int turn = 0; turn < 10; turn++) {
+			plans = hierarchical.plan(largePlayer);
+		}
+		long millis = (System.nanoTime() - start) / 1000000 / 10;
+		assertFalse(plans.isEmpty());
+		assertTrue(plans.size() <= Hierarchical.CONTINENT_COUNT);
+		assertTrue("Turn planned in " + millis + " ms", millis < 200);
+	}
+}
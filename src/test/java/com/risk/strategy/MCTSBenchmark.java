@@ -0,0 +1,162 @@
+package com.risk.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.risk.model.AttackPolicy;
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Benchmark for MCTS, run from the command line:
+ * <pre>java com.risk.strategy.MCTSBenchmark [countries] [iterations] [games]</pre>
+ * It prints the number of search iterations per second on one thread and
+ * on all the cores, then plays games on a random map between one tree
+ * search player and aggressive players and prints how many it won.
+ */
+public class MCTSBenchmark {
+
+	/** Number of players of the games */
+	private static final int PLAYERS = 3;
+
+	/** Number of rounds after which a game is a draw */
+	private static final int MAX_ROUNDS = 100;
+
+	/**
+	 * Main method of the benchmark.
+	 *
+	 * @param args number of countries, iterations per move and games
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 42;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		GameState state = createMap(size, new SplittableRandom(1));
+		ForkJoinPool single = new ForkJoinPool(1);
+		int[] parallelisms = { 1, ForkJoinPool.getCommonPoolParallelism() };
+		for (int parallelism : parallelisms) {
+			MCTS mcts = createSearch(iterations, parallelism, parallelism == 1 ? single : null);
+			mcts.chooseReinforcement(state, 0, 5);
+			long start = System.nanoTime();
+			for (int move = 0; move < 5; move++) {
+				mcts.chooseReinforcement(state, 0, 5);
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%-12s %,.0f iterations/s%n", "trees x " + parallelism, 5 * iterations / seconds);
+		}
+		single.shutdown();
+
+		MCTS mcts = createSearch(iterations, ForkJoinPool.getCommonPoolParallelism(), null);
+		Aggressive aggressive = new Aggressive();
+		int wins = 0;
+		int draws = 0;
+		SplittableRandom random = new SplittableRandom(2);
+		for (int game = 0; game < games; game++) {
+			int winner = playGame(createMap(size, random.split()), mcts, aggressive, random.split());
+			wins += winner == 0 ? 1 : 0;
+			draws += winner < 0 ? 1 : 0;
+		}
+		System.out.printf("MCTS won %d of %d games against %d aggressive players, %d draws%n", wins, games,
+				PLAYERS - 1, draws);
+	}
+
+	/**
+	 * Method to create a search with an iteration budget and no time limit.
+	 *
+	 * @param iterations  Iterations per move
+	 * @param parallelism Number of trees
+	 * @param pool        Pool of the trees, null for the common pool
+	 * @return search
+	 */
+	private static MCTS createSearch(int iterations, int parallelism, ForkJoinPool pool) {
+		MCTS mcts = new MCTS();
+		mcts.setIterationBudget(iterations);
+		mcts.setTimeBudget(0);
+		mcts.setParallelism(parallelism);
+		mcts.setPool(pool);
+		return mcts;
+	}
+
+	/**
+	 * Method to play one game on a state, player 0 using the tree search.
+	 *
+	 * @param state      Initial state
+	 * @param mcts       Tree search
+	 * @param aggressive Strategy of the other players
+	 * @param random     Random source of the dice
+	 * @return winner, -1 for a draw
+	 */
+	private static int playGame(GameState state, MCTS mcts, Aggressive aggressive, SplittableRandom random) {
+		AttackPolicy policy = mcts.getAttackPolicy();
+		for (int round = 0; round < MAX_ROUNDS && state.getWinner() < 0; round++) {
+			for (int player = 0; player < PLAYERS && state.getWinner() < 0; player++) {
+				if (state.getCountryCount(player) == 0) {
+					continue;
+				}
+				if (player != 0) {
+					aggressive.simulateTurn(state, player, random);
+					continue;
+				}
+				int armies = state.getReinforcementArmies(player);
+				state.placeArmies(mcts.chooseReinforcement(state, player, armies), armies);
+				int[] attack;
+				while (state.getWinner() < 0 && (attack = mcts.chooseAttack(state, player)) != null) {
+					state.attack(attack[0], attack[1], policy, random);
+				}
+				int[] move = mcts.chooseFortification(state, player);
+				if (move != null) {
+					state.moveArmies(move[0], move[1], state.getArmies(move[0]) - 1);
+				}
+			}
+		}
+		return state.getWinner();
+	}
+
+	/**
+	 * Method to create a random map, a ring of countries with random shortcuts,
+	 * dealt to the players with three armies each.
+	 *
+	 * @param size   Number of countries
+	 * @param random Random source
+	 * @return state of the map
+	 */
+	private static GameState createMap(int size, SplittableRandom random) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < PLAYERS; i++) {
+			Player player = new Player("Player" + i);
+			player.setPlayerBehaviour(i == 0 ? new MCTS() : new Aggressive());
+			players.add(player);
+		}
+		List<Country> countries = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(players.get(random.nextInt(PLAYERS)));
+			country.setNoOfArmies(3);
+			countries.add(country);
+		}
+		for (int i = 0; i < size; i++) {
+			link(countries.get(i), countries.get((i + 1) % size));
+			if (random.nextInt(3) == 0) {
+				link(countries.get(i), countries.get(random.nextInt(size)));
+			}
+		}
+		return new GameState(countries);
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  First country
+	 * @param second Second country
+	 */
+	private static void link(Country first, Country second) {
+		if (first != second && !first.getAdjacentCountries().contains(second)) {
+			first.getAdjacentCountries().add(second);
+			second.getAdjacentCountries().add(first);
+		}
+	}
+}
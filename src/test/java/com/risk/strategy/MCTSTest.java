@@ -0,0 +1,100 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Test class for MCTS.
+ */
+public class MCTSTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for MCTS class */
+	private MCTS mcts;
+
+	/**
+	 * Set up a map of four countries where only the player's strong
+	 * country can attack, next to a weak enemy country
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		player.setPlayerBehaviour(new Aggressive());
+		opponent.setPlayerBehaviour(new Aggressive());
+		countries = new ArrayList<>();
+		int[] armies = { 12, 1, 1, 2 };
+		for (int i = 0; i < 4; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(i < 2 ? player : opponent);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		link(0, 2);
+		link(1, 3);
+		link(0, 1);
+		link(2, 3);
+		player.setMyCountries(new ArrayList<>(countries.subList(0, 2)));
+		mcts = new MCTS();
+		mcts.setIterationBudget(400);
+		mcts.setTimeBudget(0);
+		mcts.setParallelism(2);
+		mcts.setSeed(7L);
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  Position of the first country
+	 * @param second Position of the second country
+	 */
+	private void link(int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that the search attacks instead of stopping when the attack wins the game.
+	 */
+	@Test
+	public void chooseAttackTest() {
+		GameState state = GameState.of(player);
+		int[] attack = mcts.chooseAttack(state, state.indexOf(player));
+		assertNotNull(attack);
+		assertEquals(countries.get(0), state.getCountry(attack[0]));
+		assertEquals(countries.get(2), state.getCountry(attack[1]));
+	}
+
+	/**
+	 * Test to check that a search with a seed and no time limit is reproducible.
+	 */
+	@Test
+	public void reproducibleSearchTest() {
+		GameState state = GameState.of(player);
+		int first = mcts.chooseReinforcement(state, state.indexOf(player), 10);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(first, mcts.chooseReinforcement(state, state.indexOf(player), 10));
+		}
+		assertArrayEquals(mcts.chooseAttack(state, state.indexOf(player)), mcts.chooseAttack(state, state.indexOf(player)));
+	}
+}
@@ -0,0 +1,68 @@
+package com.risk.strategy;
+
+import java.util.SplittableRandom;
+
+import com.risk.model.GameState;
+
+/**
+ * Inference latency benchmark for NeuralPolicy, run from the command line:
+ * <pre>java com.risk.strategy.NeuralPolicyBenchmark [decisions] [countries...]</pre>
+ * For every map size it prints the mean time of an attack decision of the
+ * neural player, all the candidates scored in one batch, next to the time
+ * of scoring the same candidates one by one, and the mean number of
+ * candidates of a decision.
+ */
+public class NeuralPolicyBenchmark {
+
+	/**
+	 * Main method of the benchmark.
+	 *
+	 * @param args number of decisions, then the numbers of countries of the maps
+	 */
+	public static void main(String[] args) {
+		int decisions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int[] sizes = { 42, 200, 1000 };
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				sizes[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		PolicyNetwork network = PolicyNetwork.getDefault();
+		if (network == null) {
+			network = new PolicyNetwork(new int[] { NeuralPolicy.INPUTS, 32, 32, 2 }, new SplittableRandom(1));
+		}
+		NeuralPolicy neural = new NeuralPolicy();
+		neural.setNetwork(network);
+		for (int size : sizes) {
+			GameState state = WeightTuner.createMap(size, new SplittableRandom(size));
+			for (int warmUp = 0; warmUp < decisions; warmUp++) {
+				neural.chooseAttack(state, warmUp % state.getPlayerCount());
+			}
+			long start = System.nanoTime();
+			long candidates = 0;
+			for (int decision = 0; decision < decisions; decision++) {
+				neural.chooseAttack(state, decision % state.getPlayerCount());
+				candidates += neural.getLastBatchSize();
+			}
+			double batchedMicros = (System.nanoTime() - start) / 1e3 / decisions;
+
+			float[] row = new float[NeuralPolicy.INPUTS];
+			float[] score = new float[1];
+			start = System.nanoTime();
+			for (int decision = 0; decision < decisions; decision++) {
+				int player = decision % state.getPlayerCount();
+				int[] moves = NeuralPolicy.getCandidates(state, player, NeuralPolicy.ATTACK);
+				int[] owned = NeuralPolicy.countOwned(state, player);
+				for (int i = 0; i < moves.length; i += 2) {
+					NeuralPolicy.encode(state, player, owned, NeuralPolicy.ATTACK, moves[i], moves[i + 1], 0, row,
+							0);
+					network.evaluate(row, 1, score, null);
+				}
+			}
+			double singleMicros = (System.nanoTime() - start) / 1e3 / decisions;
+			System.out.printf("%,6d countries, %6.1f candidates: batched %9.2f us per decision, one by one %9.2f us%n",
+					size, (double) candidates / decisions, batchedMicros, singleMicros);
+		}
+	}
+}
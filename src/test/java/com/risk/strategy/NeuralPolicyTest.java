@@ -0,0 +1,227 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.Country;
+import com.risk.model.GameState;
+import com.risk.model.Player;
+
+/**
+ * Test class for NeuralPolicy and PolicyNetwork.
+ */
+public class NeuralPolicyTest {
+
+	/** Object for Player class */
+	private Player player;
+
+	/** Object for Player class */
+	private Player opponent;
+
+	/** Countries of the map */
+	private List<Country> countries;
+
+	/** Object for NeuralPolicy class */
+	private NeuralPolicy neural;
+
+	/**
+	 * Set up a square of four countries, two for each player with the
+	 * player's strong country facing the opponent's weak one, and a fifth
+	 * country of the player behind its strong country
+	 *
+	 */
+	@Before
+	public void initialize() {
+		player = new Player("player");
+		opponent = new Player("opponent");
+		countries = new ArrayList<>();
+		int[] armies = { 12, 1, 1, 2, 8 };
+		for (int i = 0; i < armies.length; i++) {
+			Country country = new Country("Country" + i);
+			country.setPlayer(i == 2 || i == 3 ? opponent : player);
+			country.setNoOfArmies(armies[i]);
+			countries.add(country);
+		}
+		link(0, 2);
+		link(1, 3);
+		link(0, 1);
+		link(2, 3);
+		link(0, 4);
+		player.setMyCountries(new ArrayList<>(countries.subList(0, 2)));
+		player.getPlayerCountries().add(countries.get(4));
+		opponent.setMyCountries(new ArrayList<>(countries.subList(2, 4)));
+		neural = new NeuralPolicy();
+	}
+
+	/**
+	 * Method to make two countries neighbours.
+	 *
+	 * @param first  Position of the first country
+	 * @param second Position of the second country
+	 */
+	private void link(int first, int second) {
+		countries.get(first).getAdjacentCountries().add(countries.get(second));
+		countries.get(second).getAdjacentCountries().add(countries.get(first));
+	}
+
+	/**
+	 * Test to check that the network of the players is read from its resource
+	 *
+	 */
+	@Test
+	public void defaultNetworkTest() {
+		PolicyNetwork network = PolicyNetwork.getDefault();
+		assertNotNull(network);
+		assertEquals(NeuralPolicy.INPUTS, network.getInputSize());
+		assertEquals(2, network.getSizes()[network.getSizes().length - 1]);
+	}
+
+	/**
+	 * Test to check that a written network is read back with the same outputs
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	public void storeLoadTest() throws IOException {
+		PolicyNetwork network = new PolicyNetwork(new int[] { NeuralPolicy.INPUTS, 8, 2 }, new SplittableRandom(5));
+		File file = File.createTempFile("network", ".txt");
+		try {
+			network.store(file, "test network");
+			PolicyNetwork loaded = PolicyNetwork.load(file);
+			assertArrayEquals(network.getSizes(), loaded.getSizes());
+			float[] inputs = createInputs(3);
+			float[] scores = new float[3];
+			float[] loadedScores = new float[3];
+			network.evaluate(inputs, 3, scores, null);
+			loaded.evaluate(inputs, 3, loadedScores, null);
+			assertArrayEquals(scores, loadedScores, 0);
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Test to check that a batch gives the outputs of its rows evaluated one by one
+	 *
+	 */
+	@Test
+	public void batchTest() {
+		PolicyNetwork network = new PolicyNetwork(new int[] { NeuralPolicy.INPUTS, 16, 16, 2 },
+				new SplittableRandom(7));
+		int batch = 5;
+		float[] inputs = createInputs(batch);
+		float[] scores = new float[batch];
+		float[] values = new float[batch];
+		network.evaluate(inputs, batch, scores, values);
+		for (int row = 0; row < batch; row++) {
+			float[] single = new float[NeuralPolicy.INPUTS];
+			System.arraycopy(inputs, row * NeuralPolicy.INPUTS, single, 0, NeuralPolicy.INPUTS);
+			float[] score = new float[1];
+			float[] value = new float[1];
+			network.evaluate(single, 1, score, value);
+			assertEquals(score[0], scores[row], 1e-5);
+			assertEquals(value[0], values[row], 1e-5);
+			assertTrue(values[row] > 0 && values[row] < 1);
+		}
+	}
+
+	/**
+	 * Method to create random inputs.
+	 *
+	 * @param batch Number of rows
+	 * @return inputs of the rows
+	 */
+	private float[] createInputs(int batch) {
+		SplittableRandom random = new SplittableRandom(11);
+		float[] inputs = new float[batch * NeuralPolicy.INPUTS];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = (float) random.nextDouble();
+		}
+		return inputs;
+	}
+
+	/**
+	 * Test to check that the strong country attacks the weak one, all the
+	 * candidates being scored in one batch, and that a hopeless attack is
+	 * not started
+	 *
+	 */
+	@Test
+	public void attackTest() {
+		GameState state = GameState.of(player);
+		assertArrayEquals(new int[] { state.indexOf(countries.get(0)), state.indexOf(countries.get(2)) },
+				neural.chooseAttack(state, state.indexOf(player)));
+		// The only attack, from the strong country, and the end of the phase.
+		assertEquals(2, neural.getLastBatchSize());
+		assertTrue(neural.getLastValue() > 0 && neural.getLastValue() < 1);
+		assertTrue(neural.canAttack(player.getPlayerCountries()));
+
+		countries.get(0).setNoOfArmies(2);
+		countries.get(4).setNoOfArmies(1);
+		countries.get(2).setNoOfArmies(10);
+		countries.get(3).setNoOfArmies(10);
+		state = GameState.of(player);
+		assertNull(neural.chooseAttack(state, state.indexOf(player)));
+		assertFalse(neural.canAttack(player.getPlayerCountries()));
+	}
+
+	/**
+	 * Test to check that all the armies are placed on a border country
+	 *
+	 */
+	@Test
+	public void reinforcementTest() {
+		player.setArmyCount(3);
+		neural.playReinforcement(player.getPlayerCountries(), null, player);
+		assertEquals(0, player.getArmyCount());
+		assertEquals(8, countries.get(4).getNoOfArmies());
+		assertEquals(16, countries.get(0).getNoOfArmies() + countries.get(1).getNoOfArmies());
+	}
+
+	/**
+	 * Test to check that the armies of the country behind the lines move to the border
+	 *
+	 */
+	@Test
+	public void fortificationTest() {
+		assertTrue(neural.playFortification(null, null, player));
+		assertEquals(1, countries.get(4).getNoOfArmies());
+		assertEquals(19, countries.get(0).getNoOfArmies());
+	}
+
+	/**
+	 * Test to check that the trainer records moves judged like their odds
+	 * and fits a network to them
+	 *
+	 */
+	@Test
+	public void trainerTest() {
+		PolicyTrainer trainer = new PolicyTrainer(WeightTuner.createMap(12, new SplittableRandom(3)));
+		trainer.setGames(2);
+		trainer.setEpochs(1);
+		trainer.record();
+		assertTrue(trainer.getRecordCount() > 0);
+		assertEquals(NeuralPolicy.INPUTS, trainer.train().getInputSize());
+
+		GameState state = GameState.of(player);
+		int strong = state.indexOf(countries.get(0));
+		int weak = state.indexOf(countries.get(2));
+		int p = state.indexOf(player);
+		assertTrue(PolicyTrainer.judge(state, p, NeuralPolicy.ATTACK, strong, weak, 0) > 0);
+		assertTrue(PolicyTrainer.judge(state, p, NeuralPolicy.ATTACK, state.indexOf(countries.get(1)),
+				state.indexOf(countries.get(3)), 0) < 0);
+	}
+}
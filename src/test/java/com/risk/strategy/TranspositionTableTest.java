@@ -0,0 +1,70 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for TranspositionTable.
+ */
+public class TranspositionTableTest {
+
+	/** Object for TranspositionTable class */
+	private TranspositionTable table;
+
+	/**
+	 * Set up a table of 64 entries
+	 *
+	 */
+	@Before
+	public void initialize() {
+		table = new TranspositionTable(64 * TranspositionTable.ENTRY_BYTES);
+	}
+
+	/**
+	 * Test to check that the number of entries fits in the memory budget.
+	 */
+	@Test
+	public void capacityTest() {
+		assertEquals(64, table.getCapacity());
+		assertEquals(64, new TranspositionTable(100 * TranspositionTable.ENTRY_BYTES).getCapacity());
+	}
+
+	/**
+	 * Test to check that a stored result is found again.
+	 */
+	@Test
+	public void storeAndFindTest() {
+		table.store(5, 3, TranspositionTable.LOWER_BOUND, 0.5, 12);
+		int entry = table.find(5);
+		assertTrue(entry >= 0);
+		assertEquals(3, table.getDepth(entry));
+		assertEquals(TranspositionTable.LOWER_BOUND, table.getBound(entry));
+		assertEquals(0.5, table.getValue(entry), 0);
+		assertEquals(12, table.getMove(entry));
+		assertEquals(-1, table.find(6));
+	}
+
+	/**
+	 * Test to check that a deeper result of the current search keeps its
+	 * entry and that a shallower one goes to the second entry of the bucket.
+	 */
+	@Test
+	public void replacementTest() {
+		// The keys 0, 64 and 128 share the first bucket.
+		table.store(0, 5, TranspositionTable.EXACT, 0.1, 1);
+		table.store(64, 2, TranspositionTable.EXACT, 0.2, 2);
+		assertTrue(table.find(0) >= 0);
+		assertTrue(table.find(64) >= 0);
+		table.store(128, 1, TranspositionTable.EXACT, 0.3, 3);
+		assertTrue(table.find(0) >= 0);
+		assertEquals(-1, table.find(64));
+		table.newSearch();
+		table.store(64, 1, TranspositionTable.EXACT, 0.2, 2);
+		assertEquals(-1, table.find(0));
+		assertTrue(table.find(64) >= 0);
+		assertTrue(table.find(128) >= 0);
+	}
+}
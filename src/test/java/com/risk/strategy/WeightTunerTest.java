@@ -0,0 +1,123 @@
+package com.risk.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.risk.model.GameState;
+
+/**
+ * Test class for WeightTuner and the weights it writes.
+ */
+public class WeightTunerTest {
+
+	/** Small random map for the games */
+	private GameState map;
+
+	/** Output file of the tuner */
+	private File output;
+
+	/**
+	 * Set up a map of 12 countries and a temporary output file
+	 *
+	 * @throws IOException if the file cannot be created
+	 */
+	@Before
+	public void initialize() throws IOException {
+		map = WeightTuner.createMap(12, new SplittableRandom(3));
+		output = File.createTempFile("weights", ".properties");
+		output.delete();
+	}
+
+	/**
+	 * Remove the files written by the tuner
+	 */
+	@After
+	public void cleanUp() {
+		output.delete();
+		new File(output.getPath() + ".checkpoint").delete();
+	}
+
+	/**
+	 * Test to check that weights are written to and read from a configuration by strategy name, clamped to their bounds.
+	 */
+	@Test
+	public void weightsPropertiesTest() {
+		Properties config = new Properties();
+		config.setProperty("Aggressive.conquestValue", "8.5");
+		config.setProperty("Aggressive.fortifyShare", "3");
+		config.setProperty("Benevolent.fortifyShare", "0.25");
+		HeuristicWeights weights = Aggressive.DEFAULT_WEIGHTS.withProperties(config, "Aggressive");
+		assertEquals(8.5, weights.get("conquestValue"), 0);
+		assertEquals(1, weights.get("fortifyShare"), 0);
+		assertEquals(Aggressive.DEFAULT_WEIGHTS.get("threatWeight"), weights.get("threatWeight"), 0);
+
+		Properties written = new Properties();
+		weights.putProperties(written, "Aggressive");
+		assertArrayEquals(weights.toArray(), Aggressive.DEFAULT_WEIGHTS.withProperties(written, "Aggressive").toArray(), 0);
+	}
+
+	/**
+	 * Test to check that the same seed gives the same weights whatever the number of threads.
+	 *
+	 * @throws IOException if a file cannot be written
+	 */
+	@Test
+	public void deterministicTest() throws IOException {
+		WeightTuner first = createTuner(2);
+		first.setPool(new ForkJoinPool(1));
+		HeuristicWeights firstBest = first.tune(null);
+
+		WeightTuner second = createTuner(2);
+		second.setPool(new ForkJoinPool(4));
+		HeuristicWeights secondBest = second.tune(null);
+
+		assertArrayEquals(firstBest.toArray(), secondBest.toArray(), 0);
+		assertEquals(first.getBestFitness(), second.getBestFitness(), 0);
+	}
+
+	/**
+	 * Test to check that a run resumed from its checkpoint ends like an uninterrupted one and writes its weights.
+	 *
+	 * @throws IOException if a file cannot be written
+	 */
+	@Test
+	public void resumeTest() throws IOException {
+		HeuristicWeights uninterrupted = createTuner(2).tune(null);
+
+		WeightTuner interrupted = createTuner(1);
+		interrupted.setCheckpoint(new File(output.getPath() + ".checkpoint"));
+		interrupted.tune(output);
+		WeightTuner resumed = createTuner(2);
+		resumed.setCheckpoint(new File(output.getPath() + ".checkpoint"));
+		HeuristicWeights best = resumed.tune(output);
+
+		assertArrayEquals(uninterrupted.toArray(), best.toArray(), 0);
+		Properties config = WeightsConfig.load(output);
+		assertArrayEquals(best.toArray(), Benevolent.DEFAULT_WEIGHTS.withProperties(config, "Benevolent").toArray(), 0);
+	}
+
+	/**
+	 * Method to create a small tuner of the benevolent strategy.
+	 *
+	 * @param generations Number of generations
+	 * @return tuner
+	 */
+	private WeightTuner createTuner(int generations) {
+		WeightTuner tuner = new WeightTuner("Benevolent", Benevolent.DEFAULT_WEIGHTS, map);
+		tuner.setSeed(7);
+		tuner.setGenerations(generations);
+		tuner.setPopulationSize(4);
+		tuner.setGames(3);
+		return tuner;
+	}
+}
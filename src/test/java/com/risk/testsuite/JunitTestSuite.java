@@ -1,7 +1,14 @@
 package com.risk.testsuite;
 
+import com.risk.model.AttackPolicyTest;
+import com.risk.model.BattleOddsTest;
+import com.risk.model.BattleSimulatorTest;
+import com.risk.model.CardDeckTest;
+import com.risk.model.CountryArmyIndexTest;
 import com.risk.model.CardTest;
 import com.risk.model.DiceTest;
+import com.risk.model.DiceVerificationTest;
+import com.risk.model.GameStateTest;
 import com.risk.model.PlayerTest;
 import com.risk.model.TournamentModelTest;
 import com.risk.services.*;
@@ -13,12 +20,24 @@ import com.risk.services.gameplay.RoundRobinTest;
 import com.risk.services.saveload.ResourceManagerTest;
 import com.risk.strategy.BenevolentTest;
 import com.risk.strategy.HumanTest;
+import com.risk.strategy.AnytimeDecisionTest;
+import com.risk.strategy.ExpectiminimaxTest;
+import com.risk.strategy.FortificationPlannerTest;
+import com.risk.strategy.ConquestPlannerTest;
+import com.risk.model.ThreatMapTest;
+import com.risk.strategy.EndgameSolverTest;
+import com.risk.strategy.HierarchicalTest;
+import com.risk.strategy.MCTSTest;
+import com.risk.strategy.NeuralPolicyTest;
+import com.risk.strategy.TranspositionTableTest;
+import com.risk.strategy.WeightTunerTest;
+import com.risk.view.TournamentCommandLineTest;
 
 
 
 @RunWith(Suite.class)
 @SuiteClasses({MapEditorTest.class,MapGraphTest.class,MapValidateTest.class,ResourceManagerTest.class,
-	RoundRobinTest.class,BenevolentTest.class,HumanTest.class,TournamentModelTest.class,ConnectedGraphTest.class,CardTest.class,DiceTest.class,PlayerTest.class,StartUpPhaseTest.class})
+	RoundRobinTest.class,BenevolentTest.class,HumanTest.class,TournamentModelTest.class,ConnectedGraphTest.class,CardTest.class,DiceTest.class,PlayerTest.class,StartUpPhaseTest.class,BattleOddsTest.class,BattleSimulatorTest.class,AttackPolicyTest.class,DiceVerificationTest.class,CardDeckTest.class,CountryArmyIndexTest.class,GameStateTest.class,MCTSTest.class,ExpectiminimaxTest.class,TranspositionTableTest.class,WeightTunerTest.class,AnytimeDecisionTest.class,FortificationPlannerTest.class,ConquestPlannerTest.class,ThreatMapTest.class,HierarchicalTest.class,EndgameSolverTest.class,NeuralPolicyTest.class,TournamentCommandLineTest.class})
 
 /**
  * TestSuite Class to test all test cases
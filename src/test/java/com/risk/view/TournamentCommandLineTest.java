@@ -0,0 +1,138 @@
+package com.risk.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for TournamentCommandLine.
+ */
+public class TournamentCommandLineTest {
+
+	/** Output file of the tournament */
+	private File output;
+
+	/** Stream receiving what the command line writes to its console */
+	private ByteArrayOutputStream console;
+
+	/**
+	 * Set up a temporary output file and a console
+	 *
+	 * @throws IOException if the file cannot be created
+	 */
+	@Before
+	public void initialize() throws IOException {
+		output = File.createTempFile("tournament", ".txt");
+		console = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Remove the output file
+	 */
+	@After
+	public void cleanUp() {
+		output.delete();
+	}
+
+	/**
+	 * Method to run the command line.
+	 *
+	 * @param args options of the tournament
+	 * @return status of the run
+	 */
+	private int run(String... args) {
+		return TournamentCommandLine.run(args, new PrintStream(console, true));
+	}
+
+	/**
+	 * Test to check that wrong options are refused with the usage
+	 *
+	 */
+	@Test
+	public void optionsTest() {
+		assertEquals(2, run("-P", "Aggressive", "Random", "-G", "1", "-D", "10"));
+		assertEquals(2, run("-M", "src/main/maps/Europe.map", "-P", "Aggressive,Human", "-G", "1", "-D", "10"));
+		assertEquals(2, run("-M", "src/main/maps/Europe.map", "-P", "Aggressive", "-G", "1", "-D", "10"));
+		assertEquals(2, run("-M", "src/main/maps/Europe.map", "-P", "Aggressive,Random", "-G", "x", "-D", "10"));
+		assertTrue(console.toString().contains("Usage"));
+		assertEquals(1, run("-M", "src/main/maps/Africa.map", "-P", "Aggressive,Random", "-G", "1", "-D", "10"));
+	}
+
+	/**
+	 * Test to check that the games of every map are played and written to
+	 * the output file, the same seed dealing the same games
+	 *
+	 * @throws IOException if the output cannot be read
+	 */
+	@Test
+	public void tournamentTest() throws IOException {
+		String[] args = { "-M", "src/main/maps/Europe.map", "src/main/maps/3D Cliff.map", "-P", "cheater",
+				"benevolent", "-G", "2", "-D", "20", "-S", "5", "-O", output.getPath() };
+		assertEquals(0, run(args));
+		String results = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+		assertTrue(results.contains("Map: Europe.map"));
+		assertTrue(results.contains("Map: 3D Cliff.map"));
+		assertEquals(4, results.split("Game Number").length - 1);
+		// The cheater needs no dice, so its games only depend on the deal.
+		assertTrue(results.contains("Player 1 (Cheater): 4"));
+
+		assertEquals(0, run(args));
+		String again = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+		// The timings and the decision latencies which follow them differ from run to run.
+		assertEquals(results.replaceAll("(?s)Played .*", ""), again.replaceAll("(?s)Played .*", ""));
+	}
+
+	/**
+	 * Test to check that the messages of the games are only printed on the
+	 * console with -V, and that the standard output is left alone
+	 *
+	 */
+	@Test
+	public void messagesTest() {
+		PrintStream standardOutput = System.out;
+		String[] args = { "-M", "src/main/maps/Europe.map", "-P", "cheater", "benevolent", "-G", "1", "-D", "5",
+				"-O", output.getPath() };
+		assertEquals(0, run(args));
+		assertSame(standardOutput, System.out);
+		assertEquals("", console.toString());
+
+		String[] verbose = Arrays.copyOf(args, args.length + 1);
+		verbose[args.length] = "-V";
+		assertEquals(0, run(verbose));
+		assertSame(standardOutput, System.out);
+		assertTrue(console.toString().contains("Game started"));
+	}
+
+	/**
+	 * Test to check that games played at the same time on several threads
+	 * give the results of the same games played one after the other
+	 *
+	 * @throws IOException if the output cannot be read
+	 */
+	@Test
+	public void threadsTest() throws IOException {
+		String[] args = { "-M", "src/main/maps/Europe.map", "src/main/maps/3D Cliff.map", "-P", "aggressive",
+				"random", "benevolent", "-G", "4", "-D", "30", "-S", "9", "-O", output.getPath(), "-T", "1" };
+		assertEquals(0, run(args));
+		String oneThread = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+		assertEquals(8, oneThread.split("Game Number").length - 1);
+
+		args[args.length - 1] = "4";
+		assertEquals(0, run(args));
+		String fourThreads = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+		assertTrue(fourThreads.contains("on 4 threads"));
+		assertEquals(oneThread.replaceAll("(?s)Played .*", ""), fourThreads.replaceAll("(?s)Played .*", ""));
+	}
+}